@@ -0,0 +1,328 @@
+package com.github.longhorn.fastball.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic.Kind;
+import java.beans.Introspector;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The annotation processor generating the mergers of the classes annotated with \
+ * {@code com.github.longhorn.fastball.object.GenerateMerger}, which copy the non-null properties with plain getter \
+ * and setter calls. It has the same semantics as the reflective merger of fastball, so a merger is generated only if \
+ * every property is copied as it is, without any conversion, otherwise a warning tells the reason, and the classes \
+ * are merged reflectively at runtime.
+ * <p>
+ * The merger of {@code a.b.Outer.Foo} to {@code c.Bar} is {@code a.b.Outer_Foo_MergerTo_c_Bar}, which is found by \
+ * its name at runtime.
+ */
+@SupportedAnnotationTypes(MergerProcessor.GENERATE_MERGER)
+public final class MergerProcessor extends AbstractProcessor {
+    static final String GENERATE_MERGER = "com.github.longhorn.fastball.object.GenerateMerger";
+    static final String MERGER = "com.github.longhorn.fastball.object.Merger";
+    /**
+     * The types converted by {@code ConvertUtilsBean} by default, whose values of the subclasses are converted even \
+     * if they are of the same declared type.
+     */
+    private static final Set<String> CONVERTED_TYPES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "java.math.BigDecimal", "java.math.BigInteger", "java.util.Date", "java.util.Calendar", "java.io.File",
+            "java.sql.Date", "java.sql.Time", "java.sql.Timestamp")));
+    private Elements elements;
+    private Types types;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (TypeElement src : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                for (TypeElement dest : destinationsOf(src, annotation)) {
+                    generate(src, dest);
+                }
+            }
+        }
+        return true;
+    }
+
+    private List<TypeElement> destinationsOf(TypeElement src, TypeElement annotation) {
+        List<TypeElement> dests = new ArrayList<>();
+        for (AnnotationMirror mirror : src.getAnnotationMirrors()) {
+            if (!types.isSameType(mirror.getAnnotationType(), annotation.asType())) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                    : mirror.getElementValues().entrySet()) {
+                if (!entry.getKey().getSimpleName().contentEquals("to")) {
+                    continue;
+                }
+                for (Object value : (List<?>) entry.getValue().getValue()) {
+                    TypeMirror type = (TypeMirror) ((AnnotationValue) value).getValue();
+                    if (type.getKind() == TypeKind.DECLARED) {
+                        dests.add((TypeElement) types.asElement(type));
+                    }
+                }
+            }
+        }
+        return dests.isEmpty() ? Collections.singletonList(src) : dests;
+    }
+
+    private void generate(TypeElement src, TypeElement dest) {
+        String problem = problemOf(src, dest);
+        if (!problem.isEmpty()) {
+            processingEnv.getMessager().printMessage(Kind.WARNING, "Merger of " + src.getQualifiedName() + " to "
+                    + dest.getQualifiedName() + " is not generated, " + problem, src);
+            return;
+        }
+        Map<String, List<ExecutableElement>> getters = accessorsOf(src, /* getter= */ true);
+        Map<String, List<ExecutableElement>> setters = accessorsOf(dest, /* getter= */ false);
+        String packageName = elements.getPackageOf(src).getQualifiedName().toString();
+        String simpleName = generatedSimpleName(src, dest);
+        StringBuilder code = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            code.append("package ").append(packageName).append(";\n\n");
+        }
+        code.append("/**\n * Generated by ").append(MergerProcessor.class.getName()).append(", do not edit.\n */\n")
+                .append("public final class ").append(simpleName).append(" implements ").append(MERGER).append('<')
+                .append(src.getQualifiedName()).append(", ").append(dest.getQualifiedName()).append("> {\n")
+                .append("    @Override\n")
+                .append("    public void merge(").append(dest.getQualifiedName()).append(" dest, ")
+                .append(src.getQualifiedName()).append(" src) throws java.lang.reflect.InvocationTargetException {\n")
+                .append("        try {\n");
+        for (Map.Entry<String, List<ExecutableElement>> entry : getters.entrySet()) {
+            if (!setters.containsKey(entry.getKey())) {
+                continue;
+            }
+            ExecutableElement getter = entry.getValue().get(0);
+            String get = "src." + getter.getSimpleName() + "()";
+            String set = "dest." + setters.get(entry.getKey()).get(0).getSimpleName();
+            TypeMirror type = returnTypeOf(src, getter);
+            if (type.getKind().isPrimitive()) {
+                code.append("            ").append(set).append('(').append(get).append(");\n");
+            } else {
+                code.append("            {\n")
+                        .append("                ").append(type).append(" value = ").append(get).append(";\n")
+                        .append("                if (value != null) {\n")
+                        .append("                    ").append(set).append("(value);\n")
+                        .append("                }\n")
+                        .append("            }\n");
+            }
+        }
+        code.append("        } catch (Throwable e) {\n")
+                .append("            throw new java.lang.reflect.InvocationTargetException(e);\n")
+                .append("        }\n")
+                .append("    }\n")
+                .append("}\n");
+        String name = packageName.isEmpty() ? simpleName : packageName + '.' + simpleName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(name, src, dest).openWriter()) {
+            writer.write(code.toString());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Kind.ERROR, "Failed to write " + name + ": " + e, src);
+        }
+    }
+
+    /**
+     * Get the simple name of the generated merger, same as {@code BeanMerger.generatedName} of fastball.
+     */
+    private String generatedSimpleName(TypeElement src, TypeElement dest) {
+        String srcName = elements.getBinaryName(src).toString();
+        return srcName.substring(srcName.lastIndexOf('.') + 1).replace('$', '_') + "_MergerTo_"
+                + elements.getBinaryName(dest).toString().replace('.', '_').replace('$', '_');
+    }
+
+    /**
+     * Get the reason why the merger can not be generated, or empty if it can.
+     */
+    private String problemOf(TypeElement src, TypeElement dest) {
+        for (TypeElement type : Arrays.asList(src, dest)) {
+            if (!isAccessible(type)) {
+                return type.getQualifiedName() + " is not a public non-generic class";
+            }
+        }
+        Map<String, List<ExecutableElement>> srcSetters = accessorsOf(src, /* getter= */ false);
+        Map<String, List<ExecutableElement>> destGetters = accessorsOf(dest, /* getter= */ true);
+        Map<String, List<ExecutableElement>> setters = accessorsOf(dest, /* getter= */ false);
+        for (Map.Entry<String, List<ExecutableElement>> entry : accessorsOf(src, /* getter= */ true).entrySet()) {
+            String property = entry.getKey();
+            List<ExecutableElement> setter = setters.getOrDefault(property, Collections.emptyList());
+            if (setter.isEmpty()) {
+                continue;
+            }
+            if (entry.getValue().size() > 1 || setter.size() > 1) {
+                return "property " + property + " has overloaded accessors";
+            }
+            TypeMirror srcType = returnTypeOf(src, entry.getValue().get(0));
+            TypeMirror destType = parameterTypeOf(dest, setter.get(0));
+            if (srcType.getKind() == TypeKind.ERROR || destType.getKind() == TypeKind.ERROR
+                    || !isConsistent(src, srcType, srcSetters.getOrDefault(property, Collections.emptyList()),
+                    /* getter= */ false)
+                    || !isConsistent(dest, destType, destGetters.getOrDefault(property, Collections.emptyList()),
+                    /* getter= */ true)) {
+                return "property " + property + " has ambiguous accessors";
+            }
+            if (!isCopied(srcType, destType)) {
+                return "property " + property + " needs conversion from " + srcType + " to " + destType;
+            }
+        }
+        return "";
+    }
+
+    private boolean isAccessible(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS || !type.getModifiers().contains(Modifier.PUBLIC)
+                || !type.getTypeParameters().isEmpty()) {
+            return false;
+        }
+        Element enclosing = type.getEnclosingElement();
+        if (enclosing instanceof PackageElement) {
+            return true;
+        }
+        return type.getModifiers().contains(Modifier.STATIC) && enclosing instanceof TypeElement
+                && isAccessible((TypeElement) enclosing);
+    }
+
+    /**
+     * Check if the other accessors of a property, if there are, are of the same type, or else the introspector may \
+     * pick either of them.
+     */
+    private boolean isConsistent(TypeElement type, TypeMirror propertyType, List<ExecutableElement> others,
+                                 boolean getter) {
+        for (ExecutableElement other : others) {
+            TypeMirror otherType = getter ? returnTypeOf(type, other) : parameterTypeOf(type, other);
+            if (!types.isSameType(propertyType, otherType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check if the values are copied as they are by {@code BeanUtilsBean.copyProperty}, which is when the types are \
+     * the same, and the values are either of exact the type, or neither strings nor converted.
+     */
+    private boolean isCopied(TypeMirror srcType, TypeMirror destType) {
+        TypeMirror type = boxed(destType);
+        if (!types.isSameType(boxed(srcType), type)) {
+            return false;
+        }
+        TypeMirror string = elements.getTypeElement(String.class.getName()).asType();
+        TypeMirror strings = types.getArrayType(string);
+        if (types.isSameType(type, strings)) {
+            return false;
+        }
+        if (isFinal(type)) {
+            return true;
+        }
+        return !isConverted(type) && !types.isAssignable(string, types.erasure(type))
+                && !types.isAssignable(strings, types.erasure(type));
+    }
+
+    private boolean isFinal(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return true;
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isFinal(((ArrayType) type).getComponentType());
+        }
+        return type.getKind() == TypeKind.DECLARED
+                && types.asElement(type).getModifiers().contains(Modifier.FINAL);
+    }
+
+    private boolean isConverted(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isConverted(((ArrayType) type).getComponentType());
+        }
+        return CONVERTED_TYPES.contains(types.erasure(type).toString());
+    }
+
+    private TypeMirror boxed(TypeMirror type) {
+        return type.getKind().isPrimitive() ? types.boxedClass((PrimitiveType) type).asType() : type;
+    }
+
+    private TypeMirror returnTypeOf(TypeElement type, ExecutableElement method) {
+        return ((ExecutableType) types.asMemberOf((DeclaredType) type.asType(), method)).getReturnType();
+    }
+
+    private TypeMirror parameterTypeOf(TypeElement type, ExecutableElement method) {
+        return ((ExecutableType) types.asMemberOf((DeclaredType) type.asType(), method)).getParameterTypes().get(0);
+    }
+
+    /**
+     * Get the public instance getters or setters of the properties, sorted by the names, named like the \
+     * introspector does. The setters may be fluent, and a property has more than one accessor if they are overloaded.
+     */
+    private Map<String, List<ExecutableElement>> accessorsOf(TypeElement type, boolean getter) {
+        Map<String, List<ExecutableElement>> accessors = new TreeMap<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC)
+                    || !method.getTypeParameters().isEmpty()) {
+                continue;
+            }
+            String property = getter ? getterPropertyOf(method) : setterPropertyOf(method);
+            if (property.isEmpty() || "class".equals(property)) {
+                continue;
+            }
+            accessors.computeIfAbsent(property, key -> new ArrayList<>()).add(method);
+        }
+        return accessors;
+    }
+
+    private static String getterPropertyOf(ExecutableElement method) {
+        String name = method.getSimpleName().toString();
+        if (!method.getParameters().isEmpty()) {
+            return "";
+        }
+        if (name.startsWith("get") && name.length() > 3 && method.getReturnType().getKind() != TypeKind.VOID) {
+            return Introspector.decapitalize(name.substring(3));
+        }
+        if (name.startsWith("is") && name.length() > 2 && method.getReturnType().getKind() == TypeKind.BOOLEAN) {
+            return Introspector.decapitalize(name.substring(2));
+        }
+        return "";
+    }
+
+    private static String setterPropertyOf(ExecutableElement method) {
+        String name = method.getSimpleName().toString();
+        if (method.getParameters().size() != 1 || !name.startsWith("set") || name.length() <= 3) {
+            return "";
+        }
+        return Introspector.decapitalize(name.substring(3));
+    }
+}
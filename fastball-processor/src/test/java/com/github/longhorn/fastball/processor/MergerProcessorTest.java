@@ -0,0 +1,187 @@
+package com.github.longhorn.fastball.processor;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class MergerProcessorTest {
+    private static final String ANNOTATION = "package com.github.longhorn.fastball.object;\n"
+            + "public @interface GenerateMerger {\n"
+            + "    Class<?>[] to() default {};\n"
+            + "}\n";
+    private static final String MERGER = "package com.github.longhorn.fastball.object;\n"
+            + "public interface Merger<S, D> {\n"
+            + "    void merge(D dest, S src) throws java.lang.reflect.InvocationTargetException;\n"
+            + "}\n";
+    private static final String BEAN = "package a;\n"
+            + "public class Bean {\n"
+            + "    public String getName() { return null; }\n"
+            + "    public Bean setName(String name) { return this; }\n"
+            + "    public int getCount() { return 0; }\n"
+            + "    public void setCount(int count) { }\n"
+            + "}\n";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testGenerated() throws IOException {
+        List<String> warnings = compile(BEAN, "package a;\n"
+                + "@com.github.longhorn.fastball.object.GenerateMerger(to = Bean.class)\n"
+                + "public class Outer {\n"
+                + "    @com.github.longhorn.fastball.object.GenerateMerger\n"
+                + "    public static class Inner extends Bean {\n"
+                + "        public Integer getValue() { return null; }\n"
+                + "    }\n"
+                + "    public Integer getCount() { return null; }\n"
+                + "}\n");
+        assertThat(warnings).isEmpty();
+        String toBean = generated("a/Outer_MergerTo_a_Bean.java");
+        assertThat(toBean).contains("public final class Outer_MergerTo_a_Bean"
+                + " implements com.github.longhorn.fastball.object.Merger<a.Outer, a.Bean> {");
+        assertThat(toBean).contains("java.lang.Integer value = src.getCount();");
+        assertThat(toBean).contains("dest.setCount(value);");
+        assertThat(toBean).doesNotContain("getName");
+        String toInner = generated("a/Outer_Inner_MergerTo_a_Outer_Inner.java");
+        assertThat(toInner).contains("dest.setCount(src.getCount());");
+        assertThat(toInner).contains("java.lang.String value = src.getName();");
+        assertThat(toInner).doesNotContain("getValue");
+    }
+
+    @Test
+    public void testNotGenerated() throws IOException {
+        List<String> warnings = compile(BEAN, "package a;\n"
+                + "@com.github.longhorn.fastball.object.GenerateMerger(to = Bean.class)\n"
+                + "public class Converted {\n"
+                + "    public long getCount() { return 0; }\n"
+                + "}\n", "package a;\n"
+                + "@com.github.longhorn.fastball.object.GenerateMerger(to = Bean.class)\n"
+                + "public class Dated {\n"
+                + "    public java.util.Date getName() { return null; }\n"
+                + "    public void setName(java.util.Date name) { }\n"
+                + "}\n", "package a;\n"
+                + "@com.github.longhorn.fastball.object.GenerateMerger\n"
+                + "public class Overloaded {\n"
+                + "    public String getName() { return null; }\n"
+                + "    public void setName(String name) { }\n"
+                + "    public void setName(Object name) { }\n"
+                + "}\n", "package a;\n"
+                + "@com.github.longhorn.fastball.object.GenerateMerger\n"
+                + "class Hidden {\n"
+                + "}\n");
+        assertThat(warnings).containsExactly(
+                "Merger of a.Converted to a.Bean is not generated, property count needs conversion from long to int",
+                "Merger of a.Dated to a.Bean is not generated, property name needs conversion from java.util.Date"
+                        + " to java.lang.String",
+                "Merger of a.Overloaded to a.Overloaded is not generated, property name has overloaded accessors",
+                "Merger of a.Hidden to a.Hidden is not generated, a.Hidden is not a public non-generic class");
+        assertThat(folder.getRoot().toPath().resolve("generated/a").toFile().exists()).isFalse();
+    }
+
+    @Test
+    public void testConvertedTypes() throws IOException {
+        List<String> warnings = compile("package a;\n"
+                + "@com.github.longhorn.fastball.object.GenerateMerger\n"
+                + "public class Types {\n"
+                + "    public java.util.Date getDate() { return null; }\n"
+                + "    public void setDate(java.util.Date date) { }\n"
+                + "}\n", "package a;\n"
+                + "@com.github.longhorn.fastball.object.GenerateMerger\n"
+                + "public class Strings {\n"
+                + "    public String[] getTags() { return null; }\n"
+                + "    public void setTags(String[] tags) { }\n"
+                + "}\n", "package a;\n"
+                + "@com.github.longhorn.fastball.object.GenerateMerger\n"
+                + "public class Objects {\n"
+                + "    public Object getValue() { return null; }\n"
+                + "    public void setValue(Object value) { }\n"
+                + "}\n", "package a;\n"
+                + "@com.github.longhorn.fastball.object.GenerateMerger\n"
+                + "public class Copied {\n"
+                + "    public java.util.List<String> getItems() { return null; }\n"
+                + "    public void setItems(java.util.List<String> items) { }\n"
+                + "    public int[] getValues() { return null; }\n"
+                + "    public void setValues(int[] values) { }\n"
+                + "}\n");
+        assertThat(warnings).containsExactly(
+                "Merger of a.Types to a.Types is not generated, property date needs conversion from java.util.Date"
+                        + " to java.util.Date",
+                "Merger of a.Strings to a.Strings is not generated, property tags needs conversion from"
+                        + " java.lang.String[] to java.lang.String[]",
+                "Merger of a.Objects to a.Objects is not generated, property value needs conversion from"
+                        + " java.lang.Object to java.lang.Object");
+        assertThat(generated("a/Copied_MergerTo_a_Copied.java")).contains("dest.setValues(value);");
+    }
+
+    /**
+     * Compile the sources with the processor, and get the warnings.
+     */
+    private List<String> compile(String... sources) throws IOException {
+        Path root = folder.getRoot().toPath();
+        List<File> files = new ArrayList<>();
+        for (String source : Arrays.asList(ANNOTATION, MERGER)) {
+            files.add(write(root.resolve("src/com/github/longhorn/fastball/object"), source));
+        }
+        for (String source : sources) {
+            files.add(write(root.resolve("src/a"), source));
+        }
+        Files.createDirectories(root.resolve("generated"));
+        Files.createDirectories(root.resolve("classes"));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager manager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, manager, diagnostics,
+                    Arrays.asList("-s", root.resolve("generated").toString(), "-d", root.resolve("classes").toString()),
+                    null, manager.getJavaFileObjectsFromFiles(files));
+            task.setProcessors(Collections.singletonList(new MergerProcessor()));
+            assertThat(task.call()).isTrue();
+        }
+        List<String> warnings = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.WARNING) {
+                warnings.add(diagnostic.getMessage(null));
+            }
+        }
+        return warnings;
+    }
+
+    private static File write(Path dir, String source) throws IOException {
+        Files.createDirectories(dir);
+        Path file = dir.resolve(nameOf(source) + ".java");
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+        return file.toFile();
+    }
+
+    private static String nameOf(String source) {
+        if (source.contains("@interface")) {
+            return "GenerateMerger";
+        }
+        if (source.contains(" interface ")) {
+            return "Merger";
+        }
+        return source.substring(source.indexOf("class ") + 6).split(" ", 2)[0];
+    }
+
+    private String generated(String path) throws IOException {
+        return new String(Files.readAllBytes(folder.getRoot().toPath().resolve("generated").resolve(path)),
+                StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Base of the partitioners, which keeps an immutable state of the nodes in an {@link AtomicReference} and replaces it \
+ * by compare-and-set, so a change never blocks a lookup, and the concurrent changes retry instead of locking.
+ *
+ * @param <N> type of the nodes
+ * @param <S> type of the state of the nodes
+ */
+abstract class AbstractPartitioner<N, S> implements Partitioner<N> {
+    private final HashAlgorithm algorithm;
+    private final long seed;
+    private final AtomicReference<S> state;
+
+    AbstractPartitioner(HashAlgorithm algorithm, long seed, S empty) {
+        this.algorithm = algorithm;
+        this.seed = seed;
+        this.state = new AtomicReference<>(empty);
+    }
+
+    /**
+     * Build the state of the nodes from the current state, whose nodes differ by the added or removed one.
+     */
+    abstract S stateOf(S current, ImmutableList<N> nodes);
+
+    abstract ImmutableList<N> nodesOf(S state);
+
+    /**
+     * Get the node of the key hash from the state of at least one node.
+     */
+    abstract N lookup(S state, long keyHash);
+
+    /**
+     * Get the nodes without the removed one, in the order which moves the fewest keys.
+     */
+    ImmutableList<N> without(ImmutableList<N> nodes, N node) {
+        ImmutableList.Builder<N> builder = ImmutableList.builder();
+        for (N each : nodes) {
+            if (!each.equals(node)) {
+                builder.add(each);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Get the 64-bit hash of the name of a node, or one of its virtual nodes.
+     */
+    long hashOf(CharSequence name) {
+        return algorithm.hash(name, seed);
+    }
+
+    @Override
+    public N nodeOf(long keyHash) {
+        S current = state.get();
+        if (nodesOf(current).isEmpty()) {
+            throw new IllegalStateException("No node in the partitioner");
+        }
+        return lookup(current, keyHash);
+    }
+
+    @Override
+    public N nodeOf(CharSequence key) {
+        return nodeOf(algorithm.hash(key, seed));
+    }
+
+    @Override
+    public boolean add(N node) {
+        while (true) {
+            S current = state.get();
+            ImmutableList<N> nodes = nodesOf(current);
+            if (nodes.contains(node)) {
+                return false;
+            }
+            S next = stateOf(current, ImmutableList.<N>builder().addAll(nodes).add(node).build());
+            if (state.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public boolean remove(N node) {
+        while (true) {
+            S current = state.get();
+            ImmutableList<N> nodes = nodesOf(current);
+            if (!nodes.contains(node)) {
+                return false;
+            }
+            if (state.compareAndSet(current, stateOf(current, without(nodes, node)))) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public List<N> nodes() {
+        return nodesOf(state.get());
+    }
+}
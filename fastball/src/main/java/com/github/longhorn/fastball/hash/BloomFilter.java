@@ -0,0 +1,236 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.errorprone.annotations.Var;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Bloom filter of the keys in a {@code long[]} of bits, which tells a key is surely not added, or probably added with \
+ * the false positive probability of its size. The keys are the items of {@link Hash#hash64}, the same as the ones of \
+ * {@link Hash#crc32(Object...)}, or the 64-bit hashes of the keys. The bits of a key are found by the double hashing \
+ * of Kirsch and Mitzenmacher on the 64-bit hash, so a key is hashed once.
+ * <p>
+ * It is not thread-safe, the filters of the threads or the nodes of the same size, algorithm and seed are merged by \
+ * {@link #merge(BloomFilter)}, and transferred by {@link #toByteArray()} and {@link #fromByteArray(byte[])}.
+ */
+public final class BloomFilter {
+    private static final int MAX_WORDS = 1 << 27;
+    private final HashAlgorithm algorithm;
+    private final long seed;
+    private final int hashes;
+    private final long[] bits;
+    private final long bitSize;
+
+    private BloomFilter(HashAlgorithm algorithm, long seed, int hashes, long[] bits) {
+        this.algorithm = algorithm;
+        this.seed = seed;
+        this.hashes = hashes;
+        this.bits = bits;
+        this.bitSize = (long) bits.length * Long.SIZE;
+    }
+
+    /**
+     * Create a filter, whose keys are hashed by {@link HashAlgorithm#XXH3} without a seed.
+     *
+     * @param expectedInsertions count of the distinct keys to add
+     * @param fpp                the desired false positive probability
+     * @return the filter
+     * @throws IllegalArgumentException if the count is negative, or the probability is not between 0 and 1 exclusive
+     */
+    public static BloomFilter create(long expectedInsertions, double fpp) {
+        return create(expectedInsertions, fpp, HashAlgorithm.XXH3, 0);
+    }
+
+    /**
+     * Create a filter with the optimal size and count of hashes of the expected insertions and probability.
+     *
+     * @param expectedInsertions count of the distinct keys to add
+     * @param fpp                the desired false positive probability
+     * @param algorithm          algorithm of the key hashes
+     * @param seed               seed of the key hashes
+     * @return the filter
+     * @throws IllegalArgumentException if the count is negative, or the probability is not between 0 and 1 \
+     *                                  exclusive, or the filter has more than {@code 2^33} bits
+     */
+    public static BloomFilter create(long expectedInsertions, double fpp, HashAlgorithm algorithm, long seed) {
+        if (expectedInsertions < 0) {
+            throw new IllegalArgumentException("Invalid expected insertions: " + expectedInsertions);
+        }
+        if (!(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("Invalid fpp: " + fpp);
+        }
+        long insertions = Math.max(1, expectedInsertions);
+        double bits = -insertions * Math.log(fpp) / (Math.log(2) * Math.log(2));
+        double words = Math.ceil(bits / Long.SIZE);
+        if (words > MAX_WORDS) {
+            throw new IllegalArgumentException("Invalid expected insertions: " + expectedInsertions);
+        }
+        long[] array = new long[(int) words];
+        int hashes = (int) Math.max(1, Math.min(255, Math.round(bits / insertions * Math.log(2))));
+        return new BloomFilter(algorithm, seed, hashes, array);
+    }
+
+    /**
+     * Restore a filter from the bytes of {@link #toByteArray()}.
+     *
+     * @param bytes the bytes
+     * @return the filter
+     * @throws IllegalArgumentException if the bytes are not of a filter
+     */
+    public static BloomFilter fromByteArray(byte[] bytes) {
+        ByteBuffer buffer = SketchFormat.wrap(SketchFormat.BLOOM_FILTER, bytes);
+        try {
+            HashAlgorithm algorithm = SketchFormat.algorithm(buffer);
+            long seed = buffer.getLong();
+            int hashes = buffer.get() & 0xFF;
+            int words = buffer.getInt();
+            if (hashes == 0 || words <= 0 || words > MAX_WORDS || words != buffer.remaining() / Long.BYTES) {
+                throw SketchFormat.invalid(SketchFormat.BLOOM_FILTER);
+            }
+            long[] bits = new long[words];
+            buffer.asLongBuffer().get(bits);
+            buffer.position(buffer.position() + words * Long.BYTES);
+            SketchFormat.checkEnd(SketchFormat.BLOOM_FILTER, buffer);
+            return new BloomFilter(algorithm, seed, hashes, bits);
+        } catch (BufferUnderflowException e) {
+            throw SketchFormat.invalid(SketchFormat.BLOOM_FILTER, e);
+        }
+    }
+
+    /**
+     * Add the key.
+     *
+     * @param key the items of the key, see {@link Hash#hash64}
+     * @return true if any bit changes, which means the key is surely not added before
+     */
+    public boolean put(Object... key) {
+        return putHash(Hash.hash64(algorithm, seed, key));
+    }
+
+    /**
+     * Add the key by its hash of the algorithm and the seed of the filter.
+     *
+     * @param keyHash 64-bit hash of the key
+     * @return true if any bit changes, which means the key is surely not added before
+     */
+    public boolean putHash(long keyHash) {
+        long step = HashMath.doubleHashStep(keyHash);
+        @Var long combined = keyHash;
+        @Var boolean changed = false;
+        for (int i = 0; i < hashes; i++) {
+            long index = HashMath.multiplyHigh(combined, bitSize);
+            long mask = 1L << index;
+            int word = (int) (index >>> 6);
+            if ((bits[word] & mask) == 0) {
+                bits[word] |= mask;
+                changed = true;
+            }
+            combined += step;
+        }
+        return changed;
+    }
+
+    /**
+     * Check is the key probably added.
+     *
+     * @param key the items of the key, see {@link Hash#hash64}
+     * @return false if the key is surely not added
+     */
+    public boolean mightContain(Object... key) {
+        return mightContainHash(Hash.hash64(algorithm, seed, key));
+    }
+
+    /**
+     * Check is the key probably added by its hash of the algorithm and the seed of the filter.
+     *
+     * @param keyHash 64-bit hash of the key
+     * @return false if the key is surely not added
+     */
+    public boolean mightContainHash(long keyHash) {
+        long step = HashMath.doubleHashStep(keyHash);
+        @Var long combined = keyHash;
+        for (int i = 0; i < hashes; i++) {
+            long index = HashMath.multiplyHigh(combined, bitSize);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+            combined += step;
+        }
+        return true;
+    }
+
+    /**
+     * Add all the keys of the other filter.
+     *
+     * @param other the filter of the same size, count of hashes, algorithm and seed
+     * @throws IllegalArgumentException if the filter is not compatible
+     */
+    public void merge(BloomFilter other) {
+        if (other.bits.length != bits.length || other.hashes != hashes
+                || other.algorithm != algorithm || other.seed != seed) {
+            throw new IllegalArgumentException("Invalid filter to merge: incompatible");
+        }
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] |= other.bits[i];
+        }
+    }
+
+    /**
+     * Get the false positive probability of the current bits.
+     *
+     * @return the probability
+     */
+    public double expectedFpp() {
+        return Math.pow((double) bitCount() / bitSize, hashes);
+    }
+
+    /**
+     * Get the estimated count of the distinct keys added, by the count of the set bits.
+     *
+     * @return the count
+     */
+    public long approximateElementCount() {
+        double fraction = (double) bitCount() / bitSize;
+        return Math.round(-Math.log1p(-fraction) * bitSize / hashes);
+    }
+
+    private long bitCount() {
+        @Var long count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Get the count of the bits.
+     *
+     * @return the count
+     */
+    public long bitSize() {
+        return bitSize;
+    }
+
+    /**
+     * Get the count of the bits of each key.
+     *
+     * @return the count
+     */
+    public int hashes() {
+        return hashes;
+    }
+
+    /**
+     * Get the compact bytes of the filter, see {@link #fromByteArray(byte[])}.
+     *
+     * @return the bytes
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[SketchFormat.HEADER_BYTES + 1 + Integer.BYTES + bits.length * Long.BYTES];
+        ByteBuffer buffer = SketchFormat.writeHeader(bytes, SketchFormat.BLOOM_FILTER, algorithm, seed);
+        buffer.put((byte) hashes).putInt(bits.length);
+        buffer.asLongBuffer().put(bits);
+        return bytes;
+    }
+}
@@ -0,0 +1,326 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.errorprone.annotations.Var;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Hashing of large files and buffers, which splits the bytes into the chunks of a fixed size from the start, hashes \
+ * the chunks in parallel in a {@link ForkJoinPool}, and combines their hashes. The files are memory-mapped, so they \
+ * are never read into the heap.
+ * <p>
+ * The hash of {@link HashAlgorithm#CRC32C} is combined by {@link Crc32c#combine(int, int, long)}, so it is the same \
+ * as the checksum of all the bytes, whatever the chunk size is. The hashes of the other algorithms are tree hashes, \
+ * the hash of the little-endian 64-bit hashes of the chunks by the same algorithm and seed, which depend on the chunk \
+ * size, except that the bytes of at most one chunk result in their plain hash.
+ * <p>
+ * An {@link Appender} keeps the state of the hashed bytes, so a file which grows by appending is hashed again by \
+ * reading only the new bytes.
+ */
+public final class ChunkedHash {
+    /**
+     * The default chunk size, 4 MiB.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 4 << 20;
+    private static final int SEGMENT_SIZE = 1 << 30;
+
+    private final HashAlgorithm algorithm;
+    private final long seed;
+    private final int chunkSize;
+    private final ForkJoinPool pool;
+
+    private ChunkedHash(HashAlgorithm algorithm, long seed, int chunkSize, ForkJoinPool pool) {
+        this.algorithm = algorithm;
+        this.seed = seed;
+        this.chunkSize = chunkSize;
+        this.pool = pool;
+    }
+
+    /**
+     * Create one of the default chunk size, which hashes the chunks in the common pool.
+     *
+     * @param algorithm the hash algorithm
+     * @param seed      the seed
+     * @return the chunked hash
+     */
+    public static ChunkedHash create(HashAlgorithm algorithm, long seed) {
+        return create(algorithm, seed, DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create one.
+     *
+     * @param algorithm the hash algorithm
+     * @param seed      the seed
+     * @param chunkSize count of the bytes of each chunk, such as 1 to 16 MiB
+     * @param pool      the pool to hash the chunks in
+     * @return the chunked hash
+     * @throws IllegalArgumentException if the chunk size is not positive
+     */
+    public static ChunkedHash create(HashAlgorithm algorithm, long seed, int chunkSize, ForkJoinPool pool) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+        }
+        return new ChunkedHash(algorithm, seed, chunkSize, pool);
+    }
+
+    /**
+     * Get the hash of the file.
+     *
+     * @param file the file
+     * @return the hash value
+     * @throws IOException if failed to read the file
+     */
+    public long hash(Path file) throws IOException {
+        Appender appender = appender();
+        appender.update(file);
+        return appender.getValue();
+    }
+
+    /**
+     * Get the hash of the bytes of the channel from 0 to its size, without moving its position.
+     *
+     * @param channel the channel
+     * @return the hash value
+     * @throws IOException if failed to read the channel
+     */
+    public long hash(FileChannel channel) throws IOException {
+        Appender appender = appender();
+        appender.update(channel);
+        return appender.getValue();
+    }
+
+    /**
+     * Get the hash of the remaining bytes of the buffer, and move its position to the limit.
+     *
+     * @param buffer the bytes
+     * @return the hash value
+     */
+    public long hash(ByteBuffer buffer) {
+        Appender appender = appender();
+        appender.update(buffer);
+        return appender.getValue();
+    }
+
+    /**
+     * Create an appender of no bytes.
+     *
+     * @return the appender
+     */
+    public Appender appender() {
+        return new Appender(this);
+    }
+
+    /**
+     * The state of the hashed bytes, to which more bytes are appended. Not thread-safe, but the chunks of each \
+     * update are hashed in parallel.
+     */
+    public static final class Appender {
+        private final ChunkedHash config;
+        private final boolean crc32c;
+        /**
+         * The streaming hash of the bytes of the last chunk which is not full.
+         */
+        private final StreamingHash tail;
+        private int tailLength;
+        private long length;
+        /**
+         * The checksum of the full chunks of CRC32C.
+         */
+        private int crc;
+        /**
+         * The hashes of the full chunks of the other algorithms.
+         */
+        private long[] chunkHashes = new long[16];
+        private int chunks;
+
+        private Appender(ChunkedHash config) {
+            this.config = config;
+            this.crc32c = config.algorithm == HashAlgorithm.CRC32C;
+            this.tail = config.algorithm.newHash(config.seed);
+        }
+
+        /**
+         * Hash the bytes of the file after the hashed length, as if they are appended.
+         *
+         * @param file the file
+         * @throws IOException           if failed to read the file
+         * @throws IllegalStateException if the file is shorter than the hashed length
+         */
+        public void update(Path file) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                update(channel);
+            }
+        }
+
+        /**
+         * Hash the bytes of the channel after the hashed length to its size, as if they are appended, without moving \
+         * its position. The large ranges are memory-mapped, and the small ones are read.
+         *
+         * @param channel the channel
+         * @throws IOException           if failed to read the channel
+         * @throws IllegalStateException if the channel is shorter than the hashed length
+         */
+        public void update(FileChannel channel) throws IOException {
+            long size = channel.size();
+            if (size < length) {
+                throw new IllegalStateException("Invalid size: " + size + " is shorter than the hashed " + length);
+            }
+            // the segments are whole chunks, so the full chunks of a segment are hashed in parallel
+            int segmentSize = Math.max(config.chunkSize, SEGMENT_SIZE / config.chunkSize * config.chunkSize);
+            @Var long position = length;
+            while (position < size) {
+                int count = (int) Math.min(segmentSize, size - position);
+                if (count < config.chunkSize) {
+                    update(read(channel, position, count));
+                } else {
+                    update(channel.map(FileChannel.MapMode.READ_ONLY, position, count));
+                }
+                position += count;
+            }
+        }
+
+        /**
+         * Hash the remaining bytes of the buffer, as if they are appended, and move its position to the limit.
+         *
+         * @param buffer the appended bytes
+         */
+        public void update(ByteBuffer buffer) {
+            int chunkSize = config.chunkSize;
+            if (tailLength > 0) {
+                int count = Math.min(chunkSize - tailLength, buffer.remaining());
+                updateTail(buffer, count);
+                if (tailLength == chunkSize) {
+                    addChunk(tail.getValue());
+                    tail.reset();
+                    tailLength = 0;
+                }
+            }
+            int fullChunks = buffer.remaining() / chunkSize;
+            if (fullChunks == 1) {
+                updateTail(buffer, chunkSize);
+                addChunk(tail.getValue());
+                tail.reset();
+                tailLength = 0;
+            } else if (fullChunks > 1) {
+                long[] hashes = new long[fullChunks];
+                config.pool.invoke(new ChunkTask(config, buffer, 0, fullChunks, hashes));
+                buffer.position(buffer.position() + fullChunks * chunkSize);
+                length += (long) fullChunks * chunkSize;
+                for (long hash : hashes) {
+                    addChunk(hash);
+                }
+            }
+            updateTail(buffer, buffer.remaining());
+        }
+
+        private static ByteBuffer read(FileChannel channel, long position, int count) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(count);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IllegalStateException("Invalid size: the channel is truncated");
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+
+        private void updateTail(ByteBuffer buffer, int count) {
+            int limit = buffer.limit();
+            buffer.limit(buffer.position() + count);
+            tail.update(buffer);
+            buffer.limit(limit);
+            tailLength += count;
+            length += count;
+        }
+
+        private void addChunk(long hash) {
+            if (crc32c) {
+                crc = Crc32c.combine(crc, (int) hash, config.chunkSize);
+                return;
+            }
+            if (chunks == chunkHashes.length) {
+                chunkHashes = Arrays.copyOf(chunkHashes, chunks * 2);
+            }
+            chunkHashes[chunks++] = hash;
+        }
+
+        /**
+         * Get the hash value of all the bytes.
+         *
+         * @return the hash value
+         */
+        public long getValue() {
+            if (crc32c) {
+                return Crc32c.combine(crc, (int) tail.getValue(), tailLength) & 0xFFFF_FFFFL;
+            }
+            if (chunks == 0) {
+                return tail.getValue();
+            }
+            if (chunks == 1 && tailLength == 0) {
+                return chunkHashes[0];
+            }
+            int count = tailLength == 0 ? chunks : chunks + 1;
+            ByteBuffer hashes = ByteBuffer.allocate(count * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < chunks; i++) {
+                hashes.putLong(chunkHashes[i]);
+            }
+            if (tailLength > 0) {
+                hashes.putLong(tail.getValue());
+            }
+            return config.algorithm.hash(hashes.array(), 0, hashes.capacity(), config.seed);
+        }
+
+        /**
+         * Get the count of the hashed bytes.
+         *
+         * @return the count
+         */
+        public long getLength() {
+            return length;
+        }
+    }
+
+    /**
+     * Hash the full chunks from the position of the buffer by splitting the range of the chunks in halves.
+     */
+    private static final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ChunkedHash config;
+        private final transient ByteBuffer buffer;
+        private final int from;
+        private final int to;
+        private final long[] hashes;
+
+        ChunkTask(ChunkedHash config, ByteBuffer buffer, int from, int to, long[] hashes) {
+            this.config = config;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.hashes = hashes;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ChunkTask(config, buffer, from, middle, hashes),
+                        new ChunkTask(config, buffer, middle, to, hashes));
+                return;
+            }
+            ByteBuffer chunk = buffer.duplicate();
+            int position = buffer.position() + from * config.chunkSize;
+            chunk.limit(position + config.chunkSize).position(position);
+            hashes[from] = config.algorithm.hash(chunk, config.seed);
+        }
+    }
+}
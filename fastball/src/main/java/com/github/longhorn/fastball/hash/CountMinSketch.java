@@ -0,0 +1,217 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.errorprone.annotations.Var;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Count-min sketch of the counts of the keys in a {@code long[]} of {@code depth} rows of {@code width} counters, \
+ * which never underestimates a count, and overestimates it by at most {@code epsilon} of the total count with the \
+ * probability {@code 1 - delta}. The keys are the items of {@link Hash#hash64}, the same as the ones of \
+ * {@link Hash#crc32(Object...)}, or the 64-bit hashes of the keys, and the counter of each row is found by the \
+ * double hashing on the 64-bit hash, so a key is hashed once.
+ * <p>
+ * It is not thread-safe, the sketches of the threads or the nodes of the same size, algorithm and seed are merged by \
+ * {@link #merge(CountMinSketch)}, and transferred by {@link #toByteArray()} and {@link #fromByteArray(byte[])}.
+ */
+public final class CountMinSketch {
+    private static final int MAX_COUNTERS = 1 << 27;
+
+    private final HashAlgorithm algorithm;
+    private final long seed;
+    private final int depth;
+    private final int width;
+    private final long[] counters;
+    private long totalCount;
+
+    private CountMinSketch(HashAlgorithm algorithm, long seed, int depth, int width, long[] counters,
+                           long totalCount) {
+        this.algorithm = algorithm;
+        this.seed = seed;
+        this.depth = depth;
+        this.width = width;
+        this.counters = counters;
+        this.totalCount = totalCount;
+    }
+
+    /**
+     * Create a sketch, whose keys are hashed by {@link HashAlgorithm#XXH3} without a seed.
+     *
+     * @param epsilon the error of the estimates relative to the total count
+     * @param delta   the probability of an estimate beyond the error
+     * @return the sketch
+     * @throws IllegalArgumentException if epsilon or delta is not between 0 and 1 exclusive
+     */
+    public static CountMinSketch create(double epsilon, double delta) {
+        return create(epsilon, delta, HashAlgorithm.XXH3, 0);
+    }
+
+    /**
+     * Create a sketch of {@code ceil(e / epsilon)} counters in each of the {@code ceil(ln(1 / delta))} rows.
+     *
+     * @param epsilon   the error of the estimates relative to the total count
+     * @param delta     the probability of an estimate beyond the error
+     * @param algorithm algorithm of the key hashes
+     * @param seed      seed of the key hashes
+     * @return the sketch
+     * @throws IllegalArgumentException if epsilon or delta is not between 0 and 1 exclusive, or the sketch has more \
+     *                                  than {@code 2^27} counters
+     */
+    public static CountMinSketch create(double epsilon, double delta, HashAlgorithm algorithm, long seed) {
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("Invalid epsilon: " + epsilon);
+        }
+        if (!(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException("Invalid delta: " + delta);
+        }
+        double width = Math.ceil(Math.E / epsilon);
+        int depth = (int) Math.max(1, Math.ceil(Math.log(1 / delta)));
+        if (width * depth > MAX_COUNTERS) {
+            throw new IllegalArgumentException("Invalid epsilon: " + epsilon);
+        }
+        return new CountMinSketch(algorithm, seed, depth, (int) width, new long[depth * (int) width], 0);
+    }
+
+    /**
+     * Restore a sketch from the bytes of {@link #toByteArray()}.
+     *
+     * @param bytes the bytes
+     * @return the sketch
+     * @throws IllegalArgumentException if the bytes are not of a sketch
+     */
+    public static CountMinSketch fromByteArray(byte[] bytes) {
+        ByteBuffer buffer = SketchFormat.wrap(SketchFormat.COUNT_MIN_SKETCH, bytes);
+        try {
+            HashAlgorithm algorithm = SketchFormat.algorithm(buffer);
+            long seed = buffer.getLong();
+            int depth = buffer.getInt();
+            int width = buffer.getInt();
+            long totalCount = buffer.getLong();
+            if (depth <= 0 || width <= 0 || (long) depth * width > MAX_COUNTERS
+                    || depth * width != buffer.remaining() / Long.BYTES) {
+                throw SketchFormat.invalid(SketchFormat.COUNT_MIN_SKETCH);
+            }
+            long[] counters = new long[depth * width];
+            buffer.asLongBuffer().get(counters);
+            buffer.position(buffer.position() + counters.length * Long.BYTES);
+            SketchFormat.checkEnd(SketchFormat.COUNT_MIN_SKETCH, buffer);
+            return new CountMinSketch(algorithm, seed, depth, width, counters, totalCount);
+        } catch (BufferUnderflowException e) {
+            throw SketchFormat.invalid(SketchFormat.COUNT_MIN_SKETCH, e);
+        }
+    }
+
+    /**
+     * Add one to the count of the key.
+     *
+     * @param key the items of the key, see {@link Hash#hash64}
+     */
+    public void add(Object... key) {
+        addHash(Hash.hash64(algorithm, seed, key), 1);
+    }
+
+    /**
+     * Add to the count of the key by its hash of the algorithm and the seed of the sketch.
+     *
+     * @param keyHash 64-bit hash of the key
+     * @param count   the count to add
+     * @throws IllegalArgumentException if the count is negative
+     */
+    public void addHash(long keyHash, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid count: " + count);
+        }
+        long step = HashMath.doubleHashStep(keyHash);
+        @Var long combined = keyHash;
+        for (int row = 0; row < depth; row++) {
+            counters[row * width + (int) HashMath.multiplyHigh(combined, width)] += count;
+            combined += step;
+        }
+        totalCount += count;
+    }
+
+    /**
+     * Get the estimated count of the key, which is never less than the added count.
+     *
+     * @param key the items of the key, see {@link Hash#hash64}
+     * @return the estimated count
+     */
+    public long estimateCount(Object... key) {
+        return estimateCountHash(Hash.hash64(algorithm, seed, key));
+    }
+
+    /**
+     * Get the estimated count of the key by its hash of the algorithm and the seed of the sketch.
+     *
+     * @param keyHash 64-bit hash of the key
+     * @return the estimated count
+     */
+    public long estimateCountHash(long keyHash) {
+        long step = HashMath.doubleHashStep(keyHash);
+        @Var long combined = keyHash;
+        @Var long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[row * width + (int) HashMath.multiplyHigh(combined, width)]);
+            combined += step;
+        }
+        return min;
+    }
+
+    /**
+     * Add all the counts of the other sketch.
+     *
+     * @param other the sketch of the same size, algorithm and seed
+     * @throws IllegalArgumentException if the sketch is not compatible
+     */
+    public void merge(CountMinSketch other) {
+        if (other.depth != depth || other.width != width || other.algorithm != algorithm || other.seed != seed) {
+            throw new IllegalArgumentException("Invalid sketch to merge: incompatible");
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+        totalCount += other.totalCount;
+    }
+
+    /**
+     * Get the sum of the added counts.
+     *
+     * @return the count
+     */
+    public long totalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Get the count of the rows.
+     *
+     * @return the count
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Get the count of the counters of each row.
+     *
+     * @return the count
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * Get the compact bytes of the sketch, see {@link #fromByteArray(byte[])}.
+     *
+     * @return the bytes
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[SketchFormat.HEADER_BYTES + Integer.BYTES * 2 + Long.BYTES
+                + counters.length * Long.BYTES];
+        ByteBuffer buffer = SketchFormat.writeHeader(bytes, SketchFormat.COUNT_MIN_SKETCH, algorithm, seed);
+        buffer.putInt(depth).putInt(width).putLong(totalCount);
+        buffer.asLongBuffer().put(counters);
+        return bytes;
+    }
+}
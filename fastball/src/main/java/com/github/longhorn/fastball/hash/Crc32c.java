@@ -0,0 +1,241 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.errorprone.annotations.Var;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.zip.Checksum;
+
+/**
+ * Streaming CRC32C (Castagnoli) checksum, the same as {@code Hashing.crc32c()} of Guava. It delegates to \
+ * {@code java.util.zip.CRC32C} where the JDK has it (Java 9 and later), which is an intrinsic of the JIT, or else \
+ * computes the checksum by slicing-by-8 tables. Not thread-safe.
+ */
+public final class Crc32c extends StreamingHash implements Checksum {
+    private static final int POLYNOMIAL = 0x82F63B78;
+    private static final int SLICES = 8;
+    private static final int[] TABLE = table();
+    /**
+     * The powers {@code x^(2^n)} modulo the polynomial, for shifting a checksum over zero bytes.
+     */
+    private static final int[] POWERS = powers();
+    /**
+     * Constructor of {@code java.util.zip.CRC32C} as a {@link Checksum}, null if the JDK does not have it.
+     */
+    @Nullable
+    private static final MethodHandle INTRINSIC = intrinsic();
+
+    @Nullable
+    private final Checksum intrinsic;
+    private int crc = ~0;
+
+    private Crc32c(@Nullable Checksum intrinsic) {
+        this.intrinsic = intrinsic;
+    }
+
+    /**
+     * Create a checksum, which uses the JDK implementation if there is one.
+     *
+     * @return the checksum
+     */
+    public static Crc32c create() {
+        if (INTRINSIC == null) {
+            return new Crc32c(null);
+        }
+        try {
+            return new Crc32c((Checksum) INTRINSIC.invokeExact());
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to create java.util.zip.CRC32C", e);
+        }
+    }
+
+    /**
+     * Create a checksum computed by the tables of this class, for the JDKs without {@code java.util.zip.CRC32C}.
+     *
+     * @return the checksum
+     */
+    static Crc32c software() {
+        return new Crc32c(null);
+    }
+
+    /**
+     * Check is the checksum computed by {@code java.util.zip.CRC32C}.
+     *
+     * @return Boolean of the result
+     */
+    public boolean isIntrinsic() {
+        return intrinsic != null;
+    }
+
+    @Nullable
+    private static MethodHandle intrinsic() {
+        try {
+            Class<?> type = Class.forName("java.util.zip.CRC32C");
+            return MethodHandles.publicLookup()
+                    .findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Checksum.class));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Build the tables of slicing-by-8, the table of slice {@code k} is at {@code k * 256}.
+     */
+    private static int[] table() {
+        int[] table = new int[SLICES * 256];
+        for (int i = 0; i < 256; i++) {
+            @Var int value = i;
+            for (int bit = 0; bit < 8; bit++) {
+                value = (value & 1) == 0 ? value >>> 1 : (value >>> 1) ^ POLYNOMIAL;
+            }
+            table[i] = value;
+        }
+        for (int slice = 1; slice < SLICES; slice++) {
+            for (int i = 0; i < 256; i++) {
+                int previous = table[(slice - 1) * 256 + i];
+                table[slice * 256 + i] = (previous >>> 8) ^ table[previous & 0xFF];
+            }
+        }
+        return table;
+    }
+
+    @Override
+    public void update(int b) {
+        if (intrinsic != null) {
+            intrinsic.update(b);
+        } else {
+            crc = (crc >>> 8) ^ TABLE[(crc ^ b) & 0xFF];
+        }
+    }
+
+    @Override
+    public void update(byte[] b, int off, int len) {
+        checkRange(b, off, len);
+        if (intrinsic != null) {
+            intrinsic.update(b, off, len);
+            return;
+        }
+        @Var int c = crc;
+        @Var int i = off;
+        int end = off + len;
+        for (; i <= end - SLICES; i += SLICES) {
+            c ^= (b[i] & 0xFF) | (b[i + 1] & 0xFF) << 8 | (b[i + 2] & 0xFF) << 16 | (b[i + 3] & 0xFF) << 24;
+            c = TABLE[7 * 256 + (c & 0xFF)]
+                    ^ TABLE[6 * 256 + ((c >>> 8) & 0xFF)]
+                    ^ TABLE[5 * 256 + ((c >>> 16) & 0xFF)]
+                    ^ TABLE[4 * 256 + (c >>> 24)]
+                    ^ TABLE[3 * 256 + (b[i + 4] & 0xFF)]
+                    ^ TABLE[2 * 256 + (b[i + 5] & 0xFF)]
+                    ^ TABLE[256 + (b[i + 6] & 0xFF)]
+                    ^ TABLE[b[i + 7] & 0xFF];
+        }
+        for (; i < end; i++) {
+            c = (c >>> 8) ^ TABLE[(c ^ b[i]) & 0xFF];
+        }
+        crc = c;
+    }
+
+    /**
+     * Get the checksum as an unsigned 32-bit value.
+     *
+     * @return the checksum
+     */
+    @Override
+    public long getValue() {
+        return intrinsic != null ? intrinsic.getValue() : ~crc & 0xFFFF_FFFFL;
+    }
+
+    /**
+     * Get the checksum as an int, the same as {@code HashCode.asInt()} of Guava.
+     *
+     * @return the checksum
+     */
+    public int getIntValue() {
+        return (int) getValue();
+    }
+
+    @Override
+    public void reset() {
+        if (intrinsic != null) {
+            intrinsic.reset();
+        }
+        crc = ~0;
+    }
+
+    /**
+     * Get the seed of the checksum, which is always 0 as CRC32C has no seed.
+     *
+     * @return 0
+     */
+    @Override
+    public long getSeed() {
+        return 0;
+    }
+
+    /**
+     * Combine the checksums of two consecutive ranges into the checksum of the whole, in {@code O(log(length))} \
+     * time without the bytes, like {@code crc32_combine} of zlib. It is how the checksums of the chunks hashed in \
+     * parallel are joined.
+     *
+     * @param crc1    checksum of the first range
+     * @param crc2    checksum of the second range
+     * @param length2 count of the bytes of the second range
+     * @return checksum of the first range followed by the second
+     * @throws IllegalArgumentException if the length is negative
+     */
+    public static int combine(int crc1, int crc2, long length2) {
+        if (length2 < 0) {
+            throw new IllegalArgumentException("Invalid length: " + length2);
+        }
+        return multiply(powerOf(length2), crc1) ^ crc2;
+    }
+
+    /**
+     * Get {@code x^(8 * length)} modulo the polynomial.
+     */
+    private static int powerOf(@Var long length) {
+        @Var int power = 1 << 31;
+        // x^8 is POWERS[3]
+        @Var int k = 3;
+        while (length != 0) {
+            if ((length & 1) != 0) {
+                power = multiply(POWERS[k & 31], power);
+            }
+            length >>>= 1;
+            k++;
+        }
+        return power;
+    }
+
+    /**
+     * Multiply the polynomials modulo the polynomial of CRC32C, in the reflected bit order.
+     */
+    private static int multiply(int a, @Var int b) {
+        @Var int m = 1 << 31;
+        @Var int product = 0;
+        while (m != 0) {
+            if ((a & m) != 0) {
+                product ^= b;
+                if ((a & (m - 1)) == 0) {
+                    break;
+                }
+            }
+            m >>>= 1;
+            b = (b & 1) != 0 ? (b >>> 1) ^ POLYNOMIAL : b >>> 1;
+        }
+        return product;
+    }
+
+    private static int[] powers() {
+        int[] powers = new int[32];
+        // x^1
+        powers[0] = 1 << 30;
+        for (int n = 1; n < powers.length; n++) {
+            powers[n] = multiply(powers[n - 1], powers[n - 1]);
+        }
+        return powers;
+    }
+}
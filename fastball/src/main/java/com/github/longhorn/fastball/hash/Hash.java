@@ -0,0 +1,153 @@
+package com.github.longhorn.fastball.hash;
+
+import javax.annotation.Nullable;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+public final class Hash {
+    private static final char SEPARATOR = '_';
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final int CRC32_HEX_LENGTH = 8;
+    private static final Charset DEFAULT_CHARSET = Charset.defaultCharset();
+    private static final ThreadLocal<Crc32c> CRC32C = ThreadLocal.withInitial(Crc32c::create);
+
+    private Hash() {
+    }
+
+    /**
+     * Calculate CRC32 hash of one to many strings. If the provided item is more then one, each item will be \
+     * concatenated by underscore.
+     *
+     * @param input the input string(s)
+     * @return String of the hash value
+     */
+    public static String crc32(Object... input) {
+        char[] hex = new char[CRC32_HEX_LENGTH];
+        writeCrc32Hex(crc32AsInt(input), hex, 0);
+        return new String(hex);
+    }
+
+    /**
+     * Calculate CRC32 hash of one to many strings like {@link #crc32(Object...)}, but without joining them, and \
+     * return the hash value as an int, the same as {@code HashCode.asInt()} of Guava. A null item is an empty \
+     * string, the strings, integers and longs are fed without any allocation if the default charset is UTF-8.
+     *
+     * @param input the input string(s)
+     * @return int of the hash value
+     */
+    public static int crc32AsInt(Object... input) {
+        return crc32AsInt(DEFAULT_CHARSET, input);
+    }
+
+    /**
+     * Same as {@link #crc32AsInt(Object...)} but encodes the strings in the given charset.
+     */
+    static int crc32AsInt(Charset charset, Object... input) {
+        Crc32c local = CRC32C.get();
+        // a new checksum for a nested call from toString() of an item, which would otherwise reset the outer one
+        Crc32c crc32c = local.acquire() ? local : Crc32c.create();
+        try {
+            crc32c.reset();
+            update(crc32c, charset, input);
+            return crc32c.getIntValue();
+        } finally {
+            crc32c.release();
+        }
+    }
+
+    /**
+     * Calculate the 64-bit hash of one to many strings like {@link #crc32AsInt(Object...)}, by the algorithm and the \
+     * seed, but always encodes the strings in UTF-8. The probabilistic structures of this package take the keys in \
+     * the same way, so a call site of {@link #crc32(Object...)} passes the same items to them.
+     *
+     * @param algorithm the hash algorithm
+     * @param seed      the seed
+     * @param input     the input string(s)
+     * @return long of the hash value
+     */
+    public static long hash64(HashAlgorithm algorithm, long seed, Object... input) {
+        StreamingHash hash = algorithm.local(seed);
+        try {
+            update(hash, StandardCharsets.UTF_8, input);
+            return hash.getValue();
+        } finally {
+            hash.release();
+        }
+    }
+
+    /**
+     * Feed the items to the hash, separated by underscore.
+     */
+    private static void update(StreamingHash hash, Charset charset, @Nullable Object[] input) {
+        if (input == null) {
+            return;
+        }
+        boolean utf8 = StandardCharsets.UTF_8.equals(charset);
+        for (int i = 0; i < input.length; i++) {
+            if (i > 0) {
+                hash.update(SEPARATOR);
+            }
+            Object item = input[i];
+            if (item == null) {
+                continue;
+            }
+            if (!utf8) {
+                hash.update(item.toString().getBytes(charset));
+            } else if (item instanceof CharSequence) {
+                hash.update((CharSequence) item);
+            } else if (item instanceof Integer || item instanceof Long
+                    || item instanceof Short || item instanceof Byte) {
+                hash.updateDecimal(((Number) item).longValue());
+            } else {
+                hash.update(item.toString());
+            }
+        }
+    }
+
+    /**
+     * Calculate CRC32 hash of one to many strings like {@link #crc32AsInt(Object...)}, and return the hash value as \
+     * an unsigned long.
+     *
+     * @param input the input string(s)
+     * @return long of the hash value
+     */
+    public static long crc32AsLong(Object... input) {
+        return Integer.toUnsignedLong(crc32AsInt(input));
+    }
+
+    /**
+     * Write the hex string of a hash value of {@link #crc32AsInt(Object...)} to the array, the same as \
+     * {@link #crc32(Object...)} returns.
+     *
+     * @param crc32  the hash value
+     * @param dst    the array to write to, which should have 8 chars from the offset
+     * @param offset the index of the first char
+     * @return the index after the last char
+     */
+    public static int writeCrc32Hex(int crc32, char[] dst, int offset) {
+        if (offset < 0 || offset > dst.length - CRC32_HEX_LENGTH) {
+            throw new IndexOutOfBoundsException("Invalid offset: " + offset);
+        }
+        // the bytes of HashCode.fromInt are in little-endian order
+        for (int i = 0; i < Integer.BYTES; i++) {
+            int b = crc32 >>> (i * 8);
+            dst[offset + i * 2] = HEX_DIGITS[(b >>> 4) & 0xF];
+            dst[offset + i * 2 + 1] = HEX_DIGITS[b & 0xF];
+        }
+        return offset + CRC32_HEX_LENGTH;
+    }
+
+    /**
+     * Append the hex string of a hash value of {@link #crc32AsInt(Object...)}, the same as {@link #crc32(Object...)} \
+     * returns.
+     *
+     * @param crc32 the hash value
+     * @param out   the StringBuilder to append to
+     */
+    public static void appendCrc32Hex(int crc32, StringBuilder out) {
+        for (int i = 0; i < Integer.BYTES; i++) {
+            int b = crc32 >>> (i * 8);
+            out.append(HEX_DIGITS[(b >>> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+        }
+    }
+}
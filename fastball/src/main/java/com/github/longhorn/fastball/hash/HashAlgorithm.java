@@ -0,0 +1,200 @@
+package com.github.longhorn.fastball.hash;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+
+/**
+ * The non-cryptographic hash functions, for choosing one by configuration. Each of them hashes a range of a byte \
+ * array, a {@link ByteBuffer} on the heap or not, or the UTF-8 bytes of a {@link CharSequence} in one shot, or \
+ * creates a {@link StreamingHash} for the bytes fed in pieces, which results in the same hash value. The one-shot \
+ * hashes of the buffers off the heap and the chars reuse a streaming hash of the thread, so nothing is allocated.
+ */
+public enum HashAlgorithm {
+    /**
+     * CRC32C, see {@link Crc32c}, whose hash value is an unsigned 32-bit value, and the seed is ignored.
+     */
+    CRC32C(0) {
+        @Override
+        public StreamingHash newHash(long seed) {
+            return Crc32c.create();
+        }
+
+        @Override
+        public long hash(byte[] b, int off, int len, long seed) {
+            StreamingHash hash = local(0);
+            try {
+                hash.update(b, off, len);
+                return hash.getValue();
+            } finally {
+                hash.release();
+            }
+        }
+    },
+    /**
+     * XXH64 of xxHash, see {@link XxHash64}.
+     */
+    XXH64(1) {
+        @Override
+        public StreamingHash newHash(long seed) {
+            return XxHash64.create(seed);
+        }
+
+        @Override
+        public long hash(byte[] b, int off, int len, long seed) {
+            return XxHash64.hash(b, off, len, seed);
+        }
+    },
+    /**
+     * The 64-bit XXH3 of xxHash, see {@link XxHash3}.
+     */
+    XXH3(2) {
+        @Override
+        public StreamingHash newHash(long seed) {
+            return XxHash3.create(seed);
+        }
+
+        @Override
+        public long hash(byte[] b, int off, int len, long seed) {
+            return XxHash3.hash(b, off, len, seed);
+        }
+    },
+    /**
+     * The low 64 bits of the 128-bit MurmurHash3 for x64, see {@link MurmurHash3}, whose seed is an unsigned 32-bit \
+     * value.
+     */
+    MURMUR3_128(3) {
+        @Override
+        public StreamingHash newHash(long seed) {
+            return MurmurHash3.create(seed);
+        }
+
+        @Override
+        public long hash(byte[] b, int off, int len, long seed) {
+            return MurmurHash3.hash(b, off, len, seed);
+        }
+    },
+    /**
+     * The 64-bit wyhash, see {@link WyHash}.
+     */
+    WYHASH(4) {
+        @Override
+        public StreamingHash newHash(long seed) {
+            return WyHash.create(seed);
+        }
+
+        @Override
+        public long hash(byte[] b, int off, int len, long seed) {
+            return WyHash.hash(b, off, len, seed);
+        }
+    };
+
+    private static final ThreadLocal<StreamingHash[]> HASHES_OF_THREAD =
+            ThreadLocal.withInitial(() -> new StreamingHash[values().length]);
+
+    /**
+     * The stable id in the serialized forms, which never changes when the constants are reordered or added.
+     */
+    private final byte id;
+
+    HashAlgorithm(int id) {
+        this.id = (byte) id;
+    }
+
+    /**
+     * Get the stable id of the algorithm in the serialized forms.
+     */
+    byte getId() {
+        return id;
+    }
+
+    /**
+     * Get the algorithm of the stable id, or null if there is no such one.
+     */
+    @Nullable
+    static HashAlgorithm ofId(byte id) {
+        for (HashAlgorithm algorithm : values()) {
+            if (algorithm.id == id) {
+                return algorithm;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Create an incremental hash.
+     *
+     * @param seed the seed
+     * @return the hash
+     */
+    public abstract StreamingHash newHash(long seed);
+
+    /**
+     * Get the hash of a range of the bytes.
+     *
+     * @param b    the bytes
+     * @param off  index of the first byte
+     * @param len  count of the bytes
+     * @param seed the seed
+     * @return the hash value
+     */
+    public abstract long hash(byte[] b, int off, int len, long seed);
+
+    /**
+     * Get the hash of the remaining bytes of the buffer, and move its position to the limit.
+     *
+     * @param buffer the bytes
+     * @param seed   the seed
+     * @return the hash value
+     */
+    public long hash(ByteBuffer buffer, long seed) {
+        if (buffer.hasArray()) {
+            long value = hash(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), seed);
+            buffer.position(buffer.limit());
+            return value;
+        }
+        StreamingHash hash = local(seed);
+        try {
+            hash.update(buffer);
+            return hash.getValue();
+        } finally {
+            hash.release();
+        }
+    }
+
+    /**
+     * Get the hash of the UTF-8 bytes of the chars, an unpaired surrogate is encoded as {@code '?'}.
+     *
+     * @param chars the chars
+     * @param seed  the seed
+     * @return the hash value
+     */
+    public long hash(CharSequence chars, long seed) {
+        StreamingHash hash = local(seed);
+        try {
+            hash.update(chars);
+            return hash.getValue();
+        } finally {
+            hash.release();
+        }
+    }
+
+    /**
+     * Get the reset streaming hash of the seed for this thread, which is created again only if the seed changes. It \
+     * is taken until {@link StreamingHash#release()}, so a nested call of the thread, such as from {@code toString()} \
+     * of a key, gets a new hash rather than resetting it.
+     */
+    StreamingHash local(long seed) {
+        StreamingHash[] hashes = HASHES_OF_THREAD.get();
+        StreamingHash hash = hashes[ordinal()];
+        if (hash != null && !hash.acquire()) {
+            return newHash(seed);
+        }
+        if (hash == null || (hash.getSeed() != seed && this != CRC32C)) {
+            hashes[ordinal()] = newHash(seed);
+            hashes[ordinal()].acquire();
+            return hashes[ordinal()];
+        }
+        hash.reset();
+        return hash;
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.longhorn.fastball.hash;
+
+/**
+ * Arithmetic shared by the hash functions, the multi-byte values are read in little-endian order as the reference \
+ * implementations do.
+ */
+final class HashMath {
+    private HashMath() {
+    }
+
+    static long getLong(byte[] b, int i) {
+        return (b[i] & 0xFFL)
+                | (b[i + 1] & 0xFFL) << 8
+                | (b[i + 2] & 0xFFL) << 16
+                | (b[i + 3] & 0xFFL) << 24
+                | (b[i + 4] & 0xFFL) << 32
+                | (b[i + 5] & 0xFFL) << 40
+                | (b[i + 6] & 0xFFL) << 48
+                | (b[i + 7] & 0xFFL) << 56;
+    }
+
+    /**
+     * Get the unsigned 32-bit value at the index.
+     */
+    static long getInt(byte[] b, int i) {
+        return (b[i] & 0xFFL) | (b[i + 1] & 0xFFL) << 8 | (b[i + 2] & 0xFFL) << 16 | (b[i + 3] & 0xFFL) << 24;
+    }
+
+    /**
+     * Get the high 64 bits of the unsigned 128-bit product, the same as {@code Math.unsignedMultiplyHigh} of Java 18.
+     */
+    static long multiplyHigh(long x, long y) {
+        long x1 = x >>> 32;
+        long x2 = x & 0xFFFF_FFFFL;
+        long y1 = y >>> 32;
+        long y2 = y & 0xFFFF_FFFFL;
+        long low = x2 * y2;
+        long middle1 = x1 * y2 + (low >>> 32);
+        long middle2 = x2 * y1 + (middle1 & 0xFFFF_FFFFL);
+        return x1 * y1 + (middle1 >>> 32) + (middle2 >>> 32);
+    }
+
+    /**
+     * Fold the unsigned 128-bit product into 64 bits by xor of its halves.
+     */
+    static long multiplyFold(long x, long y) {
+        return x * y ^ multiplyHigh(x, y);
+    }
+
+    /**
+     * Get the second hash of the double hashing of Kirsch and Mitzenmacher on a 64-bit hash, an odd value derived \
+     * from it, so the {@code i}th hash is {@code hash + i * step}.
+     */
+    static long doubleHashStep(long hash) {
+        return Long.rotateLeft(hash * 0x9E3779B97F4A7C15L, 32) | 1;
+    }
+}
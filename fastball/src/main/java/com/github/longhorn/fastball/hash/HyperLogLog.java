@@ -0,0 +1,208 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.errorprone.annotations.Var;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * HyperLogLog of the count of the distinct keys in {@code 2^precision} registers of one byte, whose relative \
+ * standard error is about {@code 1.04 / sqrt(2^precision)}, such as 0.8% in 16 KiB of the precision 14. The keys are \
+ * the items of {@link Hash#hash64}, the same as the ones of {@link Hash#crc32(Object...)}, or the 64-bit hashes of \
+ * the keys. The count is estimated by the improved estimator of Ertl, which is unbiased from the small to the large \
+ * counts without the bias tables or the linear counting.
+ * <p>
+ * It is not thread-safe, the ones of the threads or the nodes of the same precision, algorithm and seed are merged \
+ * by {@link #merge(HyperLogLog)}, and transferred by {@link #toByteArray()} and {@link #fromByteArray(byte[])}.
+ */
+public final class HyperLogLog {
+    private static final int MIN_PRECISION = 4;
+    private static final int MAX_PRECISION = 18;
+
+    private final HashAlgorithm algorithm;
+    private final long seed;
+    private final int precision;
+    private final byte[] registers;
+
+    private HyperLogLog(HashAlgorithm algorithm, long seed, int precision, byte[] registers) {
+        this.algorithm = algorithm;
+        this.seed = seed;
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    /**
+     * Create one, whose keys are hashed by {@link HashAlgorithm#XXH3} without a seed.
+     *
+     * @param precision the count of the index bits of the registers, from 4 to 18
+     * @return the HyperLogLog
+     * @throws IllegalArgumentException if the precision is out of range
+     */
+    public static HyperLogLog create(int precision) {
+        return create(precision, HashAlgorithm.XXH3, 0);
+    }
+
+    /**
+     * Create one of the precision.
+     *
+     * @param precision the count of the index bits of the registers, from 4 to 18
+     * @param algorithm algorithm of the key hashes
+     * @param seed      seed of the key hashes
+     * @return the HyperLogLog
+     * @throws IllegalArgumentException if the precision is out of range
+     */
+    public static HyperLogLog create(int precision, HashAlgorithm algorithm, long seed) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Invalid precision: " + precision);
+        }
+        return new HyperLogLog(algorithm, seed, precision, new byte[1 << precision]);
+    }
+
+    /**
+     * Restore one from the bytes of {@link #toByteArray()}.
+     *
+     * @param bytes the bytes
+     * @return the HyperLogLog
+     * @throws IllegalArgumentException if the bytes are not of a HyperLogLog
+     */
+    public static HyperLogLog fromByteArray(byte[] bytes) {
+        ByteBuffer buffer = SketchFormat.wrap(SketchFormat.HYPER_LOG_LOG, bytes);
+        try {
+            HashAlgorithm algorithm = SketchFormat.algorithm(buffer);
+            long seed = buffer.getLong();
+            int precision = buffer.get();
+            if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+                throw SketchFormat.invalid(SketchFormat.HYPER_LOG_LOG);
+            }
+            byte[] registers = new byte[1 << precision];
+            buffer.get(registers);
+            SketchFormat.checkEnd(SketchFormat.HYPER_LOG_LOG, buffer);
+            for (byte register : registers) {
+                if (register < 0 || register > Long.SIZE - precision + 1) {
+                    throw SketchFormat.invalid(SketchFormat.HYPER_LOG_LOG);
+                }
+            }
+            return new HyperLogLog(algorithm, seed, precision, registers);
+        } catch (BufferUnderflowException e) {
+            throw SketchFormat.invalid(SketchFormat.HYPER_LOG_LOG, e);
+        }
+    }
+
+    /**
+     * Add the key.
+     *
+     * @param key the items of the key, see {@link Hash#hash64}
+     * @return true if a register changes
+     */
+    public boolean add(Object... key) {
+        return addHash(Hash.hash64(algorithm, seed, key));
+    }
+
+    /**
+     * Add the key by its hash of the algorithm and the seed.
+     *
+     * @param keyHash 64-bit hash of the key
+     * @return true if a register changes
+     */
+    public boolean addHash(long keyHash) {
+        int index = (int) (keyHash >>> (Long.SIZE - precision));
+        // the rank of the first set bit after the index bits, at most 64 - precision + 1
+        byte rank = (byte) (Long.numberOfLeadingZeros(keyHash << precision | 1L << (precision - 1)) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Add all the keys of the other one.
+     *
+     * @param other the one of the same precision, algorithm and seed
+     * @throws IllegalArgumentException if the other one is not compatible
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision || other.algorithm != algorithm || other.seed != seed) {
+            throw new IllegalArgumentException("Invalid HyperLogLog to merge: incompatible");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Get the estimated count of the distinct keys.
+     *
+     * @return the count
+     */
+    public long cardinality() {
+        int q = Long.SIZE - precision;
+        int[] histogram = new int[q + 2];
+        for (byte register : registers) {
+            histogram[register]++;
+        }
+        int m = registers.length;
+        @Var double z = m * tau(1 - (double) histogram[q + 1] / m);
+        for (int k = q; k >= 1; k--) {
+            z = 0.5 * (z + histogram[k]);
+        }
+        z += m * sigma((double) histogram[0] / m);
+        return Math.round(m / (2 * Math.log(2)) * m / z);
+    }
+
+    private static double sigma(@Var double x) {
+        if (x == 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        @Var double y = 1;
+        @Var double z = x;
+        @Var double previous;
+        do {
+            x *= x;
+            previous = z;
+            z += x * y;
+            y += y;
+        } while (z != previous);
+        return z;
+    }
+
+    private static double tau(@Var double x) {
+        if (x == 0 || x == 1) {
+            return 0;
+        }
+        @Var double y = 1;
+        @Var double z = 1 - x;
+        @Var double previous;
+        do {
+            x = Math.sqrt(x);
+            previous = z;
+            y *= 0.5;
+            z -= (1 - x) * (1 - x) * y;
+        } while (z != previous);
+        return z / 3;
+    }
+
+    /**
+     * Get the count of the index bits of the registers.
+     *
+     * @return the precision
+     */
+    public int precision() {
+        return precision;
+    }
+
+    /**
+     * Get the compact bytes, see {@link #fromByteArray(byte[])}.
+     *
+     * @return the bytes
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[SketchFormat.HEADER_BYTES + 1 + registers.length];
+        SketchFormat.writeHeader(bytes, SketchFormat.HYPER_LOG_LOG, algorithm, seed)
+                .put((byte) precision)
+                .put(registers);
+        return bytes;
+    }
+}
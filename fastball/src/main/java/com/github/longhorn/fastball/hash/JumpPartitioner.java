@@ -0,0 +1,96 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.Var;
+
+/**
+ * Partitioner by the jump consistent hash of Lamping and Veach, which maps a key to one of the numbered buckets in \
+ * {@code O(log n)} time without any memory per bucket, and moves {@code 1 / n} of the keys to the new bucket when \
+ * the {@code n}th one is added. The nodes are the buckets in the order they are added, so it fits the nodes which \
+ * grow and shrink at the end, like the shards of a storage.
+ * <p>
+ * A removed node in the middle is replaced by the last node, so its keys move to the last node, and about \
+ * {@code (n - 1) / n} of the keys of the last node move to the other nodes. Use {@link RingPartitioner} or \
+ * {@link RendezvousPartitioner} for the nodes which leave in any order.
+ *
+ * @param <N> type of the nodes
+ */
+public final class JumpPartitioner<N> extends AbstractPartitioner<N, ImmutableList<N>> {
+    private static final long MULTIPLIER = 2862933555777941757L;
+
+    private JumpPartitioner(HashAlgorithm algorithm, long seed) {
+        super(algorithm, seed, ImmutableList.of());
+    }
+
+    /**
+     * Create an empty partitioner, whose keys are hashed by {@link HashAlgorithm#XXH3} without a seed.
+     *
+     * @param <N> type of the nodes
+     * @return the partitioner
+     */
+    public static <N> JumpPartitioner<N> create() {
+        return create(HashAlgorithm.XXH3, 0);
+    }
+
+    /**
+     * Create an empty partitioner.
+     *
+     * @param algorithm algorithm of the key hashes
+     * @param seed      seed of the key hashes
+     * @param <N>       type of the nodes
+     * @return the partitioner
+     */
+    public static <N> JumpPartitioner<N> create(HashAlgorithm algorithm, long seed) {
+        return new JumpPartitioner<>(algorithm, seed);
+    }
+
+    /**
+     * Get the bucket of the key by the jump consistent hash, the same as {@code Hashing.consistentHash} of Guava.
+     *
+     * @param keyHash 64-bit hash of the key
+     * @param buckets count of the buckets
+     * @return the bucket, from 0 to {@code buckets - 1}
+     * @throws IllegalArgumentException if the count of the buckets is not positive
+     */
+    public static int bucketOf(long keyHash, int buckets) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("Invalid buckets: " + buckets);
+        }
+        @Var long key = keyHash;
+        @Var long bucket = 0;
+        @Var long next = 0;
+        // jump forward to the next bucket which takes the key, until it is out of range
+        while (next < buckets) {
+            bucket = next;
+            key = key * MULTIPLIER + 1;
+            next = (long) ((bucket + 1) / ((double) ((int) (key >>> 33) + 1) / 0x1.0p31));
+        }
+        return (int) bucket;
+    }
+
+    @Override
+    ImmutableList<N> stateOf(ImmutableList<N> current, ImmutableList<N> nodes) {
+        return nodes;
+    }
+
+    @Override
+    ImmutableList<N> nodesOf(ImmutableList<N> state) {
+        return state;
+    }
+
+    @Override
+    N lookup(ImmutableList<N> state, long keyHash) {
+        return state.get(bucketOf(keyHash, state.size()));
+    }
+
+    @Override
+    ImmutableList<N> without(ImmutableList<N> nodes, N node) {
+        int index = nodes.indexOf(node);
+        int last = nodes.size() - 1;
+        ImmutableList.Builder<N> builder = ImmutableList.builder();
+        for (int i = 0; i < last; i++) {
+            builder.add(i == index ? nodes.get(last) : nodes.get(i));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,215 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.errorprone.annotations.Var;
+
+import static com.github.longhorn.fastball.hash.HashMath.getLong;
+
+/**
+ * The 128-bit MurmurHash3 for x64, the same as {@code MurmurHash3_x64_128} of the reference implementation, whose \
+ * seed is an unsigned 32-bit value. The hash value is two longs, the first one is the {@link #getValue() low} 64 bits \
+ * and the second one is the {@link #getHighValue() high} 64 bits, so the bytes of {@code HashCode.asBytes()} of \
+ * Guava are the two longs in little-endian order. Not thread-safe.
+ */
+public final class MurmurHash3 extends StreamingHash {
+    private static final long C1 = 0x87C37B91114253D5L;
+    private static final long C2 = 0x4CF5AD432745937FL;
+    private static final int BLOCK = 16;
+    /**
+     * The hash value of the one-shot hashes of 64 bits.
+     */
+    private static final ThreadLocal<long[]> VALUE_OF_THREAD = ThreadLocal.withInitial(() -> new long[2]);
+
+    private final long seed;
+    private final byte[] buffer = new byte[BLOCK];
+    private int buffered;
+    private long totalLength;
+    private long h1;
+    private long h2;
+
+    private MurmurHash3(long seed) {
+        this.seed = checkSeed(seed);
+        reset();
+    }
+
+    /**
+     * Create an incremental hash.
+     *
+     * @param seed the seed, from 0 to {@code 0xFFFFFFFF}
+     * @return the hash
+     * @throws IllegalArgumentException if the seed is out of range
+     */
+    public static MurmurHash3 create(long seed) {
+        return new MurmurHash3(seed);
+    }
+
+    private static long checkSeed(long seed) {
+        if (seed >>> 32 != 0) {
+            throw new IllegalArgumentException("Invalid seed: " + seed);
+        }
+        return seed;
+    }
+
+    /**
+     * Get the low 64 bits of the hash of a range of the bytes.
+     *
+     * @param b    the bytes
+     * @param off  index of the first byte
+     * @param len  count of the bytes
+     * @param seed the seed, from 0 to {@code 0xFFFFFFFF}
+     * @return the low 64 bits of the hash value
+     * @throws IllegalArgumentException if the seed is out of range
+     */
+    public static long hash(byte[] b, int off, int len, long seed) {
+        long[] value = VALUE_OF_THREAD.get();
+        hash128(b, off, len, seed, value, 0);
+        return value[0];
+    }
+
+    /**
+     * Get the hash of a range of the bytes, and put the 128 bits to the array as two longs.
+     *
+     * @param b      the bytes
+     * @param off    index of the first byte
+     * @param len    count of the bytes
+     * @param seed   the seed, from 0 to {@code 0xFFFFFFFF}
+     * @param dst    the array to write to, which should have 2 longs from the offset
+     * @param offset index of the low 64 bits in the array
+     * @throws IllegalArgumentException if the seed is out of range
+     */
+    public static void hash128(byte[] b, int off, int len, long seed, long[] dst, int offset) {
+        checkRange(b, off, len);
+        checkSeed(seed);
+        if (offset < 0 || offset > dst.length - 2) {
+            throw new IndexOutOfBoundsException("Invalid offset: " + offset);
+        }
+        int end = off + len;
+        @Var long a = seed;
+        @Var long c = seed;
+        @Var int i = off;
+        for (; i <= end - BLOCK; i += BLOCK) {
+            a ^= mixK1(getLong(b, i));
+            a = (Long.rotateLeft(a, 27) + c) * 5 + 0x52DCE729;
+            c ^= mixK2(getLong(b, i + 8));
+            c = (Long.rotateLeft(c, 31) + a) * 5 + 0x38495AB5;
+        }
+        a ^= mixK1(tail(b, i, Math.min(end - i, 8)));
+        c ^= mixK2(end - i > 8 ? tail(b, i + 8, end - i - 8) : 0);
+        dst[offset] = low(a, c, len);
+        dst[offset + 1] = high(a, c, len);
+    }
+
+    private static long mixK1(long k1) {
+        return Long.rotateLeft(k1 * C1, 31) * C2;
+    }
+
+    private static long mixK2(long k2) {
+        return Long.rotateLeft(k2 * C2, 33) * C1;
+    }
+
+    /**
+     * Get the long of at most 8 bytes in little-endian order.
+     */
+    private static long tail(byte[] b, int off, int len) {
+        @Var long k = 0;
+        for (int i = len - 1; i >= 0; i--) {
+            k = k << 8 | (b[off + i] & 0xFFL);
+        }
+        return k;
+    }
+
+    /**
+     * Get the low 64 bits of the finalization, {@code fmix(h1) + fmix(h2)} of the mixed halves.
+     */
+    private static long low(long h1, long h2, long len) {
+        long a = (h1 ^ len) + (h2 ^ len);
+        return fmix(a) + fmix((h2 ^ len) + a);
+    }
+
+    /**
+     * Get the high 64 bits of the finalization, {@code fmix(h1) + 2 * fmix(h2)} of the mixed halves.
+     */
+    private static long high(long h1, long h2, long len) {
+        long a = (h1 ^ len) + (h2 ^ len);
+        return fmix(a) + 2 * fmix((h2 ^ len) + a);
+    }
+
+    private static long fmix(long k) {
+        @Var long h = k;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ h >>> 33;
+    }
+
+    @Override
+    public void update(byte[] b, int off, int len) {
+        checkRange(b, off, len);
+        totalLength += len;
+        int end = off + len;
+        @Var int i = off;
+        if (buffered + len < BLOCK) {
+            System.arraycopy(b, off, buffer, buffered, len);
+            buffered += len;
+            return;
+        }
+        if (buffered > 0) {
+            int fill = BLOCK - buffered;
+            System.arraycopy(b, i, buffer, buffered, fill);
+            consume(buffer, 0);
+            i += fill;
+        }
+        for (; i <= end - BLOCK; i += BLOCK) {
+            consume(b, i);
+        }
+        buffered = end - i;
+        System.arraycopy(b, i, buffer, 0, buffered);
+    }
+
+    private void consume(byte[] b, int i) {
+        h1 ^= mixK1(getLong(b, i));
+        h1 = (Long.rotateLeft(h1, 27) + h2) * 5 + 0x52DCE729;
+        h2 ^= mixK2(getLong(b, i + 8));
+        h2 = (Long.rotateLeft(h2, 31) + h1) * 5 + 0x38495AB5;
+    }
+
+    /**
+     * Get the low 64 bits of the hash value.
+     *
+     * @return the low 64 bits
+     */
+    @Override
+    public long getValue() {
+        return low(h1 ^ tailK1(), h2 ^ tailK2(), totalLength);
+    }
+
+    /**
+     * Get the high 64 bits of the hash value.
+     *
+     * @return the high 64 bits
+     */
+    public long getHighValue() {
+        return high(h1 ^ tailK1(), h2 ^ tailK2(), totalLength);
+    }
+
+    private long tailK1() {
+        return mixK1(tail(buffer, 0, Math.min(buffered, 8)));
+    }
+
+    private long tailK2() {
+        return mixK2(buffered > 8 ? tail(buffer, 8, buffered - 8) : 0);
+    }
+
+    @Override
+    public void reset() {
+        h1 = seed;
+        h2 = seed;
+        buffered = 0;
+        totalLength = 0;
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.longhorn.fastball.hash;
+
+import java.util.List;
+
+/**
+ * Routing of keys to nodes, which moves only a small part of the keys when a node is added or removed, unlike the \
+ * modulo of the node count. The nodes are kept in an immutable snapshot which is replaced atomically on a change, so \
+ * the lookups never block and always see a consistent set of nodes. The nodes are identified by \
+ * {@link Object#equals(Object)} and hashed by {@link Object#toString()}.
+ *
+ * @param <N> type of the nodes
+ */
+public interface Partitioner<N> {
+    /**
+     * Get the node of the key.
+     *
+     * @param keyHash 64-bit hash of the key, such as a value of {@link HashAlgorithm}
+     * @return the node
+     * @throws IllegalStateException if there is no node
+     */
+    N nodeOf(long keyHash);
+
+    /**
+     * Get the node of the key, which is hashed by the algorithm of the partitioner.
+     *
+     * @param key the key
+     * @return the node
+     * @throws IllegalStateException if there is no node
+     */
+    N nodeOf(CharSequence key);
+
+    /**
+     * Add the node.
+     *
+     * @param node the node
+     * @return false if the node is already in the partitioner
+     */
+    boolean add(N node);
+
+    /**
+     * Remove the node.
+     *
+     * @param node the node
+     * @return false if the node is not in the partitioner
+     */
+    boolean remove(N node);
+
+    /**
+     * Get a snapshot of the nodes.
+     *
+     * @return immutable list of the nodes
+     */
+    List<N> nodes();
+}
@@ -0,0 +1,99 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.Var;
+
+/**
+ * Partitioner by the rendezvous hashing, or highest random weight, which scores every node for the key and picks the \
+ * highest one in {@code O(n)} time. When a node is removed, only its keys move, each to the node of its second \
+ * highest score, and when a node is added, only the keys which score it the highest move to it, so the nodes may \
+ * join and leave in any order without virtual nodes.
+ * <p>
+ * The hashes of the nodes are computed once per change, so a score is one 128-bit multiplication of the key hash \
+ * and the node hash, which is cheaper than a binary search over a ring for a few dozen nodes.
+ *
+ * @param <N> type of the nodes
+ */
+public final class RendezvousPartitioner<N> extends AbstractPartitioner<N, RendezvousPartitioner.Nodes<N>> {
+    private static final long KEY_SECRET = 0xA0761D6478BD642FL;
+    private static final long NODE_SECRET = 0xE7037ED1A0B428DBL;
+
+    /**
+     * The nodes and their hashes.
+     */
+    static final class Nodes<N> {
+        private final ImmutableList<N> nodes;
+        private final long[] hashes;
+
+        private Nodes(ImmutableList<N> nodes, long[] hashes) {
+            this.nodes = nodes;
+            this.hashes = hashes;
+        }
+    }
+
+    private RendezvousPartitioner(HashAlgorithm algorithm, long seed) {
+        super(algorithm, seed, new Nodes<>(ImmutableList.of(), new long[0]));
+    }
+
+    /**
+     * Create an empty partitioner, whose keys are hashed by {@link HashAlgorithm#XXH3} without a seed.
+     *
+     * @param <N> type of the nodes
+     * @return the partitioner
+     */
+    public static <N> RendezvousPartitioner<N> create() {
+        return create(HashAlgorithm.XXH3, 0);
+    }
+
+    /**
+     * Create an empty partitioner.
+     *
+     * @param algorithm algorithm of the key hashes and the node hashes
+     * @param seed      seed of the key hashes and the node hashes
+     * @param <N>       type of the nodes
+     * @return the partitioner
+     */
+    public static <N> RendezvousPartitioner<N> create(HashAlgorithm algorithm, long seed) {
+        return new RendezvousPartitioner<>(algorithm, seed);
+    }
+
+    @Override
+    Nodes<N> stateOf(Nodes<N> current, ImmutableList<N> nodes) {
+        long[] hashes = new long[nodes.size()];
+        @Var int j = 0;
+        for (int i = 0; i < hashes.length; i++) {
+            // reuse the hashes of the nodes which are kept in the same order
+            while (j < current.nodes.size() && !current.nodes.get(j).equals(nodes.get(i))) {
+                j++;
+            }
+            hashes[i] = j < current.nodes.size() ? current.hashes[j++] : hashOf(nodes.get(i).toString());
+        }
+        return new Nodes<>(nodes, hashes);
+    }
+
+    @Override
+    ImmutableList<N> nodesOf(Nodes<N> state) {
+        return state.nodes;
+    }
+
+    @Override
+    N lookup(Nodes<N> state, long keyHash) {
+        long[] hashes = state.hashes;
+        long key = keyHash ^ KEY_SECRET;
+        @Var int best = 0;
+        @Var long bestScore = score(key, hashes[0]);
+        for (int i = 1; i < hashes.length; i++) {
+            long score = score(key, hashes[i]);
+            // break the ties by the node hash, so the result does not depend on the order of the nodes
+            if (score > bestScore || (score == bestScore && hashes[i] > hashes[best])) {
+                best = i;
+                bestScore = score;
+            }
+        }
+        return state.nodes.get(best);
+    }
+
+    private static long score(long key, long nodeHash) {
+        return HashMath.multiplyFold(key, nodeHash ^ NODE_SECRET);
+    }
+}
@@ -0,0 +1,146 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.Var;
+
+import java.util.Arrays;
+
+/**
+ * Partitioner by a consistent hash ring of virtual nodes. Each node is hashed to a number of points on the ring of \
+ * 64-bit values, and a key belongs to the node of the first point at or after its hash, wrapping around, which is \
+ * found by a binary search in {@code O(log(n * v))} time. When a node is added or removed, only the keys between its \
+ * points and the previous points move, and more virtual nodes spread the keys more evenly over the nodes.
+ * <p>
+ * The points are kept sorted in primitive arrays of an immutable snapshot, which is rebuilt by merging the points of \
+ * an added node or dropping the points of a removed one.
+ *
+ * @param <N> type of the nodes
+ */
+public final class RingPartitioner<N> extends AbstractPartitioner<N, RingPartitioner.Ring<N>> {
+    private final int virtualNodes;
+
+    /**
+     * The sorted points of the virtual nodes and their nodes.
+     */
+    static final class Ring<N> {
+        private final ImmutableList<N> nodes;
+        private final long[] points;
+        private final Object[] owners;
+
+        private Ring(ImmutableList<N> nodes, long[] points, Object[] owners) {
+            this.nodes = nodes;
+            this.points = points;
+            this.owners = owners;
+        }
+    }
+
+    private RingPartitioner(int virtualNodes, HashAlgorithm algorithm, long seed) {
+        super(algorithm, seed, new Ring<>(ImmutableList.of(), new long[0], new Object[0]));
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("Invalid virtual nodes: " + virtualNodes);
+        }
+        this.virtualNodes = virtualNodes;
+    }
+
+    /**
+     * Create an empty partitioner, whose keys are hashed by {@link HashAlgorithm#XXH3} without a seed.
+     *
+     * @param virtualNodes count of the points of each node, such as 100 to 200
+     * @param <N>          type of the nodes
+     * @return the partitioner
+     * @throws IllegalArgumentException if the count of the virtual nodes is not positive
+     */
+    public static <N> RingPartitioner<N> create(int virtualNodes) {
+        return create(virtualNodes, HashAlgorithm.XXH3, 0);
+    }
+
+    /**
+     * Create an empty partitioner.
+     *
+     * @param virtualNodes count of the points of each node, such as 100 to 200
+     * @param algorithm    algorithm of the key hashes and the points
+     * @param seed         seed of the key hashes and the points
+     * @param <N>          type of the nodes
+     * @return the partitioner
+     * @throws IllegalArgumentException if the count of the virtual nodes is not positive
+     */
+    public static <N> RingPartitioner<N> create(int virtualNodes, HashAlgorithm algorithm, long seed) {
+        return new RingPartitioner<>(virtualNodes, algorithm, seed);
+    }
+
+    /**
+     * Get the points of the virtual nodes of the node, the hashes of {@code name#0}, {@code name#1} and so on.
+     */
+    private long[] pointsOf(N node) {
+        long[] points = new long[virtualNodes];
+        String name = node.toString();
+        StringBuilder builder = new StringBuilder(name.length() + 11).append(name).append('#');
+        for (int i = 0; i < virtualNodes; i++) {
+            builder.setLength(name.length() + 1);
+            points[i] = hashOf(builder.append(i));
+        }
+        Arrays.sort(points);
+        return points;
+    }
+
+    @Override
+    Ring<N> stateOf(Ring<N> current, ImmutableList<N> nodes) {
+        if (nodes.size() == current.nodes.size() + 1 && nodes.subList(0, current.nodes.size()).equals(current.nodes)) {
+            return merged(current, nodes);
+        }
+        // drop the points of the removed node, the only one which is not kept in the same order
+        @Var int removed = 0;
+        while (removed < nodes.size() && current.nodes.get(removed).equals(nodes.get(removed))) {
+            removed++;
+        }
+        Object node = current.nodes.get(removed);
+        long[] points = new long[virtualNodes * nodes.size()];
+        Object[] owners = new Object[points.length];
+        @Var int size = 0;
+        for (int i = 0; i < current.points.length; i++) {
+            Object owner = current.owners[i];
+            if (!node.equals(owner)) {
+                points[size] = current.points[i];
+                owners[size++] = owner;
+            }
+        }
+        return new Ring<>(nodes, points, owners);
+    }
+
+    /**
+     * Merge the points of the last node into the ring.
+     */
+    private Ring<N> merged(Ring<N> current, ImmutableList<N> nodes) {
+        N node = nodes.get(nodes.size() - 1);
+        long[] added = pointsOf(node);
+        long[] points = new long[current.points.length + added.length];
+        Object[] owners = new Object[points.length];
+        @Var int i = 0;
+        @Var int j = 0;
+        for (int k = 0; k < points.length; k++) {
+            if (j == added.length || (i < current.points.length && current.points[i] <= added[j])) {
+                points[k] = current.points[i];
+                owners[k] = current.owners[i++];
+            } else {
+                points[k] = added[j++];
+                owners[k] = node;
+            }
+        }
+        return new Ring<>(nodes, points, owners);
+    }
+
+    @Override
+    ImmutableList<N> nodesOf(Ring<N> state) {
+        return state.nodes;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    N lookup(Ring<N> state, long keyHash) {
+        @Var int index = Arrays.binarySearch(state.points, keyHash);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return (N) state.owners[index == state.points.length ? 0 : index];
+    }
+}
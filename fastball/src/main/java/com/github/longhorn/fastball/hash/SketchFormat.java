@@ -0,0 +1,89 @@
+package com.github.longhorn.fastball.hash;
+
+import java.nio.ByteBuffer;
+import java.nio.BufferUnderflowException;
+
+/**
+ * The compact byte format of the probabilistic structures, a header of a type byte, a version byte, the stable id of \
+ * the {@link HashAlgorithm} and the seed, followed by the parameters and the data of the structure in big-endian \
+ * order.
+ */
+final class SketchFormat {
+    static final byte BLOOM_FILTER = 'B';
+    static final byte COUNT_MIN_SKETCH = 'C';
+    static final byte HYPER_LOG_LOG = 'H';
+    static final int HEADER_BYTES = 2 + 1 + Long.BYTES;
+    private static final byte VERSION = 1;
+
+    private SketchFormat() {
+    }
+
+    /**
+     * Wrap the bytes of the header and the data, and write the header.
+     *
+     * @return the buffer positioned after the header
+     */
+    static ByteBuffer writeHeader(byte[] bytes, byte type, HashAlgorithm algorithm, long seed) {
+        return ByteBuffer.wrap(bytes)
+                .put(type)
+                .put(VERSION)
+                .put(algorithm.getId())
+                .putLong(seed);
+    }
+
+    /**
+     * Wrap the bytes and check the type and the version.
+     *
+     * @throws IllegalArgumentException if the bytes are not of the type
+     */
+    static ByteBuffer wrap(byte type, byte[] bytes) {
+        if (bytes.length < HEADER_BYTES || bytes[0] != type || bytes[1] != VERSION
+                || HashAlgorithm.ofId(bytes[2]) == null) {
+            throw invalid(type);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.position(2);
+        return buffer;
+    }
+
+    /**
+     * Read the algorithm of the id checked by {@link #wrap(byte, byte[])}.
+     */
+    static HashAlgorithm algorithm(ByteBuffer buffer) {
+        HashAlgorithm algorithm = HashAlgorithm.ofId(buffer.get());
+        if (algorithm == null) {
+            throw new IllegalStateException("Invalid id of the hash algorithm");
+        }
+        return algorithm;
+    }
+
+    /**
+     * Check all the bytes are read.
+     *
+     * @throws IllegalArgumentException if there are more bytes
+     */
+    static void checkEnd(byte type, ByteBuffer buffer) {
+        if (buffer.hasRemaining()) {
+            throw invalid(type);
+        }
+    }
+
+    static IllegalArgumentException invalid(byte type) {
+        return new IllegalArgumentException("Invalid bytes of " + name(type));
+    }
+
+    static IllegalArgumentException invalid(byte type, BufferUnderflowException e) {
+        return new IllegalArgumentException("Invalid bytes of " + name(type), e);
+    }
+
+    private static String name(byte type) {
+        switch (type) {
+            case BLOOM_FILTER:
+                return "BloomFilter";
+            case COUNT_MIN_SKETCH:
+                return "CountMinSketch";
+            default:
+                return "HyperLogLog";
+        }
+    }
+}
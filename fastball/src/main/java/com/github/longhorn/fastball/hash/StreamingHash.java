@@ -0,0 +1,175 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.errorprone.annotations.Var;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Incremental hash of a stream of bytes. The bytes could be fed in any pieces, the hash value is the same as the \
+ * one-shot hash of the concatenated bytes. The chars of a {@link CharSequence} are encoded as UTF-8, and the bytes \
+ * of a direct {@link ByteBuffer} are copied, through a small scratch array of the hash, without an intermediate \
+ * String or byte array. Not thread-safe.
+ *
+ * @see HashAlgorithm
+ */
+public abstract class StreamingHash {
+    static final int SCRATCH_SIZE = 256;
+
+    private final byte[] scratch = new byte[SCRATCH_SIZE];
+    /**
+     * Whether the hash of a thread is being fed by a call, so a nested call of the thread, such as from \
+     * {@code toString()} of an item, does not reset it.
+     */
+    private boolean inUse;
+
+    /**
+     * Update the hash with the lowest 8 bits of the value.
+     *
+     * @param b the byte
+     */
+    public void update(int b) {
+        scratch[0] = (byte) b;
+        update(scratch, 0, 1);
+    }
+
+    /**
+     * Update the hash with the bytes.
+     *
+     * @param b the bytes
+     */
+    public void update(byte[] b) {
+        update(b, 0, b.length);
+    }
+
+    /**
+     * Update the hash with a range of the bytes.
+     *
+     * @param b   the bytes
+     * @param off index of the first byte
+     * @param len count of the bytes
+     */
+    public abstract void update(byte[] b, int off, int len);
+
+    /**
+     * Update the hash with the remaining bytes of the buffer, on the heap or not, and move its position to the \
+     * limit.
+     *
+     * @param buffer the bytes
+     */
+    public void update(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            buffer.position(buffer.limit());
+            return;
+        }
+        while (buffer.hasRemaining()) {
+            int length = Math.min(SCRATCH_SIZE, buffer.remaining());
+            buffer.get(scratch, 0, length);
+            update(scratch, 0, length);
+        }
+    }
+
+    /**
+     * Update the hash with the UTF-8 bytes of the chars, an unpaired surrogate is encoded as {@code '?'} like \
+     * {@link String#getBytes(java.nio.charset.Charset)}.
+     *
+     * @param chars the chars
+     */
+    public void update(CharSequence chars) {
+        @Var int length = 0;
+        int count = chars.length();
+        for (int i = 0; i < count; i++) {
+            if (length > SCRATCH_SIZE - 4) {
+                update(scratch, 0, length);
+                length = 0;
+            }
+            char c = chars.charAt(i);
+            if (c < 0x80) {
+                scratch[length++] = (byte) c;
+            } else if (c < 0x800) {
+                scratch[length++] = (byte) (0xC0 | c >> 6);
+                scratch[length++] = (byte) (0x80 | (c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                scratch[length++] = (byte) (0xE0 | c >> 12);
+                scratch[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                scratch[length++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < count && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, chars.charAt(++i));
+                scratch[length++] = (byte) (0xF0 | codePoint >> 18);
+                scratch[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                scratch[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                scratch[length++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                scratch[length++] = '?';
+            }
+        }
+        update(scratch, 0, length);
+    }
+
+    /**
+     * Update the hash with the decimal digits of the value, the same as the bytes of {@link Long#toString(long)}.
+     *
+     * @param value the value
+     */
+    public void updateDecimal(long value) {
+        @Var int index = SCRATCH_SIZE;
+        @Var long remaining = value;
+        // negative digits, so Long.MIN_VALUE does not overflow
+        if (remaining > 0) {
+            remaining = -remaining;
+        }
+        do {
+            scratch[--index] = (byte) ('0' - remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        if (value < 0) {
+            scratch[--index] = '-';
+        }
+        update(scratch, index, SCRATCH_SIZE - index);
+    }
+
+    /**
+     * Get the hash value of the bytes fed so far, the hash could still be updated afterwards.
+     *
+     * @return the hash value, or its lowest 64 bits for a wider hash
+     */
+    public abstract long getValue();
+
+    /**
+     * Reset the hash to its initial state, with the same seed.
+     */
+    public abstract void reset();
+
+    /**
+     * Get the seed of the hash.
+     *
+     * @return the seed, 0 for an unseeded hash
+     */
+    public abstract long getSeed();
+
+    /**
+     * Take the hash of a thread for a call, unless an outer call of the thread is feeding it.
+     *
+     * @return whether the hash is taken
+     */
+    boolean acquire() {
+        if (inUse) {
+            return false;
+        }
+        inUse = true;
+        return true;
+    }
+
+    /**
+     * Give back the hash taken by {@link #acquire()}, which does nothing to a hash not taken.
+     */
+    void release() {
+        inUse = false;
+    }
+
+    static void checkRange(byte[] b, int off, int len) {
+        if (off < 0 || len < 0 || off > b.length - len) {
+            throw new IndexOutOfBoundsException("Invalid range: " + off + " + " + len + " > " + b.length);
+        }
+    }
+}
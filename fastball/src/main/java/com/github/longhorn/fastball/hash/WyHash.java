@@ -0,0 +1,178 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.errorprone.annotations.Var;
+
+import static com.github.longhorn.fastball.hash.HashMath.getInt;
+import static com.github.longhorn.fastball.hash.HashMath.getLong;
+import static com.github.longhorn.fastball.hash.HashMath.multiplyFold;
+import static com.github.longhorn.fastball.hash.HashMath.multiplyHigh;
+
+/**
+ * The 64-bit wyhash, the same as {@code wyhash} of the reference implementation {@code wyhash.h} final version 4 \
+ * with its default secret {@code _wyp}. Not thread-safe.
+ */
+public final class WyHash extends StreamingHash {
+    private static final long SECRET0 = 0xA0761D6478BD642FL;
+    private static final long SECRET1 = 0xE7037ED1A0B428DBL;
+    private static final long SECRET2 = 0x8EBC6AF09C88C6E3L;
+    private static final long SECRET3 = 0x589965CC75374CC3L;
+    private static final int BLOCK = 48;
+    private static final int HISTORY = 16;
+
+    private final long seed;
+    /**
+     * The last 16 consumed bytes, followed by the bytes which are not consumed yet.
+     */
+    private final byte[] buffer = new byte[HISTORY + BLOCK];
+    private int buffered;
+    private long totalLength;
+    private long state;
+    private long state1;
+    private long state2;
+
+    private WyHash(long seed) {
+        this.seed = seed;
+        reset();
+    }
+
+    /**
+     * Create an incremental hash.
+     *
+     * @param seed the seed
+     * @return the hash
+     */
+    public static WyHash create(long seed) {
+        return new WyHash(seed);
+    }
+
+    /**
+     * Get the hash of a range of the bytes.
+     *
+     * @param b    the bytes
+     * @param off  index of the first byte
+     * @param len  count of the bytes
+     * @param seed the seed
+     * @return the hash value
+     */
+    public static long hash(byte[] b, int off, int len, long seed) {
+        checkRange(b, off, len);
+        @Var long s = initialState(seed);
+        if (len <= 16) {
+            return hashShort(b, off, len, s);
+        }
+        @Var int p = off;
+        @Var int i = len;
+        if (i > BLOCK) {
+            @Var long s1 = s;
+            @Var long s2 = s;
+            do {
+                s = multiplyFold(getLong(b, p) ^ SECRET1, getLong(b, p + 8) ^ s);
+                s1 = multiplyFold(getLong(b, p + 16) ^ SECRET2, getLong(b, p + 24) ^ s1);
+                s2 = multiplyFold(getLong(b, p + 32) ^ SECRET3, getLong(b, p + 40) ^ s2);
+                p += BLOCK;
+                i -= BLOCK;
+            } while (i > BLOCK);
+            s ^= s1 ^ s2;
+        }
+        return finish(b, p, i, s, len);
+    }
+
+    private static long initialState(long seed) {
+        return seed ^ multiplyFold(seed ^ SECRET0, SECRET1);
+    }
+
+    private static long hashShort(byte[] b, int off, int len, long s) {
+        @Var long a = 0;
+        @Var long c = 0;
+        if (len >= 4) {
+            int middle = (len >>> 3) << 2;
+            a = getInt(b, off) << 32 | getInt(b, off + middle);
+            c = getInt(b, off + len - 4) << 32 | getInt(b, off + len - 4 - middle);
+        } else if (len > 0) {
+            a = (b[off] & 0xFFL) << 16 | (b[off + (len >>> 1)] & 0xFFL) << 8 | (b[off + len - 1] & 0xFFL);
+        }
+        return mix(a, c, s, len);
+    }
+
+    /**
+     * Mix the last 1 to 48 bytes, the 16 bytes before them should be in the array for the inputs of 16 bytes or \
+     * more, since the last 16 bytes of the input are mixed in the end.
+     */
+    private static long finish(byte[] b, int off, int remaining, long state, long len) {
+        @Var long s = state;
+        @Var int p = off;
+        @Var int i = remaining;
+        while (i > 16) {
+            s = multiplyFold(getLong(b, p) ^ SECRET1, getLong(b, p + 8) ^ s);
+            i -= 16;
+            p += 16;
+        }
+        return mix(getLong(b, p + i - 16), getLong(b, p + i - 8), s, len);
+    }
+
+    private static long mix(long a, long b, long s, long len) {
+        long x = a ^ SECRET1;
+        long y = b ^ s;
+        return multiplyFold(x * y ^ SECRET0 ^ len, multiplyHigh(x, y) ^ SECRET1);
+    }
+
+    @Override
+    public void update(byte[] b, int off, int len) {
+        checkRange(b, off, len);
+        totalLength += len;
+        if (buffered + len <= BLOCK) {
+            System.arraycopy(b, off, buffer, HISTORY + buffered, len);
+            buffered += len;
+            return;
+        }
+        // more bytes follow, so the buffered block is not the last one
+        int end = off + len;
+        @Var int i = off;
+        if (buffered > 0) {
+            int fill = BLOCK - buffered;
+            System.arraycopy(b, i, buffer, HISTORY + buffered, fill);
+            i += fill;
+            consume(buffer, HISTORY);
+            System.arraycopy(buffer, BLOCK, buffer, 0, HISTORY);
+            buffered = 0;
+        }
+        if (end - i > BLOCK) {
+            do {
+                consume(b, i);
+                i += BLOCK;
+            } while (end - i > BLOCK);
+            System.arraycopy(b, i - HISTORY, buffer, 0, HISTORY);
+        }
+        buffered = end - i;
+        System.arraycopy(b, i, buffer, HISTORY, buffered);
+    }
+
+    private void consume(byte[] b, int p) {
+        state = multiplyFold(getLong(b, p) ^ SECRET1, getLong(b, p + 8) ^ state);
+        state1 = multiplyFold(getLong(b, p + 16) ^ SECRET2, getLong(b, p + 24) ^ state1);
+        state2 = multiplyFold(getLong(b, p + 32) ^ SECRET3, getLong(b, p + 40) ^ state2);
+    }
+
+    @Override
+    public long getValue() {
+        if (totalLength <= 16) {
+            return hashShort(buffer, HISTORY, buffered, state);
+        }
+        long s = totalLength > BLOCK ? state ^ state1 ^ state2 : state;
+        return finish(buffer, HISTORY, buffered, s, totalLength);
+    }
+
+    @Override
+    public void reset() {
+        state = initialState(seed);
+        state1 = state;
+        state2 = state;
+        buffered = 0;
+        totalLength = 0;
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,348 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.errorprone.annotations.Var;
+
+import static com.github.longhorn.fastball.hash.HashMath.getInt;
+import static com.github.longhorn.fastball.hash.HashMath.getLong;
+import static com.github.longhorn.fastball.hash.HashMath.multiplyFold;
+import static com.github.longhorn.fastball.hash.XxHash64.PRIME64_1;
+import static com.github.longhorn.fastball.hash.XxHash64.PRIME64_2;
+import static com.github.longhorn.fastball.hash.XxHash64.PRIME64_3;
+import static com.github.longhorn.fastball.hash.XxHash64.PRIME64_4;
+import static com.github.longhorn.fastball.hash.XxHash64.PRIME64_5;
+
+/**
+ * The 64-bit XXH3 of xxHash, the same as {@code XXH3_64bits_withSeed} and {@code XXH3_64bits_digest} of the \
+ * reference implementation with its default secret. The inputs up to 240 bytes are hashed by a few multiplications, \
+ * the longer ones by 8 lanes of accumulators over stripes of 64 bytes. Not thread-safe.
+ */
+public final class XxHash3 extends StreamingHash {
+    private static final long PRIME32_1 = 0x9E3779B1L;
+    private static final long PRIME32_2 = 0x85EBCA77L;
+    private static final long PRIME32_3 = 0xC2B2AE3DL;
+    private static final long PRIME_MX1 = 0x165667919E3779F9L;
+    private static final long PRIME_MX2 = 0x9FB21C651E98DF25L;
+    private static final int SECRET_SIZE = 192;
+    private static final int STRIPE = 64;
+    private static final int ACCUMULATORS = 8;
+    private static final int SECRET_CONSUME_RATE = 8;
+    private static final int STRIPES_PER_BLOCK = (SECRET_SIZE - STRIPE) / SECRET_CONSUME_RATE;
+    private static final int BLOCK = STRIPE * STRIPES_PER_BLOCK;
+    private static final int SCRAMBLE_OFFSET = SECRET_SIZE - STRIPE;
+    private static final int LAST_STRIPE_OFFSET = SECRET_SIZE - STRIPE - 7;
+    private static final int MERGE_OFFSET = 11;
+    private static final int MIDSIZE_MAX = 240;
+    private static final int BUFFER_SIZE = 256;
+    private static final byte[] DEFAULT_SECRET = {
+            (byte) 0xb8, (byte) 0xfe, (byte) 0x6c, (byte) 0x39, (byte) 0x23, (byte) 0xa4, (byte) 0x4b, (byte) 0xbe,
+            (byte) 0x7c, (byte) 0x01, (byte) 0x81, (byte) 0x2c, (byte) 0xf7, (byte) 0x21, (byte) 0xad, (byte) 0x1c,
+            (byte) 0xde, (byte) 0xd4, (byte) 0x6d, (byte) 0xe9, (byte) 0x83, (byte) 0x90, (byte) 0x97, (byte) 0xdb,
+            (byte) 0x72, (byte) 0x40, (byte) 0xa4, (byte) 0xa4, (byte) 0xb7, (byte) 0xb3, (byte) 0x67, (byte) 0x1f,
+            (byte) 0xcb, (byte) 0x79, (byte) 0xe6, (byte) 0x4e, (byte) 0xcc, (byte) 0xc0, (byte) 0xe5, (byte) 0x78,
+            (byte) 0x82, (byte) 0x5a, (byte) 0xd0, (byte) 0x7d, (byte) 0xcc, (byte) 0xff, (byte) 0x72, (byte) 0x21,
+            (byte) 0xb8, (byte) 0x08, (byte) 0x46, (byte) 0x74, (byte) 0xf7, (byte) 0x43, (byte) 0x24, (byte) 0x8e,
+            (byte) 0xe0, (byte) 0x35, (byte) 0x90, (byte) 0xe6, (byte) 0x81, (byte) 0x3a, (byte) 0x26, (byte) 0x4c,
+            (byte) 0x3c, (byte) 0x28, (byte) 0x52, (byte) 0xbb, (byte) 0x91, (byte) 0xc3, (byte) 0x00, (byte) 0xcb,
+            (byte) 0x88, (byte) 0xd0, (byte) 0x65, (byte) 0x8b, (byte) 0x1b, (byte) 0x53, (byte) 0x2e, (byte) 0xa3,
+            (byte) 0x71, (byte) 0x64, (byte) 0x48, (byte) 0x97, (byte) 0xa2, (byte) 0x0d, (byte) 0xf9, (byte) 0x4e,
+            (byte) 0x38, (byte) 0x19, (byte) 0xef, (byte) 0x46, (byte) 0xa9, (byte) 0xde, (byte) 0xac, (byte) 0xd8,
+            (byte) 0xa8, (byte) 0xfa, (byte) 0x76, (byte) 0x3f, (byte) 0xe3, (byte) 0x9c, (byte) 0x34, (byte) 0x3f,
+            (byte) 0xf9, (byte) 0xdc, (byte) 0xbb, (byte) 0xc7, (byte) 0xc7, (byte) 0x0b, (byte) 0x4f, (byte) 0x1d,
+            (byte) 0x8a, (byte) 0x51, (byte) 0xe0, (byte) 0x4b, (byte) 0xcd, (byte) 0xb4, (byte) 0x59, (byte) 0x31,
+            (byte) 0xc8, (byte) 0x9f, (byte) 0x7e, (byte) 0xc9, (byte) 0xd9, (byte) 0x78, (byte) 0x73, (byte) 0x64,
+            (byte) 0xea, (byte) 0xc5, (byte) 0xac, (byte) 0x83, (byte) 0x34, (byte) 0xd3, (byte) 0xeb, (byte) 0xc3,
+            (byte) 0xc5, (byte) 0x81, (byte) 0xa0, (byte) 0xff, (byte) 0xfa, (byte) 0x13, (byte) 0x63, (byte) 0xeb,
+            (byte) 0x17, (byte) 0x0d, (byte) 0xdd, (byte) 0x51, (byte) 0xb7, (byte) 0xf0, (byte) 0xda, (byte) 0x49,
+            (byte) 0xd3, (byte) 0x16, (byte) 0x55, (byte) 0x26, (byte) 0x29, (byte) 0xd4, (byte) 0x68, (byte) 0x9e,
+            (byte) 0x2b, (byte) 0x16, (byte) 0xbe, (byte) 0x58, (byte) 0x7d, (byte) 0x47, (byte) 0xa1, (byte) 0xfc,
+            (byte) 0x8f, (byte) 0xf8, (byte) 0xb8, (byte) 0xd1, (byte) 0x7a, (byte) 0xd0, (byte) 0x31, (byte) 0xce,
+            (byte) 0x45, (byte) 0xcb, (byte) 0x3a, (byte) 0x8f, (byte) 0x95, (byte) 0x16, (byte) 0x04, (byte) 0x28,
+            (byte) 0xaf, (byte) 0xd7, (byte) 0xfb, (byte) 0xca, (byte) 0xbb, (byte) 0x4b, (byte) 0x40, (byte) 0x7e,
+    };
+    private static final long[] DEFAULT_SECRET_LONGS = secretLongs();
+    /**
+     * Accumulators of the one-shot hashes of the long inputs.
+     */
+    private static final ThreadLocal<long[]> ACCUMULATORS_OF_THREAD =
+            ThreadLocal.withInitial(() -> new long[ACCUMULATORS]);
+
+    private final long seed;
+    private final long[] accumulators = new long[ACCUMULATORS];
+    private final long[] digest = new long[ACCUMULATORS];
+    /**
+     * The last consumed stripe, followed by the bytes which are not consumed yet.
+     */
+    private final byte[] buffer = new byte[STRIPE + BUFFER_SIZE];
+    private int buffered;
+    private int stripes;
+    private long totalLength;
+
+    private XxHash3(long seed) {
+        this.seed = seed;
+        reset();
+    }
+
+    /**
+     * Create an incremental hash.
+     *
+     * @param seed the seed
+     * @return the hash
+     */
+    public static XxHash3 create(long seed) {
+        return new XxHash3(seed);
+    }
+
+    /**
+     * Get the hash of a range of the bytes.
+     *
+     * @param b    the bytes
+     * @param off  index of the first byte
+     * @param len  count of the bytes
+     * @param seed the seed
+     * @return the hash value
+     */
+    public static long hash(byte[] b, int off, int len, long seed) {
+        checkRange(b, off, len);
+        if (len <= MIDSIZE_MAX) {
+            return hashShort(b, off, len, seed);
+        }
+        return hashLong(b, off, len, seed, ACCUMULATORS_OF_THREAD.get());
+    }
+
+    private static long[] secretLongs() {
+        long[] longs = new long[SECRET_SIZE / Long.BYTES];
+        for (int i = 0; i < longs.length; i++) {
+            longs[i] = getLong(DEFAULT_SECRET, i * Long.BYTES);
+        }
+        return longs;
+    }
+
+    /**
+     * Get the 64 bits at the offset of the secret derived from the seed, which adds the seed to the first half of \
+     * every 16 bytes of the default secret and subtracts it from the second half. It is computed on the fly instead \
+     * of kept in an array per seed.
+     */
+    private static long secret(long seed, int offset) {
+        int index = offset >>> 3;
+        int shift = (offset & 7) * 8;
+        long low = DEFAULT_SECRET_LONGS[index] + ((index & 1) == 0 ? seed : -seed);
+        if (shift == 0) {
+            return low;
+        }
+        long high = DEFAULT_SECRET_LONGS[index + 1] + ((index & 1) == 0 ? -seed : seed);
+        return low >>> shift | high << (64 - shift);
+    }
+
+    /**
+     * Hash the inputs up to 240 bytes, by the default secret and the seed.
+     */
+    private static long hashShort(byte[] b, int off, int len, long seed) {
+        byte[] s = DEFAULT_SECRET;
+        if (len > 128) {
+            return hashMidsize(b, off, len, seed);
+        }
+        if (len > 16) {
+            @Var long acc = len * PRIME64_1;
+            if (len > 32) {
+                if (len > 64) {
+                    if (len > 96) {
+                        acc += mix16(b, off + 48, 96, seed);
+                        acc += mix16(b, off + len - 64, 112, seed);
+                    }
+                    acc += mix16(b, off + 32, 64, seed);
+                    acc += mix16(b, off + len - 48, 80, seed);
+                }
+                acc += mix16(b, off + 16, 32, seed);
+                acc += mix16(b, off + len - 32, 48, seed);
+            }
+            acc += mix16(b, off, 0, seed);
+            acc += mix16(b, off + len - 16, 16, seed);
+            return avalanche(acc);
+        }
+        if (len > 8) {
+            long low = getLong(b, off) ^ ((getLong(s, 24) ^ getLong(s, 32)) + seed);
+            long high = getLong(b, off + len - 8) ^ ((getLong(s, 40) ^ getLong(s, 48)) - seed);
+            return avalanche(len + Long.reverseBytes(low) + high + multiplyFold(low, high));
+        }
+        if (len >= 4) {
+            long mixed = seed ^ (long) Integer.reverseBytes((int) seed) << 32;
+            long input = getInt(b, off + len - 4) + (getInt(b, off) << 32);
+            return rrmxmx(input ^ ((getLong(s, 8) ^ getLong(s, 16)) - mixed), len);
+        }
+        if (len > 0) {
+            long combined = (b[off] & 0xFFL) << 16 | (b[off + (len >> 1)] & 0xFFL) << 24
+                    | (b[off + len - 1] & 0xFFL) | (long) len << 8;
+            return XxHash64.avalanche(combined ^ ((getInt(s, 0) ^ getInt(s, 4)) + seed));
+        }
+        return XxHash64.avalanche(seed ^ getLong(s, 56) ^ getLong(s, 64));
+    }
+
+    private static long hashMidsize(byte[] b, int off, int len, long seed) {
+        @Var long acc = len * PRIME64_1;
+        int rounds = len / 16;
+        for (int i = 0; i < 8; i++) {
+            acc += mix16(b, off + 16 * i, 16 * i, seed);
+        }
+        acc = avalanche(acc);
+        for (int i = 8; i < rounds; i++) {
+            acc += mix16(b, off + 16 * i, 16 * (i - 8) + 3, seed);
+        }
+        acc += mix16(b, off + len - 16, 136 - 17, seed);
+        return avalanche(acc);
+    }
+
+    /**
+     * Mix 16 bytes of the input with 16 bytes of the default secret.
+     */
+    private static long mix16(byte[] b, int off, int secretOff, long seed) {
+        long low = getLong(b, off) ^ (getLong(DEFAULT_SECRET, secretOff) + seed);
+        long high = getLong(b, off + 8) ^ (getLong(DEFAULT_SECRET, secretOff + 8) - seed);
+        return multiplyFold(low, high);
+    }
+
+    /**
+     * Hash the inputs longer than 240 bytes, by the accumulators.
+     */
+    private static long hashLong(byte[] b, int off, int len, long seed, long[] acc) {
+        initialize(acc);
+        int blocks = (len - 1) / BLOCK;
+        for (int n = 0; n < blocks; n++) {
+            for (int stripe = 0; stripe < STRIPES_PER_BLOCK; stripe++) {
+                accumulate(acc, b, off + n * BLOCK + stripe * STRIPE, seed, stripe * SECRET_CONSUME_RATE);
+            }
+            scramble(acc, seed);
+        }
+        int stripes = ((len - 1) - BLOCK * blocks) / STRIPE;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            accumulate(acc, b, off + blocks * BLOCK + stripe * STRIPE, seed, stripe * SECRET_CONSUME_RATE);
+        }
+        accumulate(acc, b, off + len - STRIPE, seed, LAST_STRIPE_OFFSET);
+        return merge(acc, seed, len * PRIME64_1);
+    }
+
+    private static void initialize(long[] acc) {
+        acc[0] = PRIME32_3;
+        acc[1] = PRIME64_1;
+        acc[2] = PRIME64_2;
+        acc[3] = PRIME64_3;
+        acc[4] = PRIME64_4;
+        acc[5] = PRIME32_2;
+        acc[6] = PRIME64_5;
+        acc[7] = PRIME32_1;
+    }
+
+    private static void accumulate(long[] acc, byte[] b, int off, long seed, int secretOff) {
+        for (int i = 0; i < ACCUMULATORS; i++) {
+            long value = getLong(b, off + i * 8);
+            long key = value ^ secret(seed, secretOff + i * 8);
+            acc[i ^ 1] += value;
+            acc[i] += (key & 0xFFFF_FFFFL) * (key >>> 32);
+        }
+    }
+
+    private static void scramble(long[] acc, long seed) {
+        for (int i = 0; i < ACCUMULATORS; i++) {
+            long a = acc[i];
+            acc[i] = (a ^ a >>> 47 ^ secret(seed, SCRAMBLE_OFFSET + i * 8)) * PRIME32_1;
+        }
+    }
+
+    private static long merge(long[] acc, long seed, long start) {
+        @Var long result = start;
+        for (int i = 0; i < 4; i++) {
+            int offset = MERGE_OFFSET + 16 * i;
+            result += multiplyFold(acc[2 * i] ^ secret(seed, offset), acc[2 * i + 1] ^ secret(seed, offset + 8));
+        }
+        return avalanche(result);
+    }
+
+    private static long avalanche(long hash) {
+        @Var long h = hash;
+        h ^= h >>> 37;
+        h *= PRIME_MX1;
+        return h ^ h >>> 32;
+    }
+
+    private static long rrmxmx(long hash, int len) {
+        @Var long h = hash;
+        h ^= Long.rotateLeft(h, 49) ^ Long.rotateLeft(h, 24);
+        h *= PRIME_MX2;
+        h ^= (h >>> 35) + len;
+        h *= PRIME_MX2;
+        return h ^ h >>> 28;
+    }
+
+    @Override
+    public void update(byte[] b, int off, int len) {
+        checkRange(b, off, len);
+        totalLength += len;
+        if (buffered + len <= BUFFER_SIZE) {
+            System.arraycopy(b, off, buffer, STRIPE + buffered, len);
+            buffered += len;
+            return;
+        }
+        // more bytes follow, so none of the buffered stripes is the last one
+        int end = off + len;
+        @Var int i = off;
+        if (buffered > 0) {
+            int fill = BUFFER_SIZE - buffered;
+            System.arraycopy(b, i, buffer, STRIPE + buffered, fill);
+            i += fill;
+            consume(buffer, STRIPE, BUFFER_SIZE / STRIPE);
+            System.arraycopy(buffer, BUFFER_SIZE, buffer, 0, STRIPE);
+            buffered = 0;
+        }
+        if (end - i > BUFFER_SIZE) {
+            int count = (end - i - 1) / STRIPE;
+            consume(b, i, count);
+            i += count * STRIPE;
+            System.arraycopy(b, i - STRIPE, buffer, 0, STRIPE);
+        }
+        buffered = end - i;
+        System.arraycopy(b, i, buffer, STRIPE, buffered);
+    }
+
+    private void consume(byte[] b, int off, int count) {
+        for (int n = 0; n < count; n++) {
+            accumulate(accumulators, b, off + n * STRIPE, seed, stripes * SECRET_CONSUME_RATE);
+            if (++stripes == STRIPES_PER_BLOCK) {
+                scramble(accumulators, seed);
+                stripes = 0;
+            }
+        }
+    }
+
+    @Override
+    public long getValue() {
+        if (totalLength <= MIDSIZE_MAX) {
+            return hashShort(buffer, STRIPE, buffered, seed);
+        }
+        long[] acc = digest;
+        System.arraycopy(accumulators, 0, acc, 0, ACCUMULATORS);
+        @Var int stripe = stripes;
+        int count = (buffered - 1) / STRIPE;
+        for (int n = 0; n < count; n++) {
+            accumulate(acc, buffer, STRIPE + n * STRIPE, seed, stripe * SECRET_CONSUME_RATE);
+            if (++stripe == STRIPES_PER_BLOCK) {
+                scramble(acc, seed);
+                stripe = 0;
+            }
+        }
+        // the last stripe could start in the stripe consumed before the buffered bytes
+        accumulate(acc, buffer, buffered, seed, LAST_STRIPE_OFFSET);
+        return merge(acc, seed, totalLength * PRIME64_1);
+    }
+
+    @Override
+    public void reset() {
+        initialize(accumulators);
+        buffered = 0;
+        stripes = 0;
+        totalLength = 0;
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+}
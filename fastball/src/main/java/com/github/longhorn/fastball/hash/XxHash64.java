@@ -0,0 +1,174 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.errorprone.annotations.Var;
+
+import static com.github.longhorn.fastball.hash.HashMath.getInt;
+import static com.github.longhorn.fastball.hash.HashMath.getLong;
+
+/**
+ * XXH64 of xxHash, the same as {@code XXH64} and {@code XXH64_digest} of the reference implementation. Not \
+ * thread-safe.
+ */
+public final class XxHash64 extends StreamingHash {
+    static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+    static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+    static final long PRIME64_3 = 0x165667B19E3779F9L;
+    static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+    static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+    private static final int STRIPE = 32;
+
+    private final long seed;
+    private final byte[] buffer = new byte[STRIPE];
+    private int buffered;
+    private long totalLength;
+    private long v1;
+    private long v2;
+    private long v3;
+    private long v4;
+
+    private XxHash64(long seed) {
+        this.seed = seed;
+        reset();
+    }
+
+    /**
+     * Create an incremental hash.
+     *
+     * @param seed the seed
+     * @return the hash
+     */
+    public static XxHash64 create(long seed) {
+        return new XxHash64(seed);
+    }
+
+    /**
+     * Get the hash of a range of the bytes.
+     *
+     * @param b    the bytes
+     * @param off  index of the first byte
+     * @param len  count of the bytes
+     * @param seed the seed
+     * @return the hash value
+     */
+    public static long hash(byte[] b, int off, int len, long seed) {
+        checkRange(b, off, len);
+        int end = off + len;
+        @Var int i = off;
+        @Var long h;
+        if (len >= STRIPE) {
+            @Var long a1 = seed + PRIME64_1 + PRIME64_2;
+            @Var long a2 = seed + PRIME64_2;
+            @Var long a3 = seed;
+            @Var long a4 = seed - PRIME64_1;
+            for (; i <= end - STRIPE; i += STRIPE) {
+                a1 = round(a1, getLong(b, i));
+                a2 = round(a2, getLong(b, i + 8));
+                a3 = round(a3, getLong(b, i + 16));
+                a4 = round(a4, getLong(b, i + 24));
+            }
+            h = converge(a1, a2, a3, a4);
+        } else {
+            h = seed + PRIME64_5;
+        }
+        return finish(h + len, b, i, end - i);
+    }
+
+    private static long round(long acc, long input) {
+        return Long.rotateLeft(acc + input * PRIME64_2, 31) * PRIME64_1;
+    }
+
+    private static long mergeRound(long acc, long value) {
+        return (acc ^ round(0, value)) * PRIME64_1 + PRIME64_4;
+    }
+
+    private static long converge(long a1, long a2, long a3, long a4) {
+        @Var long h = Long.rotateLeft(a1, 1) + Long.rotateLeft(a2, 7) + Long.rotateLeft(a3, 12)
+                + Long.rotateLeft(a4, 18);
+        h = mergeRound(h, a1);
+        h = mergeRound(h, a2);
+        h = mergeRound(h, a3);
+        return mergeRound(h, a4);
+    }
+
+    /**
+     * Mix the last bytes, less than a stripe, into the hash and avalanche it.
+     */
+    private static long finish(long hash, byte[] b, int off, int len) {
+        @Var long h = hash;
+        @Var int i = off;
+        int end = off + len;
+        for (; i <= end - 8; i += 8) {
+            h = Long.rotateLeft(h ^ round(0, getLong(b, i)), 27) * PRIME64_1 + PRIME64_4;
+        }
+        if (i <= end - 4) {
+            h = Long.rotateLeft(h ^ getInt(b, i) * PRIME64_1, 23) * PRIME64_2 + PRIME64_3;
+            i += 4;
+        }
+        for (; i < end; i++) {
+            h = Long.rotateLeft(h ^ (b[i] & 0xFFL) * PRIME64_5, 11) * PRIME64_1;
+        }
+        return avalanche(h);
+    }
+
+    static long avalanche(long hash) {
+        @Var long h = hash;
+        h ^= h >>> 33;
+        h *= PRIME64_2;
+        h ^= h >>> 29;
+        h *= PRIME64_3;
+        return h ^ h >>> 32;
+    }
+
+    @Override
+    public void update(byte[] b, int off, int len) {
+        checkRange(b, off, len);
+        totalLength += len;
+        int end = off + len;
+        @Var int i = off;
+        if (buffered + len < STRIPE) {
+            System.arraycopy(b, off, buffer, buffered, len);
+            buffered += len;
+            return;
+        }
+        if (buffered > 0) {
+            int fill = STRIPE - buffered;
+            System.arraycopy(b, i, buffer, buffered, fill);
+            consume(buffer, 0);
+            i += fill;
+            buffered = 0;
+        }
+        for (; i <= end - STRIPE; i += STRIPE) {
+            consume(b, i);
+        }
+        buffered = end - i;
+        System.arraycopy(b, i, buffer, 0, buffered);
+    }
+
+    private void consume(byte[] b, int i) {
+        v1 = round(v1, getLong(b, i));
+        v2 = round(v2, getLong(b, i + 8));
+        v3 = round(v3, getLong(b, i + 16));
+        v4 = round(v4, getLong(b, i + 24));
+    }
+
+    @Override
+    public long getValue() {
+        long h = totalLength >= STRIPE ? converge(v1, v2, v3, v4) : seed + PRIME64_5;
+        return finish(h + totalLength, buffer, 0, buffered);
+    }
+
+    @Override
+    public void reset() {
+        v1 = seed + PRIME64_1 + PRIME64_2;
+        v2 = seed + PRIME64_2;
+        v3 = seed;
+        v4 = seed - PRIME64_1;
+        buffered = 0;
+        totalLength = 0;
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+}
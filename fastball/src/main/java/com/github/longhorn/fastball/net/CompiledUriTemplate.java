@@ -0,0 +1,263 @@
+package com.github.longhorn.fastball.net;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.Var;
+import org.apache.commons.lang3.StringUtils;
+import org.glassfish.jersey.uri.UriTemplate;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.core.UriBuilder;
+import javax.ws.rs.core.UriBuilderException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A URI template which is parsed once into literal segments and parameter slots, and is expanded by writing the \
+ * literals as they are and encoding only the values, with the same output as {@code UriBuilder.fromUri(template)} \
+ * and {@code build(values)} of Jersey. The values are matched to the parameters by the order of their first \
+ * occurrences, and are encoded as a path segment, a query parameter or a fragment by where they are. The encoded \
+ * forms of the string values which need encoding are cached per slot, up to {@value #CACHE_SIZE} of them. The query \
+ * parameters of a {@link QueryStringBuilder}, which has the conditional and collection rules of \
+ * {@link UriBuilderUtil}, are inserted before the fragment. An instance is immutable and thread-safe.
+ */
+public final class CompiledUriTemplate {
+    private static final int CACHE_SIZE = 256;
+    private static final String TOKEN_LETTERS = "zqxjkvwybpmgfhdlcnrtsuoeia";
+    private static final int TOKEN_LENGTH = 4;
+
+    private final String template;
+    private final ImmutableList<String> names;
+    /**
+     * The literals around the slots, one more than the slots.
+     */
+    private final String[] literals;
+    private final Slot[] slots;
+    /**
+     * The index of the literal which the fragment starts in, or the last one if there is no fragment.
+     */
+    private final int fragmentLiteral;
+    /**
+     * The offset of the fragment in its literal, or the length of the last literal if there is no fragment.
+     */
+    private final int fragmentOffset;
+    /**
+     * Whether the template has an authority but neither a path nor a query, so a slash is added before a query.
+     */
+    private final boolean emptyPath;
+    private final int literalLength;
+
+    private CompiledUriTemplate(String template) {
+        this.template = template;
+        if (hasAuthorityParameter(template)) {
+            throw new IllegalArgumentException("Invalid template: " + template
+                    + " has a parameter out of the path, the query and the fragment");
+        }
+        names = ImmutableList.copyOf(new LinkedHashSet<>(new UriTemplate(template).getTemplateVariables()));
+        String token = tokenOf(template);
+        Object[] markers = new Object[names.size()];
+        for (int i = 0; i < markers.length; i++) {
+            markers[i] = token + i + token;
+        }
+        String uri;
+        try {
+            uri = UriBuilder.fromUri(template).build(markers).toString();
+        } catch (UriBuilderException e) {
+            throw new IllegalArgumentException("Invalid template: " + template, e);
+        }
+        int fragment = uri.indexOf('#') < 0 ? uri.length() : uri.indexOf('#');
+        int question = uri.indexOf('?');
+        int query = question < 0 || question > fragment ? fragment : question;
+        int authority = uri.indexOf("://");
+        int slash = authority < 0 ? -1 : uri.indexOf('/', authority + 3);
+        emptyPath = authority >= 0 && authority < query && query == fragment && (slash < 0 || slash > query);
+        List<String> literalList = new ArrayList<>();
+        List<Slot> slotList = new ArrayList<>();
+        @Var int start = 0;
+        @Var int fragmentLiteral = -1;
+        @Var int fragmentOffset = 0;
+        for (@Var int marker = uri.indexOf(token); marker >= 0; marker = uri.indexOf(token, start)) {
+            @Var int end = marker + token.length();
+            while (Character.isDigit(uri.charAt(end))) {
+                end++;
+            }
+            int index = Integer.parseInt(uri.substring(marker + token.length(), end));
+            if (fragmentLiteral < 0 && fragment < marker) {
+                fragmentLiteral = literalList.size();
+                fragmentOffset = fragment - start;
+            }
+            literalList.add(uri.substring(start, marker));
+            UriComponent component = marker < query ? UriComponent.PATH_SEGMENT
+                    : marker < fragment ? UriComponent.QUERY_PARAM : UriComponent.FRAGMENT;
+            slotList.add(new Slot(index, component));
+            start = end + token.length();
+        }
+        if (fragmentLiteral < 0) {
+            fragmentLiteral = literalList.size();
+            fragmentOffset = fragment - start;
+        }
+        literalList.add(uri.substring(start));
+        literals = literalList.toArray(new String[0]);
+        slots = slotList.toArray(new Slot[0]);
+        this.fragmentLiteral = fragmentLiteral;
+        this.fragmentOffset = fragmentOffset;
+        @Var int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        literalLength = length;
+    }
+
+    /**
+     * Compile a URI template, such as {@code https://tw.yahoo.com/users/{id}/posts?lang={lang}}, whose parameters \
+     * may be in the path, the query and the fragment.
+     *
+     * @param template the URI template
+     * @return the compiled template
+     * @throws IllegalArgumentException if the template is invalid, or has a parameter in the scheme or the authority
+     */
+    public static CompiledUriTemplate of(String template) {
+        return new CompiledUriTemplate(template);
+    }
+
+    /**
+     * Get the names of the parameters, in the order of their values.
+     *
+     * @return the names of the parameters
+     */
+    public ImmutableList<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Expand the template with the values of the parameters.
+     *
+     * @param values the values of the parameters, each of them is converted to a {@code String} by its \
+     *               {@code toString()} method
+     * @return the URI
+     * @throws IllegalArgumentException if a value is missing or null
+     */
+    public String expand(Object... values) {
+        return expandTo(new StringBuilder(literalLength + slots.length * 16), null, values).toString();
+    }
+
+    /**
+     * Expand the template with the values of the parameters and the query parameters.
+     *
+     * @param query  the query parameters inserted before the fragment
+     * @param values the values of the parameters, each of them is converted to a {@code String} by its \
+     *               {@code toString()} method
+     * @return the URI
+     * @throws IllegalArgumentException if a value is missing or null
+     */
+    public String expand(QueryStringBuilder query, Object... values) {
+        return expandTo(new StringBuilder(literalLength + slots.length * 16 + query.length() + 1), query, values)
+                .toString();
+    }
+
+    /**
+     * Expand the template into a builder with the values of the parameters and the query parameters if any.
+     *
+     * @param uri    the builder to append the URI to
+     * @param query  the query parameters inserted before the fragment, null if none
+     * @param values the values of the parameters, each of them is converted to a {@code String} by its \
+     *               {@code toString()} method
+     * @return the builder
+     * @throws IllegalArgumentException if a value is missing or null
+     */
+    public StringBuilder expandTo(StringBuilder uri, @Nullable QueryStringBuilder query, Object... values) {
+        for (int i = 0; i < names.size(); i++) {
+            if (i >= values.length || values[i] == null) {
+                throw new IllegalArgumentException("Invalid values: no value of the template parameter "
+                        + names.get(i));
+            }
+        }
+        int start = uri.length();
+        for (int i = 0; i < literals.length; i++) {
+            if (i == fragmentLiteral) {
+                uri.append(literals[i], 0, fragmentOffset);
+                if (query != null && query.length() > 0) {
+                    if (emptyPath) {
+                        uri.append('/');
+                    }
+                    query.appendTo(uri, start);
+                }
+                uri.append(literals[i], fragmentOffset, literals[i].length());
+            } else {
+                uri.append(literals[i]);
+            }
+            if (i < slots.length) {
+                slots[i].append(uri, values[slots[i].index]);
+            }
+        }
+        return uri;
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    /**
+     * Check whether the template has a parameter in the scheme or the authority, where Jersey encodes the values in \
+     * other ways.
+     */
+    private static boolean hasAuthorityParameter(String template) {
+        int authority = template.indexOf("://");
+        if (authority < 0 || StringUtils.containsAny(template.substring(0, authority), '/', '?', '#')) {
+            return false;
+        }
+        int path = StringUtils.indexOfAny(template.substring(authority + 3), '/', '?', '#');
+        int end = path < 0 ? template.length() : authority + 3 + path;
+        return template.lastIndexOf('{', end) >= 0;
+    }
+
+    /**
+     * Get a token of distinct letters which is not in the template, so the markers of the parameters made of it can \
+     * not overlap the literals.
+     */
+    private static String tokenOf(String template) {
+        for (int i = 0; i + TOKEN_LENGTH <= TOKEN_LETTERS.length(); i++) {
+            String token = TOKEN_LETTERS.substring(i, i + TOKEN_LENGTH);
+            if (!template.contains(token)) {
+                return token;
+            }
+        }
+        throw new IllegalArgumentException("Invalid template: " + template);
+    }
+
+    private static final class Slot {
+        private final int index;
+        private final UriComponent component;
+        private final ConcurrentMap<String, String> cache = new ConcurrentHashMap<>();
+
+        private Slot(int index, UriComponent component) {
+            this.index = index;
+            this.component = component;
+        }
+
+        void append(StringBuilder uri, Object value) {
+            if (!(value instanceof String)) {
+                component.encode(uri, value, /* contextual= */ false);
+                return;
+            }
+            String string = (String) value;
+            if (component.isSafe(string)) {
+                uri.append(string);
+                return;
+            }
+            String encoded = cache.get(string);
+            if (encoded != null) {
+                uri.append(encoded);
+                return;
+            }
+            int start = uri.length();
+            component.encode(uri, string, /* contextual= */ false);
+            if (cache.size() < CACHE_SIZE) {
+                cache.putIfAbsent(string, uri.substring(start));
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.github.longhorn.fastball.net;
+
+import javax.annotation.Nullable;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * A reusable builder of query strings with the same conditional semantics as {@link UriBuilderUtil}, which \
+ * percent-encodes the names and the values straight into its buffer. The output is identical to the query of \
+ * {@code UriBuilder.queryParam} of Jersey: the unreserved characters are kept, a space is encoded as {@code +}, an \
+ * existing percent-encoded octet is kept, and the others are percent-encoded in UTF-8. Unlike {@code UriBuilder}, the \
+ * braces are encoded rather than taken as URI template parameters. An instance is not thread-safe, and is meant to be \
+ * {@link #reset() reset} and reused by one thread.
+ */
+public final class QueryStringBuilder {
+    private static final String COMMA = "%2C";
+
+    private final StringBuilder builder;
+
+    private QueryStringBuilder(int capacity) {
+        builder = new StringBuilder(capacity);
+    }
+
+    /**
+     * Create a builder of an empty query string.
+     *
+     * @return the builder
+     */
+    public static QueryStringBuilder create() {
+        return new QueryStringBuilder(256);
+    }
+
+    /**
+     * Create a builder of an empty query string, whose buffer is of the initial capacity.
+     *
+     * @param capacity the initial capacity of the buffer
+     * @return the builder
+     */
+    public static QueryStringBuilder create(int capacity) {
+        return new QueryStringBuilder(capacity);
+    }
+
+    /**
+     * Append a query parameter once per value, like {@code UriBuilder.queryParam}.
+     *
+     * @param name   the query parameter name
+     * @param values the query parameter value(s), each object will be converted to a {@code String} using its \
+     *               {@code toString()} method
+     * @return this builder
+     * @throws IllegalArgumentException if the name, the values or any value is null
+     */
+    public QueryStringBuilder queryParam(String name, Object... values) {
+        if (name == null) {
+            throw new IllegalArgumentException("Invalid query parameter: null");
+        }
+        if (values == null) {
+            throw new IllegalArgumentException("Invalid query parameter: " + name + " of null values");
+        }
+        for (Object value : values) {
+            if (value == null) {
+                throw new IllegalArgumentException("Invalid query parameter: " + name + " of a null value");
+            }
+        }
+        for (Object value : values) {
+            appendName(name);
+            appendValue(value);
+        }
+        return this;
+    }
+
+    /**
+     * Append a query parameter once per value if match the condition.
+     *
+     * @param condition whether to append the query parameter
+     * @param name      the query parameter name
+     * @param values    the query parameter value(s)
+     * @return this builder
+     * @throws IllegalArgumentException if the condition is true, and the name, the values or any value is null
+     * @see UriBuilderUtil#queryParamWithCondition
+     */
+    public QueryStringBuilder queryParamWithCondition(boolean condition, String name, Object... values) {
+        return condition ? queryParam(name, values) : this;
+    }
+
+    /**
+     * Append a query parameter once per value which is not null.
+     *
+     * @param name   the query parameter name
+     * @param values the query parameter value(s), the null ones are skipped
+     * @return this builder
+     * @throws IllegalArgumentException if the name is null and the values are not
+     * @see UriBuilderUtil#queryParamIfNotNull
+     */
+    public QueryStringBuilder queryParamIfNotNull(String name, @Nullable Object... values) {
+        if (values == null) {
+            return this;
+        }
+        if (name == null) {
+            throw new IllegalArgumentException("Invalid query parameter: null");
+        }
+        for (Object value : values) {
+            if (value != null) {
+                appendName(name);
+                appendValue(value);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Append a query parameter of the values joined by commas if the values are not empty.
+     *
+     * @param name   the query parameter name
+     * @param values the query parameter values
+     * @return this builder
+     * @throws IllegalArgumentException if the name is null and the values are not empty
+     * @throws NullPointerException     if any value is null, like {@code Joiner} does
+     * @see UriBuilderUtil#queryParamIfNotEmptyCollection
+     */
+    public QueryStringBuilder queryParamIfNotEmptyCollection(String name, @Nullable Collection<?> values) {
+        if (values == null || values.isEmpty()) {
+            return this;
+        }
+        if (name == null) {
+            throw new IllegalArgumentException("Invalid query parameter: null");
+        }
+        appendName(name);
+        Iterator<?> iterator = values.iterator();
+        appendValue(iterator.next());
+        while (iterator.hasNext()) {
+            builder.append(COMMA);
+            appendValue(iterator.next());
+        }
+        return this;
+    }
+
+    /**
+     * Clear the query string to reuse this builder.
+     *
+     * @return this builder
+     */
+    public QueryStringBuilder reset() {
+        builder.setLength(0);
+        return this;
+    }
+
+    /**
+     * Get the length of the query string.
+     *
+     * @return the length, 0 if there is no query parameter
+     */
+    public int length() {
+        return builder.length();
+    }
+
+    /**
+     * Append the query string to a URI without a fragment, after a {@code ?} if the URI has no query, or else after \
+     * a {@code &} if the query of the URI is not empty.
+     *
+     * @param uri the URI
+     * @return the URI
+     */
+    public StringBuilder appendTo(StringBuilder uri) {
+        return appendTo(uri, 0);
+    }
+
+    /**
+     * Append the query string to a URI which starts at the index of the builder.
+     *
+     * @param uri   the builder of the URI
+     * @param start the index of the URI in the builder
+     * @return the builder of the URI
+     */
+    StringBuilder appendTo(StringBuilder uri, int start) {
+        if (builder.length() == 0) {
+            return uri;
+        }
+        int question = uri.indexOf("?", start);
+        if (question < 0) {
+            uri.append('?');
+        } else if (question < uri.length() - 1) {
+            uri.append('&');
+        }
+        return uri.append(builder);
+    }
+
+    /**
+     * Write the query string to a buffer in US-ASCII.
+     *
+     * @param buffer the buffer
+     * @return the buffer
+     * @throws BufferOverflowException if the buffer has not enough space
+     */
+    public ByteBuffer writeTo(ByteBuffer buffer) {
+        int length = builder.length();
+        if (buffer.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        for (int i = 0; i < length; i++) {
+            buffer.put((byte) builder.charAt(i));
+        }
+        return buffer;
+    }
+
+    /**
+     * Get the query string, without the leading {@code ?}.
+     *
+     * @return the query string
+     */
+    @Override
+    public String toString() {
+        return builder.toString();
+    }
+
+    private void appendName(String name) {
+        if (builder.length() > 0) {
+            builder.append('&');
+        }
+        UriComponent.QUERY_PARAM.encode(builder, name, /* contextual= */ true);
+        builder.append('=');
+    }
+
+    private void appendValue(Object value) {
+        UriComponent.QUERY_PARAM.encode(builder, value, /* contextual= */ true);
+    }
+}
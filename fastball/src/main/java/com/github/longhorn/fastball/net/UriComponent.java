@@ -0,0 +1,136 @@
+package com.github.longhorn.fastball.net;
+
+import com.google.errorprone.annotations.Var;
+
+/**
+ * The components of a URI whose values are percent-encoded like Jersey's {@code UriComponent} does: the safe \
+ * characters of the component are kept, and the others are percent-encoded in UTF-8, where an unpaired surrogate is \
+ * encoded as {@code ?}. The braces are always encoded, since the values are never URI templates.
+ */
+enum UriComponent {
+    /**
+     * A segment of the path, where a slash and a semicolon are encoded.
+     */
+    PATH_SEGMENT("!$&'()*+,=:@", /* spaceAsPlus= */ false),
+    /**
+     * A name or a value of a query parameter, where a space is encoded as {@code +}.
+     */
+    QUERY_PARAM("", /* spaceAsPlus= */ true),
+    /**
+     * The fragment, where Jersey keeps only the ampersand, the plus sign and the equals sign of the delimiters.
+     */
+    FRAGMENT("&+=", /* spaceAsPlus= */ false);
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    private static final String UNRESERVED = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz-._~";
+
+    /**
+     * The bits of the safe characters from 0 to 63.
+     */
+    private final long low;
+    /**
+     * The bits of the safe characters from 64 to 127.
+     */
+    private final long high;
+    private final boolean spaceAsPlus;
+
+    UriComponent(String delimiters, boolean spaceAsPlus) {
+        @Var long low = 0;
+        @Var long high = 0;
+        for (char c : (UNRESERVED + delimiters).toCharArray()) {
+            if (c < 64) {
+                low |= 1L << c;
+            } else {
+                high |= 1L << c;
+            }
+        }
+        this.low = low;
+        this.high = high;
+        this.spaceAsPlus = spaceAsPlus;
+    }
+
+    /**
+     * Percent-encode the string of a value into a builder, where the integers are appended as they are.
+     *
+     * @param contextual whether to keep the percent-encoded octets in the value
+     */
+    void encode(StringBuilder builder, Object value, boolean contextual) {
+        if (value instanceof CharSequence) {
+            encode(builder, (CharSequence) value, contextual);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte) {
+            builder.append(((Number) value).longValue());
+        } else {
+            encode(builder, value.toString(), contextual);
+        }
+    }
+
+    /**
+     * Percent-encode a string into a builder.
+     *
+     * @param contextual whether to keep the percent-encoded octets in the string
+     */
+    void encode(StringBuilder builder, CharSequence s, boolean contextual) {
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (isSafe(c)) {
+                    builder.append(c);
+                } else if (c == ' ' && spaceAsPlus) {
+                    builder.append('+');
+                } else if (contextual && c == '%' && i + 2 < length && isHex(s.charAt(i + 1))
+                        && isHex(s.charAt(i + 2))) {
+                    builder.append(c).append(s.charAt(i + 1)).append(s.charAt(i + 2));
+                    i += 2;
+                } else {
+                    appendOctet(builder, c);
+                }
+            } else if (c < 0x800) {
+                appendOctet(builder, 0xC0 | (c >> 6));
+                appendOctet(builder, 0x80 | (c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                appendOctet(builder, 0xE0 | (c >> 12));
+                appendOctet(builder, 0x80 | ((c >> 6) & 0x3F));
+                appendOctet(builder, 0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                appendOctet(builder, 0xF0 | (codePoint >> 18));
+                appendOctet(builder, 0x80 | ((codePoint >> 12) & 0x3F));
+                appendOctet(builder, 0x80 | ((codePoint >> 6) & 0x3F));
+                appendOctet(builder, 0x80 | (codePoint & 0x3F));
+            } else {
+                // an unpaired surrogate is replaced by '?' in UTF-8
+                appendOctet(builder, '?');
+            }
+        }
+    }
+
+    /**
+     * Check whether a string is kept as it is by the encoding.
+     */
+    boolean isSafe(CharSequence s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80 || !isSafe(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check whether an ASCII character is kept as it is, where the shift distance is the low 6 bits of the character.
+     */
+    private boolean isSafe(char c) {
+        return (((c < 64 ? low : high) >>> c) & 1) != 0;
+    }
+
+    private static boolean isHex(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'A' && c <= 'F') || (c >= 'a' && c <= 'f');
+    }
+
+    private static void appendOctet(StringBuilder builder, int octet) {
+        builder.append('%').append(HEX[octet >> 4]).append(HEX[octet & 0xF]);
+    }
+}
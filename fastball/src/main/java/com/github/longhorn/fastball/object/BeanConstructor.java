@@ -0,0 +1,228 @@
+package com.github.longhorn.fastball.object;
+
+import com.github.longhorn.fastball.object.BeanMerger.Copy;
+import com.github.longhorn.fastball.object.BeanProperties.Getter;
+import com.github.longhorn.fastball.object.BeanProperties.Property;
+import com.google.common.base.Defaults;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.errorprone.annotations.Var;
+
+import javax.annotation.Nullable;
+import java.beans.ConstructorProperties;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.Map;
+
+/**
+ * The compiled plan of constructing an instance of a class from the properties of a bean or the entries of a map, by \
+ * the public constructor of the properties, which is the one of the most parameters annotated with \
+ * {@link ConstructorProperties}, or else the one of the most parameters whose names are compiled, like the canonical \
+ * constructor of a record. A constructor of compiled names is used only if its parameters cover all the settable \
+ * properties, or the class has no public no-arg constructor. The values are converted like \
+ * {@link Objects#merge(Object, Object)} does, and the missing or null ones are null, or zero for the primitives. The \
+ * settable properties which are not parameters are merged after the construction. A class without such a constructor \
+ * is constructed by its public no-arg constructor, then merged. The plans are cached in {@link ClassValue}s of the \
+ * classes.
+ *
+ * @param <T> type of the constructed objects
+ */
+final class BeanConstructor<T> {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final ClassValue<ClassValue<BeanConstructor<?>>> CONSTRUCTORS_OF_CLASSES =
+            new ClassValue<ClassValue<BeanConstructor<?>>>() {
+                @Override
+                protected ClassValue<BeanConstructor<?>> computeValue(Class<?> type) {
+                    return new ClassValue<BeanConstructor<?>>() {
+                        @Override
+                        protected BeanConstructor<?> computeValue(Class<?> src) {
+                            return new BeanConstructor<>(type, src);
+                        }
+                    };
+                }
+            };
+
+    /**
+     * The constructor taking the arguments in an array.
+     */
+    private final MethodHandle constructor;
+    /**
+     * The arguments of the missing values.
+     */
+    private final Object[] defaults;
+    /**
+     * The copies of the values from the source to the arguments.
+     */
+    private final ImmutableList<Copy> copies;
+    /**
+     * The copies of the values from the source to the settable properties which are not arguments.
+     */
+    private final ImmutableList<Copy> rest;
+    /**
+     * The merger of the source to the object constructed by the no-arg constructor.
+     */
+    @Nullable
+    private final Merger<Object, Object> merger;
+
+    @SuppressWarnings("unchecked")
+    private BeanConstructor(Class<T> type, Class<?> src) {
+        Constructor<?> properties = propertiesConstructor(type);
+        if (properties == null) {
+            try {
+                constructor = spread(type.getConstructor());
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException("Invalid type: " + type.getName()
+                        + " has neither a constructor of the properties nor a public no-arg constructor", e);
+            }
+            defaults = new Object[0];
+            copies = ImmutableList.of();
+            rest = ImmutableList.of();
+            merger = (Merger<Object, Object>) BeanMerger.of(src, type);
+            return;
+        }
+        String[] names = namesOf(properties);
+        Class<?>[] types = properties.getParameterTypes();
+        BeanProperties srcProperties = BeanProperties.of(src);
+        ImmutableList.Builder<Copy> builder = ImmutableList.builder();
+        constructor = spread(properties);
+        defaults = new Object[names.length];
+        for (int i = 0; i < names.length; i++) {
+            int index = i;
+            defaults[i] = Defaults.defaultValue(types[i]);
+            Getter getter = getterOf(src, srcProperties, names[i]);
+            if (getter != null) {
+                builder.add(new Copy(names[i], getter, (args, value) -> ((Object[]) args)[index] = value, types[i]));
+            }
+        }
+        copies = builder.build();
+        ImmutableSet<String> arguments = ImmutableSet.copyOf(names);
+        ImmutableList.Builder<Copy> restBuilder = ImmutableList.builder();
+        for (Property property : BeanProperties.of(type).getProperties().values()) {
+            if (property.getSetter() == null || arguments.contains(property.getName())) {
+                continue;
+            }
+            Getter getter = getterOf(src, srcProperties, property.getName());
+            if (getter != null) {
+                restBuilder.add(new Copy(property.getName(), getter, property.getSetter(), property.getType()));
+            }
+        }
+        rest = restBuilder.build();
+        merger = null;
+    }
+
+    /**
+     * Get the cached constructor of the class from the source class.
+     *
+     * @throws IllegalArgumentException if the class can not be constructed
+     */
+    @SuppressWarnings("unchecked")
+    static <T> BeanConstructor<T> of(Class<T> type, Class<?> src) {
+        return (BeanConstructor<T>) CONSTRUCTORS_OF_CLASSES.get(type).get(src);
+    }
+
+    /**
+     * Construct an object from the source.
+     */
+    @SuppressWarnings("unchecked")
+    T construct(Object src) throws InvocationTargetException {
+        Object[] args = defaults.clone();
+        for (Copy copy : copies) {
+            copy.copy(args, src);
+        }
+        T object;
+        try {
+            object = (T) (Object) constructor.invokeExact(args);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+        for (Copy copy : rest) {
+            copy.copy(object, src);
+        }
+        if (merger != null) {
+            merger.merge(object, src);
+        }
+        return object;
+    }
+
+    /**
+     * Get the getter of the property or the entry of the source, or null if the source has no such property.
+     */
+    @Nullable
+    private static Getter getterOf(Class<?> src, BeanProperties srcProperties, String name) {
+        if (Map.class.isAssignableFrom(src)) {
+            return map -> ((Map<?, ?>) map).get(name);
+        }
+        Property property = srcProperties.getProperties().get(name);
+        return property == null ? null : property.getGetter();
+    }
+
+    @Nullable
+    private static Constructor<?> propertiesConstructor(Class<?> type) {
+        @Var Constructor<?> annotated = null;
+        @Var Constructor<?> named = null;
+        @Var boolean noArg = false;
+        for (Constructor<?> constructor : type.getConstructors()) {
+            if (constructor.getParameterCount() == 0) {
+                noArg = true;
+            } else if (constructor.isAnnotationPresent(ConstructorProperties.class)) {
+                if (annotated == null || annotated.getParameterCount() < constructor.getParameterCount()) {
+                    annotated = constructor;
+                }
+            } else if (constructor.getParameters()[0].isNamePresent()
+                    && (named == null || named.getParameterCount() < constructor.getParameterCount())) {
+                named = constructor;
+            }
+        }
+        if (annotated != null) {
+            return annotated;
+        }
+        return named != null && (!noArg || coversSetters(type, named)) ? named : null;
+    }
+
+    /**
+     * Check whether the parameters of the constructor cover all the settable properties of the class.
+     */
+    private static boolean coversSetters(Class<?> type, Constructor<?> constructor) {
+        ImmutableSet<String> names = ImmutableSet.copyOf(namesOf(constructor));
+        for (Property property : BeanProperties.of(type).getProperties().values()) {
+            if (property.getSetter() != null && !names.contains(property.getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String[] namesOf(Constructor<?> constructor) {
+        ConstructorProperties annotation = constructor.getAnnotation(ConstructorProperties.class);
+        if (annotation != null) {
+            if (annotation.value().length != constructor.getParameterCount()) {
+                throw new IllegalArgumentException("Invalid constructor properties: " + constructor);
+            }
+            return annotation.value().clone();
+        }
+        Parameter[] parameters = constructor.getParameters();
+        String[] names = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            names[i] = parameters[i].getName();
+        }
+        return names;
+    }
+
+    private static MethodHandle spread(Constructor<?> constructor) {
+        if (!Modifier.isPublic(constructor.getDeclaringClass().getModifiers())) {
+            constructor.setAccessible(true);
+        }
+        try {
+            return LOOKUP.unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Failed to access " + constructor, e);
+        }
+    }
+}
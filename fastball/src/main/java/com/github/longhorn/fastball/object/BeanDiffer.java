@@ -0,0 +1,134 @@
+package com.github.longhorn.fastball.object;
+
+import com.github.longhorn.fastball.object.BeanProperties.Getter;
+import com.github.longhorn.fastball.object.BeanProperties.Property;
+import com.github.longhorn.fastball.object.BeanProperties.Setter;
+import com.google.common.collect.ImmutableMap;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The compiled plan of diffing the instances of a class, the properties which have both a getter and a setter, \
+ * indexed in the order of the names. The plans are cached in a {@link ClassValue} of the classes.
+ *
+ * @param <T> type of the beans
+ */
+final class BeanDiffer<T> {
+    private static final ClassValue<BeanDiffer<?>> DIFFERS_OF_CLASS = new ClassValue<BeanDiffer<?>>() {
+        @Override
+        protected BeanDiffer<?> computeValue(Class<?> type) {
+            return new BeanDiffer<>(type);
+        }
+    };
+
+    private final Class<T> type;
+    private final String[] names;
+    private final ImmutableMap<String, Integer> indexes;
+    private final Getter[] getters;
+    private final Setter[] setters;
+    /**
+     * Whether the values of the properties may be arrays, which are compared by their elements.
+     */
+    private final boolean[] arrays;
+
+    private BeanDiffer(Class<T> type) {
+        List<Property> properties = new ArrayList<>();
+        for (Property property : BeanProperties.of(type).getProperties().values()) {
+            if (property.getGetter() != null && property.getSetter() != null) {
+                properties.add(property);
+            }
+        }
+        properties.sort(Comparator.comparing(Property::getName));
+        this.type = type;
+        names = new String[properties.size()];
+        getters = new Getter[properties.size()];
+        setters = new Setter[properties.size()];
+        arrays = new boolean[properties.size()];
+        ImmutableMap.Builder<String, Integer> builder = ImmutableMap.builder();
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            names[i] = property.getName();
+            getters[i] = property.getGetter();
+            setters[i] = property.getSetter();
+            arrays[i] = property.getType().isArray() || property.getType() == Object.class;
+            builder.put(property.getName(), i);
+        }
+        indexes = builder.build();
+    }
+
+    /**
+     * Get the cached differ of the class.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> BeanDiffer<T> of(Class<T> type) {
+        return (BeanDiffer<T>) DIFFERS_OF_CLASS.get(type);
+    }
+
+    Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Get the number of the properties.
+     */
+    int size() {
+        return names.length;
+    }
+
+    String getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * Get the index of the property, or -1 if the class does not have it.
+     */
+    int indexOf(String name) {
+        Integer index = indexes.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Get the properties of which the values differ, with the values of the latter bean.
+     */
+    ChangeSet<T> diff(T before, T after) throws InvocationTargetException {
+        BitSet changed = new BitSet(names.length);
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            Object value = get(i, after);
+            if (!equal(i, get(i, before), value)) {
+                changed.set(i);
+                values.add(value);
+            }
+        }
+        return new ChangeSet<>(this, changed, values.toArray());
+    }
+
+    @Nullable
+    private Object get(int index, T bean) throws InvocationTargetException {
+        try {
+            return getters[index].get(bean);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private boolean equal(int index, @Nullable Object a, @Nullable Object b) {
+        return arrays[index] ? java.util.Objects.deepEquals(a, b) : java.util.Objects.equals(a, b);
+    }
+
+    /**
+     * Set the value of the property.
+     */
+    void set(int index, T bean, @Nullable Object value) throws InvocationTargetException {
+        try {
+            setters[index].set(bean, value);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.github.longhorn.fastball.object;
+
+import com.github.longhorn.fastball.object.BeanProperties.DoubleGetter;
+import com.github.longhorn.fastball.object.BeanProperties.DoubleSetter;
+import com.github.longhorn.fastball.object.BeanProperties.Getter;
+import com.github.longhorn.fastball.object.BeanProperties.IntGetter;
+import com.github.longhorn.fastball.object.BeanProperties.IntSetter;
+import com.github.longhorn.fastball.object.BeanProperties.LongGetter;
+import com.github.longhorn.fastball.object.BeanProperties.LongSetter;
+import com.github.longhorn.fastball.object.BeanProperties.Property;
+import com.github.longhorn.fastball.object.BeanProperties.Setter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Primitives;
+import org.apache.commons.beanutils.BeanUtilsBean;
+import org.apache.commons.beanutils.ConvertUtilsBean;
+import org.apache.commons.beanutils.Converter;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * The compiled plan of merging a source class to a destination class, the pairs of the getters of the source and the \
+ * setters of the destination of the same names, with the converters of the destination types looked up once. It has \
+ * the same semantics as {@code BeanUtilsBean.copyProperties} which skips the null values, but skips the conversion \
+ * when the value is of the destination type already, and copies the int, long and double properties of the same \
+ * types without boxing them. The plans are cached in {@link ClassValue}s of the classes, \
+ * unless a merger is generated for the classes by {@link GenerateMerger}.
+ *
+ * @param <S> type of the source
+ * @param <D> type of the destination
+ */
+final class BeanMerger<S, D> implements Merger<S, D> {
+    static final ConvertUtilsBean CONVERT_UTILS = new ConvertUtilsBean();
+    /**
+     * The commons-beanutils of the same converters and introspection, which skips the null values.
+     */
+    static final BeanUtilsBean BEAN_UTILS = new BeanUtilsBean(CONVERT_UTILS, BeanProperties.PROPERTY_UTILS) {
+        @Override
+        public void copyProperty(Object dest, String name, Object value)
+                throws IllegalAccessException, InvocationTargetException {
+            if (value != null) {
+                super.copyProperty(dest, name, value);
+            }
+        }
+    };
+    private static final ClassValue<ClassValue<Merger<?, ?>>> MERGERS_OF_CLASSES =
+            new ClassValue<ClassValue<Merger<?, ?>>>() {
+                @Override
+                protected ClassValue<Merger<?, ?>> computeValue(Class<?> src) {
+                    return new ClassValue<Merger<?, ?>>() {
+                        @Override
+                        protected Merger<?, ?> computeValue(Class<?> dest) {
+                            if (Map.class.isAssignableFrom(src) || Map.class.isAssignableFrom(dest)) {
+                                return MapMerger.of(src, dest);
+                            }
+                            Merger<?, ?> generated = generated(src, dest);
+                            return generated != null ? generated : new BeanMerger<>(src, dest);
+                        }
+                    };
+                }
+            };
+
+    private final ImmutableList<Step> steps;
+
+    /**
+     * Copy of a property from the source to the destination.
+     */
+    @FunctionalInterface
+    private interface Step {
+        void copy(Object dest, Object src) throws InvocationTargetException;
+    }
+
+    /**
+     * Copy of a property from the getter of the source to the setter of the destination.
+     */
+    static final class Copy {
+        private final String name;
+        private final Getter getter;
+        private final Setter setter;
+        private final Class<?> type;
+        private final Class<?> wrappedType;
+        @Nullable
+        private final Converter converter;
+
+        Copy(String name, Getter getter, Setter setter, Class<?> type) {
+            this.name = name;
+            this.getter = getter;
+            this.setter = setter;
+            this.type = type;
+            this.wrappedType = Primitives.wrap(type);
+            this.converter = CONVERT_UTILS.lookup(type);
+        }
+
+        /**
+         * Convert the value to the destination type like {@code BeanUtilsBean.copyProperty}.
+         */
+        @Nullable
+        private Object convert(Object value) {
+            if (value instanceof String[]) {
+                String[] values = (String[]) value;
+                return type.isArray() ? CONVERT_UTILS.convert(values, type) : CONVERT_UTILS.convert(values[0], type);
+            }
+            if (value.getClass() == wrappedType) {
+                // the converters return the value of the type as it is
+                return value;
+            }
+            if (value instanceof String) {
+                return CONVERT_UTILS.convert((String) value, type);
+            }
+            return converter == null ? value : converter.convert(type, value);
+        }
+
+        /**
+         * Get the value from the source.
+         */
+        @Nullable
+        Object get(Object src) throws InvocationTargetException {
+            try {
+                return getter.get(src);
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+
+        /**
+         * Copy the value from the source to the destination, unless it is null.
+         */
+        void copy(Object dest, Object src) throws InvocationTargetException {
+            Object value = get(src);
+            if (value != null) {
+                set(dest, value);
+            }
+        }
+
+        /**
+         * Convert the non-null value, and set it to the destination.
+         */
+        void set(Object dest, Object value) throws InvocationTargetException {
+            Object converted = convert(value);
+            if (converted == null ? type.isPrimitive() : !wrappedType.isInstance(converted)) {
+                throw new IllegalArgumentException("Invalid value of property " + name + ": " + converted);
+            }
+            try {
+                setter.set(dest, converted);
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+    }
+
+    private BeanMerger(Class<?> src, Class<?> dest) {
+        ImmutableList.Builder<Step> builder = ImmutableList.builder();
+        BeanProperties destProperties = BeanProperties.of(dest);
+        for (Property property : BeanProperties.of(src).getProperties().values()) {
+            Property destProperty = destProperties.getProperties().get(property.getName());
+            if (property.getGetter() != null && destProperty != null && destProperty.getSetter() != null) {
+                Step primitive = primitiveStep(property.getReadMethod(), destProperty.getWriteMethod());
+                builder.add(primitive != null ? primitive : new Copy(property.getName(), property.getGetter(),
+                        destProperty.getSetter(), destProperty.getType())::copy);
+            }
+        }
+        steps = builder.build();
+    }
+
+    /**
+     * Get the copy of an int, long or double property of the same type, which neither boxes the value nor converts \
+     * it, or null if it is not.
+     */
+    @Nullable
+    private static Step primitiveStep(@Nullable Method read, @Nullable Method write) {
+        if (read == null || write == null || read.getReturnType() != write.getParameterTypes()[0]) {
+            return null;
+        }
+        if (read.getReturnType() == int.class) {
+            IntGetter getter = BeanProperties.intGetter(read);
+            IntSetter setter = BeanProperties.intSetter(write);
+            return (dest, src) -> {
+                try {
+                    setter.set(dest, getter.get(src));
+                } catch (Throwable e) {
+                    throw new InvocationTargetException(e);
+                }
+            };
+        }
+        if (read.getReturnType() == long.class) {
+            LongGetter getter = BeanProperties.longGetter(read);
+            LongSetter setter = BeanProperties.longSetter(write);
+            return (dest, src) -> {
+                try {
+                    setter.set(dest, getter.get(src));
+                } catch (Throwable e) {
+                    throw new InvocationTargetException(e);
+                }
+            };
+        }
+        if (read.getReturnType() == double.class) {
+            DoubleGetter getter = BeanProperties.doubleGetter(read);
+            DoubleSetter setter = BeanProperties.doubleSetter(write);
+            return (dest, src) -> {
+                try {
+                    setter.set(dest, getter.get(src));
+                } catch (Throwable e) {
+                    throw new InvocationTargetException(e);
+                }
+            };
+        }
+        return null;
+    }
+
+    /**
+     * Get the cached merger of the classes, the generated one if there is.
+     */
+    @SuppressWarnings("unchecked")
+    static <S, D> Merger<S, D> of(Class<S> src, Class<D> dest) {
+        return (Merger<S, D>) MERGERS_OF_CLASSES.get(src).get(dest);
+    }
+
+    /**
+     * Get the name of the merger generated for {@link GenerateMerger}, in the package of the source, such as \
+     * {@code Outer_Foo_MergerTo_com_example_Bar} of {@code Outer.Foo} to {@code com.example.Bar}.
+     */
+    static String generatedName(Class<?> src, Class<?> dest) {
+        String name = src.getName();
+        int dot = name.lastIndexOf('.');
+        return name.substring(0, dot + 1) + name.substring(dot + 1).replace('$', '_')
+                + "_MergerTo_" + dest.getName().replace('.', '_').replace('$', '_');
+    }
+
+    @Nullable
+    private static Merger<?, ?> generated(Class<?> src, Class<?> dest) {
+        try {
+            Class<?> type = Class.forName(generatedName(src, dest), true, src.getClassLoader());
+            if (!Merger.class.isAssignableFrom(type)) {
+                return null;
+            }
+            return (Merger<?, ?>) type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void merge(D dest, S src) throws InvocationTargetException {
+        for (Step step : steps) {
+            step.copy(dest, src);
+        }
+    }
+}
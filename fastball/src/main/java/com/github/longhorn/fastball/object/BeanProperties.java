@@ -0,0 +1,360 @@
+package com.github.longhorn.fastball.object;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Primitives;
+import org.apache.commons.beanutils.FluentPropertyBeanIntrospector;
+import org.apache.commons.beanutils.PropertyUtilsBean;
+
+import javax.annotation.Nullable;
+import java.beans.IndexedPropertyDescriptor;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * The properties of a class, introspected once by commons-beanutils with the fluent setters, whose accessors are \
+ * bound to lambdas by {@link LambdaMetafactory}, so they are called without reflection. The accessors of the classes \
+ * which are not visible to the class loader of this library are bound to {@link MethodHandle}s instead.
+ */
+final class BeanProperties {
+    static final PropertyUtilsBean PROPERTY_UTILS = new PropertyUtilsBean();
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final ClassValue<BeanProperties> PROPERTIES_OF_CLASS = new ClassValue<BeanProperties>() {
+        @Override
+        protected BeanProperties computeValue(Class<?> type) {
+            return new BeanProperties(type);
+        }
+    };
+
+    static {
+        PROPERTY_UTILS.addBeanIntrospector(new FluentPropertyBeanIntrospector());
+    }
+
+    private final ImmutableMap<String, Property> properties;
+
+    /**
+     * Getter of a property.
+     */
+    @FunctionalInterface
+    interface Getter {
+        @Nullable
+        Object get(Object bean) throws Throwable;
+    }
+
+    /**
+     * Setter of a property, whose value is of the type of the property.
+     */
+    @FunctionalInterface
+    interface Setter {
+        void set(Object bean, @Nullable Object value) throws Throwable;
+    }
+
+    /**
+     * Getter of an int property, which does not box the value.
+     */
+    @FunctionalInterface
+    interface IntGetter {
+        int get(Object bean) throws Throwable;
+    }
+
+    /**
+     * Setter of an int property, which does not box the value.
+     */
+    @FunctionalInterface
+    interface IntSetter {
+        void set(Object bean, int value) throws Throwable;
+    }
+
+    /**
+     * Getter of a long property, which does not box the value.
+     */
+    @FunctionalInterface
+    interface LongGetter {
+        long get(Object bean) throws Throwable;
+    }
+
+    /**
+     * Setter of a long property, which does not box the value.
+     */
+    @FunctionalInterface
+    interface LongSetter {
+        void set(Object bean, long value) throws Throwable;
+    }
+
+    /**
+     * Getter of a double property, which does not box the value.
+     */
+    @FunctionalInterface
+    interface DoubleGetter {
+        double get(Object bean) throws Throwable;
+    }
+
+    /**
+     * Setter of a double property, which does not box the value.
+     */
+    @FunctionalInterface
+    interface DoubleSetter {
+        void set(Object bean, double value) throws Throwable;
+    }
+
+    /**
+     * A property, which has at least one of the getter and the setter.
+     */
+    static final class Property {
+        private final String name;
+        private final Class<?> type;
+        @Nullable
+        private final Getter getter;
+        @Nullable
+        private final Setter setter;
+        @Nullable
+        private final Method readMethod;
+        @Nullable
+        private final Method writeMethod;
+
+        private Property(String name, Class<?> type, @Nullable Method readMethod, @Nullable Method writeMethod) {
+            this.name = name;
+            this.type = type;
+            this.getter = readMethod == null ? null : getter(readMethod);
+            this.setter = writeMethod == null ? null : setter(writeMethod);
+            this.readMethod = readMethod;
+            this.writeMethod = writeMethod;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        /**
+         * Get the type of the property, which may be primitive.
+         */
+        Class<?> getType() {
+            return type;
+        }
+
+        @Nullable
+        Getter getGetter() {
+            return getter;
+        }
+
+        @Nullable
+        Setter getSetter() {
+            return setter;
+        }
+
+        /**
+         * Get the getter method, to bind the primitive getters.
+         */
+        @Nullable
+        Method getReadMethod() {
+            return readMethod;
+        }
+
+        /**
+         * Get the setter method, to bind the primitive setters.
+         */
+        @Nullable
+        Method getWriteMethod() {
+            return writeMethod;
+        }
+    }
+
+    private BeanProperties(Class<?> type) {
+        ImmutableMap.Builder<String, Property> builder = ImmutableMap.builder();
+        for (PropertyDescriptor descriptor : PROPERTY_UTILS.getPropertyDescriptors(type)) {
+            // the same properties as BeanUtilsBean.copyProperties, without the class and the indexed ones
+            if ("class".equals(descriptor.getName()) || descriptor instanceof IndexedPropertyDescriptor
+                    || descriptor.getPropertyType() == null) {
+                continue;
+            }
+            Method read = PROPERTY_UTILS.getReadMethod(descriptor);
+            Method write = PROPERTY_UTILS.getWriteMethod(type, descriptor);
+            if (read != null || write != null) {
+                builder.put(descriptor.getName(), new Property(descriptor.getName(), descriptor.getPropertyType(),
+                        read, write));
+            }
+        }
+        properties = builder.build();
+    }
+
+    /**
+     * Get the properties of the class.
+     */
+    static BeanProperties of(Class<?> type) {
+        return PROPERTIES_OF_CLASS.get(type);
+    }
+
+    /**
+     * Get the properties by their names.
+     */
+    ImmutableMap<String, Property> getProperties() {
+        return properties;
+    }
+
+    private static Getter getter(Method method) {
+        MethodHandle handle = unreflect(method);
+        try {
+            return (Getter) bind(Getter.class, "get", MethodType.methodType(Object.class, Object.class), handle,
+                    MethodType.methodType(Primitives.wrap(method.getReturnType()), method.getDeclaringClass()));
+        } catch (Throwable e) {
+            MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+            return bean -> (Object) generic.invokeExact(bean);
+        }
+    }
+
+    private static Setter setter(Method method) {
+        MethodHandle handle = unreflect(method);
+        try {
+            return (Setter) bind(Setter.class, "set", MethodType.methodType(void.class, Object.class, Object.class),
+                    handle, MethodType.methodType(void.class, method.getDeclaringClass(),
+                            Primitives.wrap(method.getParameterTypes()[0])));
+        } catch (Throwable e) {
+            MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (bean, value) -> {
+                generic.invokeExact(bean, value);
+            };
+        }
+    }
+
+    /**
+     * Bind the getter of an int property.
+     */
+    static IntGetter intGetter(Method method) {
+        MethodHandle handle = unreflect(method);
+        try {
+            return (IntGetter) bind(IntGetter.class, "get", MethodType.methodType(int.class, Object.class), handle,
+                    MethodType.methodType(int.class, method.getDeclaringClass()));
+        } catch (Throwable e) {
+            MethodHandle generic = handle.asType(MethodType.methodType(int.class, Object.class));
+            return bean -> (int) generic.invokeExact(bean);
+        }
+    }
+
+    /**
+     * Bind the setter of an int property.
+     */
+    static IntSetter intSetter(Method method) {
+        MethodHandle handle = unreflect(method);
+        try {
+            return (IntSetter) bind(IntSetter.class, "set", MethodType.methodType(void.class, Object.class, int.class),
+                    handle, MethodType.methodType(void.class, method.getDeclaringClass(), int.class));
+        } catch (Throwable e) {
+            MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, int.class));
+            return (bean, value) -> {
+                generic.invokeExact(bean, value);
+            };
+        }
+    }
+
+    /**
+     * Bind the getter of a long property.
+     */
+    static LongGetter longGetter(Method method) {
+        MethodHandle handle = unreflect(method);
+        try {
+            return (LongGetter) bind(LongGetter.class, "get", MethodType.methodType(long.class, Object.class), handle,
+                    MethodType.methodType(long.class, method.getDeclaringClass()));
+        } catch (Throwable e) {
+            MethodHandle generic = handle.asType(MethodType.methodType(long.class, Object.class));
+            return bean -> (long) generic.invokeExact(bean);
+        }
+    }
+
+    /**
+     * Bind the setter of a long property.
+     */
+    static LongSetter longSetter(Method method) {
+        MethodHandle handle = unreflect(method);
+        try {
+            return (LongSetter) bind(LongSetter.class, "set",
+                    MethodType.methodType(void.class, Object.class, long.class), handle,
+                    MethodType.methodType(void.class, method.getDeclaringClass(), long.class));
+        } catch (Throwable e) {
+            MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, long.class));
+            return (bean, value) -> {
+                generic.invokeExact(bean, value);
+            };
+        }
+    }
+
+    /**
+     * Bind the getter of a double property.
+     */
+    static DoubleGetter doubleGetter(Method method) {
+        MethodHandle handle = unreflect(method);
+        try {
+            return (DoubleGetter) bind(DoubleGetter.class, "get", MethodType.methodType(double.class, Object.class),
+                    handle, MethodType.methodType(double.class, method.getDeclaringClass()));
+        } catch (Throwable e) {
+            MethodHandle generic = handle.asType(MethodType.methodType(double.class, Object.class));
+            return bean -> (double) generic.invokeExact(bean);
+        }
+    }
+
+    /**
+     * Bind the setter of a double property.
+     */
+    static DoubleSetter doubleSetter(Method method) {
+        MethodHandle handle = unreflect(method);
+        try {
+            return (DoubleSetter) bind(DoubleSetter.class, "set",
+                    MethodType.methodType(void.class, Object.class, double.class), handle,
+                    MethodType.methodType(void.class, method.getDeclaringClass(), double.class));
+        } catch (Throwable e) {
+            MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, double.class));
+            return (bean, value) -> {
+                generic.invokeExact(bean, value);
+            };
+        }
+    }
+
+    /**
+     * Bind the method handle to a lambda of the functional interface. The lambda class is defined in the class loader \
+     * of this class, so it fails on the first call if the types of the method are not visible to that class loader. \
+     * In that case this throws, and the callers fall back to calling the method handle.
+     */
+    private static Object bind(Class<?> functional, String name, MethodType erased, MethodHandle handle,
+                               MethodType instantiated) throws Throwable {
+        if (!isVisible(instantiated.returnType())) {
+            throw new IllegalArgumentException("Invalid type: " + instantiated.returnType() + " is not visible");
+        }
+        for (Class<?> type : instantiated.parameterArray()) {
+            if (!isVisible(type)) {
+                throw new IllegalArgumentException("Invalid type: " + type + " is not visible");
+            }
+        }
+        CallSite site = LambdaMetafactory.metafactory(LOOKUP, name, MethodType.methodType(functional), erased, handle,
+                instantiated);
+        return site.getTarget().invoke();
+    }
+
+    /**
+     * Check whether a type resolves to the same class from the class loader of this class.
+     */
+    private static boolean isVisible(Class<?> type) {
+        Class<?> element = type.isArray() ? type.getComponentType() : type;
+        if (element.isPrimitive()) {
+            return true;
+        }
+        if (element.isArray()) {
+            return isVisible(element);
+        }
+        try {
+            return Class.forName(element.getName(), false, BeanProperties.class.getClassLoader()) == element;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            return LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Failed to access " + method, e);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.github.longhorn.fastball.object;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.Var;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationTargetException;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The properties changed between two instances of a class, with their new values, see \
+ * {@link Objects#diff(Object, Object)}. The changed properties are kept as the bits of their indexes in the cached \
+ * plan of the class, and the change set can be applied to other instances, which sets only the changed properties, \
+ * the null values included.
+ *
+ * @param <T> type of the beans
+ */
+public final class ChangeSet<T> {
+    private final BeanDiffer<T> differ;
+    private final BitSet changed;
+    /**
+     * The new values, in the order of the changed bits.
+     */
+    private final Object[] values;
+
+    ChangeSet(BeanDiffer<T> differ, BitSet changed, Object[] values) {
+        this.differ = differ;
+        this.changed = changed;
+        this.values = values;
+    }
+
+    /**
+     * Get the class of the diffed beans.
+     *
+     * @return the class
+     */
+    public Class<T> getType() {
+        return differ.getType();
+    }
+
+    /**
+     * Check if no property is changed.
+     *
+     * @return true if nothing is changed
+     */
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    /**
+     * Get the number of the changed properties.
+     *
+     * @return the number of the changed properties
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Check if the property is changed.
+     *
+     * @param name the name of the property
+     * @return true if the property is changed
+     */
+    public boolean isChanged(String name) {
+        int index = differ.indexOf(name);
+        return index >= 0 && changed.get(index);
+    }
+
+    /**
+     * Get the new value of a changed property.
+     *
+     * @param name the name of the property
+     * @return the new value
+     * @throws IllegalArgumentException if the property is not changed
+     */
+    @Nullable
+    public Object getValue(String name) {
+        if (!isChanged(name)) {
+            throw new IllegalArgumentException("Invalid property: " + name + " is not changed");
+        }
+        int index = differ.indexOf(name);
+        return values[changed.get(0, index).cardinality()];
+    }
+
+    /**
+     * Get the names of the changed properties, in the order of the names.
+     *
+     * @return the names of the changed properties
+     */
+    public ImmutableList<String> getNames() {
+        ImmutableList.Builder<String> builder = ImmutableList.builder();
+        for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+            builder.add(differ.getName(i));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Get the changed properties and their new values, in the order of the names.
+     *
+     * @return the unmodifiable map of the changed properties, whose values may be null
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        @Var int value = 0;
+        for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+            map.put(differ.getName(i), values[value++]);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Set the changed properties of the target to the new values, the other properties are left as they are.
+     *
+     * @param target the bean to patch, of the class of the diffed beans or its subclass
+     * @throws InvocationTargetException if a property setter throws an exception
+     */
+    public void apply(T target) throws InvocationTargetException {
+        if (!differ.getType().isInstance(target)) {
+            throw new IllegalArgumentException("Invalid target: " + target.getClass().getName() + " is not a "
+                    + differ.getType().getName());
+        }
+        @Var int value = 0;
+        for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+            differ.set(i, target, values[value++]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeSet" + toMap();
+    }
+}
@@ -0,0 +1,434 @@
+package com.github.longhorn.fastball.object;
+
+import com.github.longhorn.fastball.object.BeanMerger.Copy;
+import com.github.longhorn.fastball.object.BeanProperties.Getter;
+import com.github.longhorn.fastball.object.BeanProperties.Property;
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Deep merger of object graphs, which merges the nested beans, collections and maps of the source into the ones of \
+ * the destination, where {@link Objects#merge(Object, Object)} replaces them. The null values are ignored, and the \
+ * other values are converted like {@link Objects#merge(Object, Object)} does. By default,
+ * <ul>
+ * <li>a nested bean is merged into the bean of the destination if there is, or else set</li>
+ * <li>a map is merged into the map of the destination by the keys, and the values are merged deeply</li>
+ * <li>a collection replaces the one of the destination</li>
+ * </ul>
+ * and the strategies are configured per type, which applies to the subclasses too. The strategy of a collection is \
+ * the one of the class of its first non-null element. The collections and maps of the destination are updated in \
+ * place. An object of the source is merged once into an object of the destination by their identities, so the shared \
+ * and cyclic references are safe. The plans of the classes are cached like {@link Objects#merger(Class, Class)}.
+ * <p>
+ * Not thread-safe to configure, configure it before merging, then it merges concurrently.
+ */
+public final class DeepMerger {
+    /**
+     * Count of the pairs merged by a task of {@link #mergeAll(List, List)} without forking.
+     */
+    private static final int BATCH_SIZE = 64;
+    private static final ClassValue<ClassValue<ImmutableList<Node>>> PLANS_OF_CLASSES =
+            new ClassValue<ClassValue<ImmutableList<Node>>>() {
+                @Override
+                protected ClassValue<ImmutableList<Node>> computeValue(Class<?> src) {
+                    return new ClassValue<ImmutableList<Node>>() {
+                        @Override
+                        protected ImmutableList<Node> computeValue(Class<?> dest) {
+                            return planOf(src, dest);
+                        }
+                    };
+                }
+            };
+    /**
+     * Whether the instances of a class are beans to merge deeply, rather than values such as strings, numbers, \
+     * enums, arrays and the other JDK classes.
+     */
+    private static final ClassValue<Boolean> BEAN_CLASSES = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            if (type.isArray() || type.isEnum() || type.isPrimitive() || type.getName().startsWith("java.")
+                    || type.getName().startsWith("javax.") || BeanMerger.CONVERT_UTILS.lookup(type) != null) {
+                return false;
+            }
+            return !BeanProperties.of(type).getProperties().isEmpty();
+        }
+    };
+
+    private final Map<Class<?>, Rule> rules = new LinkedHashMap<>();
+    private ClassValue<Rule> rulesOfClass = newRulesOfClass();
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    private enum Strategy {
+        DEFAULT, REPLACE, APPEND, MERGE_BY_KEY
+    }
+
+    /**
+     * The strategy of a type, with the function of the keys if merged by keys.
+     */
+    private static final class Rule {
+        private static final Rule DEFAULT = new Rule(Strategy.DEFAULT, null);
+
+        private final Strategy strategy;
+        @Nullable
+        private final Function<Object, ?> key;
+
+        private Rule(Strategy strategy, @Nullable Function<Object, ?> key) {
+            this.strategy = strategy;
+            this.key = key;
+        }
+    }
+
+    /**
+     * Merge of a property, the copy from the source to the destination, with the getter of the destination to merge \
+     * into the current value.
+     */
+    private static final class Node {
+        private final Copy copy;
+        @Nullable
+        private final Getter destGetter;
+
+        private Node(Copy copy, @Nullable Getter destGetter) {
+            this.copy = copy;
+            this.destGetter = destGetter;
+        }
+    }
+
+    private DeepMerger() {
+    }
+
+    /**
+     * Create a deep merger of the default strategies, which merges in batches on the common fork/join pool.
+     *
+     * @return the deep merger
+     */
+    public static DeepMerger create() {
+        return new DeepMerger();
+    }
+
+    /**
+     * Replace the beans and the maps of the type as a whole, and the collections of its elements.
+     *
+     * @param type the type
+     * @return the deep merger
+     */
+    public DeepMerger replace(Class<?> type) {
+        return setRule(type, new Rule(Strategy.REPLACE, null));
+    }
+
+    /**
+     * Append the collections of the elements of the type to the ones of the destination.
+     *
+     * @param type the type of the elements
+     * @return the deep merger
+     */
+    public DeepMerger append(Class<?> type) {
+        return setRule(type, new Rule(Strategy.APPEND, null));
+    }
+
+    /**
+     * Merge the collections of the elements of the type by their keys, an element of the source is merged deeply \
+     * into the element of the destination of the same key, or else added. The elements which are not beans replace \
+     * the ones of the same key.
+     *
+     * @param type the type of the elements
+     * @param key  the function of the key of an element
+     * @param <T>  the type of the elements
+     * @return the deep merger
+     */
+    @SuppressWarnings("unchecked")
+    public <T> DeepMerger mergeByKey(Class<T> type, Function<? super T, ?> key) {
+        return setRule(type, new Rule(Strategy.MERGE_BY_KEY, (Function<Object, ?>) key));
+    }
+
+    /**
+     * Set the pool of {@link #mergeAll(List, List)}, the common fork/join pool by default.
+     *
+     * @param pool the fork/join pool
+     * @return the deep merger
+     */
+    public DeepMerger setPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    private DeepMerger setRule(Class<?> type, Rule rule) {
+        rules.put(type, rule);
+        rulesOfClass = newRulesOfClass();
+        return this;
+    }
+
+    private ClassValue<Rule> newRulesOfClass() {
+        return new ClassValue<Rule>() {
+            @Override
+            protected Rule computeValue(Class<?> type) {
+                // the class and its superclasses first, then the interfaces breadth first
+                for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                    Rule rule = rules.get(c);
+                    if (rule != null) {
+                        return rule;
+                    }
+                }
+                Deque<Class<?>> interfaces = new ArrayDeque<>();
+                for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                    interfaces.addAll(ImmutableList.copyOf(c.getInterfaces()));
+                }
+                while (!interfaces.isEmpty()) {
+                    Class<?> c = interfaces.poll();
+                    Rule rule = rules.get(c);
+                    if (rule != null) {
+                        return rule;
+                    }
+                    interfaces.addAll(ImmutableList.copyOf(c.getInterfaces()));
+                }
+                return Rule.DEFAULT;
+            }
+        };
+    }
+
+    /**
+     * Merge the source into the destination deeply. The destination and the source may be maps or collections too.
+     *
+     * @param dest the destination object
+     * @param src  the source object
+     * @throws InvocationTargetException if a property accessor method throws an exception
+     */
+    public void merge(Object dest, Object src) throws InvocationTargetException {
+        mergeInto(dest, src, new IdentityHashMap<>());
+    }
+
+    /**
+     * Merge the sources into the destinations of the same indexes deeply, in parallel on the pool. The pairs are \
+     * merged independently, so the identities are tracked per pair.
+     *
+     * @param dests the destination objects
+     * @param srcs  the source objects
+     * @throws InvocationTargetException if a property accessor method throws an exception, the pairs may be merged \
+     *                                   partially
+     */
+    public void mergeAll(List<?> dests, List<?> srcs) throws InvocationTargetException {
+        if (dests.size() != srcs.size()) {
+            throw new IllegalArgumentException("Invalid sizes: " + dests.size() + " destinations and " + srcs.size()
+                    + " sources");
+        }
+        AtomicReference<InvocationTargetException> failure = new AtomicReference<>();
+        pool.invoke(new BatchTask(dests, srcs, 0, dests.size(), failure));
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    /**
+     * Merge of the pairs in a range, split in halves until {@link #BATCH_SIZE}.
+     */
+    private final class BatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<?> dests;
+        private final List<?> srcs;
+        private final int from;
+        private final int to;
+        private final AtomicReference<InvocationTargetException> failure;
+
+        private BatchTask(List<?> dests, List<?> srcs, int from, int to,
+                          AtomicReference<InvocationTargetException> failure) {
+            this.dests = dests;
+            this.srcs = srcs;
+            this.from = from;
+            this.to = to;
+            this.failure = failure;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > BATCH_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BatchTask(dests, srcs, from, middle, failure),
+                        new BatchTask(dests, srcs, middle, to, failure));
+                return;
+            }
+            for (int i = from; i < to && failure.get() == null; i++) {
+                try {
+                    merge(dests.get(i), srcs.get(i));
+                } catch (InvocationTargetException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        }
+    }
+
+    private void mergeInto(Object dest, Object src, IdentityHashMap<Object, Set<Object>> merged)
+            throws InvocationTargetException {
+        if (src == dest || !merged.computeIfAbsent(src, key -> Collections.newSetFromMap(new IdentityHashMap<>()))
+                .add(dest)) {
+            return;
+        }
+        if (src instanceof Map && dest instanceof Map) {
+            mergeMap(castMap(dest), (Map<?, ?>) src, merged);
+            return;
+        }
+        if (src instanceof Collection && dest instanceof Collection) {
+            mergeCollection(castCollection(dest), (Collection<?>) src, merged);
+            return;
+        }
+        for (Node node : PLANS_OF_CLASSES.get(src.getClass()).get(dest.getClass())) {
+            Object value = node.copy.get(src);
+            if (value == null) {
+                continue;
+            }
+            Object current = node.destGetter == null ? null : get(node.destGetter, dest);
+            if (current != null && isMerged(current, value)) {
+                mergeInto(current, value, merged);
+            } else {
+                node.copy.set(dest, value);
+            }
+        }
+    }
+
+    /**
+     * Check if the value is merged into the current value, rather than replaces it.
+     */
+    private boolean isMerged(Object current, Object value) {
+        if (value instanceof Collection) {
+            Strategy strategy = ruleOfElements((Collection<?>) value).strategy;
+            return current instanceof Collection && (strategy == Strategy.APPEND
+                    || strategy == Strategy.MERGE_BY_KEY);
+        }
+        if (value instanceof Map) {
+            return current instanceof Map && rulesOfClass.get(value.getClass()).strategy != Strategy.REPLACE;
+        }
+        return BEAN_CLASSES.get(value.getClass()) && BEAN_CLASSES.get(current.getClass())
+                && rulesOfClass.get(value.getClass()).strategy != Strategy.REPLACE;
+    }
+
+    private void mergeMap(Map<Object, Object> dest, Map<?, ?> src, IdentityHashMap<Object, Set<Object>> merged)
+            throws InvocationTargetException {
+        for (Map.Entry<?, ?> entry : src.entrySet()) {
+            Object value = entry.getValue();
+            if (value == null) {
+                continue;
+            }
+            Object current = dest.get(entry.getKey());
+            if (current != null && isMerged(current, value)) {
+                mergeInto(current, value, merged);
+            } else {
+                dest.put(entry.getKey(), value);
+            }
+        }
+    }
+
+    private void mergeCollection(Collection<Object> dest, Collection<?> src,
+                                 IdentityHashMap<Object, Set<Object>> merged) throws InvocationTargetException {
+        Rule rule = ruleOfElements(src);
+        switch (rule.strategy) {
+            case APPEND:
+                dest.addAll(src);
+                break;
+            case MERGE_BY_KEY:
+                mergeElementsByKey(dest, src, rule.key, merged);
+                break;
+            default:
+                dest.clear();
+                dest.addAll(src);
+                break;
+        }
+    }
+
+    private void mergeElementsByKey(Collection<Object> dest, Collection<?> src, Function<Object, ?> key,
+                                    IdentityHashMap<Object, Set<Object>> merged) throws InvocationTargetException {
+        Map<Object, Object> elements = new HashMap<>();
+        for (Object element : dest) {
+            if (element != null) {
+                elements.putIfAbsent(key.apply(element), element);
+            }
+        }
+        for (Object element : src) {
+            if (element == null) {
+                continue;
+            }
+            Object elementKey = key.apply(element);
+            Object current = elements.get(elementKey);
+            if (current == null) {
+                dest.add(element);
+                // the later elements of the same key are merged into it
+                elements.put(elementKey, element);
+            } else if (BEAN_CLASSES.get(current.getClass()) && BEAN_CLASSES.get(element.getClass())) {
+                mergeInto(current, element, merged);
+            } else {
+                replaceElement(dest, current, element);
+                elements.put(elementKey, element);
+            }
+        }
+    }
+
+    private static void replaceElement(Collection<Object> dest, Object current, Object element) {
+        if (dest instanceof List) {
+            List<Object> list = castList(dest);
+            list.set(list.indexOf(current), element);
+        } else {
+            dest.remove(current);
+            dest.add(element);
+        }
+    }
+
+    private Rule ruleOfElements(Collection<?> collection) {
+        for (Object element : collection) {
+            if (element != null) {
+                return rulesOfClass.get(element.getClass());
+            }
+        }
+        return Rule.DEFAULT;
+    }
+
+    @Nullable
+    private static Object get(Getter getter, Object bean) throws InvocationTargetException {
+        try {
+            return getter.get(bean);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private static ImmutableList<Node> planOf(Class<?> src, Class<?> dest) {
+        ImmutableList.Builder<Node> builder = ImmutableList.builder();
+        BeanProperties destProperties = BeanProperties.of(dest);
+        for (Property property : BeanProperties.of(src).getProperties().values()) {
+            Property destProperty = destProperties.getProperties().get(property.getName());
+            if (property.getGetter() != null && destProperty != null && destProperty.getSetter() != null) {
+                builder.add(new Node(new Copy(property.getName(), property.getGetter(), destProperty.getSetter(),
+                        destProperty.getType()), destProperty.getGetter()));
+            }
+        }
+        return builder.build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Object> castMap(Object map) {
+        return (Map<Object, Object>) map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<Object> castCollection(Object collection) {
+        return (Collection<Object>) collection;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> castList(Collection<Object> list) {
+        return (List<Object>) list;
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.longhorn.fastball.object;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generate the {@link Merger}s from the annotated class at compile time by the annotation processor of the \
+ * {@code fastball-processor} artifact, which {@link Objects#merge(Object, Object)} picks instead of the reflective \
+ * one. A merger is generated only if all its properties are copied as they are, otherwise the processor warns, and \
+ * the properties are converted by the reflective merger at runtime.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateMerger {
+    /**
+     * Get the destination classes, the annotated class itself if empty.
+     *
+     * @return the destination classes
+     */
+    Class<?>[] to() default {};
+}
@@ -0,0 +1,126 @@
+package com.github.longhorn.fastball.object;
+
+import com.github.longhorn.fastball.object.BeanMerger.Copy;
+import com.github.longhorn.fastball.object.BeanProperties.Getter;
+import com.github.longhorn.fastball.object.BeanProperties.Property;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.commons.beanutils.expression.Resolver;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+
+/**
+ * The mergers of the maps, from a map to a bean, from a bean to a map, and between maps, whose keys are the names of \
+ * the properties, with the same semantics as {@code BeanUtilsBean.copyProperties} which skips the null values. The \
+ * simple names are copied by the cached plans of the bean classes, and the nested, indexed and mapped names such as \
+ * {@code a.b}, {@code a[0]} and {@code a(k)} are copied by commons-beanutils.
+ */
+final class MapMerger {
+    private static final Resolver RESOLVER = BeanProperties.PROPERTY_UTILS.getResolver();
+    private static final Merger<Map<?, ?>, Map<Object, Object>> MAP_TO_MAP = (dest, src) -> {
+        for (Map.Entry<?, ?> entry : src.entrySet()) {
+            String name = (String) entry.getKey();
+            Object value = entry.getValue();
+            if (value == null) {
+                continue;
+            }
+            if (isSimple(name)) {
+                dest.put(name, value);
+            } else {
+                copyProperty(dest, name, value);
+            }
+        }
+    };
+
+    private MapMerger() {
+    }
+
+    /**
+     * Get the merger of the classes, one of which is a map.
+     */
+    static Merger<?, ?> of(Class<?> src, Class<?> dest) {
+        if (!Map.class.isAssignableFrom(src)) {
+            return toMap(src);
+        }
+        return Map.class.isAssignableFrom(dest) ? MAP_TO_MAP : fromMap(dest);
+    }
+
+    /**
+     * Get the merger from a map to a bean, which converts the values like {@link Objects#merge(Object, Object)}.
+     */
+    private static Merger<Map<?, ?>, Object> fromMap(Class<?> dest) {
+        ImmutableMap.Builder<String, Copy> builder = ImmutableMap.builder();
+        for (Property property : BeanProperties.of(dest).getProperties().values()) {
+            if (property.getSetter() != null) {
+                String name = property.getName();
+                builder.put(name, new Copy(name, map -> ((Map<?, ?>) map).get(name), property.getSetter(),
+                        property.getType()));
+            }
+        }
+        ImmutableMap<String, Copy> copies = builder.build();
+        return (bean, src) -> {
+            for (Map.Entry<?, ?> entry : src.entrySet()) {
+                String name = (String) entry.getKey();
+                Object value = entry.getValue();
+                if (value == null) {
+                    continue;
+                }
+                Copy copy = copies.get(name);
+                if (copy != null) {
+                    copy.set(bean, value);
+                } else if (!isSimple(name)) {
+                    copyProperty(bean, name, value);
+                }
+            }
+        };
+    }
+
+    /**
+     * Get the merger from a bean to a map, which puts the values as they are.
+     */
+    private static Merger<Object, Map<Object, Object>> toMap(Class<?> src) {
+        ImmutableList.Builder<Property> builder = ImmutableList.builder();
+        for (Property property : BeanProperties.of(src).getProperties().values()) {
+            if (property.getGetter() != null) {
+                builder.add(property);
+            }
+        }
+        ImmutableList<Property> properties = builder.build();
+        return (map, bean) -> {
+            for (Property property : properties) {
+                Object value = get(property.getGetter(), bean);
+                if (value != null) {
+                    map.put(property.getName(), value);
+                }
+            }
+        };
+    }
+
+    @Nullable
+    private static Object get(Getter getter, Object bean) throws InvocationTargetException {
+        try {
+            return getter.get(bean);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private static boolean isSimple(String name) {
+        return !RESOLVER.hasNested(name) && !RESOLVER.isIndexed(name) && !RESOLVER.isMapped(name);
+    }
+
+    /**
+     * Copy a nested, indexed or mapped property by commons-beanutils.
+     */
+    private static void copyProperty(Object dest, String name, Object value) throws InvocationTargetException {
+        try {
+            if (BeanProperties.PROPERTY_UTILS.isWriteable(dest, name)) {
+                BeanMerger.BEAN_UTILS.copyProperty(dest, name, value);
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Failed to access " + name, e);
+        }
+    }
+}
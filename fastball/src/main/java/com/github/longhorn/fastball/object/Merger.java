@@ -0,0 +1,22 @@
+package com.github.longhorn.fastball.object;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Merger of the properties of a source class to a destination class, which skips the null values of the source, see \
+ * {@link Objects#merge(Object, Object)}.
+ *
+ * @param <S> type of the source
+ * @param <D> type of the destination
+ */
+@FunctionalInterface
+public interface Merger<S, D> {
+    /**
+     * Merge the properties from the source to the destination, the null value property will be ignored.
+     *
+     * @param dest the destination object
+     * @param src  the source object
+     * @throws InvocationTargetException if a property accessor method throws an exception
+     */
+    void merge(D dest, S src) throws InvocationTargetException;
+}
@@ -0,0 +1,95 @@
+package com.github.longhorn.fastball.object;
+
+import org.apache.commons.beanutils.DynaBean;
+
+import java.lang.reflect.InvocationTargetException;
+
+public final class Objects {
+    private static final DeepMerger DEEP_MERGER = DeepMerger.create();
+
+    private Objects() {
+    }
+
+    /**
+     * Merge the properties from the source to the destination, the null value property will be ignored. The \
+     * properties of the beans and the maps are copied by the cached merger of their classes, see \
+     * {@link #merger(Class, Class)}, and the {@link DynaBean}s are copied by commons-beanutils.
+     *
+     * @param desc the destination object
+     * @param src  the source object
+     * @throws InvocationTargetException if the caller does not have access to the property accessor method
+     * @throws IllegalAccessException    if the property accessor method throws an exception
+     */
+    @SuppressWarnings("unchecked")
+    public static void merge(Object desc, Object src) throws InvocationTargetException, IllegalAccessException {
+        if (src instanceof DynaBean || desc instanceof DynaBean) {
+            BeanMerger.BEAN_UTILS.copyProperties(desc, src);
+            return;
+        }
+        ((Merger<Object, Object>) merger(src.getClass(), desc.getClass())).merge(desc, src);
+    }
+
+    /**
+     * Merge the source into the destination deeply by the default strategies of {@link DeepMerger}, which merges the \
+     * nested beans and maps instead of replacing them.
+     *
+     * @param dest the destination object
+     * @param src  the source object
+     * @throws InvocationTargetException if a property accessor method throws an exception
+     */
+    public static void deepMerge(Object dest, Object src) throws InvocationTargetException {
+        DEEP_MERGER.merge(dest, src);
+    }
+
+    /**
+     * Get the merger of the properties from the source class to the destination class, like \
+     * {@link #merge(Object, Object)}. It is the merger generated for {@link GenerateMerger} if there is, or else the \
+     * classes are introspected once, and the accessors of their properties are bound to lambdas, so merging does no \
+     * reflection or introspection. Either class may be a {@link java.util.Map} of the properties by their names.
+     *
+     * @param src  the source class
+     * @param dest the destination class
+     * @param <S>  type of the source
+     * @param <D>  type of the destination
+     * @return the cached merger
+     */
+    public static <S, D> Merger<S, D> merger(Class<S> src, Class<D> dest) {
+        return BeanMerger.of(src, dest);
+    }
+
+    /**
+     * Construct an object of the class from the properties of a bean or the entries of a map, by its constructor of \
+     * the properties, such as the canonical constructor of a record, or the one annotated with \
+     * {@link java.beans.ConstructorProperties}, or else by its no-arg constructor and a merge. The values are \
+     * converted like {@link #merge(Object, Object)}, and the constructor is looked up once per pair of the classes.
+     *
+     * @param type the class of the object
+     * @param src  the source bean or map
+     * @param <T>  type of the object
+     * @return the constructed object
+     * @throws InvocationTargetException if a property accessor method or the constructor throws an exception
+     * @throws IllegalArgumentException  if the class has no public constructor to call
+     */
+    public static <T> T construct(Class<T> type, Object src) throws InvocationTargetException {
+        return BeanConstructor.of(type, src.getClass()).construct(src);
+    }
+
+    /**
+     * Diff the properties of two beans of the same class, which have both a getter and a setter, in one pass over the \
+     * cached accessors of the class. Unlike {@link #merge(Object, Object)}, a property changed to null is a change.
+     *
+     * @param before the bean before the change
+     * @param after  the bean after the change
+     * @param <T>    type of the beans
+     * @return the changed properties with the values of the latter bean, which can be applied to other beans
+     * @throws InvocationTargetException if a property getter throws an exception
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ChangeSet<T> diff(T before, T after) throws InvocationTargetException {
+        if (before.getClass() != after.getClass()) {
+            throw new IllegalArgumentException("Invalid beans: " + before.getClass().getName() + " and "
+                    + after.getClass().getName() + " are of different classes");
+        }
+        return BeanDiffer.of((Class<T>) before.getClass()).diff(before, after);
+    }
+}
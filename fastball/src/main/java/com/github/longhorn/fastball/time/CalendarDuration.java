@@ -0,0 +1,389 @@
+package com.github.longhorn.fastball.time;
+
+import com.google.errorprone.annotations.Var;
+
+import javax.annotation.Nullable;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable ISO-8601 duration of years, months, days and nanoseconds, applied to epoch milliseconds like \
+ * {@code ZonedDateTime.plus(Period).plus(Duration)} without creating any object:
+ * <ul>
+ * <li>the years and months move the local date, clamping the day to the end of the month, like 01-31 plus a month \
+ * is 02-28</li>
+ * <li>then the days move the local date, keeping the local time of the day across daylight saving transitions</li>
+ * <li>the original offset is kept if the local date-time is in an overlap, and a local date-time in a gap is moved \
+ * later by the length of the gap</li>
+ * <li>then the nanoseconds are added to the instant as the exact elapsed time</li>
+ * </ul>
+ */
+public final class CalendarDuration {
+    /**
+     * The zero duration.
+     */
+    public static final CalendarDuration ZERO = new CalendarDuration(0, 0, 0, 0);
+
+    private static final TimeZone DEFAULT_TIME_ZONE = TimeZone.getTimeZone("UTC");
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    /**
+     * Units of the designators {@code Y, M, W, D} in their own fields, and {@code H, M, S} in nanoseconds, in the \
+     * order they should appear.
+     */
+    private static final long[] DESIGNATOR_UNITS = {
+            1, 1, 7, 1, TimeUnit.HOURS.toNanos(1), TimeUnit.MINUTES.toNanos(1), NANOS_PER_SECOND,
+    };
+    private static final int WEEKS = 2;
+    private static final int FIRST_TIME_DESIGNATOR = 4;
+    private static final int SECONDS = 6;
+
+    private final int years;
+    private final int months;
+    private final int days;
+    private final long nanos;
+
+    private CalendarDuration(int years, int months, int days, long nanos) {
+        this.years = years;
+        this.months = months;
+        this.days = days;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Create a duration.
+     *
+     * @param years  count of years
+     * @param months count of months
+     * @param days   count of days
+     * @param nanos  count of nanoseconds
+     * @return the duration
+     */
+    public static CalendarDuration of(int years, int months, int days, long nanos) {
+        if ((years | months | days) == 0 && nanos == 0) {
+            return ZERO;
+        }
+        return new CalendarDuration(years, months, days, nanos);
+    }
+
+    /**
+     * Parse an ISO-8601 duration {@code [+-]P[nY][nM][nW][nD][T[nH][nM][n[.f]S]]}, where every number could be \
+     * signed and the seconds could have up to 9 fraction digits, like {@code P1Y2M10DT2H30M} or {@code -P1DT0.5S}.
+     *
+     * @param text ISO-8601 duration
+     * @return the duration
+     * @throws ParseException if the input is invalid
+     */
+    public static CalendarDuration parse(CharSequence text) throws ParseException {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * Parse the ISO-8601 duration between the indexes, see {@link #parse(CharSequence)}.
+     *
+     * @param text ISO-8601 duration
+     * @param from index of the first char
+     * @param to   index after the last char
+     * @return the duration
+     * @throws ParseException if the input is invalid
+     */
+    static CalendarDuration parse(CharSequence text, int from, int to) throws ParseException {
+        @Var int index = from;
+        boolean negated = index < to && text.charAt(index) == '-';
+        if (index < to && (negated || text.charAt(index) == '+')) {
+            index++;
+        }
+        if (index >= to || (text.charAt(index) != 'P' && text.charAt(index) != 'p')) {
+            throw error(text, from, to, "'P' expected", index);
+        }
+        index++;
+        @Var long monthCount = 0;
+        @Var long yearCount = 0;
+        @Var long dayCount = 0;
+        @Var long nanoCount = 0;
+        @Var int next = 0;
+        @Var boolean time = false;
+        @Var boolean timeComponent = false;
+        try {
+            while (index < to) {
+                char c = text.charAt(index);
+                if ((c == 'T' || c == 't') && !time) {
+                    time = true;
+                    next = FIRST_TIME_DESIGNATOR;
+                    index++;
+                    continue;
+                }
+                boolean negative = c == '-';
+                if (negative || c == '+') {
+                    index++;
+                }
+                int digitsStart = index;
+                @Var long value = 0;
+                while (index < to && isDigit(text.charAt(index))) {
+                    value = Math.addExact(Math.multiplyExact(value, 10), text.charAt(index++) - '0');
+                }
+                if (index == digitsStart) {
+                    throw error(text, from, to, "digit expected", index);
+                }
+                @Var long fraction = 0;
+                if (index < to && time && (text.charAt(index) == '.' || text.charAt(index) == ',')) {
+                    int fractionStart = ++index;
+                    @Var long scale = NANOS_PER_SECOND;
+                    while (index < to && isDigit(text.charAt(index)) && index - fractionStart < 9) {
+                        scale /= 10;
+                        fraction += (text.charAt(index++) - '0') * scale;
+                    }
+                    if (index == fractionStart || (index < to && text.charAt(index) != 'S'
+                            && text.charAt(index) != 's')) {
+                        throw error(text, from, to, "invalid fraction of second", index);
+                    }
+                }
+                if (index == to) {
+                    throw error(text, from, to, "designator expected", index);
+                }
+                int designator = designator(text.charAt(index), time);
+                if (designator < next) {
+                    throw error(text, from, to, "invalid designator", index);
+                }
+                long signed = negative ? -value : value;
+                if (designator == 0) {
+                    yearCount = signed;
+                } else if (designator == 1) {
+                    monthCount = signed;
+                } else if (designator <= 3) {
+                    dayCount = Math.addExact(dayCount, Math.multiplyExact(signed, DESIGNATOR_UNITS[designator]));
+                } else {
+                    long amount = Math.addExact(Math.multiplyExact(signed, DESIGNATOR_UNITS[designator]),
+                            negative ? -fraction : fraction);
+                    nanoCount = Math.addExact(nanoCount, amount);
+                }
+                timeComponent = time;
+                next = designator + 1;
+                index++;
+            }
+            if (next == 0 || (time && !timeComponent)) {
+                throw error(text, from, to, "invalid duration", from);
+            }
+            return of(
+                    Math.toIntExact(negated ? -yearCount : yearCount),
+                    Math.toIntExact(negated ? -monthCount : monthCount),
+                    Math.toIntExact(negated ? -dayCount : dayCount),
+                    negated ? Math.negateExact(nanoCount) : nanoCount
+            );
+        } catch (ArithmeticException e) {
+            throw error(text, from, to, "out of range", from);
+        }
+    }
+
+    /**
+     * Get the index of the designator in {@link #DESIGNATOR_UNITS}, or -1 if it is invalid.
+     */
+    private static int designator(char c, boolean time) {
+        switch (Character.toUpperCase(c)) {
+            case 'Y':
+                return time ? -1 : 0;
+            case 'M':
+                return time ? 5 : 1;
+            case 'W':
+                return time ? -1 : WEEKS;
+            case 'D':
+                return time ? -1 : 3;
+            case 'H':
+                return time ? FIRST_TIME_DESIGNATOR : -1;
+            case 'S':
+                return time ? SECONDS : -1;
+            default:
+                return -1;
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static ParseException error(CharSequence text, int from, int to, String reason, int index) {
+        return new ParseException(String.format("Unparseable duration \"%s\": %s at index %d",
+                text.subSequence(from, to), reason, index - from), index - from);
+    }
+
+    /**
+     * Get the years.
+     *
+     * @return count of years
+     */
+    public int getYears() {
+        return years;
+    }
+
+    /**
+     * Get the months.
+     *
+     * @return count of months
+     */
+    public int getMonths() {
+        return months;
+    }
+
+    /**
+     * Get the days, a week is 7 days.
+     *
+     * @return count of days
+     */
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * Get the hours, minutes, seconds and fractions in nanoseconds.
+     *
+     * @return count of nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Check is the duration zero.
+     *
+     * @return Boolean of the result
+     */
+    public boolean isZero() {
+        return (years | months | days) == 0 && nanos == 0;
+    }
+
+    /**
+     * Get the duration with all the components negated.
+     *
+     * @return the negated duration
+     */
+    public CalendarDuration negated() {
+        return of(Math.negateExact(years), Math.negateExact(months), Math.negateExact(days), Math.negateExact(nanos));
+    }
+
+    /**
+     * Add the duration to the epoch milliseconds in UTC.
+     *
+     * @param epochMilli epoch milliseconds
+     * @return epoch milliseconds of the result
+     */
+    public long addTo(long epochMilli) {
+        return addTo(epochMilli, DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Add the duration to the epoch milliseconds in the time zone.
+     *
+     * @param epochMilli epoch milliseconds
+     * @param timeZone   TimeZone
+     * @return epoch milliseconds of the result
+     */
+    public long addTo(long epochMilli, TimeZone timeZone) {
+        @Var long result = epochMilli;
+        if ((years | months | days) != 0) {
+            int offset = ZoneOffsets.offsetAt(timeZone, epochMilli);
+            long local = addMonths(epochMilli + offset) + days * CivilTime.MILLIS_PER_DAY;
+            // keep the original offset if it is still valid, like ZonedDateTime in an overlap
+            result = ZoneOffsets.offsetAt(timeZone, local - offset) == offset
+                    ? local - offset
+                    : ZoneOffsets.localToEpochMilli(timeZone, local);
+        }
+        return result + Math.floorDiv(nanos, NANOS_PER_MILLI);
+    }
+
+    /**
+     * Subtract the duration from the epoch milliseconds in UTC.
+     *
+     * @param epochMilli epoch milliseconds
+     * @return epoch milliseconds of the result
+     */
+    public long subtractFrom(long epochMilli) {
+        return subtractFrom(epochMilli, DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Subtract the duration from the epoch milliseconds in the time zone, the same as adding the negated duration.
+     *
+     * @param epochMilli epoch milliseconds
+     * @param timeZone   TimeZone
+     * @return epoch milliseconds of the result
+     */
+    public long subtractFrom(long epochMilli, TimeZone timeZone) {
+        return negated().addTo(epochMilli, timeZone);
+    }
+
+    /**
+     * Add the duration to the epoch milliseconds at a fixed offset.
+     *
+     * @param epochMilli   epoch milliseconds
+     * @param offsetMillis the offset in milliseconds
+     * @return epoch milliseconds of the result
+     */
+    long addAtOffset(long epochMilli, int offsetMillis) {
+        long local = addMonths(epochMilli + offsetMillis) + days * CivilTime.MILLIS_PER_DAY;
+        return local - offsetMillis + Math.floorDiv(nanos, NANOS_PER_MILLI);
+    }
+
+    /**
+     * Move the local milliseconds by the years and months, clamping the day to the end of the month.
+     */
+    private long addMonths(long localMilli) {
+        if ((years | months) == 0) {
+            return localMilli;
+        }
+        long epochDay = Math.floorDiv(localMilli, CivilTime.MILLIS_PER_DAY);
+        long millisOfDay = Math.floorMod(localMilli, CivilTime.MILLIS_PER_DAY);
+        long date = CivilTime.fromEpochDay(epochDay);
+        long totalMonths = CivilTime.year(date) * 12 + CivilTime.month(date) - 1 + years * 12L + months;
+        long year = Math.floorDiv(totalMonths, 12);
+        int month = (int) Math.floorMod(totalMonths, 12) + 1;
+        int day = Math.min(CivilTime.day(date), CivilTime.lengthOfMonth(year, month));
+        return CivilTime.toEpochDay(year, month, day) * CivilTime.MILLIS_PER_DAY + millisOfDay;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CalendarDuration)) {
+            return false;
+        }
+        CalendarDuration that = (CalendarDuration) o;
+        return years == that.years && months == that.months && days == that.days && nanos == that.nanos;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 * years + months) + days) + Long.hashCode(nanos);
+    }
+
+    /**
+     * Get the ISO-8601 form of the duration, like {@code P1Y2M3DT4H5M6.5S}.
+     *
+     * @return String of the duration
+     */
+    @Override
+    public String toString() {
+        if (isZero()) {
+            return "PT0S";
+        }
+        StringBuilder sb = new StringBuilder("P");
+        if (years != 0) {
+            sb.append(years).append('Y');
+        }
+        if (months != 0) {
+            sb.append(months).append('M');
+        }
+        if (days != 0) {
+            sb.append(days).append('D');
+        }
+        if (nanos != 0) {
+            // the time part in the same form as java.time.Duration, without its leading P
+            String time = Duration.ofNanos(nanos).toString();
+            sb.append(time, 1, time.length());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.longhorn.fastball.time;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Proleptic Gregorian calendar arithmetic on primitive epoch days, shared by the formatting, parsing and truncation \
+ * code of the time package. A civil date is packed into one long as {@code year << 9 | month << 5 | day} so the \
+ * conversions never allocate.
+ */
+final class CivilTime {
+    static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+    static final int MILLIS_PER_HOUR = (int) TimeUnit.HOURS.toMillis(1);
+    static final int MILLIS_PER_MINUTE = (int) TimeUnit.MINUTES.toMillis(1);
+    static final int MILLIS_PER_SECOND = (int) TimeUnit.SECONDS.toMillis(1);
+    private static final long DAYS_PER_ERA = 146_097L;
+    private static final long DAYS_FROM_0000_03_01_TO_EPOCH = 719_468L;
+
+    private CivilTime() {
+    }
+
+    /**
+     * Convert a civil date to the count of days since 1970-01-01.
+     *
+     * @param year  proleptic year
+     * @param month month of year, from 1 to 12
+     * @param day   day of month, from 1 to 31
+     * @return the epoch day
+     */
+    static long toEpochDay(long year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long monthFromMarch = month > 2 ? month - 3 : month + 9;
+        long dayOfYear = (153 * monthFromMarch + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_ERA + dayOfEra - DAYS_FROM_0000_03_01_TO_EPOCH;
+    }
+
+    /**
+     * Convert the count of days since 1970-01-01 to a packed civil date.
+     *
+     * @param epochDay the epoch day
+     * @return the packed civil date, read it with {@link #year(long)}, {@link #month(long)} and {@link #day(long)}
+     */
+    static long fromEpochDay(long epochDay) {
+        long shifted = epochDay + DAYS_FROM_0000_03_01_TO_EPOCH;
+        long era = Math.floorDiv(shifted, DAYS_PER_ERA);
+        long dayOfEra = shifted - era * DAYS_PER_ERA;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthFromMarch = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * monthFromMarch + 2) / 5 + 1;
+        long month = monthFromMarch < 10 ? monthFromMarch + 3 : monthFromMarch - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year << 9 | month << 5 | day;
+    }
+
+    static long year(long packedDate) {
+        return packedDate >> 9;
+    }
+
+    static int month(long packedDate) {
+        return (int) (packedDate >> 5) & 0xF;
+    }
+
+    static int day(long packedDate) {
+        return (int) packedDate & 0x1F;
+    }
+
+    /**
+     * Get the ISO day of week, Monday is 1 and Sunday is 7.
+     *
+     * @param epochDay the epoch day
+     * @return the day of week
+     */
+    static int dayOfWeek(long epochDay) {
+        // 1970-01-01 was a Thursday
+        return (int) Math.floorMod(epochDay + 3, 7L) + 1;
+    }
+
+    static boolean isLeapYear(long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    static int lengthOfMonth(long year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+}
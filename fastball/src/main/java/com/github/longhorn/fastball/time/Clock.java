@@ -0,0 +1,570 @@
+package com.github.longhorn.fastball.time;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable instant of epoch milliseconds, which could be shared between threads. Two clocks are equal if they are at \
+ * the same epoch millisecond, and {@link #intern()} returns a shared instance for the instants which are used often, \
+ * like the boundaries of days.
+ */
+public final class Clock implements Comparable<Clock> {
+    private static final TimeZone DEFAULT_TIME_ZONE = TimeZone.getTimeZone("UTC");
+    private static final Interner<Clock> INTERNER = Interners.newWeakInterner();
+    private static volatile TimeSource timeSource = TimeSource.system();
+    private static volatile CurrentSecond currentSecond
+            = CurrentSecond.of(Math.floorDiv(System.currentTimeMillis(), TimeUnit.SECONDS.toMillis(1)));
+    private final long unixTsMilli;
+    private final long unixTs;
+
+    /**
+     * Private constructor, initial the instance with unix timestamp.
+     *
+     * @param unixTsMilli unix timestamp with millisecond
+     */
+    private Clock(long unixTsMilli) {
+        this.unixTsMilli = unixTsMilli;
+        unixTs = ClockMath.toEpochSecond(unixTsMilli);
+    }
+
+    /**
+     * Create an instance for current time.
+     *
+     * @return Clock instance of current time
+     */
+    public static Clock fromNow() {
+        return new Clock(timeSource.currentTimeMillis());
+    }
+
+    /**
+     * Get the Clock of the current second, the instance is shared until the second changes.
+     *
+     * @return Clock instance of current second
+     */
+    public static Clock fromNowSecond() {
+        return currentSecond().clock;
+    }
+
+    /**
+     * Get the ISO-8601 format time of the current second in UTC, the string is shared until the second changes.
+     *
+     * @return String of the ISO-8601 format time of current second
+     */
+    public static String nowIso8601() {
+        return currentSecond().iso8601;
+    }
+
+    private static CurrentSecond currentSecond() {
+        long epochSecond = Math.floorDiv(timeSource.currentTimeMillis(), TimeUnit.SECONDS.toMillis(1));
+        CurrentSecond cached = currentSecond;
+        if (cached.epochSecond == epochSecond) {
+            return cached;
+        }
+        CurrentSecond updated = CurrentSecond.of(epochSecond);
+        currentSecond = updated;
+        return updated;
+    }
+
+    /**
+     * Get the time source of {@link #fromNow()}.
+     *
+     * @return the time source
+     */
+    public static TimeSource getTimeSource() {
+        return timeSource;
+    }
+
+    /**
+     * Set the time source of {@link #fromNow()}, like a {@link CoarseTimeSource} for high call rates, or a
+     * {@link ManualTimeSource} for tests.
+     *
+     * @param source the time source
+     */
+    public static void setTimeSource(TimeSource source) {
+        timeSource = source;
+    }
+
+    /**
+     * Create an instance by giving unix timestamp, the same as {@link #fromUnixTs(long)}.
+     *
+     * @param unixTs unix timestamp
+     * @return Clock instance of given time
+     */
+    public static Clock fromUnixTs(int unixTs) {
+        return fromUnixTs((long) unixTs);
+    }
+
+    /**
+     * Create an instance by giving unix timestamp, values between {@code -999999999} and {@code 9999999999} are \
+     * treated as seconds, others as milliseconds.
+     *
+     * @param unixTs unix timestamp
+     * @return Clock instance of given time
+     */
+    public static Clock fromUnixTs(long unixTs) {
+        return new Clock(ClockMath.toEpochMilli(unixTs));
+    }
+
+    /**
+     * Create an instance by giving unix timestamp, values between {@code -999999999} and {@code 9999999999} are \
+     * treated as seconds, others as milliseconds.
+     *
+     * @param unixTs unix timestamp
+     * @return Clock instance of given time
+     */
+    public static Clock fromUnixTs(String unixTs) {
+        return fromUnixTs(Long.parseLong(unixTs));
+    }
+
+    /**
+     * Create an instance of the exact epoch milliseconds, without the seconds heuristic of {@link #fromUnixTs(long)}.
+     *
+     * @param epochMilli epoch milliseconds
+     * @return Clock instance of given time
+     */
+    static Clock fromEpochMilli(long epochMilli) {
+        return new Clock(epochMilli);
+    }
+
+    /**
+     * Create an instance by giving ISO-8601 string.
+     *
+     * @param iso8601 ISO-8601 time
+     * @return Clock instance of given time
+     * @throws ParseException Parse Exception will be thrown if the input is invalid
+     */
+    public static Clock fromIso8601(String iso8601) throws ParseException {
+        return new Clock(ClockParser.parseIso8601(iso8601));
+    }
+
+    /**
+     * Create an instance by giving SQL timestamp string in UTC.
+     *
+     * @param sqlTs SQL timestamp
+     * @return Clock instance of given time
+     * @throws ParseException Parse Exception will be thrown if the input is invalid
+     */
+    public static Clock fromSqlTs(String sqlTs) throws ParseException {
+        return fromSqlTs(sqlTs, DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Create an instance by giving SQL timestamp string.
+     *
+     * @param sqlTs    SQL timestamp
+     * @param timeZone TimeZone of the SQL timestamp
+     * @return Clock instance of given time
+     * @throws ParseException Parse Exception will be thrown if the input is invalid
+     */
+    public static Clock fromSqlTs(String sqlTs, TimeZone timeZone) throws ParseException {
+        return new Clock(ClockParser.parseSqlTs(sqlTs, timeZone));
+    }
+
+    /**
+     * Turn the clock forward.
+     *
+     * @param timeUnit time unit
+     * @param interval how many time unit you wanna adjust
+     * @return Clock instance of turned time
+     */
+    public Clock turnForward(TimeUnit timeUnit, int interval) {
+        return new Clock(ClockMath.turnForward(unixTsMilli, timeUnit, interval));
+    }
+
+    /**
+     * Turn the clock back.
+     *
+     * @param timeUnit time unit
+     * @param interval how many time unit you wanna adjust
+     * @return Clock instance of turned time
+     */
+    public Clock turnBack(TimeUnit timeUnit, int interval) {
+        return new Clock(ClockMath.turnBack(unixTsMilli, timeUnit, interval));
+    }
+
+    /**
+     * Get epoch second.
+     *
+     * @return long of the epoch second
+     */
+    public long getEpochSecond() {
+        return unixTs;
+    }
+
+    /**
+     * Get epoch second string.
+     *
+     * @return String of the unix timestamp
+     */
+    public String getEpochSecondString() {
+        return String.valueOf(getEpochSecond());
+    }
+
+    /**
+     * Get epoch millisecond.
+     *
+     * @return long of the unix timestamp
+     */
+    public long toEpochMilli() {
+        return unixTsMilli;
+    }
+
+    /**
+     * Get unix timestamp with millisecond of the Clock
+     *
+     * @return String of the unix timestamp
+     */
+    public String toEpochMilliString() {
+        return String.valueOf(unixTsMilli);
+    }
+
+    /**
+     * Get the ISO-8601 format time of the instance.
+     *
+     * @return String of the ISO-8601 format time of the instance
+     */
+    public String getIso8601() {
+        return getIso8601(DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Get the ISO-8601 format time of the instance.
+     *
+     * @param timeZone TimeZone
+     * @return String of the ISO-8601 format time of the instance
+     */
+    public String getIso8601(TimeZone timeZone) {
+        return ClockFormatter.ISO_8601.format(unixTsMilli, timeZone);
+    }
+
+    /**
+     * Append the ISO-8601 format time of the instance without creating an intermediate string.
+     *
+     * @param out the Appendable to write to
+     * @throws IOException if the Appendable fails to append
+     */
+    public void appendIso8601(Appendable out) throws IOException {
+        appendIso8601(out, DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Append the ISO-8601 format time of the instance without creating an intermediate string.
+     *
+     * @param out      the Appendable to write to
+     * @param timeZone TimeZone
+     * @throws IOException if the Appendable fails to append
+     */
+    public void appendIso8601(Appendable out, TimeZone timeZone) throws IOException {
+        ClockFormatter.ISO_8601.appendTo(unixTsMilli, timeZone, out);
+    }
+
+    /**
+     * Get the ISO-8601 format time with millisecond of the instance.
+     *
+     * @return String of the ISO-8601 format time of the instance
+     */
+    public String getIso8601Millis() {
+        return getIso8601Millis(DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Get the ISO-8601 format time with millisecond of the instance.
+     *
+     * @param timeZone TimeZone
+     * @return String of the ISO-8601 format time of the instance
+     */
+    public String getIso8601Millis(TimeZone timeZone) {
+        return ClockFormatter.ISO_8601_MILLIS.format(unixTsMilli, timeZone);
+    }
+
+    /**
+     * Append the ISO-8601 format time with millisecond of the instance without creating an intermediate string.
+     *
+     * @param out the Appendable to write to
+     * @throws IOException if the Appendable fails to append
+     */
+    public void appendIso8601Millis(Appendable out) throws IOException {
+        appendIso8601Millis(out, DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Append the ISO-8601 format time with millisecond of the instance without creating an intermediate string.
+     *
+     * @param out      the Appendable to write to
+     * @param timeZone TimeZone
+     * @throws IOException if the Appendable fails to append
+     */
+    public void appendIso8601Millis(Appendable out, TimeZone timeZone) throws IOException {
+        ClockFormatter.ISO_8601_MILLIS.appendTo(unixTsMilli, timeZone, out);
+    }
+
+    /**
+     * Get SQL timestamp format string.
+     *
+     * @return String of SQL timestamp of the instance.
+     */
+    public String getSqlTs() {
+        return getSqlTs(DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Get SQL timestamp format string.
+     *
+     * @param timeZone TimeZone
+     * @return String of SQL timestamp of the instance.
+     */
+    public String getSqlTs(TimeZone timeZone) {
+        return ClockFormatter.SQL_TS.format(unixTsMilli, timeZone);
+    }
+
+    /**
+     * Append the SQL timestamp format string of the instance without creating an intermediate string.
+     *
+     * @param out the Appendable to write to
+     * @throws IOException if the Appendable fails to append
+     */
+    public void appendSqlTs(Appendable out) throws IOException {
+        appendSqlTs(out, DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Append the SQL timestamp format string of the instance without creating an intermediate string.
+     *
+     * @param out      the Appendable to write to
+     * @param timeZone TimeZone
+     * @throws IOException if the Appendable fails to append
+     */
+    public void appendSqlTs(Appendable out, TimeZone timeZone) throws IOException {
+        ClockFormatter.SQL_TS.appendTo(unixTsMilli, timeZone, out);
+    }
+
+    /**
+     * Get customized format string.
+     *
+     * @param sdf SimpleDateFormat instance
+     * @return String of the customized timestamp
+     */
+    public String getCustomFormat(SimpleDateFormat sdf) {
+        return getCustomFormat(sdf, DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Get customized format string.
+     *
+     * @param sdf      SimpleDateFormat
+     * @param timeZone TimeZone
+     * @return String of the customized timestamp
+     */
+    public String getCustomFormat(SimpleDateFormat sdf, TimeZone timeZone) {
+        sdf.setTimeZone(timeZone);
+        sdf.setLenient(false);
+        return sdf.format(new Date(unixTsMilli));
+    }
+
+    /**
+     * Check is 2 instances at the same moment.
+     *
+     * @param clock Clock
+     * @return Boolean of the result
+     */
+    public boolean isEqualTo(Clock clock) {
+        return toEpochMilli() == clock.toEpochMilli();
+    }
+
+    /**
+     * Get the shared instance of the same instant, which is kept until no one refers to it.
+     *
+     * @return Clock instance of the same instant
+     */
+    public Clock intern() {
+        return INTERNER.intern(this);
+    }
+
+    @Override
+    public int compareTo(Clock clock) {
+        return Long.compare(unixTsMilli, clock.unixTsMilli);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        return o instanceof Clock && ((Clock) o).unixTsMilli == unixTsMilli;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(unixTsMilli);
+    }
+
+    /**
+     * Get the ISO-8601 format time with millisecond of the instance in UTC.
+     *
+     * @return String of the ISO-8601 format time of the instance
+     */
+    @Override
+    public String toString() {
+        return getIso8601Millis();
+    }
+
+    /**
+     * Check is the instance at the begin of the day.
+     *
+     * @return Boolean of the result
+     */
+    public boolean isAtBeginOfDay() {
+        return isAtBeginOfDay(DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Check is the instance at the begin of the day.
+     *
+     * @param timeZone TimeZone
+     * @return Boolean of the result
+     */
+    public boolean isAtBeginOfDay(TimeZone timeZone) {
+        return ClockMath.isAtBeginOfDay(unixTsMilli, timeZone);
+    }
+
+    /**
+     * Check is the instance at the end of the day.
+     *
+     * @return Boolean of the result
+     */
+    public boolean isAtEndOfDay() {
+        return isAtEndOfDay(DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Check is the instance at the end of the day.
+     *
+     * @param timeZone TimeZone
+     * @return Boolean of the result
+     */
+    public boolean isAtEndOfDay(TimeZone timeZone) {
+        return ClockMath.isAtEndOfDay(unixTsMilli, timeZone);
+    }
+
+    /**
+     * Get the start of the day.
+     *
+     * @return Clock instance of the start of the day
+     */
+    public Clock startOfDay() {
+        return startOfDay(DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Get the start of the day.
+     *
+     * @param timeZone TimeZone
+     * @return Clock instance of the start of the day
+     */
+    public Clock startOfDay(TimeZone timeZone) {
+        return new Clock(ClockMath.startOfDay(unixTsMilli, timeZone));
+    }
+
+    /**
+     * Get the last millisecond of the day.
+     *
+     * @return Clock instance of the end of the day
+     */
+    public Clock endOfDay() {
+        return endOfDay(DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Get the last millisecond of the day.
+     *
+     * @param timeZone TimeZone
+     * @return Clock instance of the end of the day
+     */
+    public Clock endOfDay(TimeZone timeZone) {
+        return new Clock(ClockMath.endOfDay(unixTsMilli, timeZone));
+    }
+
+    /**
+     * Get the start of the month.
+     *
+     * @return Clock instance of the start of the month
+     */
+    public Clock startOfMonth() {
+        return startOfMonth(DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Get the start of the month.
+     *
+     * @param timeZone TimeZone
+     * @return Clock instance of the start of the month
+     */
+    public Clock startOfMonth(TimeZone timeZone) {
+        return new Clock(ClockMath.startOfMonth(unixTsMilli, timeZone));
+    }
+
+    /**
+     * Get the start of the ISO week, which starts on Monday.
+     *
+     * @return Clock instance of the start of the week
+     */
+    public Clock startOfWeek() {
+        return startOfWeek(DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Get the start of the ISO week, which starts on Monday.
+     *
+     * @param timeZone TimeZone
+     * @return Clock instance of the start of the week
+     */
+    public Clock startOfWeek(TimeZone timeZone) {
+        return new Clock(ClockMath.startOfWeek(unixTsMilli, timeZone));
+    }
+
+    /**
+     * Truncate the clock to the given unit.
+     *
+     * @param timeUnit TimeUnit
+     * @return Clock instance of the truncated time
+     */
+    public Clock truncateTo(TimeUnit timeUnit) {
+        return truncateTo(timeUnit, DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Truncate the clock to the given unit of the local time.
+     *
+     * @param timeUnit TimeUnit
+     * @param timeZone TimeZone
+     * @return Clock instance of the truncated time
+     */
+    public Clock truncateTo(TimeUnit timeUnit, TimeZone timeZone) {
+        return new Clock(ClockMath.truncateTo(unixTsMilli, timeUnit, timeZone));
+    }
+
+    /**
+     * Snapshot of the current second shared by {@link #fromNowSecond()} and {@link #nowIso8601()}.
+     */
+    private static final class CurrentSecond {
+        private final long epochSecond;
+        private final Clock clock;
+        private final String iso8601;
+
+        private CurrentSecond(long epochSecond, Clock clock, String iso8601) {
+            this.epochSecond = epochSecond;
+            this.clock = clock;
+            this.iso8601 = iso8601;
+        }
+
+        private static CurrentSecond of(long epochSecond) {
+            Clock clock = new Clock(TimeUnit.SECONDS.toMillis(epochSecond));
+            return new CurrentSecond(epochSecond, clock, clock.getIso8601());
+        }
+    }
+}
@@ -0,0 +1,629 @@
+package com.github.longhorn.fastball.time;
+
+import com.google.errorprone.annotations.Var;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Streaming converter of the timestamps in a column of delimited, line oriented US-ASCII text, like log exports. The \
+ * input is split into chunks of whole lines which are converted in parallel and written in the original order. The \
+ * parsing and formatting are the ones of {@link ClockParser} and {@link ClockFormatter}, so every field is converted \
+ * exactly like the per-line {@link Clock} calls would. Lines end with {@code \n} or {@code \r\n}, and the other \
+ * bytes, blank lines included, are copied as they are. Not thread-safe, configure it before converting.
+ */
+public final class ClockConverter {
+    /**
+     * Timestamp formats of a field.
+     */
+    public enum Format {
+        /**
+         * Unix timestamp, read like {@link Clock#fromUnixTs(String)} and written in seconds.
+         */
+        UNIX_TS,
+        /**
+         * Unix timestamp in milliseconds.
+         */
+        UNIX_TS_MILLIS,
+        /**
+         * {@link ClockFormatter#ISO_8601}, read like {@link Clock#fromIso8601(String)}.
+         */
+        ISO_8601,
+        /**
+         * {@link ClockFormatter#ISO_8601_MILLIS}, read like {@link Clock#fromIso8601(String)}.
+         */
+        ISO_8601_MILLIS,
+        /**
+         * {@link ClockFormatter#SQL_TS}, read in the input time zone of the converter.
+         */
+        SQL_TS
+    }
+
+    private static final TimeZone DEFAULT_TIME_ZONE = TimeZone.getTimeZone("UTC");
+    private static final int DEFAULT_CHUNK_SIZE = 4 << 20;
+    /**
+     * Room reserved for a converted field, longer than any formatted instant or long.
+     */
+    private static final int MAX_FIELD_LENGTH = 64;
+
+    private final Format from;
+    private final Format to;
+    private int column;
+    private byte delimiter = ',';
+    private TimeZone inputTimeZone = DEFAULT_TIME_ZONE;
+    private TimeZone outputTimeZone = DEFAULT_TIME_ZONE;
+    private boolean skipInvalid;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private Executor executor = ForkJoinPool.commonPool();
+
+    private ClockConverter(Format from, Format to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Create a converter of the first comma separated column.
+     *
+     * @param from format of the input fields
+     * @param to   format of the output fields
+     * @return the converter
+     */
+    public static ClockConverter of(Format from, Format to) {
+        return new ClockConverter(from, to);
+    }
+
+    /**
+     * Set the index of the column to convert, starts from 0. An SQL timestamp read from space separated columns \
+     * takes 2 of them, the date and the time.
+     *
+     * @param column index of the column
+     * @return the converter
+     */
+    public ClockConverter setColumn(int column) {
+        if (column < 0) {
+            throw new IllegalArgumentException("column should not be negative");
+        }
+        this.column = column;
+        return this;
+    }
+
+    /**
+     * Set the delimiter of the columns.
+     *
+     * @param delimiter US-ASCII char
+     * @return the converter
+     */
+    public ClockConverter setDelimiter(char delimiter) {
+        if (delimiter >= 0x80 || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Invalid delimiter: " + (int) delimiter);
+        }
+        this.delimiter = (byte) delimiter;
+        return this;
+    }
+
+    /**
+     * Set the time zone of the SQL timestamps read, UTC by default.
+     *
+     * @param timeZone TimeZone
+     * @return the converter
+     */
+    public ClockConverter setInputTimeZone(TimeZone timeZone) {
+        this.inputTimeZone = timeZone;
+        return this;
+    }
+
+    /**
+     * Set the time zone of the ISO-8601 and SQL timestamps written, UTC by default.
+     *
+     * @param timeZone TimeZone
+     * @return the converter
+     */
+    public ClockConverter setOutputTimeZone(TimeZone timeZone) {
+        this.outputTimeZone = timeZone;
+        return this;
+    }
+
+    /**
+     * Set whether lines with a missing or unparseable field are copied as they are, instead of failing the \
+     * conversion.
+     *
+     * @param skipInvalid whether to skip invalid lines
+     * @return the converter
+     */
+    public ClockConverter setSkipInvalid(boolean skipInvalid) {
+        this.skipInvalid = skipInvalid;
+        return this;
+    }
+
+    /**
+     * Set the preferred size of a chunk in bytes, a chunk grows to hold at least one whole line.
+     *
+     * @param chunkSize size of a chunk in bytes
+     * @return the converter
+     */
+    public ClockConverter setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize should be positive");
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Set how many chunks are converted at the same time, 1 converts on the calling thread.
+     *
+     * @param parallelism count of concurrent chunks
+     * @return the converter
+     */
+    public ClockConverter setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism should be positive");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Set the executor of the chunks, the common fork/join pool by default.
+     *
+     * @param executor Executor
+     * @return the converter
+     */
+    public ClockConverter setExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Convert the input channel into the output channel until the end of the input. Neither channel is closed.
+     *
+     * @param in  the input channel
+     * @param out the output channel
+     * @return count of converted fields
+     * @throws IOException    if the channels fail
+     * @throws ParseException if a field is invalid and invalid lines are not skipped
+     */
+    public long convert(ReadableByteChannel in, WritableByteChannel out) throws IOException, ParseException {
+        return run(new ChannelSource(in), out);
+    }
+
+    /**
+     * Convert the memory-mapped input file into the output file, which is created or truncated.
+     *
+     * @param in  the input file
+     * @param out the output file
+     * @return count of converted fields
+     * @throws IOException    if the files fail
+     * @throws ParseException if a field is invalid and invalid lines are not skipped
+     */
+    public long convert(Path in, Path out) throws IOException, ParseException {
+        try (FileChannel input = FileChannel.open(in, StandardOpenOption.READ);
+             FileChannel output = FileChannel.open(out, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            return run(new MappedSource(input, FileChannel.MapMode.READ_ONLY), output);
+        }
+    }
+
+    /**
+     * Convert the memory-mapped file in place, every converted field should have the same width as the input one, \
+     * like SQL timestamps to SQL timestamps of another time zone, or unix timestamps of the same digits. A field of \
+     * another width fails the conversion, leaving the file partially converted. The changes are written through the \
+     * mapping, call {@link FileChannel#force(boolean)} afterwards if they have to be durable.
+     *
+     * @param file the file
+     * @return count of converted fields
+     * @throws IOException    if the file fails
+     * @throws ParseException if a field is invalid and invalid lines are not skipped
+     */
+    public long convertInPlace(Path file) throws IOException, ParseException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return run(new MappedSource(channel, FileChannel.MapMode.READ_WRITE), null);
+        }
+    }
+
+    private long run(ChunkSource source, @Nullable WritableByteChannel out) throws IOException, ParseException {
+        Deque<CompletableFuture<Converted>> pending = new ArrayDeque<>();
+        @Var long count = 0;
+        try {
+            for (@Var Chunk chunk = source.next(); chunk != null; chunk = source.next()) {
+                if (parallelism == 1) {
+                    count += write(convertChunk(chunk, out == null), out);
+                    continue;
+                }
+                Chunk submitted = chunk;
+                pending.add(CompletableFuture.supplyAsync(() -> convertChunkUnchecked(submitted, out == null),
+                        executor));
+                if (pending.size() >= parallelism) {
+                    count += write(join(pending.remove()), out);
+                }
+            }
+            while (!pending.isEmpty()) {
+                count += write(join(pending.remove()), out);
+            }
+        } finally {
+            for (CompletableFuture<Converted> future : pending) {
+                future.cancel(/* mayInterruptIfRunning= */ false);
+            }
+        }
+        return count;
+    }
+
+    private static Converted join(CompletableFuture<Converted> future) throws ParseException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ParseException) {
+                throw (ParseException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static long write(Converted converted, @Nullable WritableByteChannel out) throws IOException {
+        if (out != null && converted.output != null) {
+            while (converted.output.hasRemaining()) {
+                out.write(converted.output);
+            }
+        }
+        return converted.count;
+    }
+
+    private Converted convertChunkUnchecked(Chunk chunk, boolean inPlace) {
+        try {
+            return convertChunk(chunk, inPlace);
+        } catch (ParseException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Convert the whole lines of a chunk, into a new buffer or in place.
+     */
+    private Converted convertChunk(Chunk chunk, boolean inPlace) throws ParseException {
+        ByteBuffer in = chunk.buffer;
+        ByteBuffer field = in.duplicate();
+        ByteBuffer copy = in.duplicate();
+        ByteBuffer scratch = ByteBuffer.allocate(MAX_FIELD_LENGTH);
+        int end = in.limit();
+        @Var ByteBuffer out = inPlace ? scratch : ByteBuffer.allocate(end + end / 4 + MAX_FIELD_LENGTH);
+        int columns = from == Format.SQL_TS && delimiter == ' ' ? 2 : 1;
+        @Var long count = 0;
+        @Var int copied = 0;
+        @Var int lineStart = 0;
+        while (lineStart < end) {
+            int lineEnd = indexOf(in, (byte) '\n', lineStart, end);
+            int contentEnd = lineEnd > lineStart && in.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            if (contentEnd == lineStart) {
+                // blank lines are copied as they are
+                lineStart = lineEnd + 1;
+                continue;
+            }
+            int fieldStart = columnStart(in, lineStart, contentEnd, column);
+            int lastColumnStart = fieldStart < 0 ? -1 : columnStart(in, fieldStart, contentEnd, columns - 1);
+            int fieldLimit = lastColumnStart < 0 ? -1 : indexOf(in, delimiter, lastColumnStart, contentEnd);
+            @Var long epochMilli = 0;
+            @Var boolean valid = fieldLimit >= 0;
+            if (!valid && !skipInvalid) {
+                throw new ParseException(String.format("Missing column %d at byte %d",
+                        column, chunk.offset + lineStart), errorOffset(chunk.offset + lineStart));
+            }
+            if (valid) {
+                field.limit(end).position(fieldStart);
+                field.limit(fieldLimit);
+                try {
+                    epochMilli = parse(field);
+                } catch (ParseException | NumberFormatException e) {
+                    if (!skipInvalid) {
+                        ParseException exception = new ParseException(String.format("Unparseable time at byte %d: %s",
+                                chunk.offset + fieldStart, e.getMessage()), errorOffset(chunk.offset + fieldStart));
+                        exception.initCause(e);
+                        throw exception;
+                    }
+                    valid = false;
+                }
+            }
+            if (valid) {
+                if (inPlace) {
+                    scratch.clear();
+                    format(epochMilli, scratch);
+                    if (scratch.position() != fieldLimit - fieldStart) {
+                        throw new IllegalStateException(String.format(
+                                "The field at byte %d changes its width", chunk.offset + fieldStart));
+                    }
+                    for (int i = 0; i < scratch.position(); i++) {
+                        in.put(fieldStart + i, scratch.get(i));
+                    }
+                } else {
+                    out = ensureRemaining(out, fieldStart - copied + MAX_FIELD_LENGTH);
+                    copy.limit(fieldStart).position(copied);
+                    out.put(copy);
+                    format(epochMilli, out);
+                    copied = fieldLimit;
+                }
+                count++;
+            }
+            lineStart = lineEnd + 1;
+        }
+        if (inPlace) {
+            return new Converted(null, count);
+        }
+        out = ensureRemaining(out, end - copied);
+        copy.limit(end).position(copied);
+        out.put(copy);
+        out.flip();
+        return new Converted(out, count);
+    }
+
+    /**
+     * Get the start of the n-th column after the given one, or -1 if the line does not have it.
+     */
+    private int columnStart(ByteBuffer in, int start, int end, int n) {
+        @Var int index = start;
+        for (int i = 0; i < n; i++) {
+            index = indexOf(in, delimiter, index, end);
+            if (index == end) {
+                return -1;
+            }
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Get the error offset of a {@link ParseException} at the byte offset, clamped to int.
+     */
+    private static int errorOffset(long offset) {
+        return (int) Math.min(offset, Integer.MAX_VALUE);
+    }
+
+    private static int indexOf(ByteBuffer in, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (in.get(i) == value) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private long parse(ByteBuffer field) throws ParseException {
+        switch (from) {
+            case UNIX_TS:
+                return ClockMath.toEpochMilli(parseLong(field));
+            case UNIX_TS_MILLIS:
+                return parseLong(field);
+            case SQL_TS:
+                return ClockParser.parseSqlTs(field, inputTimeZone);
+            default:
+                return ClockParser.parseIso8601(field);
+        }
+    }
+
+    private void format(long epochMilli, ByteBuffer out) {
+        switch (to) {
+            case UNIX_TS:
+                writeLong(ClockMath.toEpochSecond(epochMilli), out);
+                break;
+            case UNIX_TS_MILLIS:
+                writeLong(epochMilli, out);
+                break;
+            case ISO_8601:
+                ClockFormatter.ISO_8601.write(epochMilli, outputTimeZone, out);
+                break;
+            case ISO_8601_MILLIS:
+                ClockFormatter.ISO_8601_MILLIS.write(epochMilli, outputTimeZone, out);
+                break;
+            default:
+                ClockFormatter.SQL_TS.write(epochMilli, outputTimeZone, out);
+                break;
+        }
+    }
+
+    /**
+     * Same as {@link Long#parseLong(String)} on the US-ASCII bytes between the position and the limit.
+     */
+    private static long parseLong(ByteBuffer field) {
+        int start = field.position();
+        int end = field.limit();
+        boolean negative = start < end && field.get(start) == '-';
+        int first = start < end && (negative || field.get(start) == '+') ? start + 1 : start;
+        if (first == end) {
+            throw new NumberFormatException("For input string: \"" + ascii(field) + "\"");
+        }
+        // accumulate negatively like Long.parseLong, so Long.MIN_VALUE does not overflow
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        @Var long result = 0;
+        for (int i = first; i < end; i++) {
+            int digit = field.get(i) - '0';
+            if (digit < 0 || digit > 9 || result < limit / 10 || result * 10 < limit + digit) {
+                throw new NumberFormatException("For input string: \"" + ascii(field) + "\"");
+            }
+            result = result * 10 - digit;
+        }
+        return negative ? result : -result;
+    }
+
+    private static String ascii(ByteBuffer field) {
+        StringBuilder sb = new StringBuilder(field.remaining());
+        for (int i = field.position(); i < field.limit(); i++) {
+            sb.append((char) (field.get(i) & 0xFF));
+        }
+        return sb.toString();
+    }
+
+    private static void writeLong(long value, ByteBuffer out) {
+        if (value == 0) {
+            out.put((byte) '0');
+            return;
+        }
+        if (value < 0) {
+            out.put((byte) '-');
+        }
+        int start = out.position();
+        // write the digits backwards, negated so Long.MIN_VALUE works
+        @Var long rest = value < 0 ? value : -value;
+        while (rest != 0) {
+            out.put((byte) ('0' - rest % 10));
+            rest /= 10;
+        }
+        for (int i = start, j = out.position() - 1; i < j; i++, j--) {
+            byte temp = out.get(i);
+            out.put(i, out.get(j));
+            out.put(j, temp);
+        }
+    }
+
+    private static ByteBuffer ensureRemaining(ByteBuffer buffer, int needed) {
+        if (buffer.remaining() >= needed) {
+            return buffer;
+        }
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8,
+                Math.max((long) buffer.position() + needed, buffer.capacity() * 2L));
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        buffer.flip();
+        grown.put(buffer);
+        return grown;
+    }
+
+    /**
+     * Whole lines of the input, starting at the given offset of the input.
+     */
+    private static final class Chunk {
+        private final ByteBuffer buffer;
+        private final long offset;
+
+        private Chunk(ByteBuffer buffer, long offset) {
+            this.buffer = buffer;
+            this.offset = offset;
+        }
+    }
+
+    private static final class Converted {
+        @Nullable
+        private final ByteBuffer output;
+        private final long count;
+
+        private Converted(@Nullable ByteBuffer output, long count) {
+            this.output = output;
+            this.count = count;
+        }
+    }
+
+    private interface ChunkSource {
+        /**
+         * Get the next chunk of whole lines, the buffer starts at 0.
+         *
+         * @return the next chunk, null at the end of the input
+         * @throws IOException if the input fails
+         */
+        @Nullable
+        Chunk next() throws IOException;
+    }
+
+    private final class ChannelSource implements ChunkSource {
+        private final ReadableByteChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+        private long offset;
+        private boolean eof;
+
+        private ChannelSource(ReadableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        @Nullable
+        public Chunk next() throws IOException {
+            while (!eof && buffer.hasRemaining()) {
+                eof = channel.read(buffer) < 0;
+            }
+            if (buffer.position() == 0) {
+                return null;
+            }
+            int end = eof ? buffer.position() : lastLineEnd(buffer, buffer.position());
+            if (end < 0) {
+                // a line longer than the chunk
+                ByteBuffer grown = ByteBuffer.allocate(buffer.capacity() * 2);
+                buffer.flip();
+                grown.put(buffer);
+                buffer = grown;
+                return next();
+            }
+            ByteBuffer lines = buffer;
+            buffer = ByteBuffer.allocate(Math.max(chunkSize, lines.position() - end));
+            lines.flip();
+            lines.position(end);
+            buffer.put(lines);
+            lines.position(0).limit(end);
+            Chunk chunk = new Chunk(lines, offset);
+            offset += end;
+            return chunk;
+        }
+    }
+
+    private final class MappedSource implements ChunkSource {
+        private final FileChannel channel;
+        private final FileChannel.MapMode mode;
+        private long offset;
+
+        private MappedSource(FileChannel channel, FileChannel.MapMode mode) {
+            this.channel = channel;
+            this.mode = mode;
+        }
+
+        @Override
+        @Nullable
+        public Chunk next() throws IOException {
+            long size = channel.size();
+            if (offset >= size) {
+                return null;
+            }
+            @Var long length = chunkSize;
+            while (true) {
+                int mapped = (int) Math.min(Math.min(length, size - offset), Integer.MAX_VALUE);
+                MappedByteBuffer buffer = channel.map(mode, offset, mapped);
+                int end = offset + mapped == size ? mapped : lastLineEnd(buffer, mapped);
+                if (end >= 0) {
+                    buffer.limit(end);
+                    Chunk chunk = new Chunk(buffer, offset);
+                    offset += end;
+                    return chunk;
+                }
+                if (mapped == Integer.MAX_VALUE) {
+                    throw new IOException("Line too long at byte " + offset);
+                }
+                // a line longer than the chunk
+                length *= 2;
+            }
+        }
+    }
+
+    /**
+     * Get the end of the last whole line before the given index, or -1 if there is none.
+     */
+    private static int lastLineEnd(ByteBuffer buffer, int end) {
+        for (int i = end - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+}
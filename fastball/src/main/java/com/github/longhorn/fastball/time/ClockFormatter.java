@@ -0,0 +1,238 @@
+package com.github.longhorn.fastball.time;
+
+import com.google.errorprone.annotations.Var;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Thread-safe formatter which writes epoch milliseconds as ISO-8601 or SQL timestamp text straight into a caller \
+ * supplied {@code char[]}, {@link ByteBuffer}, {@link StringBuilder} or {@link Appendable}, without creating \
+ * {@link SimpleDateFormat} or {@link Date} instances. The output is identical to the {@link SimpleDateFormat} \
+ * patterns used by {@link Clock}; instants outside the years 1582 (Gregorian cutover) to 9999 are delegated to \
+ * {@link SimpleDateFormat} to keep the Julian calendar and the unpadded years.
+ */
+public final class ClockFormatter {
+    /**
+     * Max length of a formatted instant between the Gregorian cutover and the year 9999.
+     */
+    public static final int MAX_LENGTH = 29;
+    /**
+     * yyyy-MM-dd'T'HH:mm:ssXXX
+     */
+    public static final ClockFormatter ISO_8601 = new ClockFormatter("yyyy-MM-dd'T'HH:mm:ssXXX", 'T', false, true);
+    /**
+     * yyyy-MM-dd'T'HH:mm:ss.SSSXXX
+     */
+    public static final ClockFormatter ISO_8601_MILLIS
+            = new ClockFormatter("yyyy-MM-dd'T'HH:mm:ss.SSSXXX", 'T', true, true);
+    /**
+     * yyyy-MM-dd HH:mm:ss
+     */
+    public static final ClockFormatter SQL_TS = new ClockFormatter("yyyy-MM-dd HH:mm:ss", ' ', false, false);
+
+    private static final long FIRST_GREGORIAN_DAY = CivilTime.toEpochDay(1582, 10, 15);
+    private static final long FIRST_DAY_OF_YEAR_10000 = CivilTime.toEpochDay(10_000, 1, 1);
+    private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+
+    private final String pattern;
+    private final char dateTimeSeparator;
+    private final boolean withMillis;
+    private final boolean withOffset;
+
+    private ClockFormatter(String pattern, char dateTimeSeparator, boolean withMillis, boolean withOffset) {
+        this.pattern = pattern;
+        this.dateTimeSeparator = dateTimeSeparator;
+        this.withMillis = withMillis;
+        this.withOffset = withOffset;
+    }
+
+    /**
+     * Format the epoch milliseconds to a string.
+     *
+     * @param epochMilli epoch milliseconds
+     * @param timeZone   TimeZone
+     * @return String of the formatted time
+     */
+    public String format(long epochMilli, TimeZone timeZone) {
+        char[] scratch = SCRATCH.get();
+        int length = encode(epochMilli, timeZone, scratch, 0);
+        if (length < 0) {
+            return legacyFormat(epochMilli, timeZone);
+        }
+        return new String(scratch, 0, length);
+    }
+
+    /**
+     * Append the formatted epoch milliseconds to an Appendable.
+     *
+     * @param epochMilli epoch milliseconds
+     * @param timeZone   TimeZone
+     * @param out        the Appendable to write to
+     * @throws IOException if the Appendable fails to append
+     */
+    public void appendTo(long epochMilli, TimeZone timeZone, Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            appendTo(epochMilli, timeZone, (StringBuilder) out);
+            return;
+        }
+        char[] scratch = SCRATCH.get();
+        int length = encode(epochMilli, timeZone, scratch, 0);
+        if (length < 0) {
+            out.append(legacyFormat(epochMilli, timeZone));
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            out.append(scratch[i]);
+        }
+    }
+
+    /**
+     * Append the formatted epoch milliseconds to a StringBuilder.
+     *
+     * @param epochMilli epoch milliseconds
+     * @param timeZone   TimeZone
+     * @param out        the StringBuilder to write to
+     */
+    public void appendTo(long epochMilli, TimeZone timeZone, StringBuilder out) {
+        char[] scratch = SCRATCH.get();
+        int length = encode(epochMilli, timeZone, scratch, 0);
+        if (length < 0) {
+            out.append(legacyFormat(epochMilli, timeZone));
+            return;
+        }
+        out.append(scratch, 0, length);
+    }
+
+    /**
+     * Write the formatted epoch milliseconds into a char array.
+     *
+     * @param epochMilli epoch milliseconds
+     * @param timeZone   TimeZone
+     * @param dst        the destination array, should have at least {@link #MAX_LENGTH} chars after the offset
+     * @param offset     the index of the first char to write
+     * @return the count of written chars
+     */
+    public int write(long epochMilli, TimeZone timeZone, char[] dst, int offset) {
+        int length = encode(epochMilli, timeZone, dst, offset);
+        if (length >= 0) {
+            return length;
+        }
+        String legacy = legacyFormat(epochMilli, timeZone);
+        legacy.getChars(0, legacy.length(), dst, offset);
+        return legacy.length();
+    }
+
+    /**
+     * Write the formatted epoch milliseconds as US-ASCII bytes into a ByteBuffer at its current position.
+     *
+     * @param epochMilli epoch milliseconds
+     * @param timeZone   TimeZone
+     * @param dst        the destination buffer
+     * @return the count of written bytes
+     */
+    public int write(long epochMilli, TimeZone timeZone, ByteBuffer dst) {
+        char[] scratch = SCRATCH.get();
+        int length = encode(epochMilli, timeZone, scratch, 0);
+        if (length < 0) {
+            String legacy = legacyFormat(epochMilli, timeZone);
+            for (int i = 0; i < legacy.length(); i++) {
+                dst.put((byte) legacy.charAt(i));
+            }
+            return legacy.length();
+        }
+        for (int i = 0; i < length; i++) {
+            dst.put((byte) scratch[i]);
+        }
+        return length;
+    }
+
+    /**
+     * Encode the instant with the fixed width layout.
+     *
+     * @return the count of written chars, or -1 if the local date is out of the supported years
+     */
+    private int encode(long epochMilli, TimeZone timeZone, char[] dst, int offset) {
+        int offsetMillis = ZoneOffsets.offsetAt(timeZone, epochMilli);
+        long local = epochMilli + offsetMillis;
+        long epochDay = Math.floorDiv(local, CivilTime.MILLIS_PER_DAY);
+        if (epochDay < FIRST_GREGORIAN_DAY || epochDay >= FIRST_DAY_OF_YEAR_10000) {
+            return -1;
+        }
+        int millisOfDay = (int) (local - epochDay * CivilTime.MILLIS_PER_DAY);
+        long date = CivilTime.fromEpochDay(epochDay);
+        @Var int pos = offset;
+        pos = put4(dst, pos, (int) CivilTime.year(date));
+        dst[pos++] = '-';
+        pos = put2(dst, pos, CivilTime.month(date));
+        dst[pos++] = '-';
+        pos = put2(dst, pos, CivilTime.day(date));
+        dst[pos++] = dateTimeSeparator;
+        pos = put2(dst, pos, millisOfDay / CivilTime.MILLIS_PER_HOUR);
+        dst[pos++] = ':';
+        pos = put2(dst, pos, millisOfDay / CivilTime.MILLIS_PER_MINUTE % 60);
+        dst[pos++] = ':';
+        pos = put2(dst, pos, millisOfDay / CivilTime.MILLIS_PER_SECOND % 60);
+        if (withMillis) {
+            dst[pos++] = '.';
+            int millis = millisOfDay % CivilTime.MILLIS_PER_SECOND;
+            dst[pos++] = (char) ('0' + millis / 100);
+            pos = put2(dst, pos, millis % 100);
+        }
+        if (withOffset) {
+            pos = putOffset(dst, pos, offsetMillis);
+        }
+        return pos - offset;
+    }
+
+    /**
+     * Same as the {@code XXX} pattern of SimpleDateFormat, the seconds of the offset are truncated.
+     */
+    private static int putOffset(char[] dst, @Var int pos, int offsetMillis) {
+        if (offsetMillis == 0) {
+            dst[pos++] = 'Z';
+            return pos;
+        }
+        @Var int minutes = offsetMillis / CivilTime.MILLIS_PER_MINUTE;
+        if (minutes >= 0) {
+            dst[pos++] = '+';
+        } else {
+            dst[pos++] = '-';
+            minutes = -minutes;
+        }
+        pos = put2(dst, pos, minutes / 60);
+        dst[pos++] = ':';
+        return put2(dst, pos, minutes % 60);
+    }
+
+    private static int put2(char[] dst, int pos, int value) {
+        dst[pos] = (char) ('0' + value / 10);
+        dst[pos + 1] = (char) ('0' + value % 10);
+        return pos + 2;
+    }
+
+    private static int put4(char[] dst, int pos, int value) {
+        put2(dst, pos, value / 100);
+        return put2(dst, pos + 2, value % 100);
+    }
+
+    private String legacyFormat(long epochMilli, TimeZone timeZone) {
+        SimpleDateFormat sdf = new SimpleDateFormat(pattern);
+        sdf.setTimeZone(timeZone);
+        sdf.setLenient(false);
+        return sdf.format(new Date(epochMilli));
+    }
+
+    /**
+     * Get the SimpleDateFormat pattern of the formatter.
+     *
+     * @return String of the pattern
+     */
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
@@ -0,0 +1,258 @@
+package com.github.longhorn.fastball.time;
+
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primitive companion of {@link Clock}, the same operations on epoch milliseconds, so walking through time ranges in \
+ * tight loops creates neither Clock instances nor strings.
+ */
+public final class ClockMath {
+    /**
+     * The smallest unix timestamp treated as seconds, the same as a string of at most 10 chars.
+     */
+    private static final long MIN_UNIX_TS_IN_SECONDS = -999_999_999L;
+    /**
+     * The largest unix timestamp treated as seconds, the same as a string of at most 10 chars.
+     */
+    private static final long MAX_UNIX_TS_IN_SECONDS = 9_999_999_999L;
+    private static final TimeZone DEFAULT_TIME_ZONE = TimeZone.getTimeZone("UTC");
+    private static final int LAST_SECOND_OF_DAY = (int) CivilTime.MILLIS_PER_DAY - CivilTime.MILLIS_PER_SECOND;
+
+    private ClockMath() {
+    }
+
+    /**
+     * Normalize a unix timestamp in seconds or milliseconds to epoch milliseconds. Values between \
+     * {@code -999999999} and {@code 9999999999} are treated as seconds, others as milliseconds.
+     *
+     * @param unixTs unix timestamp in seconds or milliseconds
+     * @return epoch milliseconds
+     */
+    public static long toEpochMilli(long unixTs) {
+        if (unixTs >= MIN_UNIX_TS_IN_SECONDS && unixTs <= MAX_UNIX_TS_IN_SECONDS) {
+            return unixTs * CivilTime.MILLIS_PER_SECOND;
+        }
+        return unixTs;
+    }
+
+    /**
+     * Get epoch second of the epoch milliseconds.
+     *
+     * @param epochMilli epoch milliseconds
+     * @return epoch second
+     */
+    public static long toEpochSecond(long epochMilli) {
+        return epochMilli / CivilTime.MILLIS_PER_SECOND;
+    }
+
+    /**
+     * Turn the epoch milliseconds forward.
+     *
+     * @param epochMilli epoch milliseconds
+     * @param timeUnit   time unit
+     * @param interval   how many time unit you wanna adjust
+     * @return epoch milliseconds of turned time
+     */
+    public static long turnForward(long epochMilli, TimeUnit timeUnit, long interval) {
+        return epochMilli + timeUnit.toMillis(interval);
+    }
+
+    /**
+     * Turn the epoch milliseconds back.
+     *
+     * @param epochMilli epoch milliseconds
+     * @param timeUnit   time unit
+     * @param interval   how many time unit you wanna adjust
+     * @return epoch milliseconds of turned time
+     */
+    public static long turnBack(long epochMilli, TimeUnit timeUnit, long interval) {
+        return epochMilli - timeUnit.toMillis(interval);
+    }
+
+    /**
+     * Check is the epoch milliseconds in the first second of the day in UTC.
+     *
+     * @param epochMilli epoch milliseconds
+     * @return Boolean of the result
+     */
+    public static boolean isAtBeginOfDay(long epochMilli) {
+        return isAtBeginOfDay(epochMilli, DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Check is the epoch milliseconds in the first second of the day.
+     *
+     * @param epochMilli epoch milliseconds
+     * @param timeZone   TimeZone
+     * @return Boolean of the result
+     */
+    public static boolean isAtBeginOfDay(long epochMilli, TimeZone timeZone) {
+        return millisOfDay(epochMilli, timeZone) < CivilTime.MILLIS_PER_SECOND;
+    }
+
+    /**
+     * Check is the epoch milliseconds in the last second of the day in UTC.
+     *
+     * @param epochMilli epoch milliseconds
+     * @return Boolean of the result
+     */
+    public static boolean isAtEndOfDay(long epochMilli) {
+        return isAtEndOfDay(epochMilli, DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Check is the epoch milliseconds in the last second of the day.
+     *
+     * @param epochMilli epoch milliseconds
+     * @param timeZone   TimeZone
+     * @return Boolean of the result
+     */
+    public static boolean isAtEndOfDay(long epochMilli, TimeZone timeZone) {
+        return millisOfDay(epochMilli, timeZone) >= LAST_SECOND_OF_DAY;
+    }
+
+    /**
+     * Truncate the epoch milliseconds to the start of the day in UTC.
+     *
+     * @param epochMilli epoch milliseconds
+     * @return epoch milliseconds of the start of the day
+     */
+    public static long startOfDay(long epochMilli) {
+        return startOfDay(epochMilli, DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Truncate the epoch milliseconds to the start of the day. If the midnight is skipped by a daylight saving \
+     * transition, the day starts at the end of the gap.
+     *
+     * @param epochMilli epoch milliseconds
+     * @param timeZone   TimeZone
+     * @return epoch milliseconds of the start of the day
+     */
+    public static long startOfDay(long epochMilli, TimeZone timeZone) {
+        return startOfEpochDay(epochDay(epochMilli, timeZone), timeZone);
+    }
+
+    /**
+     * Get the last millisecond of the day in UTC.
+     *
+     * @param epochMilli epoch milliseconds
+     * @return epoch milliseconds of the end of the day
+     */
+    public static long endOfDay(long epochMilli) {
+        return endOfDay(epochMilli, DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Get the last millisecond of the day.
+     *
+     * @param epochMilli epoch milliseconds
+     * @param timeZone   TimeZone
+     * @return epoch milliseconds of the end of the day
+     */
+    public static long endOfDay(long epochMilli, TimeZone timeZone) {
+        return startOfEpochDay(epochDay(epochMilli, timeZone) + 1, timeZone) - 1;
+    }
+
+    /**
+     * Truncate the epoch milliseconds to the start of the month in UTC.
+     *
+     * @param epochMilli epoch milliseconds
+     * @return epoch milliseconds of the start of the month
+     */
+    public static long startOfMonth(long epochMilli) {
+        return startOfMonth(epochMilli, DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Truncate the epoch milliseconds to the start of the month.
+     *
+     * @param epochMilli epoch milliseconds
+     * @param timeZone   TimeZone
+     * @return epoch milliseconds of the start of the month
+     */
+    public static long startOfMonth(long epochMilli, TimeZone timeZone) {
+        long epochDay = epochDay(epochMilli, timeZone);
+        return startOfEpochDay(epochDay - CivilTime.day(CivilTime.fromEpochDay(epochDay)) + 1, timeZone);
+    }
+
+    /**
+     * Truncate the epoch milliseconds to the start of the ISO week, which starts on Monday, in UTC.
+     *
+     * @param epochMilli epoch milliseconds
+     * @return epoch milliseconds of the start of the week
+     */
+    public static long startOfWeek(long epochMilli) {
+        return startOfWeek(epochMilli, DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Truncate the epoch milliseconds to the start of the ISO week, which starts on Monday.
+     *
+     * @param epochMilli epoch milliseconds
+     * @param timeZone   TimeZone
+     * @return epoch milliseconds of the start of the week
+     */
+    public static long startOfWeek(long epochMilli, TimeZone timeZone) {
+        long epochDay = epochDay(epochMilli, timeZone);
+        return startOfEpochDay(epochDay - CivilTime.dayOfWeek(epochDay) + 1, timeZone);
+    }
+
+    /**
+     * Truncate the epoch milliseconds to the given unit in UTC.
+     *
+     * @param epochMilli epoch milliseconds
+     * @param timeUnit   TimeUnit
+     * @return epoch milliseconds of the truncated time
+     */
+    public static long truncateTo(long epochMilli, TimeUnit timeUnit) {
+        return truncateTo(epochMilli, timeUnit, DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Truncate the epoch milliseconds to the given unit of the local time. Units finer than millisecond change \
+     * nothing, {@link TimeUnit#DAYS} is the same as {@link #startOfDay(long, TimeZone)}.
+     *
+     * @param epochMilli epoch milliseconds
+     * @param timeUnit   TimeUnit
+     * @param timeZone   TimeZone
+     * @return epoch milliseconds of the truncated time
+     */
+    public static long truncateTo(long epochMilli, TimeUnit timeUnit, TimeZone timeZone) {
+        if (timeUnit == TimeUnit.DAYS) {
+            return startOfDay(epochMilli, timeZone);
+        }
+        long unitMillis = timeUnit.toMillis(1);
+        if (unitMillis <= 1) {
+            return epochMilli;
+        }
+        int offset = ZoneOffsets.offsetAt(timeZone, epochMilli);
+        long local = epochMilli + offset;
+        long truncated = local - Math.floorMod(local, unitMillis);
+        // stay in the same offset if possible, so the second pass of an overlap truncates into itself
+        if (ZoneOffsets.offsetAt(timeZone, truncated - offset) == offset) {
+            return truncated - offset;
+        }
+        return ZoneOffsets.localToEpochMilli(timeZone, truncated);
+    }
+
+    /**
+     * Get the local epoch day of the epoch milliseconds.
+     *
+     * @param epochMilli epoch milliseconds
+     * @param timeZone   TimeZone
+     * @return the count of days since 1970-01-01 in the time zone
+     */
+    static long epochDay(long epochMilli, TimeZone timeZone) {
+        return Math.floorDiv(epochMilli + ZoneOffsets.offsetAt(timeZone, epochMilli), CivilTime.MILLIS_PER_DAY);
+    }
+
+    private static long startOfEpochDay(long epochDay, TimeZone timeZone) {
+        return ZoneOffsets.localToEpochMilli(timeZone, epochDay * CivilTime.MILLIS_PER_DAY);
+    }
+
+    private static long millisOfDay(long epochMilli, TimeZone timeZone) {
+        return Math.floorMod(epochMilli + ZoneOffsets.offsetAt(timeZone, epochMilli), CivilTime.MILLIS_PER_DAY);
+    }
+}
@@ -0,0 +1,317 @@
+package com.github.longhorn.fastball.time;
+
+import com.google.errorprone.annotations.Var;
+
+import java.nio.ByteBuffer;
+import java.text.ParseException;
+import java.util.TimeZone;
+
+/**
+ * Single pass, allocation-free parser of the ISO-8601 and SQL timestamp formats, returns epoch milliseconds without \
+ * creating a Clock. The ISO-8601 parser accepts what {@code DateTimeFormatter.ISO_OFFSET_DATE_TIME} accepts:
+ * <ul>
+ * <li>{@code yyyy-MM-ddTHH:mm[:ss[.f{1,9}]]} followed by {@code Z} or {@code +HH:MM[:ss]}</li>
+ * <li>years with more than 4 digits are signed, like {@code +10000-01-01T00:00Z}</li>
+ * </ul>
+ * The SQL timestamp parser accepts {@code yyyy-MM-dd HH:mm:ss[.f{1,9}]} in the given time zone. Fractions finer than \
+ * a millisecond are truncated. Byte inputs are read as US-ASCII.
+ */
+public final class ClockParser {
+    private static final TimeZone DEFAULT_TIME_ZONE = TimeZone.getTimeZone("UTC");
+    private static final int MAX_LENGTH = 64;
+    private static final int MAX_OFFSET_SECONDS = 18 * 3600;
+    private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+
+    private ClockParser() {
+    }
+
+    /**
+     * Parse the ISO-8601 time.
+     *
+     * @param text ISO-8601 time
+     * @return epoch milliseconds
+     * @throws ParseException if the input is invalid
+     */
+    public static long parseIso8601(CharSequence text) throws ParseException {
+        int length = text.length();
+        return iso8601(copy(text, length), length);
+    }
+
+    /**
+     * Parse the ISO-8601 time from US-ASCII bytes.
+     *
+     * @param src    the source bytes
+     * @param offset the index of the first byte
+     * @param length the count of bytes
+     * @return epoch milliseconds
+     * @throws ParseException if the input is invalid
+     */
+    public static long parseIso8601(byte[] src, int offset, int length) throws ParseException {
+        return iso8601(copy(src, offset, length), length);
+    }
+
+    /**
+     * Parse the ISO-8601 time from the US-ASCII bytes between the position and the limit of the buffer, the position \
+     * of the buffer is not changed.
+     *
+     * @param buffer the source buffer
+     * @return epoch milliseconds
+     * @throws ParseException if the input is invalid
+     */
+    public static long parseIso8601(ByteBuffer buffer) throws ParseException {
+        int length = buffer.remaining();
+        return iso8601(copy(buffer, length), length);
+    }
+
+    /**
+     * Parse the SQL timestamp in UTC.
+     *
+     * @param text SQL timestamp
+     * @return epoch milliseconds
+     * @throws ParseException if the input is invalid
+     */
+    public static long parseSqlTs(CharSequence text) throws ParseException {
+        return parseSqlTs(text, DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Parse the SQL timestamp in the given time zone.
+     *
+     * @param text     SQL timestamp
+     * @param timeZone TimeZone
+     * @return epoch milliseconds
+     * @throws ParseException if the input is invalid
+     */
+    public static long parseSqlTs(CharSequence text, TimeZone timeZone) throws ParseException {
+        int length = text.length();
+        return sqlTs(copy(text, length), length, timeZone);
+    }
+
+    /**
+     * Parse the SQL timestamp from US-ASCII bytes in the given time zone.
+     *
+     * @param src      the source bytes
+     * @param offset   the index of the first byte
+     * @param length   the count of bytes
+     * @param timeZone TimeZone
+     * @return epoch milliseconds
+     * @throws ParseException if the input is invalid
+     */
+    public static long parseSqlTs(byte[] src, int offset, int length, TimeZone timeZone) throws ParseException {
+        return sqlTs(copy(src, offset, length), length, timeZone);
+    }
+
+    /**
+     * Parse the SQL timestamp from the US-ASCII bytes between the position and the limit of the buffer in the given \
+     * time zone, the position of the buffer is not changed.
+     *
+     * @param buffer   the source buffer
+     * @param timeZone TimeZone
+     * @return epoch milliseconds
+     * @throws ParseException if the input is invalid
+     */
+    public static long parseSqlTs(ByteBuffer buffer, TimeZone timeZone) throws ParseException {
+        int length = buffer.remaining();
+        return sqlTs(copy(buffer, length), length, timeZone);
+    }
+
+    private static char[] copy(CharSequence text, int length) throws ParseException {
+        char[] chars = scratch(length);
+        if (text instanceof String) {
+            ((String) text).getChars(0, length, chars, 0);
+        } else {
+            for (int i = 0; i < length; i++) {
+                chars[i] = text.charAt(i);
+            }
+        }
+        return chars;
+    }
+
+    private static char[] copy(byte[] src, int offset, int length) throws ParseException {
+        char[] chars = scratch(length);
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (src[offset + i] & 0xFF);
+        }
+        return chars;
+    }
+
+    private static char[] copy(ByteBuffer buffer, int length) throws ParseException {
+        char[] chars = scratch(length);
+        int position = buffer.position();
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (buffer.get(position + i) & 0xFF);
+        }
+        return chars;
+    }
+
+    private static char[] scratch(int length) throws ParseException {
+        if (length > MAX_LENGTH) {
+            throw new ParseException("Unparseable time, too long: " + length, MAX_LENGTH);
+        }
+        return SCRATCH.get();
+    }
+
+    private static long iso8601(char[] s, int length) throws ParseException {
+        int timeStart = indexOfTimeSeparator(s, length, 'T', 't') + 1;
+        @Var int offsetStart = length - 1;
+        while (offsetStart > timeStart && !isOffsetStart(s[offsetStart])) {
+            offsetStart--;
+        }
+        if (offsetStart <= timeStart) {
+            throw error(s, length, "missing offset", length);
+        }
+        long epochDay = date(s, length, timeStart - 1);
+        long millisOfDay = time(s, length, timeStart, offsetStart, /* secondsRequired= */ false);
+        long offsetMillis = offset(s, length, offsetStart);
+        return toEpochMilli(s, length, epochDay, millisOfDay - offsetMillis);
+    }
+
+    private static long sqlTs(char[] s, int length, TimeZone timeZone) throws ParseException {
+        int timeStart = indexOfTimeSeparator(s, length, ' ', ' ') + 1;
+        long epochDay = date(s, length, timeStart - 1);
+        long millisOfDay = time(s, length, timeStart, length, /* secondsRequired= */ true);
+        return ZoneOffsets.localToEpochMilli(timeZone, toEpochMilli(s, length, epochDay, millisOfDay));
+    }
+
+    private static long toEpochMilli(char[] s, int length, long epochDay, long millis) throws ParseException {
+        try {
+            return Math.addExact(Math.multiplyExact(epochDay, CivilTime.MILLIS_PER_DAY), millis);
+        } catch (ArithmeticException e) {
+            throw error(s, length, "out of range", 0);
+        }
+    }
+
+    private static boolean isOffsetStart(char c) {
+        return c == 'Z' || c == 'z' || c == '+' || c == '-';
+    }
+
+    private static int indexOfTimeSeparator(char[] s, int length, char separator, char alternative)
+            throws ParseException {
+        for (int i = 0; i < length; i++) {
+            if (s[i] == separator || s[i] == alternative) {
+                return i;
+            }
+        }
+        throw error(s, length, "missing date-time separator", length);
+    }
+
+    /**
+     * Parse {@code [+-]yyyy-MM-dd} which ends at the given index.
+     */
+    private static long date(char[] s, int length, int end) throws ParseException {
+        int yearEnd = end - 6;
+        boolean signed = s[0] == '+' || s[0] == '-';
+        int yearStart = signed ? 1 : 0;
+        int yearDigits = yearEnd - yearStart;
+        if (yearDigits < 4 || yearDigits > 9 || (!signed && yearDigits != 4)) {
+            throw error(s, length, "invalid year", 0);
+        }
+        @Var long year = 0;
+        for (int i = yearStart; i < yearEnd; i++) {
+            year = year * 10 + digit(s, length, i);
+        }
+        if (s[0] == '-') {
+            year = -year;
+        }
+        expect(s, length, yearEnd, '-');
+        int month = digits2(s, length, yearEnd + 1);
+        expect(s, length, yearEnd + 3, '-');
+        int day = digits2(s, length, yearEnd + 4);
+        if (month < 1 || month > 12) {
+            throw error(s, length, "invalid month", yearEnd + 1);
+        }
+        if (day < 1 || day > CivilTime.lengthOfMonth(year, month)) {
+            throw error(s, length, "invalid day of month", yearEnd + 4);
+        }
+        return CivilTime.toEpochDay(year, month, day);
+    }
+
+    /**
+     * Parse {@code HH:mm[:ss[.f{1,9}]]} between the given indexes.
+     */
+    private static long time(char[] s, int length, int start, int end, boolean secondsRequired)
+            throws ParseException {
+        if (end - start < 5 || (secondsRequired && end - start < 8)) {
+            throw error(s, length, "invalid time", start);
+        }
+        int hour = digits2(s, length, start);
+        expect(s, length, start + 2, ':');
+        int minute = digits2(s, length, start + 3);
+        @Var int second = 0;
+        @Var int millis = 0;
+        if (end - start > 5) {
+            expect(s, length, start + 5, ':');
+            second = digits2(s, length, start + 6);
+            if (end - start > 8) {
+                expect(s, length, start + 8, '.');
+                int fractionDigits = end - start - 9;
+                if (fractionDigits < 1 || fractionDigits > 9) {
+                    throw error(s, length, "invalid fraction of second", start + 9);
+                }
+                for (int i = 0; i < 3; i++) {
+                    millis = millis * 10 + (i < fractionDigits ? digit(s, length, start + 9 + i) : 0);
+                }
+                for (int i = 3; i < fractionDigits; i++) {
+                    digit(s, length, start + 9 + i);
+                }
+            }
+        }
+        if (hour > 23 || minute > 59 || second > 59) {
+            throw error(s, length, "invalid time", start);
+        }
+        return (long) hour * CivilTime.MILLIS_PER_HOUR + (long) minute * CivilTime.MILLIS_PER_MINUTE
+                + (long) second * CivilTime.MILLIS_PER_SECOND + millis;
+    }
+
+    /**
+     * Parse {@code Z} or {@code +HH:MM[:ss]} from the given index to the end.
+     */
+    private static long offset(char[] s, int length, int start) throws ParseException {
+        if (s[start] == 'Z' || s[start] == 'z') {
+            if (length - start != 1) {
+                throw error(s, length, "invalid offset", start);
+            }
+            return 0;
+        }
+        if (length - start != 6 && length - start != 9) {
+            throw error(s, length, "invalid offset", start);
+        }
+        int hours = digits2(s, length, start + 1);
+        expect(s, length, start + 3, ':');
+        int minutes = digits2(s, length, start + 4);
+        @Var int seconds = 0;
+        if (length - start == 9) {
+            expect(s, length, start + 6, ':');
+            seconds = digits2(s, length, start + 7);
+        }
+        int total = hours * 3600 + minutes * 60 + seconds;
+        if (minutes > 59 || seconds > 59 || total > MAX_OFFSET_SECONDS) {
+            throw error(s, length, "invalid offset", start);
+        }
+        return (s[start] == '-' ? -total : total) * (long) CivilTime.MILLIS_PER_SECOND;
+    }
+
+    private static int digits2(char[] s, int length, int index) throws ParseException {
+        return digit(s, length, index) * 10 + digit(s, length, index + 1);
+    }
+
+    private static int digit(char[] s, int length, int index) throws ParseException {
+        if (index >= length || s[index] < '0' || s[index] > '9') {
+            throw error(s, length, "digit expected", index);
+        }
+        return s[index] - '0';
+    }
+
+    private static void expect(char[] s, int length, int index, char expected) throws ParseException {
+        if (index >= length || s[index] != expected) {
+            throw error(s, length, "'" + expected + "' expected", index);
+        }
+    }
+
+    private static ParseException error(char[] s, int length, String reason, int index) {
+        return new ParseException(
+                String.format("Unparseable time \"%s\": %s at index %d", new String(s, 0, length), reason, index),
+                index
+        );
+    }
+}
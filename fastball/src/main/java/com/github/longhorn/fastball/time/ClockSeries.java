@@ -0,0 +1,762 @@
+package com.github.longhorn.fastball.time;
+
+import com.google.errorprone.annotations.Var;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Growable series of epoch milliseconds in a primitive {@code long[]}, or in native memory outside of the heap, for \
+ * batches where a {@code List<Clock>} costs one object per point. The bulk operations have the same semantics as the \
+ * per-instance methods of {@link Clock} and {@link ClockMath}, and transform the series in place. The series tracks \
+ * whether it is sorted, the range lookups require it. Not thread-safe.
+ */
+public final class ClockSeries {
+    private static final TimeZone DEFAULT_TIME_ZONE = TimeZone.getTimeZone("UTC");
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_HEAP_CAPACITY = Integer.MAX_VALUE - 8;
+    private static final int MAX_OFF_HEAP_CAPACITY = Integer.MAX_VALUE / Long.BYTES;
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private final boolean offHeap;
+    private LongBuffer values;
+    private int size;
+    private boolean sorted = true;
+
+    private ClockSeries(boolean offHeap, int capacity) {
+        this.offHeap = offHeap;
+        this.values = allocate(offHeap, capacity);
+    }
+
+    /**
+     * Create an empty series on the heap.
+     *
+     * @return the series
+     */
+    public static ClockSeries create() {
+        return withCapacity(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create an empty series on the heap.
+     *
+     * @param capacity count of points to reserve
+     * @return the series
+     */
+    public static ClockSeries withCapacity(int capacity) {
+        checkCapacity(capacity, MAX_HEAP_CAPACITY);
+        return new ClockSeries(/* offHeap= */ false, capacity);
+    }
+
+    /**
+     * Create an empty series in native memory, which is released when the series is garbage collected.
+     *
+     * @param capacity count of points to reserve
+     * @return the series
+     */
+    public static ClockSeries offHeap(int capacity) {
+        checkCapacity(capacity, MAX_OFF_HEAP_CAPACITY);
+        return new ClockSeries(/* offHeap= */ true, capacity);
+    }
+
+    /**
+     * Create a series on the heap of the given epoch milliseconds.
+     *
+     * @param epochMillis epoch milliseconds
+     * @return the series
+     */
+    public static ClockSeries of(long... epochMillis) {
+        ClockSeries series = withCapacity(epochMillis.length);
+        for (long epochMilli : epochMillis) {
+            series.add(epochMilli);
+        }
+        return series;
+    }
+
+    private static void checkCapacity(int capacity, int maxCapacity) {
+        if (capacity < 0 || capacity > maxCapacity) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+    }
+
+    private static LongBuffer allocate(boolean offHeap, int capacity) {
+        if (offHeap) {
+            return ByteBuffer.allocateDirect(capacity * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+        }
+        return LongBuffer.wrap(new long[capacity]);
+    }
+
+    /**
+     * Get the count of points.
+     *
+     * @return the count of points
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check is the series stored outside of the heap.
+     *
+     * @return Boolean of the result
+     */
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    /**
+     * Check is the series known to be in ascending order. Appending in order and the bulk operations keep it up to \
+     * date, while {@link #set(int, long)} only clears it.
+     *
+     * @return Boolean of the result
+     */
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    /**
+     * Get the epoch milliseconds at the index.
+     *
+     * @param index index of the point
+     * @return epoch milliseconds
+     */
+    public long get(int index) {
+        checkIndex(index);
+        return values.get(index);
+    }
+
+    /**
+     * Get the Clock at the index.
+     *
+     * @param index index of the point
+     * @return Clock instance of the point
+     */
+    public Clock getClock(int index) {
+        return Clock.fromEpochMilli(get(index));
+    }
+
+    /**
+     * Replace the epoch milliseconds at the index.
+     *
+     * @param index      index of the point
+     * @param epochMilli epoch milliseconds
+     * @return the series
+     */
+    public ClockSeries set(int index, long epochMilli) {
+        checkIndex(index);
+        values.put(index, epochMilli);
+        sorted = sorted
+                && (index == 0 || values.get(index - 1) <= epochMilli)
+                && (index == size - 1 || epochMilli <= values.get(index + 1));
+        return this;
+    }
+
+    /**
+     * Append epoch milliseconds.
+     *
+     * @param epochMilli epoch milliseconds
+     * @return the series
+     */
+    public ClockSeries add(long epochMilli) {
+        ensureCapacity(size + 1);
+        sorted = sorted && (size == 0 || values.get(size - 1) <= epochMilli);
+        values.put(size++, epochMilli);
+        return this;
+    }
+
+    /**
+     * Append a Clock.
+     *
+     * @param clock Clock
+     * @return the series
+     */
+    public ClockSeries add(Clock clock) {
+        return add(clock.toEpochMilli());
+    }
+
+    /**
+     * Remove all points, the reserved memory is kept.
+     *
+     * @return the series
+     */
+    public ClockSeries clear() {
+        size = 0;
+        sorted = true;
+        return this;
+    }
+
+    /**
+     * Append ISO-8601 times, see {@link Clock#fromIso8601(String)}. Nothing is appended if any of them is invalid.
+     *
+     * @param texts ISO-8601 times
+     * @return the series
+     * @throws ParseException if any of the inputs is invalid
+     */
+    public ClockSeries addIso8601(Iterable<? extends CharSequence> texts) throws ParseException {
+        int start = size;
+        try {
+            for (CharSequence text : texts) {
+                add(ClockParser.parseIso8601(text));
+            }
+        } catch (ParseException e) {
+            truncateSize(start);
+            throw e;
+        }
+        return this;
+    }
+
+    /**
+     * Append SQL timestamps in UTC, see {@link Clock#fromSqlTs(String)}. Nothing is appended if any of them is invalid.
+     *
+     * @param texts SQL timestamps
+     * @return the series
+     * @throws ParseException if any of the inputs is invalid
+     */
+    public ClockSeries addSqlTs(Iterable<? extends CharSequence> texts) throws ParseException {
+        return addSqlTs(texts, DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Append SQL timestamps, see {@link Clock#fromSqlTs(String, TimeZone)}. Nothing is appended if any of them is \
+     * invalid.
+     *
+     * @param texts    SQL timestamps
+     * @param timeZone TimeZone of the SQL timestamps
+     * @return the series
+     * @throws ParseException if any of the inputs is invalid
+     */
+    public ClockSeries addSqlTs(Iterable<? extends CharSequence> texts, TimeZone timeZone) throws ParseException {
+        int start = size;
+        try {
+            for (CharSequence text : texts) {
+                add(ClockParser.parseSqlTs(text, timeZone));
+            }
+        } catch (ParseException e) {
+            truncateSize(start);
+            throw e;
+        }
+        return this;
+    }
+
+    /**
+     * Append unix timestamps, see {@link Clock#fromUnixTs(String)}. Nothing is appended if any of them is invalid.
+     *
+     * @param texts unix timestamps in seconds or milliseconds
+     * @return the series
+     * @throws NumberFormatException if any of the inputs is invalid
+     */
+    public ClockSeries addUnixTs(Iterable<? extends CharSequence> texts) {
+        int start = size;
+        try {
+            for (CharSequence text : texts) {
+                add(ClockMath.toEpochMilli(parseLong(text)));
+            }
+        } catch (NumberFormatException e) {
+            truncateSize(start);
+            throw e;
+        }
+        return this;
+    }
+
+    /**
+     * Same as {@link Long#parseLong(String)} without creating a string.
+     */
+    private static long parseLong(CharSequence text) {
+        int length = text.length();
+        boolean negative = length > 0 && text.charAt(0) == '-';
+        int start = length > 0 && (negative || text.charAt(0) == '+') ? 1 : 0;
+        if (start == length) {
+            throw new NumberFormatException("For input string: \"" + text + "\"");
+        }
+        // accumulate negatively like Long.parseLong, so Long.MIN_VALUE does not overflow
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        @Var long result = 0;
+        for (int i = start; i < length; i++) {
+            int digit = Character.digit(text.charAt(i), 10);
+            if (digit < 0 || result < limit / 10 || result * 10 < limit + digit) {
+                throw new NumberFormatException("For input string: \"" + text + "\"");
+            }
+            result = result * 10 - digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Append the formatted points to a StringBuilder, each followed by the delimiter.
+     *
+     * @param formatter ClockFormatter
+     * @param timeZone  TimeZone
+     * @param delimiter char written after each point
+     * @param out       the StringBuilder to write to
+     */
+    public void appendTo(ClockFormatter formatter, TimeZone timeZone, char delimiter, StringBuilder out) {
+        long expected = out.length() + (long) size * (ClockFormatter.MAX_LENGTH + 1);
+        if (expected <= MAX_HEAP_CAPACITY) {
+            out.ensureCapacity((int) expected);
+        }
+        for (int i = 0; i < size; i++) {
+            formatter.appendTo(values.get(i), timeZone, out);
+            out.append(delimiter);
+        }
+    }
+
+    /**
+     * Write the formatted points as US-ASCII bytes into a ByteBuffer at its current position, each followed by the \
+     * delimiter. Stops before the first point which does not fit, so a large series could be written in chunks by \
+     * passing the returned index back.
+     *
+     * @param formatter ClockFormatter
+     * @param timeZone  TimeZone
+     * @param delimiter byte written after each point
+     * @param dst       the destination buffer
+     * @param fromIndex index of the first point to write
+     * @return index of the first point not written, the size of the series if all are written
+     */
+    public int write(ClockFormatter formatter, TimeZone timeZone, byte delimiter, ByteBuffer dst, int fromIndex) {
+        if (fromIndex < 0 || fromIndex > size) {
+            throw new IndexOutOfBoundsException("Index: " + fromIndex + ", Size: " + size);
+        }
+        for (int i = fromIndex; i < size; i++) {
+            int position = dst.position();
+            // the years out of 1582..9999 could be longer than MAX_LENGTH, so any point is rolled back if it overflows
+            try {
+                formatter.write(values.get(i), timeZone, dst);
+                dst.put(delimiter);
+            } catch (BufferOverflowException e) {
+                dst.position(position);
+                return i;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Turn all points forward.
+     *
+     * @param timeUnit time unit
+     * @param interval how many time unit you wanna adjust
+     * @return the series
+     */
+    public ClockSeries turnForward(TimeUnit timeUnit, long interval) {
+        long millis = timeUnit.toMillis(interval);
+        for (int i = 0; i < size; i++) {
+            values.put(i, values.get(i) + millis);
+        }
+        return this;
+    }
+
+    /**
+     * Turn all points back.
+     *
+     * @param timeUnit time unit
+     * @param interval how many time unit you wanna adjust
+     * @return the series
+     */
+    public ClockSeries turnBack(TimeUnit timeUnit, long interval) {
+        long millis = timeUnit.toMillis(interval);
+        for (int i = 0; i < size; i++) {
+            values.put(i, values.get(i) - millis);
+        }
+        return this;
+    }
+
+    /**
+     * Add the calendar duration to all points in UTC.
+     *
+     * @param duration calendar duration
+     * @return the series
+     */
+    public ClockSeries plus(CalendarDuration duration) {
+        return plus(duration, DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Add the calendar duration to all points in the time zone.
+     *
+     * @param duration calendar duration
+     * @param timeZone time zone
+     * @return the series
+     */
+    public ClockSeries plus(CalendarDuration duration, TimeZone timeZone) {
+        return replaceAll(epochMilli -> duration.addTo(epochMilli, timeZone));
+    }
+
+    /**
+     * Subtract the calendar duration from all points in UTC.
+     *
+     * @param duration calendar duration
+     * @return the series
+     */
+    public ClockSeries minus(CalendarDuration duration) {
+        return minus(duration, DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Subtract the calendar duration from all points in the time zone.
+     *
+     * @param duration calendar duration
+     * @param timeZone time zone
+     * @return the series
+     */
+    public ClockSeries minus(CalendarDuration duration, TimeZone timeZone) {
+        return plus(duration.negated(), timeZone);
+    }
+
+    /**
+     * Truncate all points to the start of their day in UTC.
+     *
+     * @return the series
+     */
+    public ClockSeries startOfDay() {
+        return startOfDay(DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Truncate all points to the start of their day, see {@link ClockMath#startOfDay(long, TimeZone)}.
+     *
+     * @param timeZone TimeZone
+     * @return the series
+     */
+    public ClockSeries startOfDay(TimeZone timeZone) {
+        return replaceAll(epochMilli -> ClockMath.startOfDay(epochMilli, timeZone));
+    }
+
+    /**
+     * Move all points to the last millisecond of their day in UTC.
+     *
+     * @return the series
+     */
+    public ClockSeries endOfDay() {
+        return endOfDay(DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Move all points to the last millisecond of their day, see {@link ClockMath#endOfDay(long, TimeZone)}.
+     *
+     * @param timeZone TimeZone
+     * @return the series
+     */
+    public ClockSeries endOfDay(TimeZone timeZone) {
+        return replaceAll(epochMilli -> ClockMath.endOfDay(epochMilli, timeZone));
+    }
+
+    /**
+     * Truncate all points to the start of their month in UTC.
+     *
+     * @return the series
+     */
+    public ClockSeries startOfMonth() {
+        return startOfMonth(DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Truncate all points to the start of their month, see {@link ClockMath#startOfMonth(long, TimeZone)}.
+     *
+     * @param timeZone TimeZone
+     * @return the series
+     */
+    public ClockSeries startOfMonth(TimeZone timeZone) {
+        return replaceAll(epochMilli -> ClockMath.startOfMonth(epochMilli, timeZone));
+    }
+
+    /**
+     * Truncate all points to the start of their ISO week in UTC.
+     *
+     * @return the series
+     */
+    public ClockSeries startOfWeek() {
+        return startOfWeek(DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Truncate all points to the start of their ISO week, see {@link ClockMath#startOfWeek(long, TimeZone)}.
+     *
+     * @param timeZone TimeZone
+     * @return the series
+     */
+    public ClockSeries startOfWeek(TimeZone timeZone) {
+        return replaceAll(epochMilli -> ClockMath.startOfWeek(epochMilli, timeZone));
+    }
+
+    /**
+     * Truncate all points to the given unit in UTC.
+     *
+     * @param timeUnit TimeUnit
+     * @return the series
+     */
+    public ClockSeries truncateTo(TimeUnit timeUnit) {
+        return truncateTo(timeUnit, DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Truncate all points to the given unit of the local time, see \
+     * {@link ClockMath#truncateTo(long, TimeUnit, TimeZone)}.
+     *
+     * @param timeUnit TimeUnit
+     * @param timeZone TimeZone
+     * @return the series
+     */
+    public ClockSeries truncateTo(TimeUnit timeUnit, TimeZone timeZone) {
+        return replaceAll(epochMilli -> ClockMath.truncateTo(epochMilli, timeUnit, timeZone));
+    }
+
+    /**
+     * Replace each point with the result of the operator.
+     *
+     * @param operator operator on epoch milliseconds
+     * @return the series
+     */
+    public ClockSeries replaceAll(LongUnaryOperator operator) {
+        @Var boolean ascending = true;
+        @Var long previous = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            long value = operator.applyAsLong(values.get(i));
+            values.put(i, value);
+            ascending = ascending && previous <= value;
+            previous = value;
+        }
+        sorted = ascending;
+        return this;
+    }
+
+    /**
+     * Sort the points in ascending order.
+     *
+     * @return the series
+     */
+    public ClockSeries sort() {
+        if (sorted) {
+            return this;
+        }
+        if (values.hasArray()) {
+            Arrays.sort(values.array(), values.arrayOffset(), values.arrayOffset() + size);
+        } else {
+            introSort(values, 0, size, 2 * (32 - Integer.numberOfLeadingZeros(size)));
+        }
+        sorted = true;
+        return this;
+    }
+
+    /**
+     * Get the index of the first point at or after the given time, the series should be sorted.
+     *
+     * @param epochMilli epoch milliseconds
+     * @return the index, the size of the series if there is no such point
+     */
+    public int ceilingIndex(long epochMilli) {
+        checkSorted();
+        return lowerBound(epochMilli);
+    }
+
+    /**
+     * Get the index of the first point after the given time, the series should be sorted.
+     *
+     * @param epochMilli epoch milliseconds
+     * @return the index, the size of the series if there is no such point
+     */
+    public int higherIndex(long epochMilli) {
+        checkSorted();
+        return epochMilli == Long.MAX_VALUE ? size : lowerBound(epochMilli + 1);
+    }
+
+    /**
+     * Count the points in {@code [from, to)}, the series should be sorted.
+     *
+     * @param from epoch milliseconds, inclusive
+     * @param to   epoch milliseconds, exclusive
+     * @return the count of points
+     */
+    public int count(long from, long to) {
+        return Math.max(0, ceilingIndex(to) - ceilingIndex(from));
+    }
+
+    /**
+     * Copy the points in {@code [from, to)} to a new series on the heap, the series should be sorted.
+     *
+     * @param from epoch milliseconds, inclusive
+     * @param to   epoch milliseconds, exclusive
+     * @return the series of the points in the range
+     */
+    public ClockSeries range(long from, long to) {
+        int start = ceilingIndex(from);
+        int end = Math.max(start, ceilingIndex(to));
+        ClockSeries range = withCapacity(end - start);
+        for (int i = start; i < end; i++) {
+            range.values.put(i - start, values.get(i));
+        }
+        range.size = end - start;
+        return range;
+    }
+
+    /**
+     * Copy the points to an array.
+     *
+     * @return array of epoch milliseconds
+     */
+    public long[] toArray() {
+        long[] array = new long[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Get a stream of the points, the series should not be changed until the stream is consumed.
+     *
+     * @return stream of epoch milliseconds
+     */
+    public LongStream stream() {
+        LongBuffer snapshot = values;
+        return IntStream.range(0, size).mapToLong(snapshot::get);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void checkSorted() {
+        if (!sorted) {
+            throw new IllegalStateException("The series is not sorted");
+        }
+    }
+
+    private void truncateSize(int newSize) {
+        size = newSize;
+        @Var boolean ascending = true;
+        for (int i = 1; i < size && ascending; i++) {
+            ascending = values.get(i - 1) <= values.get(i);
+        }
+        sorted = ascending;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        int capacity = values.capacity();
+        if (minCapacity <= capacity) {
+            return;
+        }
+        int maxCapacity = offHeap ? MAX_OFF_HEAP_CAPACITY : MAX_HEAP_CAPACITY;
+        if (minCapacity < 0 || minCapacity > maxCapacity) {
+            throw new OutOfMemoryError("The series is too large: " + minCapacity);
+        }
+        int newCapacity = (int) Math.min(maxCapacity, Math.max(minCapacity, capacity + (capacity >> 1) + 1L));
+        LongBuffer grown = allocate(offHeap, newCapacity);
+        for (int i = 0; i < size; i++) {
+            grown.put(i, values.get(i));
+        }
+        values = grown;
+    }
+
+    /**
+     * Get the index of the first point which is not less than the key.
+     */
+    private int lowerBound(long key) {
+        @Var int low = 0;
+        @Var int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values.get(middle) < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Sort {@code [from, to)} of the buffer in place, quicksort which falls back to heapsort when it goes too deep.
+     */
+    private static void introSort(LongBuffer buffer, @Var int from, @Var int to, @Var int depth) {
+        while (to - from > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(buffer, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            long pivot = medianOf3(buffer.get(from), buffer.get(middle), buffer.get(to - 1));
+            @Var int low = from;
+            @Var int high = to - 1;
+            while (low <= high) {
+                while (buffer.get(low) < pivot) {
+                    low++;
+                }
+                while (buffer.get(high) > pivot) {
+                    high--;
+                }
+                if (low <= high) {
+                    swap(buffer, low++, high--);
+                }
+            }
+            // recurse into the smaller part to keep the stack shallow
+            if (high - from < to - low) {
+                introSort(buffer, from, high + 1, depth);
+                from = low;
+            } else {
+                introSort(buffer, low, to, depth);
+                to = high + 1;
+            }
+        }
+        insertionSort(buffer, from, to);
+    }
+
+    private static long medianOf3(long a, long b, long c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private static void insertionSort(LongBuffer buffer, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            long value = buffer.get(i);
+            @Var int j = i - 1;
+            while (j >= from && buffer.get(j) > value) {
+                buffer.put(j + 1, buffer.get(j));
+                j--;
+            }
+            buffer.put(j + 1, value);
+        }
+    }
+
+    private static void heapSort(LongBuffer buffer, int from, int to) {
+        int length = to - from;
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(buffer, from, i, length);
+        }
+        for (int end = length - 1; end > 0; end--) {
+            swap(buffer, from, from + end);
+            siftDown(buffer, from, 0, end);
+        }
+    }
+
+    private static void siftDown(LongBuffer buffer, int base, @Var int root, int length) {
+        long value = buffer.get(base + root);
+        while (2 * root + 1 < length) {
+            @Var int child = 2 * root + 1;
+            if (child + 1 < length && buffer.get(base + child + 1) > buffer.get(base + child)) {
+                child++;
+            }
+            if (buffer.get(base + child) <= value) {
+                break;
+            }
+            buffer.put(base + root, buffer.get(base + child));
+            root = child;
+        }
+        buffer.put(base + root, value);
+    }
+
+    private static void swap(LongBuffer buffer, int i, int j) {
+        long temp = buffer.get(i);
+        buffer.put(i, buffer.get(j));
+        buffer.put(j, temp);
+    }
+}
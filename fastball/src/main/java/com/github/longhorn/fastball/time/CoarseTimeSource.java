@@ -0,0 +1,60 @@
+package com.github.longhorn.fastball.time;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time source which reads {@link System#currentTimeMillis()} on a background daemon thread once per resolution, so \
+ * the callers only read a volatile field. The time lags behind the system time by at most the resolution.
+ */
+public final class CoarseTimeSource implements TimeSource, AutoCloseable {
+    private final ScheduledExecutorService executor;
+    private volatile long now;
+    private volatile ScheduledFuture<?> ticker;
+
+    private CoarseTimeSource(ScheduledExecutorService executor) {
+        this.executor = executor;
+        this.now = System.currentTimeMillis();
+    }
+
+    /**
+     * Start a coarse time source.
+     *
+     * @param resolution how often the time is updated
+     * @param timeUnit   time unit of the resolution
+     * @return the started time source, close it to stop the background thread
+     */
+    public static CoarseTimeSource start(long resolution, TimeUnit timeUnit) {
+        if (resolution <= 0) {
+            throw new IllegalArgumentException("resolution should be positive");
+        }
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("fastball-coarse-time-source-%d").build()
+        );
+        CoarseTimeSource source = new CoarseTimeSource(executor);
+        source.ticker = executor.scheduleAtFixedRate(source::tick, resolution, resolution, timeUnit);
+        return source;
+    }
+
+    private void tick() {
+        now = System.currentTimeMillis();
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return now;
+    }
+
+    /**
+     * Stop the background thread, the time source stops at the last tick.
+     */
+    @Override
+    public void close() {
+        ticker.cancel(false);
+        executor.shutdown();
+    }
+}
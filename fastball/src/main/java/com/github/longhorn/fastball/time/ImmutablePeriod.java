@@ -0,0 +1,168 @@
+package com.github.longhorn.fastball.time;
+
+import com.google.common.collect.ComparisonChain;
+import com.google.common.collect.Ordering;
+
+import javax.annotation.Nullable;
+import java.text.ParseException;
+import java.util.Objects;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable period of the clocks parsed from a period string, which could be cached and shared between threads \
+ * without copying. It is a value type of its own rather than a {@link Period}, whose setters could not be supported, \
+ * and {@link #toPeriod()} copies it to a mutable one. Two periods are equal if their start, end and exacted clocks \
+ * are at the same epoch milliseconds, and they are ordered by the start, the end and then the exacted clock, a \
+ * missing clock first. The clocks are {@link Clock#intern() interned}, so the periods of the same days share them.
+ */
+public final class ImmutablePeriod implements Comparable<ImmutablePeriod> {
+    @Nullable
+    private final Clock start;
+    @Nullable
+    private final Clock end;
+    @Nullable
+    private final Clock exacted;
+    private final String period;
+    private final int hash;
+
+    private ImmutablePeriod(@Nullable Clock start, @Nullable Clock end, @Nullable Clock exacted, String period) {
+        this.start = start == null ? null : start.intern();
+        this.end = end == null ? null : end.intern();
+        this.exacted = exacted == null ? null : exacted.intern();
+        this.period = period;
+        this.hash = Objects.hash(start, end, exacted);
+    }
+
+    /**
+     * Get the shared instance of a period string, which is parsed once and served from the cache of \
+     * {@link Period#parse(String)} afterwards.
+     *
+     * @param period period string, see {@link Period#parse(String)}
+     * @return ImmutablePeriod instance
+     * @throws ParseException Parse Exception will be thrown if the period is invalid
+     */
+    public static ImmutablePeriod parse(String period) throws ParseException {
+        return Period.parseImmutable(period);
+    }
+
+    /**
+     * Get an immutable copy of the period.
+     *
+     * @param period period
+     * @return ImmutablePeriod instance
+     */
+    public static ImmutablePeriod copyOf(Period period) {
+        return new ImmutablePeriod(period.getStart(), period.getEnd(), period.getExacted(), period.toString());
+    }
+
+    /**
+     * Get a mutable copy of the period, which shares the immutable clocks.
+     *
+     * @return Period instance
+     */
+    public Period toPeriod() {
+        return new Period(start, end, exacted, period);
+    }
+
+    /**
+     * Get the start clock.
+     *
+     * @return Start clock
+     */
+    @Nullable
+    public Clock getStart() {
+        return start;
+    }
+
+    /**
+     * Get the end clock.
+     *
+     * @return End clock
+     */
+    @Nullable
+    public Clock getEnd() {
+        return end;
+    }
+
+    /**
+     * Get the exacted clock.
+     *
+     * @return Exacted clock
+     */
+    @Nullable
+    public Clock getExacted() {
+        return exacted;
+    }
+
+    /**
+     * Check is the period start at the first and end at the last <b>date</b> of the month, see \
+     * {@link Period#isWholeMonth(TimeZone)}.
+     *
+     * @param timeZone time zone
+     * @return Boolean of the result
+     */
+    public boolean isWholeMonth(TimeZone timeZone) {
+        return Period.wholeMonth(start, end, timeZone);
+    }
+
+    /**
+     * Check is the period match the given time unit, see {@link Period#isTalliedWithDuration(TimeUnit, long)}.
+     *
+     * @param timeUnit TimeUnit
+     * @param duration duration
+     * @return Boolean of the result
+     */
+    public boolean isTalliedWithDuration(TimeUnit timeUnit, long duration) {
+        return Period.talliedWithDuration(start, end, timeUnit, duration);
+    }
+
+    /**
+     * Get the duration of the period, see {@link Period#getDuration(TimeUnit)}.
+     *
+     * @param timeUnit the time unit of ther duration
+     * @return the duration time
+     */
+    public long getDuration(TimeUnit timeUnit) {
+        return Period.durationOf(start, end, timeUnit);
+    }
+
+    @Override
+    public int compareTo(ImmutablePeriod period) {
+        return ComparisonChain.start()
+                .compare(start, period.start, Ordering.natural().nullsFirst())
+                .compare(end, period.end, Ordering.natural().nullsFirst())
+                .compare(exacted, period.exacted, Ordering.natural().nullsFirst())
+                .result();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ImmutablePeriod)) {
+            return false;
+        }
+        ImmutablePeriod period = (ImmutablePeriod) o;
+        return hash == period.hash
+                && Objects.equals(start, period.start)
+                && Objects.equals(end, period.end)
+                && Objects.equals(exacted, period.exacted);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Get the raw period string.
+     *
+     * @return String of the raw period
+     */
+    @Override
+    public String toString() {
+        return period;
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.longhorn.fastball.time;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time source which only moves when it is told to, for tests.
+ */
+public final class ManualTimeSource implements TimeSource {
+    private final AtomicLong now;
+
+    /**
+     * Create a time source stopped at the given time.
+     *
+     * @param epochMilli epoch milliseconds
+     */
+    public ManualTimeSource(long epochMilli) {
+        now = new AtomicLong(epochMilli);
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return now.get();
+    }
+
+    /**
+     * Set the time.
+     *
+     * @param epochMilli epoch milliseconds
+     * @return Current instance
+     */
+    public ManualTimeSource set(long epochMilli) {
+        now.set(epochMilli);
+        return this;
+    }
+
+    /**
+     * Move the time forward.
+     *
+     * @param timeUnit time unit
+     * @param interval how many time unit you wanna adjust
+     * @return Current instance
+     */
+    public ManualTimeSource advance(TimeUnit timeUnit, long interval) {
+        now.addAndGet(timeUnit.toMillis(interval));
+        return this;
+    }
+}
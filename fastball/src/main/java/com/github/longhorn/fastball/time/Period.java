@@ -0,0 +1,239 @@
+package com.github.longhorn.fastball.time;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.errorprone.annotations.Var;
+import org.apache.commons.lang3.ObjectUtils;
+
+import javax.annotation.Nullable;
+import java.text.ParseException;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This utility parse the input extended format (https://www.loc.gov/standards/datetime/pre-submission.html)\
+ * ISO-8601 (https://en.wikipedia.org/wiki/ISO_8601) period to Clock instances. Could be used for further\
+ * functionalities like checking is the period a whole month or matching the excepted duration. Since there is no time \
+ * zone be represented in the <b>Years</b>, <b>Week dates</b>, <b>Ordinal dates</b> expresses, so we supports \
+ * <b>Calendar dates</b> and <b>Durations</b> with <b>Time intervals</b> only.
+ */
+public class Period {
+    private static final TimeZone DEFAULT_TIME_ZONE = TimeZone.getTimeZone("UTC");
+    private static final int MAX_CACHED_PERIODS = 1024;
+    /**
+     * Parsed periods by their strings, {@link #parse(String)} returns mutable copies of them.
+     */
+    private static final Cache<String, ImmutablePeriod> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_PERIODS)
+            .build();
+
+    @Nullable
+    private Clock start;
+    @Nullable
+    private Clock end;
+    @Nullable
+    private Clock exacted;
+    private final String period;
+
+    /**
+     * Private constructor, initial the instance with start, end, and exacted Clock.
+     *
+     * @param start   start clock
+     * @param end     end clock
+     * @param exacted exacted clock
+     * @param period  raw period string
+     */
+    Period(@Nullable Clock start, @Nullable Clock end, @Nullable Clock exacted, String period) {
+        this.start = start;
+        this.end = end;
+        this.exacted = exacted;
+        this.period = period;
+    }
+
+    /**
+     * Create an instance by a period string. Parsed periods are cached, so repeated strings are not parsed again.
+     *
+     * @param period period string, we support the following formats currently:
+     *               1. exacted
+     *               2. start/end
+     *               3. start/duration
+     * @return Period instance
+     * @throws ParseException Parse Exception will be thrown if the period is invalid
+     */
+    public static Period parse(String period) throws ParseException {
+        // Clock is immutable, sharing them is safe while the Period itself stays private to the caller
+        return parseImmutable(period).toPeriod();
+    }
+
+    /**
+     * Get the shared immutable period of a period string, see {@link ImmutablePeriod#parse(String)}.
+     */
+    static ImmutablePeriod parseImmutable(String period) throws ParseException {
+        @Var ImmutablePeriod cached = CACHE.getIfPresent(period);
+        if (cached == null) {
+            cached = ImmutablePeriod.copyOf(PeriodParser.parse(period));
+            CACHE.put(period, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * Get the start clock.
+     *
+     * @return Start clock
+     */
+    @Nullable
+    public Clock getStart() {
+        return start;
+    }
+
+    /**
+     * Set the start clock.
+     *
+     * @param start Start clock.
+     * @return Current instance
+     */
+    public Period setStart(Clock start) {
+        this.start = start;
+        return this;
+    }
+
+    /**
+     * Get the end clock.
+     *
+     * @return End clock
+     */
+    @Nullable
+    public Clock getEnd() {
+        return end;
+    }
+
+    /**
+     * Set the end clock.
+     *
+     * @param end End clock
+     * @return Current instance
+     */
+    public Period setEnd(Clock end) {
+        this.end = end;
+        return this;
+    }
+
+    /**
+     * Get the exacted clock.
+     *
+     * @return Exacted clock
+     */
+    @Nullable
+    public Clock getExacted() {
+        return exacted;
+    }
+
+    /**
+     * Set the exacted clock.
+     *
+     * @param exacted Exacted clock
+     * @return Current instance
+     */
+    public Period setExacted(Clock exacted) {
+        this.exacted = exacted;
+        return this;
+    }
+
+    /**
+     * Check is the period start at the first and end at the last <b>date</b> of the month.
+     *
+     * @param timeZone time zone
+     * @return Boolean of the result
+     */
+    public boolean isWholeMonth(TimeZone timeZone) {
+        return wholeMonth(getStart(), getEnd(), timeZone);
+    }
+
+    /**
+     * Check is the period of the clocks a whole month, for {@link ImmutablePeriod} as well.
+     */
+    static boolean wholeMonth(Clock start, Clock end, TimeZone timeZone) {
+        long s = CivilTime.fromEpochDay(ClockMath.epochDay(start.toEpochMilli(), timeZone));
+        long e = CivilTime.fromEpochDay(ClockMath.epochDay(end.toEpochMilli(), timeZone));
+        return CivilTime.day(s) == 1
+                && CivilTime.year(e) == CivilTime.year(s)
+                && CivilTime.month(e) == CivilTime.month(s)
+                && CivilTime.day(e) == CivilTime.lengthOfMonth(CivilTime.year(s), CivilTime.month(s));
+    }
+
+    /**
+     * Check is the period match the given time unit.
+     *
+     * @param timeUnit TimeUnit
+     * @param duration duration
+     * @return Boolean of the result
+     */
+    public boolean isTalliedWithDuration(TimeUnit timeUnit, long duration) {
+        return talliedWithDuration(getStart(), getEnd(), timeUnit, duration);
+    }
+
+    /**
+     * Check is the period of the clocks match the given time unit, for {@link ImmutablePeriod} as well.
+     */
+    static boolean talliedWithDuration(Clock start, Clock end, TimeUnit timeUnit, long duration) {
+        if (!ObjectUtils.allNotNull(start, end)) {
+            return false;
+        }
+        return (timeUnit.toMillis(duration) == end.toEpochMilli() - start.toEpochMilli());
+    }
+
+    /**
+     * Get the duration of the period.
+     * If the start/end time are not in a pair, or just set the exact time, return 0.
+     *
+     * @param timeUnit the time unit of ther duration
+     * @return the duration time
+     */
+    public long getDuration(TimeUnit timeUnit) {
+        return durationOf(getStart(), getEnd(), timeUnit);
+    }
+
+    /**
+     * Get the duration of the period of the clocks, for {@link ImmutablePeriod} as well.
+     */
+    static long durationOf(Clock start, Clock end, TimeUnit timeUnit) {
+        if (!ObjectUtils.allNotNull(start, end)) {
+            return 0;
+        }
+        return timeUnit.convert(end.toEpochMilli() - start.toEpochMilli(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Split the period into buckets of the unit in UTC.
+     *
+     * @param unit   unit of the buckets
+     * @param amount count of units in a bucket
+     * @return the buckets
+     */
+    public PeriodBuckets buckets(PeriodBuckets.Unit unit, int amount) {
+        return buckets(unit, amount, DEFAULT_TIME_ZONE);
+    }
+
+    /**
+     * Split the period into buckets of the unit, see {@link PeriodBuckets} for how the buckets are aligned.
+     *
+     * @param unit     unit of the buckets
+     * @param amount   count of units in a bucket
+     * @param timeZone time zone
+     * @return the buckets
+     */
+    public PeriodBuckets buckets(PeriodBuckets.Unit unit, int amount, TimeZone timeZone) {
+        return PeriodBuckets.of(this, unit, amount, timeZone);
+    }
+
+    /**
+     * Get the raw period string.
+     *
+     * @return String of the raw period
+     */
+    @Override
+    public String toString() {
+        return period;
+    }
+}
@@ -0,0 +1,406 @@
+package com.github.longhorn.fastball.time;
+
+import com.google.errorprone.annotations.Var;
+
+import javax.annotation.Nullable;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Consecutive buckets of a unit which cover a period, for rolling up the events of the period by hours, days, months \
+ * and so on. The period is the half-open interval {@code [start, end)}, or {@code [exacted, exacted + 1)} for an \
+ * exacted period. The first bucket starts at the start of the unit which contains the start of the period, and every \
+ * bucket spans {@code amount} units, so the first and the last buckets could be larger than their part of the period.
+ * <ul>
+ * <li>The fixed units are exact elapsed times, aligned to the local time of the start of the period.</li>
+ * <li>The calendar units start at the local midnight, the ISO week starts on Monday. If the midnight is skipped by a \
+ * daylight saving transition, the bucket starts at the end of the gap.</li>
+ * </ul>
+ * The buckets are computed on demand from their indexes, nothing is allocated per bucket.
+ */
+public final class PeriodBuckets {
+    private final Unit unit;
+    private final TimeZone timeZone;
+    private final long start;
+    private final long end;
+    /**
+     * The first bucket, in epoch milliseconds, epoch days or months since year 0 of the unit.
+     */
+    private final long origin;
+    /**
+     * The length of a bucket, in milliseconds, days or months of the unit.
+     */
+    private final long step;
+    private final int size;
+
+    /**
+     * Units of the buckets.
+     */
+    public enum Unit {
+        /**
+         * Milliseconds, a fixed unit.
+         */
+        MILLISECONDS(TimeUnit.MILLISECONDS),
+        /**
+         * Seconds, a fixed unit.
+         */
+        SECONDS(TimeUnit.SECONDS),
+        /**
+         * Minutes, a fixed unit.
+         */
+        MINUTES(TimeUnit.MINUTES),
+        /**
+         * Hours, a fixed unit, which are 60 minutes of elapsed time even across a daylight saving transition.
+         */
+        HOURS(TimeUnit.HOURS),
+        /**
+         * Calendar days, from the local midnight to the next one.
+         */
+        DAYS(null),
+        /**
+         * ISO weeks, from the local midnight of Monday.
+         */
+        WEEKS(null),
+        /**
+         * Calendar months, from the local midnight of the first day of the month.
+         */
+        MONTHS(null),
+        /**
+         * Calendar years, from the local midnight of January 1.
+         */
+        YEARS(null);
+
+        @Nullable
+        private final TimeUnit timeUnit;
+
+        Unit(@Nullable TimeUnit timeUnit) {
+            this.timeUnit = timeUnit;
+        }
+
+        /**
+         * Check is the unit an exact elapsed time.
+         *
+         * @return Boolean of the result
+         */
+        public boolean isFixed() {
+            return timeUnit != null;
+        }
+    }
+
+    private PeriodBuckets(long start, long end, Unit unit, int amount, TimeZone timeZone) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Invalid amount: " + amount);
+        }
+        this.unit = unit;
+        this.timeZone = timeZone;
+        this.start = start;
+        this.end = end;
+        switch (unit) {
+            case DAYS:
+                this.origin = ClockMath.epochDay(start, timeZone);
+                this.step = amount;
+                break;
+            case WEEKS:
+                long epochDay = ClockMath.epochDay(start, timeZone);
+                this.origin = epochDay - CivilTime.dayOfWeek(epochDay) + 1;
+                this.step = 7L * amount;
+                break;
+            case MONTHS:
+                this.origin = monthOf(start, timeZone);
+                this.step = amount;
+                break;
+            case YEARS:
+                this.origin = monthOf(start, timeZone) - Math.floorMod(monthOf(start, timeZone), 12);
+                this.step = 12L * amount;
+                break;
+            default:
+                this.origin = ClockMath.truncateTo(start, unit.timeUnit, timeZone);
+                this.step = Math.multiplyExact(unit.timeUnit.toMillis(1), amount);
+                break;
+        }
+        long count = bucketOf(end - 1) + 1;
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many buckets: " + count);
+        }
+        this.size = (int) count;
+    }
+
+    /**
+     * Create the buckets of the period.
+     *
+     * @param period   period, which should have a start and an end, or an exacted clock
+     * @param unit     unit of the buckets
+     * @param amount   count of units in a bucket
+     * @param timeZone time zone of the calendar units and the alignment
+     * @return the buckets
+     * @throws IllegalArgumentException if the period has neither a start and an end nor an exacted clock, it is \
+     *                                  empty, or the amount is not positive
+     */
+    static PeriodBuckets of(Period period, Unit unit, int amount, TimeZone timeZone) {
+        Clock startClock = period.getStart();
+        Clock endClock = period.getEnd();
+        Clock exacted = period.getExacted();
+        if (startClock != null && endClock != null) {
+            if (endClock.toEpochMilli() <= startClock.toEpochMilli()) {
+                throw new IllegalArgumentException("The period is empty: " + period);
+            }
+            return new PeriodBuckets(startClock.toEpochMilli(), endClock.toEpochMilli(), unit, amount, timeZone);
+        }
+        if (exacted == null || exacted.toEpochMilli() == Long.MAX_VALUE) {
+            throw new IllegalArgumentException("The period has no start and end, nor exacted: " + period);
+        }
+        return new PeriodBuckets(exacted.toEpochMilli(), exacted.toEpochMilli() + 1, unit, amount, timeZone);
+    }
+
+    private static long monthOf(long epochMilli, TimeZone timeZone) {
+        long date = CivilTime.fromEpochDay(ClockMath.epochDay(epochMilli, timeZone));
+        return CivilTime.year(date) * 12 + CivilTime.month(date) - 1;
+    }
+
+    /**
+     * Get the bucket of the instant relative to the first bucket, which could be out of the period.
+     */
+    private long bucketOf(long epochMilli) {
+        switch (unit) {
+            case DAYS:
+            case WEEKS:
+                return Math.floorDiv(ClockMath.epochDay(epochMilli, timeZone) - origin, step);
+            case MONTHS:
+            case YEARS:
+                return Math.floorDiv(monthOf(epochMilli, timeZone) - origin, step);
+            default:
+                return Math.floorDiv(epochMilli - origin, step);
+        }
+    }
+
+    /**
+     * Get the start of the bucket relative to the first bucket, which could be out of the period.
+     */
+    private long boundaryOf(long bucket) {
+        switch (unit) {
+            case DAYS:
+            case WEEKS:
+                return ZoneOffsets.localToEpochMilli(timeZone, (origin + bucket * step) * CivilTime.MILLIS_PER_DAY);
+            case MONTHS:
+            case YEARS:
+                long month = origin + bucket * step;
+                long epochDay = CivilTime.toEpochDay(Math.floorDiv(month, 12), (int) Math.floorMod(month, 12) + 1, 1);
+                return ZoneOffsets.localToEpochMilli(timeZone, epochDay * CivilTime.MILLIS_PER_DAY);
+            default:
+                return origin + bucket * step;
+        }
+    }
+
+    /**
+     * Get the count of buckets.
+     *
+     * @return the count of buckets
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the unit of the buckets.
+     *
+     * @return the unit
+     */
+    public Unit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Get the start of the bucket.
+     *
+     * @param index index of the bucket
+     * @return epoch milliseconds of the start, inclusive
+     */
+    public long startOf(int index) {
+        checkIndex(index);
+        return boundaryOf(index);
+    }
+
+    /**
+     * Get the end of the bucket, which is the start of the next bucket.
+     *
+     * @param index index of the bucket
+     * @return epoch milliseconds of the end, exclusive
+     */
+    public long endOf(int index) {
+        checkIndex(index);
+        return boundaryOf(index + 1L);
+    }
+
+    /**
+     * Get the index of the bucket which contains the instant.
+     *
+     * @param epochMilli epoch milliseconds
+     * @return the index, or -1 if the instant is out of the period
+     */
+    public int indexOf(long epochMilli) {
+        if (epochMilli < start || epochMilli >= end) {
+            return -1;
+        }
+        return (int) bucketOf(epochMilli);
+    }
+
+    /**
+     * Get the indexes of the buckets which contain the instants.
+     *
+     * @param epochMillis epoch milliseconds
+     * @return the indexes, -1 for the instants out of the period
+     */
+    public int[] indexesOf(long[] epochMillis) {
+        int[] indexes = new int[epochMillis.length];
+        indexesOf(epochMillis, 0, epochMillis.length, indexes, 0);
+        return indexes;
+    }
+
+    /**
+     * Put the indexes of the buckets which contain the instants to the array, -1 for the instants out of the period. \
+     * The instants in the same bucket as the previous one are checked by two comparisons, so the sorted or clustered \
+     * instants are mapped without any time zone lookup.
+     *
+     * @param epochMillis epoch milliseconds
+     * @param from        index of the first instant, inclusive
+     * @param to          index of the last instant, exclusive
+     * @param indexes     the array of the indexes
+     * @param offset      index in the array of the indexes for the first instant
+     */
+    public void indexesOf(long[] epochMillis, int from, int to, int[] indexes, int offset) {
+        if (from < 0 || to > epochMillis.length || from > to || offset < 0 || offset + to - from > indexes.length) {
+            throw new IndexOutOfBoundsException("Invalid range: [" + from + ", " + to + ") at " + offset);
+        }
+        @Var long low = 0;
+        @Var long high = 0;
+        @Var int last = -1;
+        for (int i = from; i < to; i++) {
+            long epochMilli = epochMillis[i];
+            if (epochMilli < low || epochMilli >= high) {
+                last = indexOf(epochMilli);
+                if (last >= 0) {
+                    low = Math.max(start, boundaryOf(last));
+                    high = Math.min(end, boundaryOf(last + 1L));
+                } else {
+                    low = 0;
+                    high = 0;
+                }
+            }
+            indexes[offset + i - from] = last;
+        }
+    }
+
+    /**
+     * Get an iterator of the starts of the buckets.
+     *
+     * @return iterator of epoch milliseconds
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public long nextLong() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return boundaryOf(index++);
+            }
+        };
+    }
+
+    /**
+     * Get a spliterator of the starts of the buckets, which splits the buckets in halves for parallel streams and \
+     * fork/join tasks.
+     *
+     * @return spliterator of epoch milliseconds
+     */
+    public Spliterator.OfLong spliterator() {
+        return new BucketSpliterator(0, size);
+    }
+
+    /**
+     * Get a sequential stream of the starts of the buckets, call {@link LongStream#parallel()} for a parallel one.
+     *
+     * @return stream of epoch milliseconds
+     */
+    public LongStream starts() {
+        return StreamSupport.longStream(spliterator(), /* parallel= */ false);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Spliterator of the starts of the buckets in {@code [from, to)}.
+     */
+    private final class BucketSpliterator implements Spliterator.OfLong {
+        private int from;
+        private final int to;
+
+        private BucketSpliterator(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Nullable
+        @Override
+        public Spliterator.OfLong trySplit() {
+            int middle = (from + to) >>> 1;
+            if (middle <= from) {
+                return null;
+            }
+            BucketSpliterator prefix = new BucketSpliterator(from, middle);
+            from = middle;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(boundaryOf(from++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            for (int i = from; i < to; i++) {
+                action.accept(boundaryOf(i));
+            }
+            from = to;
+        }
+
+        @Override
+        public long estimateSize() {
+            return (long) to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | DISTINCT | SORTED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+
+        @Nullable
+        @Override
+        public Comparator<? super Long> getComparator() {
+            return null;
+        }
+    }
+}
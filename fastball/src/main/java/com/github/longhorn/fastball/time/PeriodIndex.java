@@ -0,0 +1,292 @@
+package com.github.longhorn.fastball.time;
+
+import com.google.errorprone.annotations.Var;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Immutable interval index of periods, for asking which of many periods contain an instant without scanning all of \
+ * them. A period is the closed interval {@code [start, end]} of its epoch milliseconds, and a period with only the \
+ * exacted clock is the point {@code [exacted, exacted]}. The endpoints are read once when the index is built, so \
+ * changing a period afterwards does not move it in the index.
+ * <p>
+ * The periods are kept sorted by their start in primitive arrays, with a segment tree of the maximum and minimum end \
+ * of each range of them. A query binary searches the candidate range of starts, and only descends into the subtrees \
+ * which have a matching end, so it costs {@code O(log n)} plus {@code O(log n)} at most for each reported period. The \
+ * results are in ascending order of the start. See {@link UpdatablePeriodIndex} for adding and removing periods.
+ */
+public final class PeriodIndex {
+    static final PeriodIndex EMPTY = new PeriodIndex(new long[0], new long[0], new Period[0]);
+
+    private final long[] starts;
+    private final long[] ends;
+    private final Period[] periods;
+    /**
+     * The segment trees, the root is at 1 and the leaves of the periods start at {@code leaves}.
+     */
+    private final long[] maxEnds;
+    private final long[] minEnds;
+    private final int leaves;
+
+    /**
+     * Create the index of the periods which are already sorted by their start and then their end.
+     */
+    private PeriodIndex(long[] starts, long[] ends, Period[] periods) {
+        this.starts = starts;
+        this.ends = ends;
+        this.periods = periods;
+        this.leaves = Math.max(1, Integer.highestOneBit(Math.max(1, periods.length - 1)) << 1);
+        this.maxEnds = new long[leaves * 2];
+        this.minEnds = new long[leaves * 2];
+        Arrays.fill(maxEnds, Long.MIN_VALUE);
+        Arrays.fill(minEnds, Long.MAX_VALUE);
+        System.arraycopy(ends, 0, maxEnds, leaves, ends.length);
+        System.arraycopy(ends, 0, minEnds, leaves, ends.length);
+        for (int node = leaves - 1; node > 0; node--) {
+            maxEnds[node] = Math.max(maxEnds[node * 2], maxEnds[node * 2 + 1]);
+            minEnds[node] = Math.min(minEnds[node * 2], minEnds[node * 2 + 1]);
+        }
+    }
+
+    /**
+     * Create the index of the periods.
+     *
+     * @param periods periods, each of them should have a start and an end, or an exacted clock
+     * @return the index
+     * @throws IllegalArgumentException if a period has neither a start and an end nor an exacted clock, or its end is \
+     *                                  before its start
+     */
+    public static PeriodIndex of(Iterable<Period> periods) {
+        List<Period> list = new ArrayList<>();
+        periods.forEach(list::add);
+        if (list.isEmpty()) {
+            return EMPTY;
+        }
+        long[][] bounds = new long[list.size()][];
+        Integer[] order = new Integer[list.size()];
+        for (int i = 0; i < order.length; i++) {
+            bounds[i] = boundsOf(list.get(i));
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingLong(i -> bounds[i][0]).thenComparingLong(i -> bounds[i][1]));
+        long[] starts = new long[order.length];
+        long[] ends = new long[order.length];
+        Period[] sorted = new Period[order.length];
+        for (int i = 0; i < order.length; i++) {
+            starts[i] = bounds[order[i]][0];
+            ends[i] = bounds[order[i]][1];
+            sorted[i] = list.get(order[i]);
+        }
+        return new PeriodIndex(starts, ends, sorted);
+    }
+
+    /**
+     * Get the start and the end of the period in epoch milliseconds.
+     */
+    static long[] boundsOf(Period period) {
+        Clock start = period.getStart();
+        Clock end = period.getEnd();
+        Clock exacted = period.getExacted();
+        @Var long[] bounds = null;
+        if (start != null && end != null) {
+            bounds = new long[]{start.toEpochMilli(), end.toEpochMilli()};
+        } else if (exacted != null) {
+            bounds = new long[]{exacted.toEpochMilli(), exacted.toEpochMilli()};
+        }
+        if (bounds == null) {
+            throw new IllegalArgumentException("The period has no start and end, nor exacted: " + period);
+        }
+        if (bounds[1] < bounds[0]) {
+            throw new IllegalArgumentException("The period ends before it starts: " + period);
+        }
+        return bounds;
+    }
+
+    /**
+     * Merge the periods of two indexes, leaving out the periods which match the filter, without sorting them again.
+     */
+    static PeriodIndex merge(PeriodIndex a, PeriodIndex b, Predicate<Period> removed) {
+        int length = a.size() + b.size();
+        long[] starts = new long[length];
+        long[] ends = new long[length];
+        Period[] periods = new Period[length];
+        @Var int i = 0;
+        @Var int j = 0;
+        @Var int size = 0;
+        while (i < a.size() || j < b.size()) {
+            boolean fromA = j == b.size() || (i < a.size()
+                    && (a.starts[i] < b.starts[j] || (a.starts[i] == b.starts[j] && a.ends[i] <= b.ends[j])));
+            PeriodIndex source = fromA ? a : b;
+            int index = fromA ? i++ : j++;
+            if (!removed.test(source.periods[index])) {
+                starts[size] = source.starts[index];
+                ends[size] = source.ends[index];
+                periods[size] = source.periods[index];
+                size++;
+            }
+        }
+        if (size == 0) {
+            return EMPTY;
+        }
+        return new PeriodIndex(Arrays.copyOf(starts, size), Arrays.copyOf(ends, size), Arrays.copyOf(periods, size));
+    }
+
+    /**
+     * Get the count of periods.
+     *
+     * @return the count of periods
+     */
+    public int size() {
+        return periods.length;
+    }
+
+    /**
+     * Get the periods which contain the instant, {@code start <= epochMilli <= end}.
+     *
+     * @param epochMilli epoch milliseconds
+     * @return the periods
+     */
+    public List<Period> containing(long epochMilli) {
+        List<Period> result = new ArrayList<>();
+        forEachContaining(epochMilli, result::add);
+        return result;
+    }
+
+    /**
+     * Visit the periods which contain the instant, {@code start <= epochMilli <= end}.
+     *
+     * @param epochMilli epoch milliseconds
+     * @param action     action on each period
+     */
+    public void forEachContaining(long epochMilli, Consumer<Period> action) {
+        forEachEnclosing(epochMilli, epochMilli, action);
+    }
+
+    /**
+     * Get the periods which overlap the range, {@code start <= to && from <= end}.
+     *
+     * @param from epoch milliseconds, inclusive
+     * @param to   epoch milliseconds, inclusive
+     * @return the periods
+     */
+    public List<Period> overlapping(long from, long to) {
+        List<Period> result = new ArrayList<>();
+        forEachOverlapping(from, to, result::add);
+        return result;
+    }
+
+    /**
+     * Visit the periods which overlap the range, {@code start <= to && from <= end}.
+     *
+     * @param from   epoch milliseconds, inclusive
+     * @param to     epoch milliseconds, inclusive
+     * @param action action on each period
+     */
+    public void forEachOverlapping(long from, long to, Consumer<Period> action) {
+        checkRange(from, to);
+        search(1, 0, leaves, 0, upperBound(to), /* byMaxEnd= */ true, from, action);
+    }
+
+    /**
+     * Get the periods which contain the whole range, {@code start <= from && to <= end}.
+     *
+     * @param from epoch milliseconds, inclusive
+     * @param to   epoch milliseconds, inclusive
+     * @return the periods
+     */
+    public List<Period> enclosing(long from, long to) {
+        List<Period> result = new ArrayList<>();
+        forEachEnclosing(from, to, result::add);
+        return result;
+    }
+
+    /**
+     * Visit the periods which contain the whole range, {@code start <= from && to <= end}.
+     *
+     * @param from   epoch milliseconds, inclusive
+     * @param to     epoch milliseconds, inclusive
+     * @param action action on each period
+     */
+    public void forEachEnclosing(long from, long to, Consumer<Period> action) {
+        checkRange(from, to);
+        search(1, 0, leaves, 0, upperBound(from), /* byMaxEnd= */ true, to, action);
+    }
+
+    /**
+     * Get the periods which are inside of the range, {@code from <= start && end <= to}.
+     *
+     * @param from epoch milliseconds, inclusive
+     * @param to   epoch milliseconds, inclusive
+     * @return the periods
+     */
+    public List<Period> within(long from, long to) {
+        List<Period> result = new ArrayList<>();
+        forEachWithin(from, to, result::add);
+        return result;
+    }
+
+    /**
+     * Visit the periods which are inside of the range, {@code from <= start && end <= to}.
+     *
+     * @param from   epoch milliseconds, inclusive
+     * @param to     epoch milliseconds, inclusive
+     * @param action action on each period
+     */
+    public void forEachWithin(long from, long to, Consumer<Period> action) {
+        checkRange(from, to);
+        search(1, 0, leaves, lowerBound(from), upperBound(to), /* byMaxEnd= */ false, to, action);
+    }
+
+    /**
+     * Report the periods of the node in {@code [low, high)} with {@code end >= bound} if {@code byMaxEnd}, or else \
+     * with {@code end <= bound}.
+     */
+    private void search(int node, int nodeLow, int nodeHigh, int low, int high, boolean byMaxEnd, long bound,
+                        Consumer<Period> action) {
+        if (nodeHigh <= low || high <= nodeLow || (byMaxEnd ? maxEnds[node] < bound : minEnds[node] > bound)) {
+            return;
+        }
+        if (node >= leaves) {
+            action.accept(periods[node - leaves]);
+            return;
+        }
+        int middle = (nodeLow + nodeHigh) >>> 1;
+        search(node * 2, nodeLow, middle, low, high, byMaxEnd, bound, action);
+        search(node * 2 + 1, middle, nodeHigh, low, high, byMaxEnd, bound, action);
+    }
+
+    /**
+     * Get the index of the first period which starts at or after the instant.
+     */
+    private int lowerBound(long epochMilli) {
+        @Var int low = 0;
+        @Var int high = starts.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (starts[middle] < epochMilli) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Get the index of the first period which starts after the instant.
+     */
+    private int upperBound(long epochMilli) {
+        return epochMilli == Long.MAX_VALUE ? starts.length : lowerBound(epochMilli + 1);
+    }
+
+    static void checkRange(long from, long to) {
+        if (to < from) {
+            throw new IllegalArgumentException("Invalid range: " + from + " > " + to);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.github.longhorn.fastball.time;
+
+import com.google.errorprone.annotations.Var;
+
+import java.text.ParseException;
+
+/**
+ * Single pass parser of the period strings of {@link Period#parse(String)}, without regular expressions or \
+ * intermediate strings. A period is {@code start}, {@code start/end} or {@code start/duration}, where
+ * <ul>
+ * <li>start and end are {@code yyyy-MM-dd} or {@code yyyy-MM-ddTHH:mm:ss[.S{1,3}]} followed by {@code Z} or \
+ * {@code +HH:mm}, the fraction of second is ignored</li>
+ * <li>duration is an ISO-8601 duration, see {@link CalendarDuration#parse(CharSequence)}, which is added to the \
+ * start in the offset of the start</li>
+ * </ul>
+ */
+final class PeriodParser {
+    private static final int MAX_OFFSET_MINUTES = 18 * 60;
+
+    private PeriodParser() {
+    }
+
+    /**
+     * Parse the period string.
+     *
+     * @param period period string
+     * @return Period instance
+     * @throws ParseException           if a date-time or duration in the period is invalid
+     * @throws IllegalArgumentException if the period is not one of the supported forms
+     */
+    static Period parse(String period) throws ParseException {
+        int length = period.length();
+        int slash = period.indexOf('/');
+        int startEnd = slash < 0 ? length : slash;
+        if (!isCalendarLike(period, 0, startEnd) || (slash >= 0 && !isEndLike(period, slash + 1, length))) {
+            throw new IllegalArgumentException("Invalid period");
+        }
+        long start = calendar(period, 0, startEnd);
+        if (slash < 0) {
+            return new Period(null, null, Clock.fromEpochMilli(start), period);
+        }
+        long end = period.charAt(slash + 1) == 'P'
+                ? CalendarDuration.parse(period, slash + 1, length)
+                        .addAtOffset(start, offsetMillis(period, 0, startEnd))
+                : calendar(period, slash + 1, length);
+        return new Period(Clock.fromEpochMilli(start), Clock.fromEpochMilli(end), null, period);
+    }
+
+    /**
+     * Check {@code \d{4}-[\w-:+.]*} between the indexes.
+     */
+    private static boolean isCalendarLike(String s, int from, int to) {
+        if (to - from < 5 || s.charAt(from + 4) != '-') {
+            return false;
+        }
+        for (int i = from; i < from + 4; i++) {
+            if (!isDigit(s.charAt(i))) {
+                return false;
+            }
+        }
+        for (int i = from + 5; i < to; i++) {
+            char c = s.charAt(i);
+            if (!isWord(c) && c != '-' && c != ':' && c != '+' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check a calendar-like string or {@code P[\dT][\w.,+-]*} between the indexes.
+     */
+    private static boolean isEndLike(String s, int from, int to) {
+        if (to - from < 2 || s.charAt(from) != 'P') {
+            return isCalendarLike(s, from, to);
+        }
+        if (!isDigit(s.charAt(from + 1)) && s.charAt(from + 1) != 'T') {
+            return false;
+        }
+        for (int i = from + 2; i < to; i++) {
+            char c = s.charAt(i);
+            if (!isWord(c) && c != '.' && c != ',' && c != '+' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parse {@code yyyy-MM-dd[THH:mm:ss[.S{1,3}](Z|+HH:mm)]} between the indexes to epoch milliseconds.
+     */
+    private static long calendar(String s, int from, int to) throws ParseException {
+        int year = digits(s, from, 4);
+        expect(s, from + 4, '-');
+        int month = digits(s, from + 5, 2);
+        expect(s, from + 7, '-');
+        int day = digits(s, from + 8, 2);
+        if (month < 1 || month > 12) {
+            throw error(s, "invalid month", from + 5);
+        }
+        if (day < 1 || day > CivilTime.lengthOfMonth(year, month)) {
+            throw error(s, "invalid day of month", from + 8);
+        }
+        long epochDay = CivilTime.toEpochDay(year, month, day);
+        if (to - from == 10) {
+            return epochDay * CivilTime.MILLIS_PER_DAY;
+        }
+        expect(s, from + 10, 'T');
+        int hour = digits(s, from + 11, 2);
+        expect(s, from + 13, ':');
+        int minute = digits(s, from + 14, 2);
+        expect(s, from + 16, ':');
+        int second = digits(s, from + 17, 2);
+        if (hour > 23 || minute > 59 || second > 59) {
+            throw error(s, "invalid time", from + 11);
+        }
+        @Var int index = from + 19;
+        if (index < to && s.charAt(index) == '.') {
+            int fractionStart = ++index;
+            while (index < to && index - fractionStart < 3 && isDigit(s.charAt(index))) {
+                index++;
+            }
+            if (index == fractionStart) {
+                throw error(s, "digit expected", index);
+            }
+        }
+        int offsetMinutes = offsetMinutes(s, index, to);
+        return epochDay * CivilTime.MILLIS_PER_DAY
+                + (long) hour * CivilTime.MILLIS_PER_HOUR
+                + (long) (minute - offsetMinutes) * CivilTime.MILLIS_PER_MINUTE
+                + (long) second * CivilTime.MILLIS_PER_SECOND;
+    }
+
+    /**
+     * Parse {@code Z} or {@code +HH:mm} between the indexes.
+     */
+    private static int offsetMinutes(String s, int from, int to) throws ParseException {
+        if (from < to && s.charAt(from) == 'Z' && to - from == 1) {
+            return 0;
+        }
+        if (to - from != 6 || (s.charAt(from) != '+' && s.charAt(from) != '-')) {
+            throw error(s, "invalid offset", from);
+        }
+        int hours = digits(s, from + 1, 2);
+        expect(s, from + 3, ':');
+        int minutes = digits(s, from + 4, 2);
+        int total = hours * 60 + minutes;
+        if (minutes > 59 || total > MAX_OFFSET_MINUTES) {
+            throw error(s, "invalid offset", from);
+        }
+        return s.charAt(from) == '-' ? -total : total;
+    }
+
+    /**
+     * Get the offset of a date-time which has been parsed by {@link #calendar(String, int, int)}.
+     */
+    private static int offsetMillis(String s, int from, int to) {
+        if (to - from == 10 || s.charAt(to - 1) == 'Z') {
+            return 0;
+        }
+        int minutes = ((s.charAt(to - 5) - '0') * 10 + s.charAt(to - 4) - '0') * 60
+                + (s.charAt(to - 2) - '0') * 10 + s.charAt(to - 1) - '0';
+        return (s.charAt(to - 6) == '-' ? -minutes : minutes) * CivilTime.MILLIS_PER_MINUTE;
+    }
+
+    private static int digits(String s, int from, int count) throws ParseException {
+        @Var int value = 0;
+        for (int i = from; i < from + count; i++) {
+            if (i >= s.length() || !isDigit(s.charAt(i))) {
+                throw error(s, "digit expected", i);
+            }
+            value = value * 10 + s.charAt(i) - '0';
+        }
+        return value;
+    }
+
+    private static void expect(String s, int index, char expected) throws ParseException {
+        if (index >= s.length() || s.charAt(index) != expected) {
+            throw error(s, "'" + expected + "' expected", index);
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWord(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+    }
+
+    private static ParseException error(String s, String reason, int index) {
+        return new ParseException(String.format("Unparseable period \"%s\": %s at index %d", s, reason, index), index);
+    }
+}
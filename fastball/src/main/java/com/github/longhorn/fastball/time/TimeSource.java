@@ -0,0 +1,23 @@
+package com.github.longhorn.fastball.time;
+
+/**
+ * Source of the current time of {@link Clock#fromNow()}, see {@link Clock#setTimeSource(TimeSource)}.
+ */
+@FunctionalInterface
+public interface TimeSource {
+    /**
+     * Get the current epoch milliseconds.
+     *
+     * @return epoch milliseconds
+     */
+    long currentTimeMillis();
+
+    /**
+     * Get the time source of {@link System#currentTimeMillis()}.
+     *
+     * @return the system time source
+     */
+    static TimeSource system() {
+        return System::currentTimeMillis;
+    }
+}
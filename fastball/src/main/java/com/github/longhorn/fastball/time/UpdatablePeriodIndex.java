@@ -0,0 +1,258 @@
+package com.github.longhorn.fastball.time;
+
+import com.google.errorprone.annotations.Var;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Interval index of periods, like {@link PeriodIndex}, to which periods could be added and from which they could be \
+ * removed. The periods are kept in immutable indexes of at most 1, 2, 4, ... periods, an added period merges the full \
+ * ones into the next empty one, so adding costs {@code O(log n)} amortized and a query asks {@code O(log n)} indexes. \
+ * A removed period is skipped by the queries until the indexes are merged, or until more than half of the kept \
+ * periods have been removed. The periods are identified by reference, and the results are in no particular order. \
+ * Not thread-safe, see {@link #snapshot()} for sharing the periods with the other threads.
+ */
+public final class UpdatablePeriodIndex {
+    private final List<PeriodIndex> levels = new ArrayList<>();
+    private final Set<Period> members = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Period> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private UpdatablePeriodIndex() {
+    }
+
+    /**
+     * Create an empty index.
+     *
+     * @return the index
+     */
+    public static UpdatablePeriodIndex create() {
+        return new UpdatablePeriodIndex();
+    }
+
+    /**
+     * Get the count of periods.
+     *
+     * @return the count of periods
+     */
+    public int size() {
+        return members.size();
+    }
+
+    /**
+     * Add the period, its endpoints are read once here. To move a changed period, remove it and add it again.
+     *
+     * @param period period, which should have a start and an end, or an exacted clock
+     * @return false if the period is already in the index
+     * @throws IllegalArgumentException if the period has neither a start and an end nor an exacted clock, or its end \
+     *                                  is before its start
+     */
+    public boolean add(Period period) {
+        if (members.contains(period)) {
+            return false;
+        }
+        PeriodIndex single = PeriodIndex.of(Collections.singletonList(period));
+        if (removed.contains(period)) {
+            // the stale entry might have other endpoints
+            compact();
+        }
+        members.add(period);
+        @Var PeriodIndex carry = single;
+        for (int level = 0; ; level++) {
+            if (level == levels.size()) {
+                levels.add(carry);
+                break;
+            }
+            if (levels.get(level).size() == 0) {
+                levels.set(level, carry);
+                break;
+            }
+            carry = PeriodIndex.merge(levels.get(level), carry, removed::remove);
+            levels.set(level, PeriodIndex.EMPTY);
+        }
+        return true;
+    }
+
+    /**
+     * Add the periods.
+     *
+     * @param periods periods
+     * @return the index
+     */
+    public UpdatablePeriodIndex addAll(Iterable<Period> periods) {
+        periods.forEach(this::add);
+        return this;
+    }
+
+    /**
+     * Remove the period.
+     *
+     * @param period period
+     * @return false if the period is not in the index
+     */
+    public boolean remove(Period period) {
+        if (!members.remove(period)) {
+            return false;
+        }
+        removed.add(period);
+        if (removed.size() > members.size()) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Merge all of the periods into one index, leaving out the removed ones.
+     */
+    private void compact() {
+        PeriodIndex all = merged();
+        removed.clear();
+        levels.clear();
+        int level = 32 - Integer.numberOfLeadingZeros(Math.max(0, all.size() - 1));
+        for (int i = 0; i < level; i++) {
+            levels.add(PeriodIndex.EMPTY);
+        }
+        levels.add(all);
+    }
+
+    private PeriodIndex merged() {
+        @Var PeriodIndex all = PeriodIndex.EMPTY;
+        for (PeriodIndex index : levels) {
+            all = PeriodIndex.merge(all, index, removed::contains);
+        }
+        return all;
+    }
+
+    /**
+     * Get an immutable index of the current periods.
+     *
+     * @return the index
+     */
+    public PeriodIndex snapshot() {
+        return merged();
+    }
+
+    /**
+     * Get the periods which contain the instant, {@code start <= epochMilli <= end}.
+     *
+     * @param epochMilli epoch milliseconds
+     * @return the periods
+     */
+    public List<Period> containing(long epochMilli) {
+        List<Period> result = new ArrayList<>();
+        forEachContaining(epochMilli, result::add);
+        return result;
+    }
+
+    /**
+     * Visit the periods which contain the instant, {@code start <= epochMilli <= end}.
+     *
+     * @param epochMilli epoch milliseconds
+     * @param action     action on each period
+     */
+    public void forEachContaining(long epochMilli, Consumer<Period> action) {
+        Consumer<Period> kept = keptOnly(action);
+        for (PeriodIndex index : levels) {
+            index.forEachContaining(epochMilli, kept);
+        }
+    }
+
+    /**
+     * Get the periods which overlap the range, {@code start <= to && from <= end}.
+     *
+     * @param from epoch milliseconds, inclusive
+     * @param to   epoch milliseconds, inclusive
+     * @return the periods
+     */
+    public List<Period> overlapping(long from, long to) {
+        List<Period> result = new ArrayList<>();
+        forEachOverlapping(from, to, result::add);
+        return result;
+    }
+
+    /**
+     * Visit the periods which overlap the range, {@code start <= to && from <= end}.
+     *
+     * @param from   epoch milliseconds, inclusive
+     * @param to     epoch milliseconds, inclusive
+     * @param action action on each period
+     */
+    public void forEachOverlapping(long from, long to, Consumer<Period> action) {
+        PeriodIndex.checkRange(from, to);
+        Consumer<Period> kept = keptOnly(action);
+        for (PeriodIndex index : levels) {
+            index.forEachOverlapping(from, to, kept);
+        }
+    }
+
+    /**
+     * Get the periods which contain the whole range, {@code start <= from && to <= end}.
+     *
+     * @param from epoch milliseconds, inclusive
+     * @param to   epoch milliseconds, inclusive
+     * @return the periods
+     */
+    public List<Period> enclosing(long from, long to) {
+        List<Period> result = new ArrayList<>();
+        forEachEnclosing(from, to, result::add);
+        return result;
+    }
+
+    /**
+     * Visit the periods which contain the whole range, {@code start <= from && to <= end}.
+     *
+     * @param from   epoch milliseconds, inclusive
+     * @param to     epoch milliseconds, inclusive
+     * @param action action on each period
+     */
+    public void forEachEnclosing(long from, long to, Consumer<Period> action) {
+        PeriodIndex.checkRange(from, to);
+        Consumer<Period> kept = keptOnly(action);
+        for (PeriodIndex index : levels) {
+            index.forEachEnclosing(from, to, kept);
+        }
+    }
+
+    /**
+     * Get the periods which are inside of the range, {@code from <= start && end <= to}.
+     *
+     * @param from epoch milliseconds, inclusive
+     * @param to   epoch milliseconds, inclusive
+     * @return the periods
+     */
+    public List<Period> within(long from, long to) {
+        List<Period> result = new ArrayList<>();
+        forEachWithin(from, to, result::add);
+        return result;
+    }
+
+    /**
+     * Visit the periods which are inside of the range, {@code from <= start && end <= to}.
+     *
+     * @param from   epoch milliseconds, inclusive
+     * @param to     epoch milliseconds, inclusive
+     * @param action action on each period
+     */
+    public void forEachWithin(long from, long to, Consumer<Period> action) {
+        PeriodIndex.checkRange(from, to);
+        Consumer<Period> kept = keptOnly(action);
+        for (PeriodIndex index : levels) {
+            index.forEachWithin(from, to, kept);
+        }
+    }
+
+    private Consumer<Period> keptOnly(Consumer<Period> action) {
+        if (removed.isEmpty()) {
+            return action;
+        }
+        return period -> {
+            if (!removed.contains(period)) {
+                action.accept(period);
+            }
+        };
+    }
+}
@@ -0,0 +1,231 @@
+package com.github.longhorn.fastball.time;
+
+import com.google.errorprone.annotations.Var;
+
+import javax.annotation.Nullable;
+import java.time.Instant;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.TimeZone;
+
+/**
+ * Offset transitions of a TimeZone between 1900 and 2100 in sorted primitive arrays. Lookups are a binary search, or \
+ * O(1) while they stay in the interval of the last lookup; instants out of the covered years are answered by the \
+ * TimeZone itself. The transitions are probed from the TimeZone rather than copied from {@link ZoneRules}, because \
+ * the two disagree for some zones and the formatting has to stay identical to SimpleDateFormat.
+ */
+final class ZoneOffsetTable {
+    static final long COVERAGE_START = CivilTime.toEpochDay(1900, 1, 1) * CivilTime.MILLIS_PER_DAY;
+    static final long COVERAGE_END = CivilTime.toEpochDay(2100, 1, 1) * CivilTime.MILLIS_PER_DAY;
+    private static final long PROBE_STEP = CivilTime.MILLIS_PER_DAY;
+
+    private final TimeZone timeZone;
+    /**
+     * The instants where the offset changes.
+     */
+    private final long[] transitions;
+    /**
+     * {@code offsets[i]} is valid from {@code transitions[i - 1]} until {@code transitions[i]}.
+     */
+    private final int[] offsets;
+    /**
+     * The earliest local time of each transition, {@code null} if they are not sorted and local lookups have to go \
+     * through the TimeZone.
+     */
+    @Nullable
+    private final long[] localTransitions;
+    private volatile Interval hot;
+
+    private ZoneOffsetTable(TimeZone timeZone, long[] transitions, int[] offsets) {
+        this.timeZone = timeZone;
+        this.transitions = transitions;
+        this.offsets = offsets;
+        long[] locals = new long[transitions.length];
+        @Var boolean sorted = true;
+        for (int i = 0; i < transitions.length; i++) {
+            locals[i] = transitions[i] + Math.min(offsets[i], offsets[i + 1]);
+            sorted = sorted && (i == 0 || locals[i] > locals[i - 1]);
+        }
+        this.localTransitions = sorted ? locals : null;
+        this.hot = interval(indexOf(System.currentTimeMillis()));
+    }
+
+    /**
+     * Build the table of a time zone ID.
+     *
+     * @param zoneId time zone ID
+     * @return the table
+     */
+    static ZoneOffsetTable of(String zoneId) {
+        TimeZone timeZone = TimeZone.getTimeZone(zoneId);
+        long[] hints = hints(timeZone);
+        @Var long[] transitions = new long[Math.max(16, hints.length * 2)];
+        @Var int[] offsets = new int[transitions.length + 1];
+        @Var int count = 0;
+        @Var long previous = COVERAGE_START;
+        @Var int offset = timeZone.getOffset(previous);
+        offsets[0] = offset;
+        @Var int hint = 0;
+        while (previous < COVERAGE_END) {
+            // the next probe is a day later, or right on a transition java.time knows about
+            while (hint < hints.length && hints[hint] <= previous) {
+                hint++;
+            }
+            long probe = Math.min(COVERAGE_END, hint < hints.length
+                    ? Math.min(previous + PROBE_STEP, hints[hint]) : previous + PROBE_STEP);
+            int probeOffset = timeZone.getOffset(probe);
+            if (probeOffset == offset) {
+                previous = probe;
+                continue;
+            }
+            long transition = firstChange(timeZone, previous, probe, offset);
+            if (count == transitions.length) {
+                transitions = Arrays.copyOf(transitions, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2 + 1);
+            }
+            transitions[count] = transition;
+            offset = timeZone.getOffset(transition);
+            offsets[++count] = offset;
+            previous = transition;
+        }
+        return new ZoneOffsetTable(timeZone, Arrays.copyOf(transitions, count), Arrays.copyOf(offsets, count + 1));
+    }
+
+    /**
+     * Get the transitions java.time knows in the covered years.
+     */
+    private static long[] hints(TimeZone timeZone) {
+        ZoneRules rules = timeZone.toZoneId().getRules();
+        @Var long[] hints = new long[64];
+        @Var int count = 0;
+        @Var ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochMilli(COVERAGE_START));
+        while (transition != null && transition.toEpochSecond() * CivilTime.MILLIS_PER_SECOND < COVERAGE_END) {
+            if (count == hints.length) {
+                hints = Arrays.copyOf(hints, count * 2);
+            }
+            hints[count++] = transition.toEpochSecond() * CivilTime.MILLIS_PER_SECOND;
+            transition = rules.nextTransition(transition.getInstant());
+        }
+        return Arrays.copyOf(hints, count);
+    }
+
+    /**
+     * Binary search the first instant in {@code (from, to]} whose offset is not the given one.
+     */
+    private static long firstChange(TimeZone timeZone, @Var long from, @Var long to, int offset) {
+        while (to - from > 1) {
+            long middle = from + (to - from) / 2;
+            if (timeZone.getOffset(middle) == offset) {
+                from = middle;
+            } else {
+                to = middle;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * Get the time zone ID of the table.
+     *
+     * @return String of the time zone ID
+     */
+    String getZoneId() {
+        return timeZone.getID();
+    }
+
+    /**
+     * Check if the table answers for the given time zone.
+     *
+     * @param other TimeZone
+     * @return Boolean of the result
+     */
+    boolean hasSameRules(TimeZone other) {
+        return timeZone == other || timeZone.hasSameRules(other);
+    }
+
+    /**
+     * Get the total offset at the given instant.
+     *
+     * @param epochMilli epoch milliseconds
+     * @return the offset in milliseconds
+     */
+    int offsetAt(long epochMilli) {
+        Interval interval = hot;
+        if (epochMilli >= interval.start && epochMilli < interval.end) {
+            return interval.offset;
+        }
+        if (epochMilli < COVERAGE_START || epochMilli >= COVERAGE_END) {
+            return timeZone.getOffset(epochMilli);
+        }
+        int index = indexOf(epochMilli);
+        hot = interval(index);
+        return offsets[index];
+    }
+
+    /**
+     * Convert local milliseconds to epoch milliseconds, see {@link ZoneOffsets#localToEpochMilli}.
+     *
+     * @param localMilli local milliseconds
+     * @return the epoch milliseconds
+     */
+    long localToEpochMilli(long localMilli) {
+        if (localTransitions == null
+                || localMilli < COVERAGE_START + CivilTime.MILLIS_PER_DAY
+                || localMilli >= COVERAGE_END - CivilTime.MILLIS_PER_DAY) {
+            return ZoneOffsets.resolveLocal(timeZone, localMilli);
+        }
+        int index = upperBound(localTransitions, localMilli) - 1;
+        if (index < 0) {
+            return localMilli - offsets[0];
+        }
+        int before = offsets[index];
+        int after = offsets[index + 1];
+        if (localMilli < transitions[index] + Math.max(before, after)) {
+            // in the gap or the overlap, same as java.time: the end of the gap or the earlier instant
+            return localMilli - before;
+        }
+        return localMilli - after;
+    }
+
+    private int indexOf(long epochMilli) {
+        return upperBound(transitions, epochMilli);
+    }
+
+    private Interval interval(int index) {
+        return new Interval(
+                index == 0 ? COVERAGE_START : transitions[index - 1],
+                index == transitions.length ? COVERAGE_END : transitions[index],
+                offsets[index]
+        );
+    }
+
+    /**
+     * Get the count of elements which are less than or equal to the key.
+     */
+    private static int upperBound(long[] sorted, long key) {
+        @Var int low = 0;
+        @Var int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] <= key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static final class Interval {
+        private final long start;
+        private final long end;
+        private final int offset;
+
+        private Interval(long start, long end, int offset) {
+            this.start = start;
+            this.end = end;
+            this.offset = offset;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.github.longhorn.fastball.time;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.errorprone.annotations.Var;
+
+import javax.annotation.Nullable;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offset lookups of a TimeZone on primitive epoch milliseconds, backed by a bounded LRU cache of
+ * {@link ZoneOffsetTable}s keyed by the time zone ID. Time zones whose rules differ from the ones of their ID, like a
+ * customized SimpleTimeZone, are answered by the TimeZone itself.
+ */
+final class ZoneOffsets {
+    /**
+     * Wider than any offset change a zone ever made, Pacific/Apia skipped a whole day in 2011.
+     */
+    private static final long TRANSITION_WINDOW = TimeUnit.HOURS.toMillis(26);
+    private static final int MAX_CACHED_ZONES = 512;
+    private static final LoadingCache<String, ZoneOffsetTable> TABLES = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_ZONES)
+            .build(CacheLoader.from(ZoneOffsetTable::of));
+    @Nullable
+    private static volatile ZoneOffsetTable lastTable;
+
+    private ZoneOffsets() {
+    }
+
+    /**
+     * Get the total offset, raw offset plus daylight saving, of the zone at the given instant.
+     *
+     * @param timeZone   TimeZone
+     * @param epochMilli epoch milliseconds
+     * @return the offset in milliseconds
+     */
+    static int offsetAt(TimeZone timeZone, long epochMilli) {
+        ZoneOffsetTable table = tableOf(timeZone);
+        return table == null ? timeZone.getOffset(epochMilli) : table.offsetAt(epochMilli);
+    }
+
+    /**
+     * Convert a local date-time, expressed as milliseconds since 1970-01-01T00:00 local time, to epoch milliseconds. \
+     * Resolves like {@link ZonedDateTime#ofLocal}: a local time in a gap is moved later by the length of the gap, and \
+     * a local time in an overlap takes the earlier instant.
+     *
+     * @param timeZone   TimeZone
+     * @param localMilli local milliseconds
+     * @return the epoch milliseconds
+     */
+    static long localToEpochMilli(TimeZone timeZone, long localMilli) {
+        ZoneOffsetTable table = tableOf(timeZone);
+        return table == null ? resolveLocal(timeZone, localMilli) : table.localToEpochMilli(localMilli);
+    }
+
+    /**
+     * Same as {@link #localToEpochMilli(TimeZone, long)} but asks the TimeZone directly.
+     *
+     * @param timeZone   TimeZone
+     * @param localMilli local milliseconds
+     * @return the epoch milliseconds
+     */
+    static long resolveLocal(TimeZone timeZone, long localMilli) {
+        int offset = timeZone.getOffset(localMilli - timeZone.getOffset(localMilli));
+        long epochMilli = localMilli - offset;
+        if (timeZone.getOffset(epochMilli - TRANSITION_WINDOW) == offset
+                && timeZone.getOffset(epochMilli + TRANSITION_WINDOW) == offset) {
+            return epochMilli;
+        }
+        // close to a transition, rare enough to let java.time resolve it
+        LocalDateTime local = LocalDateTime.ofEpochSecond(
+                Math.floorDiv(localMilli, CivilTime.MILLIS_PER_SECOND),
+                (int) Math.floorMod(localMilli, (long) CivilTime.MILLIS_PER_SECOND) * 1_000_000,
+                ZoneOffset.UTC
+        );
+        return ZonedDateTime.ofLocal(local, timeZone.toZoneId(), null).toInstant().toEpochMilli();
+    }
+
+    @Nullable
+    private static ZoneOffsetTable tableOf(TimeZone timeZone) {
+        String zoneId = timeZone.getID();
+        // remember the last table to skip the cache for the common single zone callers
+        @Var ZoneOffsetTable table = lastTable;
+        if (table == null || !zoneId.equals(table.getZoneId())) {
+            table = TABLES.getUnchecked(zoneId);
+            lastTable = table;
+        }
+        return table.hasSameRules(timeZone) ? table : null;
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.common.collect.Range;
+import com.google.errorprone.annotations.Var;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public class BloomFilterTest {
+
+    @Test
+    public void testPut() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        assertThat(filter.hashes()).isEqualTo(7);
+        assertThat(filter.bitSize()).isEqualTo(95_872L);
+        assertThat(filter.mightContain("user", 0)).isFalse();
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user", i);
+        }
+        assertThat(filter.put("user", 1)).isFalse();
+        @Var int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            assertThat(filter.mightContain("user", i % 10_000)).isTrue();
+            if (filter.mightContain("other", i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(1_500);
+        assertThat(filter.expectedFpp()).isWithin(0.003).of(0.01);
+        assertThat(filter.approximateElementCount()).isIn(Range.closed(9_700L, 10_300L));
+        assertThat(filter.mightContainHash(Hash.hash64(HashAlgorithm.XXH3, 0, "user", 5))).isTrue();
+    }
+
+    @Test
+    public void testMergeAndBytes() {
+        BloomFilter first = BloomFilter.create(1000, 0.03, HashAlgorithm.MURMUR3_128, 5);
+        BloomFilter second = BloomFilter.create(1000, 0.03, HashAlgorithm.MURMUR3_128, 5);
+        for (int i = 0; i < 500; i++) {
+            first.put("a", i);
+            second.put("b", i);
+        }
+        byte[] bytes = second.toByteArray();
+        assertThat(bytes.length).isEqualTo(11 + 1 + 4 + (int) (second.bitSize() / 8));
+        BloomFilter restored = BloomFilter.fromByteArray(bytes);
+        assertThat(restored.toByteArray()).isEqualTo(bytes);
+        first.merge(restored);
+        for (int i = 0; i < 500; i++) {
+            assertThat(first.mightContain("a", i)).isTrue();
+            assertThat(first.mightContain("b", i)).isTrue();
+        }
+
+        try {
+            first.merge(BloomFilter.create(1000, 0.03));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid filter to merge: incompatible");
+        }
+        try {
+            BloomFilter.fromByteArray(Arrays.copyOf(bytes, bytes.length - 1));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid bytes of BloomFilter");
+        }
+        try {
+            BloomFilter.fromByteArray(HyperLogLog.create(4).toByteArray());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid bytes of BloomFilter");
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        try {
+            BloomFilter.create(-1, 0.01);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid expected insertions: -1");
+        }
+        try {
+            BloomFilter.create(100, 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid fpp: 1.0");
+        }
+        try {
+            BloomFilter.create(Long.MAX_VALUE, 0.01);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid expected insertions: " + Long.MAX_VALUE);
+        }
+        assertThat(BloomFilter.create(0, 0.5).bitSize()).isEqualTo(64L);
+    }
+}
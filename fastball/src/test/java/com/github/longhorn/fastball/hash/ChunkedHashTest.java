@@ -0,0 +1,151 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.common.hash.Hashing;
+import com.google.errorprone.annotations.Var;
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(DataProviderRunner.class)
+public class ChunkedHashTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @DataProvider
+    public static Object[][] algorithmDataProvider() {
+        return HashAlgorithmTest.algorithmDataProvider();
+    }
+
+    private static byte[] randomBytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Get the tree hash of the bytes by hashing the chunks one by one.
+     */
+    private static long treeHash(HashAlgorithm algorithm, long seed, byte[] bytes, int chunkSize) {
+        if (bytes.length <= chunkSize) {
+            return algorithm.hash(bytes, 0, bytes.length, seed);
+        }
+        int chunks = (bytes.length + chunkSize - 1) / chunkSize;
+        ByteBuffer hashes = ByteBuffer.allocate(chunks * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < chunks; i++) {
+            int length = Math.min(chunkSize, bytes.length - i * chunkSize);
+            hashes.putLong(algorithm.hash(bytes, i * chunkSize, length, seed));
+        }
+        return algorithm.hash(hashes.array(), 0, hashes.capacity(), seed);
+    }
+
+    private static long expected(HashAlgorithm algorithm, long seed, byte[] bytes, int chunkSize) {
+        if (algorithm == HashAlgorithm.CRC32C) {
+            return Integer.toUnsignedLong(Hashing.crc32c().hashBytes(bytes).asInt());
+        }
+        return treeHash(algorithm, seed, bytes, chunkSize);
+    }
+
+    @Test
+    @UseDataProvider("algorithmDataProvider")
+    public void testHash(HashAlgorithm algorithm) throws IOException {
+        Random random = new Random(0);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int chunkSize : new int[]{1, 7, 64, 1000, 4096}) {
+                ChunkedHash chunkedHash = ChunkedHash.create(algorithm, 3, chunkSize, pool);
+                for (int length : new int[]{0, 1, chunkSize, chunkSize + 1, chunkSize * 3, 20_000}) {
+                    byte[] bytes = randomBytes(random, length);
+                    long expected = expected(algorithm, 3, bytes, chunkSize);
+
+                    ByteBuffer heap = ByteBuffer.wrap(bytes);
+                    assertThat(chunkedHash.hash(heap)).isEqualTo(expected);
+                    assertThat(heap.hasRemaining()).isFalse();
+                    ByteBuffer direct = ByteBuffer.allocateDirect(length);
+                    direct.put(bytes).flip();
+                    assertThat(chunkedHash.hash(direct)).isEqualTo(expected);
+
+                    Path file = folder.newFile().toPath();
+                    Files.write(file, bytes);
+                    assertThat(chunkedHash.hash(file)).isEqualTo(expected);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testCrc32cOfDefaultChunks() throws IOException {
+        byte[] bytes = randomBytes(new Random(0), ChunkedHash.DEFAULT_CHUNK_SIZE * 3 + 12345);
+        Path file = folder.newFile().toPath();
+        Files.write(file, bytes);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            channel.position(5);
+            assertThat(ChunkedHash.create(HashAlgorithm.CRC32C, 0).hash(channel))
+                    .isEqualTo(Integer.toUnsignedLong(Hashing.crc32c().hashBytes(bytes).asInt()));
+            assertThat(channel.position()).isEqualTo(5L);
+        }
+    }
+
+    @Test
+    @UseDataProvider("algorithmDataProvider")
+    public void testAppender(HashAlgorithm algorithm) throws IOException {
+        Random random = new Random(0);
+        int chunkSize = 100;
+        ChunkedHash chunkedHash = ChunkedHash.create(algorithm, 0, chunkSize, ForkJoinPool.commonPool());
+        ChunkedHash.Appender fileAppender = chunkedHash.appender();
+        ChunkedHash.Appender bufferAppender = chunkedHash.appender();
+        Path file = folder.newFile().toPath();
+        @Var byte[] bytes = new byte[0];
+        for (int i = 0; i < 30; i++) {
+            byte[] appended = randomBytes(random, random.nextInt(i % 3 == 0 ? 500 : 80));
+            Files.write(file, appended, StandardOpenOption.APPEND);
+            int from = bytes.length;
+            bytes = Arrays.copyOf(bytes, from + appended.length);
+            System.arraycopy(appended, 0, bytes, from, appended.length);
+
+            long expected = expected(algorithm, 0, bytes, chunkSize);
+            fileAppender.update(file);
+            assertThat(fileAppender.getValue()).isEqualTo(expected);
+            assertThat(fileAppender.getLength()).isEqualTo((long) bytes.length);
+            bufferAppender.update(ByteBuffer.wrap(appended));
+            assertThat(bufferAppender.getValue()).isEqualTo(expected);
+        }
+
+        Files.write(file, new byte[1]);
+        try {
+            fileAppender.update(file);
+            fail();
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid size: 1 is shorter than the hashed " + bytes.length);
+        }
+    }
+
+    @Test
+    public void testInvalidChunkSize() {
+        try {
+            ChunkedHash.create(HashAlgorithm.XXH3, 0, 0, ForkJoinPool.commonPool());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid chunk size: 0");
+        }
+    }
+}
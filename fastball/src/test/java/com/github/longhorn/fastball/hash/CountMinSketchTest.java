@@ -0,0 +1,93 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.errorprone.annotations.Var;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public class CountMinSketchTest {
+
+    @Test
+    public void testEstimateCount() {
+        CountMinSketch sketch = CountMinSketch.create(0.001, 0.01);
+        assertThat(sketch.width()).isEqualTo(2719);
+        assertThat(sketch.depth()).isEqualTo(5);
+        Random random = new Random(0);
+        long[] counts = new long[5000];
+        for (int i = 0; i < 100_000; i++) {
+            // skewed to the small keys
+            int key = (int) Math.abs(random.nextGaussian() * 500) % counts.length;
+            counts[key]++;
+            sketch.add("key", key);
+        }
+        assertThat(sketch.totalCount()).isEqualTo(100_000L);
+        @Var int beyond = 0;
+        for (int key = 0; key < counts.length; key++) {
+            long estimate = sketch.estimateCount("key", key);
+            assertThat(estimate).isAtLeast(counts[key]);
+            if (estimate > counts[key] + 100) {
+                beyond++;
+            }
+        }
+        assertThat(beyond).isLessThan(50);
+        sketch.addHash(Hash.hash64(HashAlgorithm.XXH3, 0, "key", 1), 1000);
+        assertThat(sketch.estimateCount("key", 1)).isAtLeast(counts[1] + 1000);
+    }
+
+    @Test
+    public void testMergeAndBytes() {
+        CountMinSketch first = CountMinSketch.create(0.01, 0.001, HashAlgorithm.WYHASH, 3);
+        CountMinSketch second = CountMinSketch.create(0.01, 0.001, HashAlgorithm.WYHASH, 3);
+        for (int i = 0; i < 100; i++) {
+            first.add("a");
+            second.add("a");
+            second.add("b", i);
+        }
+        byte[] bytes = second.toByteArray();
+        CountMinSketch restored = CountMinSketch.fromByteArray(bytes);
+        assertThat(restored.toByteArray()).isEqualTo(bytes);
+        first.merge(restored);
+        assertThat(first.estimateCount("a")).isAtLeast(200L);
+        assertThat(first.totalCount()).isEqualTo(300L);
+
+        try {
+            first.merge(CountMinSketch.create(0.01, 0.001));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid sketch to merge: incompatible");
+        }
+        // the depth
+        bytes[14] = 0;
+        try {
+            CountMinSketch.fromByteArray(bytes);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid bytes of CountMinSketch");
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        try {
+            CountMinSketch.create(0, 0.01);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid epsilon: 0.0");
+        }
+        try {
+            CountMinSketch.create(0.01, 1.5);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid delta: 1.5");
+        }
+        try {
+            CountMinSketch.create(0.01, 0.01).addHash(1, -1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid count: -1");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.common.hash.Hashing;
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(DataProviderRunner.class)
+public class Crc32cTest {
+
+    @DataProvider
+    public static Object[][] checksumDataProvider() {
+        return new Object[][]{
+                {false},
+                {true},
+        };
+    }
+
+    private static Crc32c create(boolean software) {
+        return software ? Crc32c.software() : Crc32c.create();
+    }
+
+    @Test
+    @UseDataProvider("checksumDataProvider")
+    public void testCheckValue(boolean software) {
+        Crc32c crc32c = create(software);
+        if (software) {
+            assertThat(crc32c.isIntrinsic()).isFalse();
+        }
+        // the check value of CRC-32C
+        crc32c.update("123456789".getBytes(StandardCharsets.US_ASCII));
+        assertThat(crc32c.getValue()).isEqualTo(0xE3069283L);
+        crc32c.reset();
+        assertThat(crc32c.getValue()).isEqualTo(0L);
+        crc32c.update(new byte[32]);
+        assertThat(crc32c.getIntValue()).isEqualTo(0x8A9136AA);
+    }
+
+    @Test
+    @UseDataProvider("checksumDataProvider")
+    public void testSameAsGuava(boolean software) {
+        Random random = new Random(0);
+        Crc32c crc32c = create(software);
+        for (int i = 0; i < 500; i++) {
+            byte[] bytes = new byte[random.nextInt(1000)];
+            random.nextBytes(bytes);
+            int expected = Hashing.crc32c().hashBytes(bytes).asInt();
+            int split = bytes.length == 0 ? 0 : random.nextInt(bytes.length);
+
+            crc32c.reset();
+            crc32c.update(bytes, 0, split);
+            for (int j = split; j < bytes.length; j++) {
+                crc32c.update(bytes[j]);
+            }
+            assertThat(crc32c.getIntValue()).isEqualTo(expected);
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 3);
+            direct.position(3);
+            direct.put(bytes).position(3);
+            crc32c.reset();
+            crc32c.update(direct);
+            assertThat(direct.hasRemaining()).isFalse();
+            assertThat(crc32c.getIntValue()).isEqualTo(expected);
+
+            ByteBuffer heap = ByteBuffer.wrap(bytes, split, bytes.length - split).slice();
+            crc32c.reset();
+            crc32c.update(bytes, 0, split);
+            crc32c.update(heap);
+            assertThat(crc32c.getIntValue()).isEqualTo(expected);
+
+            String text = HashTest.randomString(random);
+            crc32c.reset();
+            crc32c.update(text);
+            assertThat(crc32c.getIntValue())
+                    .isEqualTo(Hashing.crc32c().hashBytes(text.getBytes(StandardCharsets.UTF_8)).asInt());
+        }
+    }
+
+    @Test
+    @UseDataProvider("checksumDataProvider")
+    public void testUnpairedSurrogates(boolean software) {
+        Crc32c crc32c = create(software);
+        String text = "a\uD800b\uDC00\uD83D";
+        crc32c.update(text);
+        assertThat(crc32c.getIntValue())
+                .isEqualTo(Hashing.crc32c().hashBytes(text.getBytes(StandardCharsets.UTF_8)).asInt());
+        crc32c.reset();
+        crc32c.updateDecimal(Long.MIN_VALUE);
+        assertThat(crc32c.getIntValue())
+                .isEqualTo(Hashing.crc32c().hashString(String.valueOf(Long.MIN_VALUE), StandardCharsets.UTF_8).asInt());
+    }
+
+    @Test
+    public void testCombine() {
+        Random random = new Random(0);
+        for (int i = 0; i < 500; i++) {
+            byte[] bytes = new byte[random.nextInt(3000)];
+            random.nextBytes(bytes);
+            int split = bytes.length == 0 ? 0 : random.nextInt(bytes.length + 1);
+            int crc1 = Hashing.crc32c().hashBytes(bytes, 0, split).asInt();
+            int crc2 = Hashing.crc32c().hashBytes(bytes, split, bytes.length - split).asInt();
+            assertThat(Crc32c.combine(crc1, crc2, bytes.length - split))
+                    .isEqualTo(Hashing.crc32c().hashBytes(bytes).asInt());
+        }
+        // a long run of zeros
+        int crc1 = Hashing.crc32c().hashString("head", StandardCharsets.UTF_8).asInt();
+        assertThat(Crc32c.combine(crc1, Hashing.crc32c().hashBytes(new byte[5_000_000]).asInt(), 5_000_000))
+                .isEqualTo(Hashing.crc32c().newHasher().putString("head", StandardCharsets.UTF_8)
+                        .putBytes(new byte[5_000_000]).hash().asInt());
+        assertThat(Crc32c.combine(crc1, 0, 0)).isEqualTo(crc1);
+        try {
+            Crc32c.combine(crc1, 0, -1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid length: -1");
+        }
+    }
+}
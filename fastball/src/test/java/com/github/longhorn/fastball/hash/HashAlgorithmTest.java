@@ -0,0 +1,123 @@
+package com.github.longhorn.fastball.hash;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(DataProviderRunner.class)
+public class HashAlgorithmTest {
+
+    @DataProvider
+    public static Object[][] algorithmDataProvider() {
+        HashAlgorithm[] algorithms = HashAlgorithm.values();
+        Object[][] data = new Object[algorithms.length][];
+        for (int i = 0; i < algorithms.length; i++) {
+            data[i] = new Object[]{algorithms[i]};
+        }
+        return data;
+    }
+
+    @Test
+    public void testIds() {
+        // the ids are in the serialized sketches, so they never change
+        assertThat(HashAlgorithm.CRC32C.getId()).isEqualTo((byte) 0);
+        assertThat(HashAlgorithm.XXH64.getId()).isEqualTo((byte) 1);
+        assertThat(HashAlgorithm.XXH3.getId()).isEqualTo((byte) 2);
+        assertThat(HashAlgorithm.MURMUR3_128.getId()).isEqualTo((byte) 3);
+        assertThat(HashAlgorithm.WYHASH.getId()).isEqualTo((byte) 4);
+        for (HashAlgorithm algorithm : HashAlgorithm.values()) {
+            assertThat(HashAlgorithm.ofId(algorithm.getId())).isSameAs(algorithm);
+        }
+        assertThat(HashAlgorithm.ofId((byte) -1)).isNull();
+    }
+
+    @Test
+    @UseDataProvider("algorithmDataProvider")
+    public void testSameValues(HashAlgorithm algorithm) {
+        Random random = new Random(0);
+        for (int i = 0; i < 300; i++) {
+            byte[] bytes = new byte[random.nextInt(2000)];
+            random.nextBytes(bytes);
+            long seed = random.nextInt(Integer.MAX_VALUE);
+            long expected = algorithm.hash(bytes, 0, bytes.length, seed);
+            StreamingHash hash = algorithm.newHash(seed);
+
+            int split = bytes.length == 0 ? 0 : random.nextInt(bytes.length);
+            hash.update(bytes, 0, split);
+            for (int j = split; j < bytes.length; j++) {
+                hash.update(bytes[j]);
+            }
+            assertThat(hash.getValue()).isEqualTo(expected);
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 3);
+            direct.position(3);
+            direct.put(bytes).position(3);
+            assertThat(algorithm.hash(direct, seed)).isEqualTo(expected);
+            assertThat(direct.hasRemaining()).isFalse();
+            direct.position(3);
+            hash.reset();
+            hash.update(direct);
+            assertThat(hash.getValue()).isEqualTo(expected);
+
+            ByteBuffer heap = ByteBuffer.wrap(bytes, split, bytes.length - split).slice();
+            hash.reset();
+            hash.update(bytes, 0, split);
+            hash.update(heap.duplicate());
+            assertThat(hash.getValue()).isEqualTo(expected);
+            ByteBuffer whole = ByteBuffer.allocate(bytes.length + 1);
+            whole.put(bytes).flip();
+            assertThat(algorithm.hash(whole, seed)).isEqualTo(expected);
+            assertThat(whole.hasRemaining()).isFalse();
+
+            String text = HashTest.randomString(random);
+            byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+            assertThat(algorithm.hash(text, seed)).isEqualTo(algorithm.hash(utf8, 0, utf8.length, seed));
+            hash.reset();
+            hash.update(text);
+            assertThat(hash.getValue()).isEqualTo(algorithm.hash(utf8, 0, utf8.length, seed));
+        }
+    }
+
+    @Test
+    @UseDataProvider("algorithmDataProvider")
+    public void testLocalHash(HashAlgorithm algorithm) {
+        StreamingHash hash = algorithm.local(1);
+        hash.update(1);
+        assertThat(algorithm.local(1)).isNotSameAs(hash);
+        hash.release();
+        assertThat(algorithm.local(1)).isSameAs(hash);
+        hash.release();
+        assertThat(hash.getValue()).isEqualTo(algorithm.newHash(1).getValue());
+        byte[] bytes = "abc".getBytes(StandardCharsets.US_ASCII);
+        assertThat(algorithm.hash("abc", 2)).isEqualTo(algorithm.hash(bytes, 0, bytes.length, 2));
+    }
+
+    @Test
+    @UseDataProvider("algorithmDataProvider")
+    public void testNestedHash(HashAlgorithm algorithm) {
+        Object key = new Object() {
+            @Override
+            public String toString() {
+                return "id-" + algorithm.hash("inner", 1);
+            }
+        };
+        assertThat(Hash.hash64(algorithm, 1, "a", key, "b"))
+                .isEqualTo(algorithm.hash("a_id-" + algorithm.hash("inner", 1) + "_b", 1));
+        assertThat(algorithm.hash("a_b", 1)).isEqualTo(Hash.hash64(algorithm, 1, "a", "b"));
+    }
+
+    @Test
+    public void testCrc32c() {
+        byte[] bytes = "123456789".getBytes(StandardCharsets.US_ASCII);
+        assertThat(HashAlgorithm.CRC32C.hash(bytes, 0, bytes.length, 42)).isEqualTo(0xE3069283L);
+        assertThat(HashAlgorithm.CRC32C.hash("123456789", 42)).isEqualTo(0xE3069283L);
+    }
+}
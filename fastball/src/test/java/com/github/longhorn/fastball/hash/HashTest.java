@@ -0,0 +1,126 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.common.base.Joiner;
+import com.google.common.hash.Hashing;
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class HashTest {
+    @Test
+    public void testCrc32cHash() {
+        assertThat(Hash.crc32("foo")).isEqualTo("1daec4cf");
+        assertThat(Hash.crc32("foo", "bar")).isEqualTo("ae843662");
+        assertThat(Hash.crc32(null)).isEqualTo("00000000");
+        assertThat(Hash.crc32(null, null)).isEqualTo("a6b54b5d");
+        assertThat(Hash.crc32(Arrays.asList(1, 2, 3), "a", "b")).isEqualTo("4b4bd358");
+    }
+
+    @Test
+    public void testCrc32SameAsJoined() {
+        Random random = new Random(0);
+        for (int i = 0; i < 2000; i++) {
+            List<Object> parts = new ArrayList<>();
+            int count = random.nextInt(4);
+            for (int j = 0; j < count; j++) {
+                switch (random.nextInt(5)) {
+                    case 0:
+                        parts.add(random.nextLong());
+                        break;
+                    case 1:
+                        parts.add(random.nextInt());
+                        break;
+                    case 2:
+                        parts.add(null);
+                        break;
+                    case 3:
+                        parts.add(new StringBuilder(randomString(random)));
+                        break;
+                    default:
+                        parts.add(randomString(random));
+                        break;
+                }
+            }
+            Object[] input = parts.toArray();
+            String joined = Joiner.on('_').useForNull("").join(parts);
+            int expected = Hashing.crc32c().hashBytes(joined.getBytes(StandardCharsets.UTF_8)).asInt();
+            assertThat(Hash.crc32AsInt(StandardCharsets.UTF_8, input)).isEqualTo(expected);
+            assertThat(Hash.crc32AsInt(StandardCharsets.ISO_8859_1, input)).isEqualTo(
+                    Hashing.crc32c().hashBytes(joined.getBytes(StandardCharsets.ISO_8859_1)).asInt());
+            int expectedDefault = Hashing.crc32c().hashBytes(joined.getBytes(Charset.defaultCharset())).asInt();
+            assertThat(Hash.crc32AsInt(input)).isEqualTo(expectedDefault);
+            assertThat(Hash.crc32AsLong(input)).isEqualTo(Integer.toUnsignedLong(expectedDefault));
+            assertThat(Hash.crc32(input)).isEqualTo(Hashing.crc32c()
+                    .hashBytes(joined.getBytes(Charset.defaultCharset())).toString());
+        }
+        assertThat(Hash.crc32AsInt(StandardCharsets.UTF_8, Long.MIN_VALUE, (short) -1, (byte) 7))
+                .isEqualTo(Hashing.crc32c().hashString("-9223372036854775808_-1_7", StandardCharsets.UTF_8).asInt());
+    }
+
+    @Test
+    public void testCrc32Hex() {
+        char[] hex = new char[10];
+        assertThat(Hash.writeCrc32Hex(Hash.crc32AsInt("foo"), hex, 1)).isEqualTo(9);
+        assertThat(new String(hex, 1, 8)).isEqualTo("1daec4cf");
+        StringBuilder sb = new StringBuilder("crc:");
+        Hash.appendCrc32Hex(Hash.crc32AsInt("foo", "bar"), sb);
+        assertThat(sb.toString()).isEqualTo("crc:ae843662");
+    }
+
+    @Test
+    public void testCrc32Nested() {
+        Object item = new Object() {
+            @Override
+            public String toString() {
+                return "id-" + Hash.crc32("inner");
+            }
+        };
+        String joined = "a_id-" + Hash.crc32("inner") + "_b";
+        assertThat(Hash.crc32("a", item, "b"))
+                .isEqualTo(Hashing.crc32c().hashString(joined, Charset.defaultCharset()).toString());
+        assertThat(Hash.crc32AsInt(StandardCharsets.ISO_8859_1, "a", item, "b"))
+                .isEqualTo(Hashing.crc32c().hashString(joined, StandardCharsets.ISO_8859_1).asInt());
+        assertThat(Hash.crc32("a", "b")).isEqualTo(Hash.crc32("a_b"));
+    }
+
+    @Test
+    public void testHash64() {
+        assertThat(Hash.hash64(HashAlgorithm.XXH3, 1, "foo", 42, null, "bar"))
+                .isEqualTo(HashAlgorithm.XXH3.hash("foo_42__bar", 1));
+        assertThat(Hash.hash64(HashAlgorithm.CRC32C, 0, "foo", "bar"))
+                .isEqualTo(Integer.toUnsignedLong(Hash.crc32AsInt(StandardCharsets.UTF_8, "foo", "bar")));
+        assertThat(Hash.hash64(HashAlgorithm.WYHASH, 7, (Object[]) null))
+                .isEqualTo(HashAlgorithm.WYHASH.hash("", 7));
+        assertThat(Hash.hash64(HashAlgorithm.XXH64, 0, Arrays.asList(1, 2), 'c'))
+                .isEqualTo(HashAlgorithm.XXH64.hash("[1, 2]_c", 0));
+    }
+
+    static String randomString(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int length = random.nextInt(600);
+        for (int i = 0; i < length; i++) {
+            switch (random.nextInt(6)) {
+                case 0:
+                    sb.append((char) (0x80 + random.nextInt(0x780)));
+                    break;
+                case 1:
+                    sb.append((char) (0x800 + random.nextInt(0xF000)));
+                    break;
+                case 2:
+                    sb.appendCodePoint(0x10000 + random.nextInt(0x100000));
+                    break;
+                default:
+                    sb.append((char) random.nextInt(0x80));
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+}
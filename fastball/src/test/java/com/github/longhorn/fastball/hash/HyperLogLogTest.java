@@ -0,0 +1,79 @@
+package com.github.longhorn.fastball.hash;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(DataProviderRunner.class)
+public class HyperLogLogTest {
+
+    @DataProvider
+    public static Object[][] cardinalityDataProvider() {
+        return new Object[][]{
+                {0},
+                {1},
+                {10},
+                {1_000},
+                {30_000},
+                {1_000_000},
+        };
+    }
+
+    @Test
+    @UseDataProvider("cardinalityDataProvider")
+    public void testCardinality(int count) {
+        HyperLogLog hyperLogLog = HyperLogLog.create(14);
+        for (int i = 0; i < count; i++) {
+            hyperLogLog.add("user", i);
+            hyperLogLog.add("user", i / 2);
+        }
+        // within 4 standard errors of 0.8%
+        assertThat((double) hyperLogLog.cardinality()).isWithin(count * 0.033 + 0.5).of(count);
+    }
+
+    @Test
+    public void testMergeAndBytes() {
+        HyperLogLog first = HyperLogLog.create(12, HashAlgorithm.XXH64, 9);
+        HyperLogLog second = HyperLogLog.create(12, HashAlgorithm.XXH64, 9);
+        for (int i = 0; i < 50_000; i++) {
+            first.add(i);
+            second.add(i + 25_000);
+        }
+        byte[] bytes = second.toByteArray();
+        assertThat(bytes.length).isEqualTo(11 + 1 + 4096);
+        HyperLogLog restored = HyperLogLog.fromByteArray(bytes);
+        assertThat(restored.toByteArray()).isEqualTo(bytes);
+        first.merge(restored);
+        assertThat((double) first.cardinality()).isWithin(75_000 * 0.065).of(75_000);
+        assertThat(first.addHash(Hash.hash64(HashAlgorithm.XXH64, 9, 1))).isFalse();
+
+        try {
+            first.merge(HyperLogLog.create(12));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid HyperLogLog to merge: incompatible");
+        }
+        bytes[20] = 100;
+        try {
+            HyperLogLog.fromByteArray(bytes);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid bytes of HyperLogLog");
+        }
+    }
+
+    @Test
+    public void testInvalidPrecision() {
+        try {
+            HyperLogLog.create(19);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid precision: 19");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.common.hash.Hashing;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public class JumpPartitionerTest {
+
+    @Test
+    public void testBucketOf() {
+        Random random = new Random(0);
+        for (int i = 0; i < 10_000; i++) {
+            long keyHash = random.nextLong();
+            int buckets = 1 + random.nextInt(i % 2 == 0 ? 100 : Integer.MAX_VALUE);
+            assertThat(JumpPartitioner.bucketOf(keyHash, buckets)).isEqualTo(Hashing.consistentHash(keyHash, buckets));
+        }
+        assertThat(JumpPartitioner.bucketOf(Long.MAX_VALUE, 1)).isEqualTo(0);
+    }
+
+    @Test
+    public void testInvalidBuckets() {
+        try {
+            JumpPartitioner.bucketOf(1L, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid buckets: 0");
+        }
+    }
+
+    @Test
+    public void testRemoveMiddle() {
+        JumpPartitioner<String> partitioner = JumpPartitioner.create();
+        partitioner.add("a");
+        partitioner.add("b");
+        partitioner.add("c");
+        partitioner.add("d");
+        assertThat(partitioner.remove("b")).isTrue();
+        // the last node takes the bucket of the removed one
+        assertThat(partitioner.nodes()).containsExactly("a", "d", "c").inOrder();
+        Random random = new Random(0);
+        for (int i = 0; i < 1000; i++) {
+            long keyHash = random.nextLong();
+            int bucket = JumpPartitioner.bucketOf(keyHash, 3);
+            assertThat(partitioner.nodeOf(keyHash)).isEqualTo(partitioner.nodes().get(bucket));
+        }
+    }
+
+    @Test
+    public void testNodeOfKey() {
+        JumpPartitioner<String> partitioner = JumpPartitioner.create(HashAlgorithm.MURMUR3_128, 5);
+        partitioner.add("a");
+        partitioner.add("b");
+        partitioner.add("c");
+        long keyHash = HashAlgorithm.MURMUR3_128.hash("key", 5);
+        assertThat(partitioner.nodeOf("key")).isEqualTo(partitioner.nodeOf(keyHash));
+        assertThat(partitioner.nodeOf("key")).isEqualTo(partitioner.nodes().get(Hashing.consistentHash(keyHash, 3)));
+    }
+}
@@ -0,0 +1,68 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static com.github.longhorn.fastball.hash.XxHash64Test.assertIncremental;
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public class MurmurHash3Test {
+
+    @Test
+    public void testVector() {
+        byte[] bytes = "The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.US_ASCII);
+        long[] value = new long[3];
+        MurmurHash3.hash128(bytes, 0, bytes.length, 0, value, 1);
+        assertThat(value).isEqualTo(new long[]{0, 0xE34BBC7BBC071B6CL, 0x7A433CA9C49A9347L});
+        MurmurHash3 hash = MurmurHash3.create(0);
+        hash.update(bytes);
+        assertThat(hash.getValue()).isEqualTo(0xE34BBC7BBC071B6CL);
+        assertThat(hash.getHighValue()).isEqualTo(0x7A433CA9C49A9347L);
+    }
+
+    @Test
+    public void testSameAsGuava() {
+        Random random = new Random(0);
+        long[] value = new long[2];
+        for (int i = 0; i < 500; i++) {
+            byte[] bytes = new byte[random.nextInt(300)];
+            random.nextBytes(bytes);
+            int seed = random.nextInt(Integer.MAX_VALUE);
+            HashCode expected = Hashing.murmur3_128(seed).hashBytes(bytes);
+            ByteBuffer expectedLongs = ByteBuffer.wrap(expected.asBytes()).order(ByteOrder.LITTLE_ENDIAN);
+
+            MurmurHash3.hash128(bytes, 0, bytes.length, seed, value, 0);
+            assertThat(value[0]).isEqualTo(expectedLongs.getLong(0));
+            assertThat(value[1]).isEqualTo(expectedLongs.getLong(8));
+            assertThat(MurmurHash3.hash(bytes, 0, bytes.length, seed)).isEqualTo(expected.asLong());
+
+            MurmurHash3 hash = MurmurHash3.create(seed);
+            assertIncremental(hash, bytes, 1 + random.nextInt(20), expected.asLong());
+            assertThat(hash.getHighValue()).isEqualTo(expectedLongs.getLong(8));
+        }
+    }
+
+    @Test
+    public void testInvalidSeed() {
+        assertThat(MurmurHash3.create(0xFFFF_FFFFL).getSeed()).isEqualTo(0xFFFF_FFFFL);
+        try {
+            MurmurHash3.create(-1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid seed: -1");
+        }
+        try {
+            MurmurHash3.hash(new byte[1], 0, 1, 1L << 32);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).startsWith("Invalid seed");
+        }
+    }
+}
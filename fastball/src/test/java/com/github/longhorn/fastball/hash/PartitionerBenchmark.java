@@ -0,0 +1,127 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.errorprone.annotations.Var;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the lookups and the membership changes of the partitioners. Run {@link #main(String[])} from the \
+ * test classpath, which prints the fraction of the keys moved by adding and removing a node before the benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartitionerBenchmark {
+    private static final int KEYS = 1024;
+
+    @Param({"jump", "ring", "rendezvous"})
+    public String strategy;
+
+    @Param({"8", "64", "512"})
+    public int nodes;
+
+    private Partitioner<String> partitioner;
+    private long[] keyHashes;
+    private int index;
+
+    static Partitioner<String> partitionerOf(String strategy) {
+        switch (strategy) {
+            case "jump":
+                return JumpPartitioner.create();
+            case "ring":
+                return RingPartitioner.create(160);
+            case "rendezvous":
+                return RendezvousPartitioner.create();
+            default:
+                throw new IllegalArgumentException("Invalid strategy: " + strategy);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        partitioner = partitionerOf(strategy);
+        for (int i = 0; i < nodes; i++) {
+            partitioner.add("node-" + i);
+        }
+        Random random = new Random(0);
+        keyHashes = new long[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keyHashes[i] = random.nextLong();
+        }
+    }
+
+    @Benchmark
+    public String lookup() {
+        index = (index + 1) & (KEYS - 1);
+        return partitioner.nodeOf(keyHashes[index]);
+    }
+
+    @Benchmark
+    public boolean addRemove() {
+        partitioner.add("extra");
+        return partitioner.remove("extra");
+    }
+
+    /**
+     * Get the fraction of the keys which move to another node when the node is added and then removed.
+     */
+    static double[] movement(String strategy, int nodes, int keys) {
+        Partitioner<String> partitioner = partitionerOf(strategy);
+        for (int i = 0; i < nodes; i++) {
+            partitioner.add("node-" + i);
+        }
+        Random random = new Random(0);
+        long[] hashes = new long[keys];
+        String[] before = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            hashes[i] = random.nextLong();
+            before[i] = partitioner.nodeOf(hashes[i]);
+        }
+        partitioner.add("extra");
+        @Var int added = 0;
+        for (int i = 0; i < keys; i++) {
+            if (!partitioner.nodeOf(hashes[i]).equals(before[i])) {
+                added++;
+            }
+        }
+        partitioner.remove("extra");
+        partitioner.remove("node-0");
+        @Var int removed = 0;
+        for (int i = 0; i < keys; i++) {
+            if (!partitioner.nodeOf(hashes[i]).equals(before[i])) {
+                removed++;
+            }
+        }
+        return new double[]{(double) added / keys, (double) removed / keys};
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (String strategy : new String[]{"jump", "ring", "rendezvous"}) {
+            for (int nodes : new int[]{8, 64, 512}) {
+                double[] movement = movement(strategy, nodes, 100_000);
+                System.out.printf("%-10s %4d nodes: add moves %.4f (ideal %.4f), "
+                                + "remove first moves %.4f (ideal %.4f)%n",
+                        strategy, nodes, movement[0], 1.0 / (nodes + 1), movement[1], 1.0 / nodes);
+            }
+        }
+        new Runner(new OptionsBuilder().include(PartitionerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,208 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.common.collect.Range;
+import com.google.errorprone.annotations.Var;
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(DataProviderRunner.class)
+public class PartitionerTest {
+    private static final int KEYS = 20_000;
+
+    @DataProvider
+    public static Object[][] partitionerDataProvider() {
+        return new Object[][]{
+                {(Supplier<Partitioner<String>>) JumpPartitioner::create},
+                {(Supplier<Partitioner<String>>) () -> RingPartitioner.create(160)},
+                {(Supplier<Partitioner<String>>) RendezvousPartitioner::create},
+                {(Supplier<Partitioner<String>>) () -> RingPartitioner.create(100, HashAlgorithm.WYHASH, 7)},
+                {(Supplier<Partitioner<String>>) () -> RendezvousPartitioner.create(HashAlgorithm.XXH64, 7)},
+        };
+    }
+
+    private static long[] keyHashes() {
+        Random random = new Random(0);
+        long[] hashes = new long[KEYS];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = random.nextLong();
+        }
+        return hashes;
+    }
+
+    private static List<String> nodesOf(Partitioner<String> partitioner, long[] keyHashes) {
+        List<String> nodes = new ArrayList<>(keyHashes.length);
+        for (long keyHash : keyHashes) {
+            nodes.add(partitioner.nodeOf(keyHash));
+        }
+        return nodes;
+    }
+
+    @Test
+    @UseDataProvider("partitionerDataProvider")
+    public void testEmpty(Supplier<Partitioner<String>> supplier) {
+        Partitioner<String> partitioner = supplier.get();
+        assertThat(partitioner.nodes()).isEmpty();
+        try {
+            partitioner.nodeOf(1L);
+            fail();
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage()).isEqualTo("No node in the partitioner");
+        }
+        assertThat(partitioner.add("a")).isTrue();
+        assertThat(partitioner.remove("a")).isTrue();
+        try {
+            partitioner.nodeOf("key");
+            fail();
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage()).isEqualTo("No node in the partitioner");
+        }
+    }
+
+    @Test
+    @UseDataProvider("partitionerDataProvider")
+    public void testAddRemove(Supplier<Partitioner<String>> supplier) {
+        Partitioner<String> partitioner = supplier.get();
+        assertThat(partitioner.add("a")).isTrue();
+        assertThat(partitioner.add("b")).isTrue();
+        assertThat(partitioner.add("a")).isFalse();
+        assertThat(partitioner.nodes()).containsExactly("a", "b").inOrder();
+        assertThat(partitioner.remove("c")).isFalse();
+        assertThat(partitioner.remove("b")).isTrue();
+        assertThat(partitioner.nodes()).containsExactly("a");
+        assertThat(partitioner.nodeOf("key")).isEqualTo("a");
+        assertThat(partitioner.nodeOf(Long.MIN_VALUE)).isEqualTo("a");
+        try {
+            partitioner.nodes().add("d");
+            fail();
+        } catch (UnsupportedOperationException e) {
+            assertThat(partitioner.nodes()).containsExactly("a");
+        }
+    }
+
+    @Test
+    @UseDataProvider("partitionerDataProvider")
+    public void testBalance(Supplier<Partitioner<String>> supplier) {
+        Partitioner<String> partitioner = supplier.get();
+        for (int i = 0; i < 10; i++) {
+            partitioner.add("node-" + i);
+        }
+        Map<String, Integer> counts = new HashMap<>();
+        for (String node : nodesOf(partitioner, keyHashes())) {
+            counts.merge(node, 1, Integer::sum);
+        }
+        assertThat(counts).hasSize(10);
+        for (int count : counts.values()) {
+            // within 25% of the fair share of 2000 keys
+            assertThat(count).isIn(Range.closed(1500, 2500));
+        }
+    }
+
+    @Test
+    @UseDataProvider("partitionerDataProvider")
+    public void testMovementOnAdd(Supplier<Partitioner<String>> supplier) {
+        Partitioner<String> partitioner = supplier.get();
+        for (int i = 0; i < 9; i++) {
+            partitioner.add("node-" + i);
+        }
+        long[] keyHashes = keyHashes();
+        List<String> before = nodesOf(partitioner, keyHashes);
+        partitioner.add("node-9");
+        List<String> after = nodesOf(partitioner, keyHashes);
+        @Var int moved = 0;
+        for (int i = 0; i < keyHashes.length; i++) {
+            if (!before.get(i).equals(after.get(i))) {
+                assertThat(after.get(i)).isEqualTo("node-9");
+                moved++;
+            }
+        }
+        // about 1 / 10 of the keys move, all to the new node
+        assertThat(moved).isIn(Range.closed(KEYS / 10 * 3 / 4, KEYS / 10 * 5 / 4));
+    }
+
+    @Test
+    @UseDataProvider("partitionerDataProvider")
+    public void testMovementOnRemove(Supplier<Partitioner<String>> supplier) {
+        Partitioner<String> partitioner = supplier.get();
+        for (int i = 0; i < 10; i++) {
+            partitioner.add("node-" + i);
+        }
+        long[] keyHashes = keyHashes();
+        List<String> before = nodesOf(partitioner, keyHashes);
+        // the last node, which moves the fewest keys of all the strategies
+        partitioner.remove("node-9");
+        List<String> after = nodesOf(partitioner, keyHashes);
+        for (int i = 0; i < keyHashes.length; i++) {
+            if (!before.get(i).equals("node-9")) {
+                assertThat(after.get(i)).isEqualTo(before.get(i));
+            }
+            assertThat(after.get(i)).isNotEqualTo("node-9");
+        }
+
+        // and back to the same nodes
+        partitioner.add("node-9");
+        assertThat(nodesOf(partitioner, keyHashes)).isEqualTo(before);
+    }
+
+    @Test
+    @UseDataProvider("partitionerDataProvider")
+    public void testConcurrentChanges(Supplier<Partitioner<String>> supplier) throws InterruptedException {
+        Partitioner<String> partitioner = supplier.get();
+        partitioner.add("fixed");
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(4);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            String prefix = "writer-" + t + "-";
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < 500; i++) {
+                        assertThat(partitioner.add(prefix + i % 5)).isTrue();
+                        assertThat(partitioner.remove(prefix + i % 5)).isTrue();
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                } finally {
+                    done.countDown();
+                }
+            }));
+        }
+        for (int t = 0; t < 2; t++) {
+            threads.add(new Thread(() -> {
+                try {
+                    Random random = new Random();
+                    while (running.get()) {
+                        assertThat(partitioner.nodeOf(random.nextLong())).isNotNull();
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                } finally {
+                    done.countDown();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        threads.get(0).join();
+        threads.get(1).join();
+        running.set(false);
+        done.await();
+        assertThat(failure.get()).isNull();
+        assertThat(partitioner.nodes()).containsExactly("fixed");
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.longhorn.fastball.hash;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class RendezvousPartitionerTest {
+
+    @Test
+    public void testOrderOfNodes() {
+        RendezvousPartitioner<String> first = RendezvousPartitioner.create();
+        RendezvousPartitioner<String> second = RendezvousPartitioner.create();
+        for (int i = 0; i < 5; i++) {
+            first.add("node-" + i);
+            second.add("node-" + (4 - i));
+        }
+        Random random = new Random(0);
+        for (int i = 0; i < 1000; i++) {
+            long keyHash = random.nextLong();
+            assertThat(first.nodeOf(keyHash)).isEqualTo(second.nodeOf(keyHash));
+        }
+    }
+
+    @Test
+    public void testRemoveMiddle() {
+        RendezvousPartitioner<String> partitioner = RendezvousPartitioner.create();
+        for (int i = 0; i < 5; i++) {
+            partitioner.add("node-" + i);
+        }
+        Random random = new Random(0);
+        long[] keyHashes = new long[1000];
+        String[] before = new String[keyHashes.length];
+        for (int i = 0; i < keyHashes.length; i++) {
+            keyHashes[i] = random.nextLong();
+            before[i] = partitioner.nodeOf(keyHashes[i]);
+        }
+        partitioner.remove("node-2");
+        for (int i = 0; i < keyHashes.length; i++) {
+            String node = partitioner.nodeOf(keyHashes[i]);
+            if (before[i].equals("node-2")) {
+                assertThat(node).isNotEqualTo("node-2");
+            } else {
+                assertThat(node).isEqualTo(before[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.longhorn.fastball.hash;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public class RingPartitionerTest {
+
+    @Test
+    public void testInvalidVirtualNodes() {
+        try {
+            RingPartitioner.create(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid virtual nodes: 0");
+        }
+    }
+
+    @Test
+    public void testOrderOfNodes() {
+        RingPartitioner<String> first = RingPartitioner.create(50);
+        RingPartitioner<String> second = RingPartitioner.create(50);
+        for (int i = 0; i < 5; i++) {
+            first.add("node-" + i);
+            second.add("node-" + (4 - i));
+        }
+        // removing a node in the middle is the same as never adding it
+        first.add("extra");
+        first.remove("node-2");
+        second.remove("node-2");
+        second.add("extra");
+        Random random = new Random(0);
+        for (int i = 0; i < 1000; i++) {
+            long keyHash = random.nextLong();
+            assertThat(first.nodeOf(keyHash)).isEqualTo(second.nodeOf(keyHash));
+        }
+    }
+
+    @Test
+    public void testWrapAround() {
+        RingPartitioner<String> partitioner = RingPartitioner.create(1);
+        partitioner.add("a");
+        partitioner.add("b");
+        assertThat(partitioner.nodeOf(Long.MAX_VALUE)).isEqualTo(partitioner.nodeOf(Long.MIN_VALUE));
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.longhorn.fastball.hash;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.github.longhorn.fastball.hash.XxHash64Test.assertIncremental;
+import static com.github.longhorn.fastball.hash.XxHash64Test.sanityBuffer;
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(DataProviderRunner.class)
+public class WyHashTest {
+
+    @DataProvider
+    public static Object[][] vectorDataProvider() {
+        // the test vectors of the reference implementation, the seed is the index
+        return new Object[][]{
+                {"", 0L, 0x0409638EE2BDE459L},
+                {"a", 1L, 0xA8412D091B5FE0A9L},
+                {"abc", 2L, 0x32DD92E4B2915153L},
+                {"message digest", 3L, 0x8619124089A3A16BL},
+                {"abcdefghijklmnopqrstuvwxyz", 4L, 0x7A43AFB61D7F5F40L},
+                {"ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789", 5L, 0xFF42329B90E50D58L},
+                {"12345678901234567890123456789012345678901234567890123456789012345678901234567890", 6L,
+                        0xC39CAB13B115AAD3L},
+        };
+    }
+
+    @Test
+    @UseDataProvider("vectorDataProvider")
+    public void testVectors(String input, long seed, long expected) {
+        byte[] bytes = input.getBytes(StandardCharsets.US_ASCII);
+        assertThat(WyHash.hash(bytes, 0, bytes.length, seed)).isEqualTo(expected);
+        WyHash hash = WyHash.create(seed);
+        for (int piece : new int[]{1, 5, 16, 47, 48, 49}) {
+            assertIncremental(hash, bytes, piece, expected);
+        }
+    }
+
+    @Test
+    public void testIncremental() {
+        byte[] input = sanityBuffer(500);
+        WyHash hash = WyHash.create(7);
+        for (int length = 0; length <= input.length; length++) {
+            long expected = WyHash.hash(input, 0, length, 7);
+            for (int piece : new int[]{1, 16, 17, 48, 49, 97}) {
+                assertIncremental(hash, Arrays.copyOf(input, length), piece, expected);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.longhorn.fastball.hash;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static com.github.longhorn.fastball.hash.XxHash64Test.assertIncremental;
+import static com.github.longhorn.fastball.hash.XxHash64Test.sanityBuffer;
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(DataProviderRunner.class)
+public class XxHash3Test {
+
+    @DataProvider
+    public static Object[][] vectorDataProvider() {
+        // from XXH3_64bits_withSeed of the reference implementation 0.8.1
+        return new Object[][]{
+                {0, 0x0L, 0x2D06800538D394C2L},
+                {3, 0x0L, 0x54247382A8D6B94DL},
+                {8, 0x0L, 0x24CCC9ACAA9F65E4L},
+                {16, 0x0L, 0x981B17D36C7498C9L},
+                {33, 0x0L, 0xABFB2D081B400A10L},
+                {97, 0x0L, 0xCA4CA268FD3C3A6CL},
+                {129, 0x0L, 0x98F1B0A679A2CA29L},
+                {240, 0x0L, 0x81C3C2B67F568CCFL},
+                {241, 0x0L, 0xC5A639ECD2030E5EL},
+                {257, 0x0L, 0xB17FD5A8AE75BB0BL},
+                {1025, 0x0L, 0xD870C0FA13211C6AL},
+                {2367, 0x0L, 0xCB37AEB9E5D361EDL},
+                {0, 0x9E3779B1L, 0xF702CA3814DE2125L},
+                {3, 0x9E3779B1L, 0xF173D14DAD53A5DCL},
+                {8, 0x9E3779B1L, 0x360073B0548DBD24L},
+                {16, 0x9E3779B1L, 0xB40F1F6CDB1569CCL},
+                {33, 0x9E3779B1L, 0x0F2422E0C42A54FCL},
+                {97, 0x9E3779B1L, 0x3B345FC76580A2D1L},
+                {129, 0x9E3779B1L, 0xC861FFC49C2BF14FL},
+                {240, 0x9E3779B1L, 0x507820EA74B895B0L},
+                {241, 0x9E3779B1L, 0x5927E3637BAC8149L},
+                {257, 0x9E3779B1L, 0x02F16A1476C65D95L},
+                {1025, 0x9E3779B1L, 0x2F15255340AE4F6CL},
+                {2367, 0x9E3779B1L, 0x6F5360AE69C2F406L},
+                {0, 0x9E3779B185EBCA8DL, 0xA8A6B918B2F0364AL},
+                {3, 0x9E3779B185EBCA8DL, 0x634B8990B4976373L},
+                {8, 0x9E3779B185EBCA8DL, 0x8F973410999B8F6BL},
+                {16, 0x9E3779B185EBCA8DL, 0x663F29333B4DB6B1L},
+                {33, 0x9E3779B185EBCA8DL, 0xAD56348DA574BB6DL},
+                {97, 0x9E3779B185EBCA8DL, 0xEE461D3ADD7EE6C9L},
+                {129, 0x9E3779B185EBCA8DL, 0x21FFFDBCA099C844L},
+                {240, 0x9E3779B185EBCA8DL, 0xCC0F58C27EF3D8EEL},
+                {241, 0x9E3779B185EBCA8DL, 0xDDA9B0A161D4829AL},
+                {257, 0x9E3779B185EBCA8DL, 0x802A6FBF3CACD97CL},
+                {1025, 0x9E3779B185EBCA8DL, 0x96792BCF9AF88519L},
+                {2367, 0x9E3779B185EBCA8DL, 0xD2DB3415B942B42AL},
+        };
+    }
+
+    @Test
+    @UseDataProvider("vectorDataProvider")
+    public void testVectors(int length, long seed, long expected) {
+        byte[] input = sanityBuffer(length);
+        byte[] bytes = new byte[length + 3];
+        System.arraycopy(input, 0, bytes, 3, length);
+        assertThat(XxHash3.hash(bytes, 3, length, seed)).isEqualTo(expected);
+        XxHash3 hash = XxHash3.create(seed);
+        for (int piece : new int[]{1, 7, 63, 64, 65, 255, 256, 257, 1000, 5000}) {
+            assertIncremental(hash, input, piece, expected);
+        }
+    }
+
+    @Test
+    public void testBlockBoundaries() {
+        // the inputs which end at or next to the ends of the stripes, the internal buffer and the blocks
+        byte[] input = sanityBuffer(4200);
+        XxHash3 hash = XxHash3.create(42);
+        for (int length : new int[]{256, 320, 511, 512, 513, 1023, 1024, 1025, 1088, 2049, 4096, 4097, 4160}) {
+            long expected = XxHash3.hash(input, 0, length, 42);
+            hash.reset();
+            hash.update(input, 0, length - 1);
+            hash.update(input, length - 1, 1);
+            assertThat(hash.getValue()).isEqualTo(expected);
+            hash.reset();
+            hash.update(input, 0, 100);
+            hash.update(input, 100, length - 100);
+            assertThat(hash.getValue()).isEqualTo(expected);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.longhorn.fastball.hash;
+
+import com.google.errorprone.annotations.Var;
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(DataProviderRunner.class)
+public class XxHash64Test {
+    private static final long PRIME32 = 0x9E3779B1L;
+    private static final long PRIME64 = 0x9E3779B185EBCA8DL;
+
+    /**
+     * Generate the input of the sanity checks of xxHash.
+     */
+    static byte[] sanityBuffer(int length) {
+        byte[] buffer = new byte[length];
+        @Var long generator = PRIME32;
+        for (int i = 0; i < length; i++) {
+            buffer[i] = (byte) (generator >>> 56);
+            generator *= PRIME64;
+        }
+        return buffer;
+    }
+
+    /**
+     * Check the incremental hash by feeding the bytes in pieces of the size.
+     */
+    static void assertIncremental(StreamingHash hash, byte[] bytes, int piece, long expected) {
+        hash.reset();
+        for (int i = 0; i < bytes.length; i += piece) {
+            hash.update(bytes, i, Math.min(piece, bytes.length - i));
+        }
+        assertThat(hash.getValue()).isEqualTo(expected);
+        // the hash could be updated after getting the value
+        hash.update(bytes, 0, 0);
+        assertThat(hash.getValue()).isEqualTo(expected);
+    }
+
+    @DataProvider
+    public static Object[][] vectorDataProvider() {
+        // from XXH64 of the reference implementation 0.8.1
+        return new Object[][]{
+                {0, 0x0L, 0xEF46DB3751D8E999L},
+                {3, 0x0L, 0xFF7E1959CB50794AL},
+                {8, 0x0L, 0xCDBCF538E71D1348L},
+                {16, 0x0L, 0x98C90B57FDFCB55CL},
+                {33, 0x0L, 0x55C8DC3E578F5B59L},
+                {97, 0x0L, 0x097B16E4E9B0A2E3L},
+                {129, 0x0L, 0x41C280132D697ABAL},
+                {240, 0x0L, 0xB81838D483BAEE53L},
+                {241, 0x0L, 0x95D76C8B4D8FC4D6L},
+                {257, 0x0L, 0xD36CF327DCF12221L},
+                {1025, 0x0L, 0x847FA6006D7C2AC0L},
+                {2367, 0x0L, 0xA82418DDEC0EA581L},
+                {0, 0x9E3779B1L, 0xAC75FDA2929B17EFL},
+                {3, 0x9E3779B1L, 0xAA8584E83660F7D1L},
+                {8, 0x9E3779B1L, 0xFE0C047A5353CDACL},
+                {16, 0x9E3779B1L, 0xC900AD2D536B607EL},
+                {33, 0x9E3779B1L, 0xE92C292F64BC3071L},
+                {97, 0x9E3779B1L, 0x9704E5147FDCC4F4L},
+                {129, 0x9E3779B1L, 0x1668B87489935FF5L},
+                {240, 0x9E3779B1L, 0xA4B3F965B6FE67F8L},
+                {241, 0x9E3779B1L, 0x19D5AD5F4BD6CB9FL},
+                {257, 0x9E3779B1L, 0x0E59955420F8807BL},
+                {1025, 0x9E3779B1L, 0xB2A65F21FB8D0F5EL},
+                {2367, 0x9E3779B1L, 0xA36A93C18052673AL},
+                {0, 0x9E3779B185EBCA8DL, 0x0B303D920EC349DFL},
+                {3, 0x9E3779B185EBCA8DL, 0x281B7CBB86CC6A05L},
+                {8, 0x9E3779B185EBCA8DL, 0x768161B4E5A58DFAL},
+                {16, 0x9E3779B185EBCA8DL, 0x85446BBA49CB7DF1L},
+                {33, 0x9E3779B185EBCA8DL, 0xB09782549294DF85L},
+                {97, 0x9E3779B185EBCA8DL, 0xEE752F0A58B68C2EL},
+                {129, 0x9E3779B185EBCA8DL, 0xAEB872C374EABF84L},
+                {240, 0x9E3779B185EBCA8DL, 0x7C3C8490FE0C1B94L},
+                {241, 0x9E3779B185EBCA8DL, 0x6BD0DB4EF4123409L},
+                {257, 0x9E3779B185EBCA8DL, 0xB509344503E68F3AL},
+                {1025, 0x9E3779B185EBCA8DL, 0x880172CBAE03711FL},
+                {2367, 0x9E3779B185EBCA8DL, 0x363B532C35E01E25L},
+        };
+    }
+
+    @Test
+    @UseDataProvider("vectorDataProvider")
+    public void testVectors(int length, long seed, long expected) {
+        byte[] input = sanityBuffer(length);
+        byte[] bytes = new byte[length + 3];
+        System.arraycopy(input, 0, bytes, 3, length);
+        assertThat(XxHash64.hash(bytes, 3, length, seed)).isEqualTo(expected);
+        XxHash64 hash = XxHash64.create(seed);
+        assertThat(hash.getSeed()).isEqualTo(seed);
+        for (int piece : new int[]{1, 7, 31, 32, 33, 1000}) {
+            assertIncremental(hash, input, piece, expected);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.longhorn.fastball.net;
+
+import org.junit.Test;
+
+import javax.ws.rs.core.UriBuilder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public class CompiledUriTemplateTest {
+    private static final String ALPHABET = "aZ09-._~ !\"#$&'()*+,/:;<=>?@[\\]^`|{}%%%Ffg\u0000\né中😀\uD800";
+    private static final String[] TEMPLATES = {
+            "https://tw.yahoo.com/users/{id}/posts/{post}",
+            "https://tw.yahoo.com/users/{id: [0-9]+}/{lang}?lang={lang}&id={post}",
+            "https://tw.yahoo.com/a b/é/{id}?x=1#{post}",
+            "https://u@tw.yahoo.com:8080/{id}{post}/#f{lang}",
+            "https://tw.yahoo.com",
+            "https://tw.yahoo.com?x",
+            "https://tw.yahoo.com#{id}",
+            "/relative/{id}/{post}",
+            "/{id}/zqxj/{post}",
+    };
+
+    @Test
+    public void test() {
+        CompiledUriTemplate template = CompiledUriTemplate.of("https://tw.yahoo.com/{foo}/{bar}/{foo}#top");
+        assertThat(template.getNames()).containsExactly("foo", "bar").inOrder();
+        assertThat(template.toString()).isEqualTo("https://tw.yahoo.com/{foo}/{bar}/{foo}#top");
+        assertThat(template.expand("a b", 1)).isEqualTo("https://tw.yahoo.com/a%20b/1/a%20b#top");
+
+        QueryStringBuilder query = QueryStringBuilder.create()
+                .queryParamWithCondition(/* condition= */ true, "a", "a")
+                .queryParamIfNotNull("c", (Object) null)
+                .queryParamIfNotEmptyCollection("e", Arrays.asList("e1", "e2"));
+        assertThat(template.expand(query, "x", "y")).isEqualTo("https://tw.yahoo.com/x/y/x?a=a&e=e1%2Ce2#top");
+        assertThat(template.expandTo(new StringBuilder("GET "), query, "x", "y").toString())
+                .isEqualTo("GET https://tw.yahoo.com/x/y/x?a=a&e=e1%2Ce2#top");
+        assertThat(CompiledUriTemplate.of("https://tw.yahoo.com?x").expand(query))
+                .isEqualTo("https://tw.yahoo.com/?x&a=a&e=e1%2Ce2");
+        assertThat(template.expand(query.reset(), "x", "y")).isEqualTo("https://tw.yahoo.com/x/y/x#top");
+    }
+
+    @Test
+    public void testSameAsUriBuilder() {
+        Random random = new Random(42);
+        QueryStringBuilder query = QueryStringBuilder.create();
+        for (String source : TEMPLATES) {
+            CompiledUriTemplate template = CompiledUriTemplate.of(source);
+            for (int i = 0; i < 500; i++) {
+                Object[] values = new Object[template.getNames().size()];
+                for (int j = 0; j < values.length; j++) {
+                    values[j] = random.nextInt(4) == 0 ? random.nextInt() : random(random);
+                }
+                // the braces in the query parameters are URI template parameters of UriBuilder
+                String name = random(random).replaceAll("[{}]", "");
+                String value = random(random).replaceAll("[{}]", "");
+                UriBuilder expected = UriBuilder.fromUri(source);
+                UriBuilderUtil.queryParamIfNotNull(expected, name, value, null);
+                UriBuilderUtil.queryParamIfNotEmptyCollection(expected, "list", Arrays.asList(value, i));
+                query.reset()
+                        .queryParamIfNotNull(name, value, null)
+                        .queryParamIfNotEmptyCollection("list", Arrays.asList(value, i));
+                assertThat(template.expand(values)).isEqualTo(UriBuilder.fromUri(source).build(values).toString());
+                assertThat(template.expand(query, values)).isEqualTo(expected.build(values).toString());
+                // the cached encodings
+                assertThat(template.expand(values)).isEqualTo(UriBuilder.fromUri(source).build(values).toString());
+            }
+        }
+    }
+
+    @Test
+    public void testInvalid() {
+        for (String source : new String[]{"https://{host}/a", "https://tw.yahoo.com:{port}/a", "{scheme}://h/a"}) {
+            try {
+                CompiledUriTemplate.of(source);
+                fail();
+            } catch (IllegalArgumentException e) {
+                assertThat(e.getMessage())
+                        .isEqualTo("Invalid template: " + source + " has a parameter out of the path, the query and "
+                                + "the fragment");
+            }
+        }
+        try {
+            CompiledUriTemplate.of("https://tw.yahoo.com/{a");
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        CompiledUriTemplate template = CompiledUriTemplate.of("https://tw.yahoo.com/{a}/{b}");
+        for (Object[] values : Arrays.asList(new Object[]{"a"}, new Object[]{"a", null})) {
+            try {
+                template.expand(values);
+                fail();
+            } catch (IllegalArgumentException e) {
+                assertThat(e.getMessage()).isEqualTo("Invalid values: no value of the template parameter b");
+            }
+        }
+        assertThat(template.expand(Collections.nCopies(3, "x").toArray())).isEqualTo("https://tw.yahoo.com/x/x");
+    }
+
+    private static String random(Random random) {
+        int length = random.nextInt(8);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return builder.toString();
+    }
+}
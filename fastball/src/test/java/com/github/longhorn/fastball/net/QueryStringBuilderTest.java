@@ -0,0 +1,105 @@
+package com.github.longhorn.fastball.net;
+
+import org.junit.Test;
+
+import javax.ws.rs.core.UriBuilder;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public class QueryStringBuilderTest {
+    private static final String ALPHABET = "aZ09-._~ !\"#$&'()*+,/:;<=>?@[\\]^`|%%%Ffg\u0000\né中😀"
+            + "𐀀";
+
+    @Test
+    public void test() {
+        QueryStringBuilder builder = QueryStringBuilder.create()
+                .queryParamWithCondition(/* condition= */ true, "a", "a")
+                .queryParamWithCondition(/* condition= */ false, "b", "b")
+                .queryParamIfNotNull("c", "c")
+                .queryParamIfNotNull("d", (Object) null)
+                .queryParamIfNotNull("d", (Object[]) null)
+                .queryParamIfNotEmptyCollection("e", Arrays.asList("e1", "e2"))
+                .queryParamIfNotEmptyCollection("f", Collections.emptyList())
+                .queryParamIfNotEmptyCollection("f", null);
+        assertThat(builder.toString()).isEqualTo("a=a&c=c&e=e1%2Ce2");
+        assertThat(builder.appendTo(new StringBuilder("https://tw.yahoo.com/foo")).toString())
+                .isEqualTo("https://tw.yahoo.com/foo?a=a&c=c&e=e1%2Ce2");
+        assertThat(builder.appendTo(new StringBuilder("https://tw.yahoo.com/foo?x=1")).toString())
+                .isEqualTo("https://tw.yahoo.com/foo?x=1&a=a&c=c&e=e1%2Ce2");
+        assertThat(builder.appendTo(new StringBuilder("https://tw.yahoo.com/foo?")).toString())
+                .isEqualTo("https://tw.yahoo.com/foo?a=a&c=c&e=e1%2Ce2");
+
+        assertThat(builder.reset().length()).isEqualTo(0);
+        assertThat(builder.appendTo(new StringBuilder("https://tw.yahoo.com")).toString())
+                .isEqualTo("https://tw.yahoo.com");
+        assertThat(builder.queryParamIfNotNull("n", 1, null, -2L, 3.5, true).toString())
+                .isEqualTo("n=1&n=-2&n=3.5&n=true");
+    }
+
+    @Test
+    public void testSameAsUriBuilder() {
+        Random random = new Random(42);
+        QueryStringBuilder builder = QueryStringBuilder.create(16);
+        for (int i = 0; i < 2000; i++) {
+            String name = random(random);
+            String value = random(random);
+            String other = random(random);
+            UriBuilder expected = UriBuilder.fromUri("http://h/p");
+            UriBuilderUtil.queryParamWithCondition(expected, /* condition= */ true, name, value, i);
+            UriBuilderUtil.queryParamIfNotNull(expected, value, null, other);
+            UriBuilderUtil.queryParamIfNotEmptyCollection(expected, other, Arrays.asList(value, other, name));
+            builder.reset()
+                    .queryParamWithCondition(/* condition= */ true, name, value, i)
+                    .queryParamIfNotNull(value, null, other)
+                    .queryParamIfNotEmptyCollection(other, Arrays.asList(value, other, name));
+            assertThat(builder.appendTo(new StringBuilder("http://h/p")).toString())
+                    .isEqualTo(expected.build().toString());
+        }
+    }
+
+    @Test
+    public void testWriteTo() {
+        QueryStringBuilder builder = QueryStringBuilder.create().queryParam("q", "a bé");
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        builder.writeTo(buffer).flip();
+        assertThat(StandardCharsets.US_ASCII.decode(buffer).toString()).isEqualTo("q=a+b%C3%A9");
+        try {
+            builder.writeTo(ByteBuffer.allocate(4));
+            fail();
+        } catch (BufferOverflowException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testInvalid() {
+        try {
+            QueryStringBuilder.create().queryParam("a", "b", null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid query parameter: a of a null value");
+        }
+        try {
+            QueryStringBuilder.create().queryParamIfNotNull(null, "b");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid query parameter: null");
+        }
+    }
+
+    private static String random(Random random) {
+        int length = random.nextInt(8);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.longhorn.fastball.net;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.ws.rs.core.UriBuilder;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of building the same URL by {@code UriBuilder} with {@link UriBuilderUtil}, and by \
+ * {@link CompiledUriTemplate} with {@link QueryStringBuilder}. Run {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UriBenchmark {
+    private static final String BASE = "https://tw.yahoo.com/users/{id}/posts";
+    private static final CompiledUriTemplate TEMPLATE = CompiledUriTemplate.of(BASE + "/{post}");
+    private static final List<String> TAGS = Arrays.asList("news", "sports");
+
+    private final QueryStringBuilder query = QueryStringBuilder.create();
+    private int id;
+
+    @Benchmark
+    public String uriBuilder() {
+        id++;
+        UriBuilder builder = UriBuilder.fromUri(BASE).path("{post}");
+        UriBuilderUtil.queryParamIfNotNull(builder, "lang", "zh tw");
+        UriBuilderUtil.queryParamIfNotNull(builder, "region", (Object) null);
+        UriBuilderUtil.queryParamIfNotEmptyCollection(builder, "tags", TAGS);
+        return builder.build(id, "first post").toString();
+    }
+
+    @Benchmark
+    public String compiledUriTemplate() {
+        id++;
+        query.reset()
+                .queryParamIfNotNull("lang", "zh tw")
+                .queryParamIfNotNull("region", (Object) null)
+                .queryParamIfNotEmptyCollection("tags", TAGS);
+        return TEMPLATE.expand(query, id, "first post");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(UriBenchmark.class.getSimpleName()).build()).run();
+    }
+}
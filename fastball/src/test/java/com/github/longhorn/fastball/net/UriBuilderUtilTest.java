@@ -15,8 +15,8 @@ public class UriBuilderUtilTest {
     public void test() {
         UriBuilder builder = UriBuilder.fromUri("https://tw.yahoo.com")
                 .path("foo");
-        UriBuilderUtil.queryParamWithCondition(builder, true, "a", "a");
-        UriBuilderUtil.queryParamWithCondition(builder, false, "b", "b");
+        UriBuilderUtil.queryParamWithCondition(builder, /* condition= */ true, "a", "a");
+        UriBuilderUtil.queryParamWithCondition(builder, /* condition= */ false, "b", "b");
         UriBuilderUtil.queryParamIfNotNull(builder, "c", "c");
         UriBuilderUtil.queryParamIfNotNull(builder, "d", null);
         UriBuilderUtil.queryParamIfNotEmptyCollection(builder, "e", Arrays.asList("e1", "e2"));
@@ -0,0 +1,193 @@
+package com.github.longhorn.fastball.object;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.ToolProvider;
+import java.beans.ConstructorProperties;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public class BeanConstructorTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testFromBean() throws InvocationTargetException {
+        Point point = Objects.construct(Point.class, new Coordinates().setX(3).setY("12"));
+        assertThat(point.toString()).isEqualTo("3,12,null");
+        assertThat(Objects.construct(Point.class, new Coordinates()).toString()).isEqualTo("0,0,null");
+        assertThat(BeanConstructor.of(Point.class, Coordinates.class))
+                .isSameAs(BeanConstructor.of(Point.class, Coordinates.class));
+    }
+
+    @Test
+    public void testFromMap() throws InvocationTargetException {
+        Map<String, Object> map = new HashMap<>();
+        map.put("x", "5");
+        map.put("label", "p");
+        map.put("other", 1);
+        assertThat(Objects.construct(Point.class, map).toString()).isEqualTo("5,0,p");
+    }
+
+    @Test
+    public void testNoArgConstructor() throws InvocationTargetException {
+        BeanMergerTest.Target target = Objects.construct(BeanMergerTest.Target.class,
+                new BeanMergerTest.Source().setCount(4).setNote(9));
+        assertThat(target.getCount()).isEqualTo(4);
+        assertThat(target.getNote()).isEqualTo("9");
+    }
+
+    @Test
+    public void testNamedConstructors() throws Exception {
+        File sources = folder.newFolder("beans");
+        write(sources, "Person", "public Person() {", "}",
+                "public Person(String name) {", "    this.name = name + \"!\";", "}");
+        write(sources, "Full", "public Full() {", "}",
+                "public Full(String name, int age) {", "    this.name = name + \"!\";", "    this.age = age;", "}");
+        write(sources, "Named", "public Named(String name) {", "    this.name = name + \"!\";", "}");
+        Files.write(sources.toPath().resolve("Pair.java"), Arrays.asList(
+                "package beans;",
+                "public final class Pair {",
+                "    private final String key;",
+                "    private final int value;",
+                "    public Pair(String key, int value) {",
+                "        this.key = key;",
+                "        this.value = value;",
+                "    }",
+                "    public String getKey() { return key; }",
+                "    public int getValue() { return value; }",
+                "    @Override",
+                "    public String toString() { return key + \",\" + value; }",
+                "}"), StandardCharsets.UTF_8);
+        File classes = folder.newFolder("classes");
+        List<String> arguments = new ArrayList<>(Arrays.asList("-proc:none", "-parameters", "-d", classes.getPath()));
+        for (File source : sources.listFiles()) {
+            arguments.add(source.getPath());
+        }
+        assertThat(ToolProvider.getSystemJavaCompiler().run(null, null, null, arguments.toArray(new String[0])))
+                .isEqualTo(0);
+        Map<String, Object> map = new HashMap<>();
+        map.put("name", "n");
+        map.put("age", 42);
+        map.put("key", "k");
+        map.put("value", "7");
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toURI().toURL()},
+                BeanConstructorTest.class.getClassLoader())) {
+            // the no-arg constructor, since the named one does not cover the age
+            assertThat(Objects.construct(loader.loadClass("beans.Person"), map).toString()).isEqualTo("n,42");
+            assertThat(Objects.construct(loader.loadClass("beans.Full"), map).toString()).isEqualTo("n!,42");
+            // the age is merged after the construction
+            assertThat(Objects.construct(loader.loadClass("beans.Named"), map).toString()).isEqualTo("n!,42");
+            assertThat(Objects.construct(loader.loadClass("beans.Pair"), map).toString()).isEqualTo("k,7");
+        }
+    }
+
+    @Test
+    public void testInvalid() throws InvocationTargetException {
+        try {
+            Objects.construct(Unnamed.class, new Coordinates());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid type: " + Unnamed.class.getName()
+                    + " has neither a constructor of the properties nor a public no-arg constructor");
+        }
+        try {
+            Objects.construct(Point.class, new HashMap<>(Collections.singletonMap("label", "")));
+            fail();
+        } catch (InvocationTargetException e) {
+            assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    /**
+     * Write a bean of the settable name and age with the constructors.
+     */
+    private static void write(File folder, String name, String... constructors) throws IOException {
+        List<String> lines = new ArrayList<>(Arrays.asList(
+                "package beans;",
+                "public class " + name + " {",
+                "    private String name;",
+                "    private int age;"));
+        for (String line : constructors) {
+            lines.add("    " + line);
+        }
+        lines.addAll(Arrays.asList(
+                "    public String getName() { return name; }",
+                "    public void setName(String name) { this.name = name; }",
+                "    public int getAge() { return age; }",
+                "    public void setAge(int age) { this.age = age; }",
+                "    @Override",
+                "    public String toString() { return name + \",\" + age; }",
+                "}"));
+        Files.write(folder.toPath().resolve(name + ".java"), lines, StandardCharsets.UTF_8);
+    }
+
+    public static final class Point {
+        private final int x;
+        private final long y;
+        private final String label;
+
+        public Point(int x, long y) {
+            this(x, y, "unused");
+        }
+
+        @ConstructorProperties({"x", "y", "label"})
+        public Point(int x, long y, String label) {
+            if (label != null && label.isEmpty()) {
+                throw new IllegalStateException();
+            }
+            this.x = x;
+            this.y = y;
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return x + "," + y + "," + label;
+        }
+    }
+
+    public static class Coordinates {
+        private Integer x;
+        private String y;
+
+        public Integer getX() {
+            return x;
+        }
+
+        public Coordinates setX(Integer x) {
+            this.x = x;
+            return this;
+        }
+
+        public String getY() {
+            return y;
+        }
+
+        public Coordinates setY(String y) {
+            this.y = y;
+            return this;
+        }
+    }
+
+    public static final class Unnamed {
+        public Unnamed(int x) {
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package com.github.longhorn.fastball.object;
+
+import org.apache.commons.beanutils.BeanUtilsBean;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.github.longhorn.fastball.object.MergeOutcome.outcome;
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public class BeanMergerTest {
+    /**
+     * The merge of commons-beanutils, which {@link Objects} did before.
+     */
+    static final BeanUtilsBean REFERENCE = new BeanUtilsBean(BeanMerger.CONVERT_UTILS,
+            BeanProperties.PROPERTY_UTILS) {
+        @Override
+        public void copyProperty(Object dest, String name, Object value)
+                throws IllegalAccessException, InvocationTargetException {
+            if (value != null) {
+                super.copyProperty(dest, name, value);
+            }
+        }
+    };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSameAsBeanUtils() {
+        Source[] sources = {
+                new Source(),
+                new Source().setCount(3).setPrice("12.5").setTags(new String[]{"a", "b"}).setTotal(7L)
+                        .setFlag("true").setNote(42).setItems(Arrays.asList("x", "y"))
+                        .setCodes(new String[]{"1", "2", "3"}),
+                new Source().setPrice("abc").setFlag("yes").setTotal(Long.MAX_VALUE),
+        };
+        for (Source source : sources) {
+            Target expected = new Target().setCount(1).setNote("note");
+            Target actual = new Target().setCount(1).setNote("note");
+            assertThat(outcome(() -> Objects.merge(actual, source), actual))
+                    .isEqualTo(outcome(() -> REFERENCE.copyProperties(expected, source), expected));
+
+            ArrayTarget expectedArrays = new ArrayTarget();
+            ArrayTarget actualArrays = new ArrayTarget();
+            assertThat(outcome(() -> Objects.merge(actualArrays, source), actualArrays))
+                    .isEqualTo(outcome(() -> REFERENCE.copyProperties(expectedArrays, source), expectedArrays));
+        }
+    }
+
+    @Test
+    public void testFluentAndPlainSetters() throws InvocationTargetException {
+        Merger<Source, Plain> merger = Objects.merger(Source.class, Plain.class);
+        Plain plain = new Plain();
+        merger.merge(plain, new Source().setCount(5).setNote(6));
+        assertThat(plain.getCount()).isEqualTo(5);
+        assertThat(plain.getNote()).isEqualTo("6");
+    }
+
+    @Test
+    public void testThrowingAccessor() {
+        try {
+            Objects.merger(Throwing.class, Plain.class).merge(new Plain(), new Throwing());
+            fail();
+        } catch (InvocationTargetException e) {
+            assertThat(e.getCause()).isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+
+    @Test
+    public void testInvalidValue() throws InvocationTargetException {
+        try {
+            Objects.merger(Mismatch.class, Target.class).merge(new Target(), new Mismatch());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid value of property items: 1");
+        }
+    }
+
+    @Test
+    public void testPrimitives() {
+        Numbers[] sources = {
+                new Numbers(),
+                new Numbers().setCount(Integer.MIN_VALUE).setTotal(Long.MAX_VALUE).setRatio(Double.NaN).setSize(-0.0),
+                new Numbers().setCount(7).setTotal(-1L).setRatio(Double.NEGATIVE_INFINITY).setSize(1e300),
+        };
+        for (Numbers source : sources) {
+            Numbers expected = new Numbers().setCount(1).setTotal(2L).setRatio(3.0).setSize(4.0);
+            Numbers actual = new Numbers().setCount(1).setTotal(2L).setRatio(3.0).setSize(4.0);
+            assertThat(outcome(() -> Objects.merge(actual, source), actual))
+                    .isEqualTo(outcome(() -> REFERENCE.copyProperties(expected, source), expected));
+        }
+    }
+
+    @Test
+    public void testChildClassLoader() throws Exception {
+        Path source = folder.newFolder("beans").toPath().resolve("Bean.java");
+        Files.write(source, Arrays.asList(
+                "package beans;",
+                "public class Bean {",
+                "    private String name;",
+                "    private int count;",
+                "    private long total;",
+                "    private double ratio;",
+                "    private Bean next;",
+                "    public String getName() { return name; }",
+                "    public void setName(String name) { this.name = name; }",
+                "    public int getCount() { return count; }",
+                "    public void setCount(int count) { this.count = count; }",
+                "    public long getTotal() { return total; }",
+                "    public void setTotal(long total) { this.total = total; }",
+                "    public double getRatio() { return ratio; }",
+                "    public void setRatio(double ratio) { this.ratio = ratio; }",
+                "    public Bean getNext() { return next; }",
+                "    public void setNext(Bean next) { this.next = next; }",
+                "    @Override",
+                "    public String toString() {",
+                "        return name + \",\" + count + \",\" + total + \",\" + ratio + \",\" + next;",
+                "    }",
+                "}"), StandardCharsets.UTF_8);
+        File classes = folder.newFolder("classes");
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertThat(compiler.run(null, null, null, "-proc:none", "-d", classes.getPath(), source.toString()))
+                .isEqualTo(0);
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toURI().toURL()},
+                BeanMergerTest.class.getClassLoader())) {
+            Class<?> type = loader.loadClass("beans.Bean");
+            Object src = type.getConstructor().newInstance();
+            type.getMethod("setName", String.class).invoke(src, "src");
+            type.getMethod("setCount", int.class).invoke(src, 3);
+            type.getMethod("setTotal", long.class).invoke(src, 4L);
+            type.getMethod("setRatio", double.class).invoke(src, 0.5);
+            type.getMethod("setNext", type).invoke(src, type.getConstructor().newInstance());
+            Object dest = type.getConstructor().newInstance();
+            Objects.merge(dest, src);
+            assertThat(dest.toString()).isEqualTo("src,3,4,0.5,null,0,0,0.0,null");
+        }
+    }
+
+    public static class Source {
+        private Integer count;
+        private String price;
+        private String[] tags;
+        private String[] codes;
+        private Long total;
+        private String flag;
+        private Integer note;
+        private List<String> items;
+
+        public Integer getCount() {
+            return count;
+        }
+
+        public Source setCount(Integer count) {
+            this.count = count;
+            return this;
+        }
+
+        public String getPrice() {
+            return price;
+        }
+
+        public Source setPrice(String price) {
+            this.price = price;
+            return this;
+        }
+
+        public String[] getTags() {
+            return tags;
+        }
+
+        public Source setTags(String[] tags) {
+            this.tags = tags;
+            return this;
+        }
+
+        public String[] getCodes() {
+            return codes;
+        }
+
+        public Source setCodes(String[] codes) {
+            this.codes = codes;
+            return this;
+        }
+
+        public Long getTotal() {
+            return total;
+        }
+
+        public Source setTotal(Long total) {
+            this.total = total;
+            return this;
+        }
+
+        public String getFlag() {
+            return flag;
+        }
+
+        public Source setFlag(String flag) {
+            this.flag = flag;
+            return this;
+        }
+
+        public Integer getNote() {
+            return note;
+        }
+
+        public Source setNote(Integer note) {
+            this.note = note;
+            return this;
+        }
+
+        public List<String> getItems() {
+            return items;
+        }
+
+        public Source setItems(List<String> items) {
+            this.items = items;
+            return this;
+        }
+    }
+
+    public static class Target {
+        private int count;
+        private BigDecimal price;
+        private String tags;
+        private long total;
+        private boolean flag;
+        private String note;
+        private List<String> items;
+
+        public int getCount() {
+            return count;
+        }
+
+        public Target setCount(int count) {
+            this.count = count;
+            return this;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public Target setPrice(BigDecimal price) {
+            this.price = price;
+            return this;
+        }
+
+        public String getTags() {
+            return tags;
+        }
+
+        public Target setTags(String tags) {
+            this.tags = tags;
+            return this;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public Target setTotal(long total) {
+            this.total = total;
+            return this;
+        }
+
+        public boolean isFlag() {
+            return flag;
+        }
+
+        public Target setFlag(boolean flag) {
+            this.flag = flag;
+            return this;
+        }
+
+        public String getNote() {
+            return note;
+        }
+
+        public Target setNote(String note) {
+            this.note = note;
+            return this;
+        }
+
+        public List<String> getItems() {
+            return items;
+        }
+
+        public Target setItems(List<String> items) {
+            this.items = items;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return count + "," + price + "," + tags + "," + total + "," + flag + "," + note + "," + items;
+        }
+    }
+
+    /**
+     * The string arrays of the source are copied into arrays rather than their first elements.
+     */
+    public static class ArrayTarget {
+        private String[] tags;
+        private int[] codes;
+
+        public String[] getTags() {
+            return tags;
+        }
+
+        public void setTags(String[] tags) {
+            this.tags = tags;
+        }
+
+        public int[] getCodes() {
+            return codes;
+        }
+
+        public void setCodes(int[] codes) {
+            this.codes = codes;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(tags) + "," + Arrays.toString(codes);
+        }
+    }
+
+    public static class Numbers {
+        private int count;
+        private long total;
+        private double ratio;
+        private double size;
+
+        public int getCount() {
+            return count;
+        }
+
+        public Numbers setCount(int count) {
+            this.count = count;
+            return this;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public Numbers setTotal(long total) {
+            this.total = total;
+            return this;
+        }
+
+        public double getRatio() {
+            return ratio;
+        }
+
+        public Numbers setRatio(double ratio) {
+            this.ratio = ratio;
+            return this;
+        }
+
+        /**
+         * A boxed property, which is copied with the conversion.
+         */
+        public Double getSize() {
+            return size;
+        }
+
+        public Numbers setSize(Double size) {
+            this.size = size;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return count + "," + total + "," + ratio + "," + size;
+        }
+    }
+
+    public static class Plain {
+        private int count;
+        private String note;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public String getNote() {
+            return note;
+        }
+
+        public void setNote(String note) {
+            this.note = note;
+        }
+    }
+
+    public static class Throwing {
+        public Integer getCount() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    public static class Mismatch {
+        public Integer getItems() {
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.longhorn.fastball.object;
+
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public class ChangeSetTest {
+    @Test
+    public void testUnchanged() throws InvocationTargetException {
+        ChangeSet<Item> changes = Objects.diff(new Item().setName("a").setCodes(new int[]{1, 2}),
+                new Item().setName("a").setCodes(new int[]{1, 2}));
+        assertThat(changes.isEmpty()).isTrue();
+        assertThat(changes.size()).isEqualTo(0);
+        assertThat(changes.getNames()).isEmpty();
+        assertThat(changes.toMap()).isEmpty();
+        assertThat(changes.getType()).isSameAs(Item.class);
+    }
+
+    @Test
+    public void testChanged() throws InvocationTargetException {
+        Item before = new Item().setName("a").setCount(1).setTags(Arrays.asList("x")).setExtra(new String[]{"e"});
+        Item after = new Item().setCount(2).setTags(Arrays.asList("x")).setExtra(new String[]{"f"})
+                .setCodes(new int[]{3});
+        ChangeSet<Item> changes = Objects.diff(before, after);
+        assertThat(changes.size()).isEqualTo(4);
+        assertThat(changes.getNames()).containsExactly("codes", "count", "extra", "name").inOrder();
+        assertThat(changes.isChanged("name")).isTrue();
+        assertThat(changes.isChanged("tags")).isFalse();
+        assertThat(changes.isChanged("unknown")).isFalse();
+        assertThat(changes.getValue("name")).isNull();
+        assertThat(changes.getValue("count")).isEqualTo(2);
+        assertThat(changes.getValue("codes")).isSameAs(after.getCodes());
+        assertThat(changes.toMap().keySet()).containsExactly("codes", "count", "extra", "name").inOrder();
+        assertThat(changes.toString()).startsWith("ChangeSet{codes=");
+        try {
+            changes.getValue("tags");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid property: tags is not changed");
+        }
+    }
+
+    @Test
+    public void testApply() throws InvocationTargetException {
+        Item before = new Item().setName("a").setCount(1);
+        Item after = new Item().setCount(5);
+        Item target = new Item().setName("b").setCount(9).setTags(Arrays.asList("t"));
+        Objects.diff(before, after).apply(target);
+        assertThat(target.getName()).isNull();
+        assertThat(target.getCount()).isEqualTo(5);
+        assertThat(target.getTags()).containsExactly("t");
+    }
+
+    @Test
+    public void testApplyToSubclass() throws InvocationTargetException {
+        Plain target = new Plain() {
+        };
+        Plain after = new Plain();
+        after.setNote("n");
+        Objects.diff(new Plain(), after).apply(target);
+        assertThat(target.getNote()).isEqualTo("n");
+    }
+
+    @Test
+    public void testInvalid() throws InvocationTargetException {
+        try {
+            Objects.diff(new Plain(), new Plain() {
+            });
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).startsWith("Invalid beans: ");
+        }
+        try {
+            Objects.diff(new Throwing(), new Throwing());
+            fail();
+        } catch (InvocationTargetException e) {
+            assertThat(e.getCause()).isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+
+    public static class Item {
+        private String name;
+        private int count;
+        private List<String> tags;
+        private int[] codes;
+        private Object extra;
+
+        public String getName() {
+            return name;
+        }
+
+        public Item setName(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public Item setCount(int count) {
+            this.count = count;
+            return this;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public Item setTags(List<String> tags) {
+            this.tags = tags;
+            return this;
+        }
+
+        public int[] getCodes() {
+            return codes;
+        }
+
+        public Item setCodes(int[] codes) {
+            this.codes = codes;
+            return this;
+        }
+
+        public Object getExtra() {
+            return extra;
+        }
+
+        public Item setExtra(Object extra) {
+            this.extra = extra;
+            return this;
+        }
+
+        /**
+         * A read-only property, which is not diffed.
+         */
+        public long getVersion() {
+            return System.nanoTime();
+        }
+    }
+
+    public static class Plain {
+        private String note;
+
+        public String getNote() {
+            return note;
+        }
+
+        public void setNote(String note) {
+            this.note = note;
+        }
+    }
+
+    public static class Throwing {
+        public String getNote() {
+            throw new UnsupportedOperationException();
+        }
+
+        public void setNote(String note) {
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.github.longhorn.fastball.object;
+
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public class DeepMergerTest {
+    @Test
+    public void testNestedBean() throws InvocationTargetException {
+        Server primary = new Server().setHost("a").setPort(1).setLimits(new Limits().setMax(5));
+        Config dest = new Config().setName("dest").setPrimary(primary);
+        Config src = new Config().setPrimary(new Server().setPort(2).setLimits(new Limits().setMin(1)));
+        Objects.deepMerge(dest, src);
+        assertThat(dest.getName()).isEqualTo("dest");
+        assertThat(dest.getPrimary()).isSameAs(primary);
+        assertThat(primary.toString()).isEqualTo("a:2[1,5]");
+    }
+
+    @Test
+    public void testReplace() throws InvocationTargetException {
+        Config dest = new Config().setPrimary(new Server().setHost("a"));
+        Server server = new Server().setPort(2);
+        DeepMerger.create().replace(Server.class).merge(dest, new Config().setPrimary(server));
+        assertThat(dest.getPrimary()).isSameAs(server);
+    }
+
+    @Test
+    public void testCollections() throws InvocationTargetException {
+        List<String> tags = list("x");
+        Config dest = new Config().setTags(tags);
+        DeepMerger.create().merge(dest, new Config().setTags(list("y")));
+        assertThat(dest.getTags()).containsExactly("y");
+        assertThat(dest.getTags()).isNotSameAs(tags);
+
+        DeepMerger.create().append(String.class).merge(dest, new Config().setTags(list("z")));
+        assertThat(dest.getTags()).containsExactly("y", "z").inOrder();
+    }
+
+    @Test
+    public void testMergeByKey() throws InvocationTargetException {
+        Server b = new Server().setHost("b").setPort(2).setLimits(new Limits().setMax(9));
+        Config dest = new Config().setServers(list(new Server().setHost("a").setPort(1), b));
+        Config src = new Config().setServers(list(new Server().setHost("b").setLimits(new Limits().setMin(3)),
+                new Server().setHost("c").setPort(4)));
+        DeepMerger.create().mergeByKey(Server.class, Server::getHost).merge(dest, src);
+        assertThat(dest.getServers().toString()).isEqualTo("[a:1[null,null], b:2[3,9], c:4[null,null]]");
+        assertThat(dest.getServers().get(1)).isSameAs(b);
+
+        List<String> names = list("a", "bb");
+        DeepMerger.create().mergeByKey(String.class, String::length).merge(names, list("cc", "ddd"));
+        assertThat(names).containsExactly("a", "cc", "ddd").inOrder();
+
+        // the elements of the source of the same key are merged into the one added
+        Config duplicates = new Config().setServers(list(new Server().setHost("c").setPort(5),
+                new Server().setHost("c").setLimits(new Limits().setMin(6))));
+        DeepMerger.create().mergeByKey(Server.class, Server::getHost).merge(dest, duplicates);
+        assertThat(dest.getServers().toString()).isEqualTo("[a:1[null,null], b:2[3,9], c:5[6,null]]");
+        DeepMerger.create().mergeByKey(String.class, String::length).merge(names, list("ee", "ff", "gggg", "hhhh"));
+        assertThat(names).containsExactly("a", "ff", "ddd", "hhhh").inOrder();
+    }
+
+    @Test
+    public void testMap() throws InvocationTargetException {
+        Limits x = new Limits().setMax(1);
+        Map<String, Limits> limits = new HashMap<>();
+        limits.put("x", x);
+        Map<String, Limits> srcLimits = new HashMap<>();
+        srcLimits.put("x", new Limits().setMin(2));
+        srcLimits.put("y", new Limits().setMax(3));
+        srcLimits.put("z", null);
+        Config dest = new Config().setLimits(limits);
+        Objects.deepMerge(dest, new Config().setLimits(srcLimits));
+        assertThat(dest.getLimits()).isSameAs(limits);
+        assertThat(limits.get("x")).isSameAs(x);
+        assertThat(limits.toString()).isEqualTo("{x=[2,1], y=[null,3]}");
+
+        Config replaced = new Config().setLimits(new HashMap<>(limits));
+        DeepMerger.create().replace(Map.class).merge(replaced, new Config().setLimits(srcLimits));
+        assertThat(replaced.getLimits()).isSameAs(srcLimits);
+    }
+
+    @Test
+    public void testCycles() throws InvocationTargetException {
+        Config a = new Config().setName("a");
+        Config b = new Config().setName("b");
+        a.setParent(b);
+        b.setParent(a);
+        Config destA = new Config();
+        Config destB = new Config();
+        destA.setParent(destB);
+        destB.setParent(destA);
+        Objects.deepMerge(destA, a);
+        assertThat(destA.getName()).isEqualTo("a");
+        assertThat(destB.getName()).isEqualTo("b");
+        assertThat(destA.getParent()).isSameAs(destB);
+        assertThat(destB.getParent()).isSameAs(destA);
+
+        Config self = new Config().setName("self");
+        self.setParent(self);
+        Config dest = new Config();
+        dest.setParent(dest);
+        Objects.deepMerge(dest, self);
+        assertThat(dest.getName()).isEqualTo("self");
+        assertThat(dest.getParent()).isSameAs(dest);
+
+        Config x = new Config();
+        Config y = new Config();
+        x.setParent(y);
+        y.setParent(x);
+        Objects.deepMerge(x, self);
+        assertThat(x.getName()).isEqualTo("self");
+        assertThat(y.getName()).isEqualTo("self");
+        assertThat(x.getParent()).isSameAs(y);
+        assertThat(y.getParent()).isSameAs(x);
+    }
+
+    @Test
+    public void testMergeAll() throws InvocationTargetException {
+        List<Config> dests = new ArrayList<>();
+        List<Config> srcs = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            dests.add(new Config().setName("dest" + i).setPrimary(new Server().setHost("h" + i)));
+            srcs.add(new Config().setPrimary(new Server().setPort(i)));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            DeepMerger.create().setPool(pool).mergeAll(dests, srcs);
+        } finally {
+            pool.shutdown();
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertThat(dests.get(i).getName()).isEqualTo("dest" + i);
+            assertThat(dests.get(i).getPrimary().toString()).isEqualTo("h" + i + ":" + i + "[null,null]");
+        }
+    }
+
+    @Test
+    public void testMergeAllInvalid() throws InvocationTargetException {
+        try {
+            DeepMerger.create().mergeAll(list(new Config()), list());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid sizes: 1 destinations and 0 sources");
+        }
+        try {
+            DeepMerger.create().mergeAll(list(new Config(), new Config()), list(new Config(), new Throwing()));
+            fail();
+        } catch (InvocationTargetException e) {
+            assertThat(e.getCause()).isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+
+    @SafeVarargs
+    private static <T> List<T> list(T... elements) {
+        return new ArrayList<>(Arrays.asList(elements));
+    }
+
+    public static class Config {
+        private String name;
+        private Server primary;
+        private List<Server> servers;
+        private List<String> tags;
+        private Map<String, Limits> limits;
+        private Config parent;
+
+        public String getName() {
+            return name;
+        }
+
+        public Config setName(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Server getPrimary() {
+            return primary;
+        }
+
+        public Config setPrimary(Server primary) {
+            this.primary = primary;
+            return this;
+        }
+
+        public List<Server> getServers() {
+            return servers;
+        }
+
+        public Config setServers(List<Server> servers) {
+            this.servers = servers;
+            return this;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public Config setTags(List<String> tags) {
+            this.tags = tags;
+            return this;
+        }
+
+        public Map<String, Limits> getLimits() {
+            return limits;
+        }
+
+        public Config setLimits(Map<String, Limits> limits) {
+            this.limits = limits;
+            return this;
+        }
+
+        public Config getParent() {
+            return parent;
+        }
+
+        public void setParent(Config parent) {
+            this.parent = parent;
+        }
+    }
+
+    public static class Server {
+        private String host;
+        private Integer port;
+        private Limits limits = new Limits();
+
+        public String getHost() {
+            return host;
+        }
+
+        public Server setHost(String host) {
+            this.host = host;
+            return this;
+        }
+
+        public Integer getPort() {
+            return port;
+        }
+
+        public Server setPort(Integer port) {
+            this.port = port;
+            return this;
+        }
+
+        public Limits getLimits() {
+            return limits;
+        }
+
+        public Server setLimits(Limits limits) {
+            this.limits = limits;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return host + ":" + port + limits;
+        }
+    }
+
+    public static class Limits {
+        private Integer min;
+        private Integer max;
+
+        public Integer getMin() {
+            return min;
+        }
+
+        public Limits setMin(Integer min) {
+            this.min = min;
+            return this;
+        }
+
+        public Integer getMax() {
+            return max;
+        }
+
+        public Limits setMax(Integer max) {
+            this.max = max;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + min + "," + max + "]";
+        }
+    }
+
+    public static class Throwing extends Config {
+        @Override
+        public String getName() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
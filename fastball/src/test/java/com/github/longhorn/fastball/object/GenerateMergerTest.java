@@ -0,0 +1,187 @@
+package com.github.longhorn.fastball.object;
+
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public class GenerateMergerTest {
+    @Test
+    public void testGenerated() {
+        assertThat(Objects.merger(Person.class, Person.class).getClass().getName())
+                .isEqualTo("com.github.longhorn.fastball.object."
+                        + "GenerateMergerTest_Person_MergerTo_com_github_longhorn_fastball_object_"
+                        + "GenerateMergerTest_Person");
+        assertThat(Objects.merger(Person.class, Contact.class).getClass().getName())
+                .isEqualTo(BeanMerger.generatedName(Person.class, Contact.class));
+        assertThat(Objects.merger(Person.class, Contact.class))
+                .isSameAs(Objects.merger(Person.class, Contact.class));
+        assertThat(Objects.merger(Contact.class, Person.class)).isInstanceOf(BeanMerger.class);
+    }
+
+    @Test
+    public void testSameAsBeanUtils() throws ReflectiveOperationException {
+        Person[] people = {
+                new Person(),
+                new Person().setName("Ann").setAge(30).setScore(7).setTags(Arrays.asList("a", "b")).setActive(true),
+        };
+        for (Person person : people) {
+            Person expected = new Person().setName("Bob").setAge(1).setScore(2);
+            Person actual = new Person().setName("Bob").setAge(1).setScore(2);
+            BeanMergerTest.REFERENCE.copyProperties(expected, person);
+            Objects.merge(actual, person);
+            assertThat(actual.toString()).isEqualTo(expected.toString());
+
+            Contact expectedContact = new Contact();
+            expectedContact.setName("Bob");
+            Contact actualContact = new Contact();
+            actualContact.setName("Bob");
+            BeanMergerTest.REFERENCE.copyProperties(expectedContact, person);
+            Objects.merge(actualContact, person);
+            assertThat(actualContact.toString()).isEqualTo(expectedContact.toString());
+        }
+    }
+
+    @Test
+    public void testConversionNotGenerated() throws InvocationTargetException {
+        Merger<Raw, Person> merger = Objects.merger(Raw.class, Person.class);
+        assertThat(merger).isInstanceOf(BeanMerger.class);
+        Person person = new Person();
+        merger.merge(person, new Raw());
+        assertThat(person.getAge()).isEqualTo(12);
+    }
+
+    @Test
+    public void testThrowingAccessor() {
+        try {
+            Objects.merger(Throwing.class, Contact.class).merge(new Contact(), new Throwing());
+            fail();
+        } catch (InvocationTargetException e) {
+            assertThat(e.getCause()).isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+
+    @GenerateMerger(to = {Person.class, Contact.class})
+    public static class Person {
+        private String name;
+        private int age;
+        private Integer score;
+        private List<String> tags;
+        private boolean active;
+
+        public String getName() {
+            return name;
+        }
+
+        public Person setName(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public Person setAge(int age) {
+            this.age = age;
+            return this;
+        }
+
+        public Integer getScore() {
+            return score;
+        }
+
+        public Person setScore(Integer score) {
+            this.score = score;
+            return this;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public Person setTags(List<String> tags) {
+            this.tags = tags;
+            return this;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public Person setActive(boolean active) {
+            this.active = active;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return name + "," + age + "," + score + "," + tags + "," + active;
+        }
+    }
+
+    public static class Contact {
+        private String name;
+        private Integer age;
+        private List<String> tags;
+        private Boolean active;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public Boolean getActive() {
+            return active;
+        }
+
+        public void setActive(Boolean active) {
+            this.active = active;
+        }
+
+        @Override
+        public String toString() {
+            return name + "," + age + "," + tags + "," + active;
+        }
+    }
+
+    /**
+     * The age is converted from the string, which the merger generated by the processor can not do, see \
+     * {@code MergerProcessorTest}, so the reflective merger is used at runtime.
+     */
+    public static class Raw {
+        public String getAge() {
+            return "12";
+        }
+    }
+
+    @GenerateMerger(to = Contact.class)
+    public static class Throwing {
+        public String getName() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.longhorn.fastball.object;
+
+import com.github.longhorn.fastball.object.BeanMergerTest.Source;
+import com.github.longhorn.fastball.object.BeanMergerTest.Target;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.github.longhorn.fastball.object.MergeOutcome.outcome;
+import static com.google.common.truth.Truth.assertThat;
+
+public class MapMergerTest {
+    @Test
+    public void testMapToBeanSameAsBeanUtils() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", "12");
+        map.put("price", 3.5);
+        map.put("tags", new String[]{"a", "b"});
+        map.put("total", null);
+        map.put("flag", "true");
+        map.put("note", 7);
+        map.put("items", Arrays.asList("x"));
+        map.put("unknown", 1);
+        Map<String, Object> invalid = new LinkedHashMap<>();
+        invalid.put("note", "n");
+        invalid.put("price", "abc");
+        invalid.put("count", 5);
+        for (Map<String, Object> source : Arrays.asList(map, invalid)) {
+            Target expected = new Target().setCount(1).setNote("note");
+            Target actual = new Target().setCount(1).setNote("note");
+            assertThat(outcome(() -> Objects.merge(actual, source), actual))
+                    .isEqualTo(outcome(() -> BeanMergerTest.REFERENCE.copyProperties(expected, source), expected));
+        }
+    }
+
+    @Test
+    public void testNestedNames() throws ReflectiveOperationException {
+        Holder holder = new Holder();
+        Map<String, Object> map = new HashMap<>();
+        map.put("target.note", 5);
+        Objects.merge(holder, map);
+        assertThat(holder.getTarget().getNote()).isEqualTo("5");
+
+        Map<String, Object> dest = new HashMap<>();
+        dest.put("target", new Target());
+        Objects.merge(dest, map);
+        assertThat(((Target) dest.get("target")).getNote()).isEqualTo("5");
+    }
+
+    @Test
+    public void testBeanToMap() throws ReflectiveOperationException {
+        Map<String, Object> map = new TreeMap<>();
+        map.put("count", "old");
+        map.put("price", "kept");
+        Objects.merge(map, new Source().setCount(3).setTotal(7L).setItems(Arrays.asList("x")));
+        assertThat(map.toString()).isEqualTo("{count=3, items=[x], price=kept, total=7}");
+    }
+
+    @Test
+    public void testMapToMap() throws ReflectiveOperationException {
+        Map<String, Object> map = new TreeMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        Map<String, Object> src = new HashMap<>();
+        src.put("b", "3");
+        src.put("c", null);
+        src.put("d", 4L);
+        Objects.merge(map, src);
+        assertThat(map.toString()).isEqualTo("{a=1, b=3, d=4}");
+    }
+
+    @Test
+    public void testMerger() throws InvocationTargetException {
+        Merger<HashMap, Target> merger = Objects.merger(HashMap.class, Target.class);
+        assertThat(merger).isSameAs(Objects.merger(HashMap.class, Target.class));
+        HashMap<String, Object> map = new HashMap<>();
+        map.put("total", "42");
+        Target target = new Target();
+        merger.merge(target, map);
+        assertThat(target.getTotal()).isEqualTo(42L);
+    }
+
+    public static class Holder {
+        private Target target = new Target();
+
+        public Target getTarget() {
+            return target;
+        }
+
+        public void setTarget(Target target) {
+            this.target = target;
+        }
+    }
+}
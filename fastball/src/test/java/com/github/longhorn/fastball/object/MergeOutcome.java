@@ -0,0 +1,26 @@
+package com.github.longhorn.fastball.object;
+
+/**
+ * The outcome of a merge, to compare the mergers with {@code BeanUtilsBean} by the merged destination, or by the \
+ * exception with the properties merged before it.
+ */
+final class MergeOutcome {
+    private MergeOutcome() {
+    }
+
+    interface Merge {
+        void run() throws Exception;
+    }
+
+    /**
+     * Get the result of the merge, or the exception with the properties merged before it.
+     */
+    static String outcome(Merge merge, Object target) {
+        try {
+            merge.run();
+            return target.toString();
+        } catch (Exception e) {
+            return e.getClass().getName() + " after " + target;
+        }
+    }
+}
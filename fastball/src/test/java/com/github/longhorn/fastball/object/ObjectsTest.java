@@ -4,7 +4,10 @@ import org.junit.Test;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.fail;
@@ -28,6 +31,29 @@ public class ObjectsTest {
         assertThat(dest.getBars().get(0).getAddress()).isEqualTo("addr");
     }
 
+    @Test
+    public void testMergeMap() throws InvocationTargetException, IllegalAccessException {
+        Map<String, Object> src = new HashMap<>();
+        src.put("name", "name");
+        src.put("age", "20");
+        src.put("bars", null);
+        Foo dest = new Foo().setBars(Collections.emptyList());
+        Objects.merge(dest, src);
+        assertThat(dest.getName()).isEqualTo("name");
+        assertThat(dest.getAge()).isEqualTo(20);
+        assertThat(dest.getBars()).isEmpty();
+    }
+
+    @Test
+    public void testMerger() throws InvocationTargetException {
+        Merger<Foo, Foo> merger = Objects.merger(Foo.class, Foo.class);
+        assertThat(Objects.merger(Foo.class, Foo.class)).isSameAs(merger);
+        Foo dest = new Foo().setName("old").setAge(18);
+        merger.merge(dest, new Foo().setAge(19));
+        assertThat(dest.getName()).isEqualTo("old");
+        assertThat(dest.getAge()).isEqualTo(19);
+    }
+
     public static class Foo {
         private String name;
         private Integer age;
@@ -0,0 +1,136 @@
+package com.github.longhorn.fastball.time;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(DataProviderRunner.class)
+public class CalendarDurationTest {
+
+    @DataProvider
+    public static Object[][] testParseDataProvider() {
+        return new Object[][]{
+                {"P1Y2M10DT2H30M", 1, 2, 10, Duration.parse("PT2H30M").toNanos(), "P1Y2M10DT2H30M"},
+                {"P2W", 0, 0, 14, 0L, "P14D"},
+                {"PT0S", 0, 0, 0, 0L, "PT0S"},
+                {"P0D", 0, 0, 0, 0L, "PT0S"},
+                {"-P1DT0.5S", 0, 0, -1, -500_000_000L, "P-1DT-0.5S"},
+                {"P-1M+3D", 0, -1, 3, 0L, "P-1M3D"},
+                {"PT1.000000001S", 0, 0, 0, 1_000_000_001L, "PT1.000000001S"},
+                {"PT-0,25S", 0, 0, 0, -250_000_000L, "PT-0.25S"},
+                {"PT36H", 0, 0, 0, Duration.ofHours(36).toNanos(), "PT36H"},
+        };
+    }
+
+    @DataProvider
+    public static Object[][] testParseInvalidDataProvider() {
+        return new Object[][]{
+                {""},
+                {"P"},
+                {"PT"},
+                {"P1"},
+                {"1D"},
+                {"P1H"},
+                {"PT1D"},
+                {"P1D2Y"},
+                {"P1DT"},
+                {"PT1.5M"},
+                {"PT1.0000000001S"},
+                {"P1DT1HT1S"},
+                {"P99999999999D"},
+                {"PT9999999999999H"},
+                {"P1D "},
+        };
+    }
+
+    @Test
+    @UseDataProvider("testParseDataProvider")
+    public void testParse(String text, int years, int months, int days, long nanos, String iso) throws ParseException {
+        CalendarDuration duration = CalendarDuration.parse(text);
+        assertThat(duration.getYears()).isEqualTo(years);
+        assertThat(duration.getMonths()).isEqualTo(months);
+        assertThat(duration.getDays()).isEqualTo(days);
+        assertThat(duration.getNanos()).isEqualTo(nanos);
+        assertThat(duration.toString()).isEqualTo(iso);
+        assertThat(CalendarDuration.parse(iso)).isEqualTo(duration);
+        assertThat(duration).isEqualTo(CalendarDuration.of(years, months, days, nanos));
+        assertThat(duration.hashCode()).isEqualTo(CalendarDuration.of(years, months, days, nanos).hashCode());
+    }
+
+    @Test
+    @UseDataProvider("testParseInvalidDataProvider")
+    public void testParseInvalid(String text) {
+        try {
+            CalendarDuration.parse(text);
+            fail();
+        } catch (ParseException e) {
+            assertThat(e.getMessage()).startsWith("Unparseable duration");
+        }
+    }
+
+    @Test
+    public void testAddToEndOfMonth() throws ParseException {
+        long start = Instant.parse("2016-01-31T10:00:00Z").toEpochMilli();
+        assertThat(CalendarDuration.parse("P1M").addTo(start))
+                .isEqualTo(Instant.parse("2016-02-29T10:00:00Z").toEpochMilli());
+        assertThat(CalendarDuration.parse("P1Y1M").addTo(start))
+                .isEqualTo(Instant.parse("2017-02-28T10:00:00Z").toEpochMilli());
+        assertThat(CalendarDuration.parse("P1M").subtractFrom(Instant.parse("2016-03-31T10:00:00Z").toEpochMilli()))
+                .isEqualTo(Instant.parse("2016-02-29T10:00:00Z").toEpochMilli());
+        assertThat(CalendarDuration.ZERO.addTo(start)).isEqualTo(start);
+        assertThat(CalendarDuration.parse("P1D").isZero()).isFalse();
+        assertThat(CalendarDuration.parse("PT0S").isZero()).isTrue();
+    }
+
+    @Test
+    public void testAddToDaylightSaving() throws ParseException {
+        TimeZone newYork = TimeZone.getTimeZone("America/New_York");
+        // 2017-03-12 02:30 does not exist in New York, 2017-11-05 01:30 exists twice
+        long beforeGap = Instant.parse("2017-03-11T07:30:00Z").toEpochMilli();
+        assertThat(CalendarDuration.parse("P1D").addTo(beforeGap, newYork))
+                .isEqualTo(Instant.parse("2017-03-12T07:30:00Z").toEpochMilli());
+        assertThat(CalendarDuration.parse("PT24H").addTo(beforeGap, newYork))
+                .isEqualTo(Instant.parse("2017-03-12T07:30:00Z").toEpochMilli());
+        long beforeOverlap = Instant.parse("2017-11-04T05:30:00Z").toEpochMilli();
+        assertThat(CalendarDuration.parse("P1D").addTo(beforeOverlap, newYork))
+                .isEqualTo(Instant.parse("2017-11-05T05:30:00Z").toEpochMilli());
+        assertThat(CalendarDuration.parse("P2D").addTo(beforeOverlap, newYork))
+                .isEqualTo(Instant.parse("2017-11-06T06:30:00Z").toEpochMilli());
+        assertThat(CalendarDuration.parse("PT25H").addTo(beforeOverlap, newYork))
+                .isEqualTo(Instant.parse("2017-11-05T06:30:00Z").toEpochMilli());
+        long afterOverlap = Instant.parse("2017-11-06T06:30:00Z").toEpochMilli();
+        assertThat(CalendarDuration.parse("P1D").subtractFrom(afterOverlap, newYork))
+                .isEqualTo(Instant.parse("2017-11-05T06:30:00Z").toEpochMilli());
+    }
+
+    @Test
+    public void testAddToSameAsJavaTime() {
+        Random random = new Random(0);
+        String[] zones = {"UTC", "America/New_York", "Europe/London", "Australia/Lord_Howe", "Asia/Taipei"};
+        for (int i = 0; i < 20_000; i++) {
+            String zone = zones[i % zones.length];
+            long epochMilli = 946_684_800_000L + (long) (random.nextDouble() * 1_000_000_000_000L);
+            CalendarDuration duration = CalendarDuration.of(random.nextInt(7) - 3, random.nextInt(31) - 15,
+                    random.nextInt(81) - 40, (long) ((random.nextDouble() - 0.5) * 1e15));
+            ZonedDateTime start = Instant.ofEpochMilli(epochMilli).atZone(ZoneId.of(zone));
+            long expected = start
+                    .plus(java.time.Period.of(duration.getYears(), duration.getMonths(), duration.getDays()))
+                    .plus(Duration.ofNanos(duration.getNanos()))
+                    .toInstant().toEpochMilli();
+            assertThat(duration.addTo(epochMilli, TimeZone.getTimeZone(zone))).isEqualTo(expected);
+        }
+    }
+}
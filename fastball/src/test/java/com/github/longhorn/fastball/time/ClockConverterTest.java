@@ -0,0 +1,150 @@
+package com.github.longhorn.fastball.time;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(DataProviderRunner.class)
+public class ClockConverterTest {
+    private static final TimeZone TAIPEI = TimeZone.getTimeZone("Asia/Taipei");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @DataProvider
+    public static Object[][] parallelismDataProvider() {
+        return new Object[][]{
+                {1},
+                {4},
+        };
+    }
+
+    private static String convert(ClockConverter converter, String input) throws IOException, ParseException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        converter.convert(
+                Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII))),
+                Channels.newChannel(out)
+        );
+        return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    @UseDataProvider("parallelismDataProvider")
+    public void testConvertLines(int parallelism) throws IOException, ParseException {
+        Random random = new Random(parallelism);
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            long unixTs = 1_000_000_000L + random.nextInt(1_000_000_000);
+            String text = i % 3 == 0 ? unixTs + "123" : String.valueOf(unixTs);
+            input.append("line-").append(i).append(',').append(text).append(",GET /\n");
+            expected.append("line-").append(i).append(',')
+                    .append(Clock.fromUnixTs(text).getSqlTs(TAIPEI)).append(",GET /\n");
+        }
+        ClockConverter converter = ClockConverter.of(ClockConverter.Format.UNIX_TS, ClockConverter.Format.SQL_TS)
+                .setColumn(1)
+                .setOutputTimeZone(TAIPEI)
+                .setChunkSize(4096)
+                .setParallelism(parallelism);
+        assertThat(convert(converter, input.toString())).isEqualTo(expected.toString());
+
+        Path in = folder.newFile().toPath();
+        Path out = folder.newFile().toPath();
+        Files.write(in, input.toString().getBytes(StandardCharsets.US_ASCII));
+        assertThat(converter.convert(in, out)).isEqualTo(20_000L);
+        assertThat(new String(Files.readAllBytes(out), StandardCharsets.US_ASCII)).isEqualTo(expected.toString());
+    }
+
+    @Test
+    public void testConvertFormats() throws IOException, ParseException {
+        String sql = "2018-06-26 11:03:19\r\n";
+        assertThat(convert(ClockConverter.of(ClockConverter.Format.SQL_TS, ClockConverter.Format.ISO_8601_MILLIS)
+                .setInputTimeZone(TAIPEI).setOutputTimeZone(TAIPEI), sql))
+                .isEqualTo("2018-06-26T11:03:19.000+08:00\r\n");
+        assertThat(convert(ClockConverter.of(ClockConverter.Format.SQL_TS, ClockConverter.Format.UNIX_TS)
+                .setInputTimeZone(TAIPEI).setDelimiter(' ').setColumn(1), "INFO 2018-06-26 11:03:19 started"))
+                .isEqualTo("INFO 1529982199 started");
+        assertThat(convert(ClockConverter.of(ClockConverter.Format.ISO_8601, ClockConverter.Format.UNIX_TS_MILLIS)
+                .setDelimiter('\t').setColumn(1), "a\t2018-06-26T03:03:19.123Z\n\n"))
+                .isEqualTo("a\t1529982199123\n\n");
+        assertThat(convert(ClockConverter.of(ClockConverter.Format.UNIX_TS_MILLIS, ClockConverter.Format.ISO_8601),
+                "-9223372036854775808\n-1\n0\n")).isEqualTo(String.format("%s\n%s\n%s\n",
+                Clock.fromEpochMilli(Long.MIN_VALUE).getIso8601(),
+                Clock.fromEpochMilli(-1L).getIso8601(),
+                Clock.fromEpochMilli(0L).getIso8601()));
+        assertThat(convert(ClockConverter.of(ClockConverter.Format.ISO_8601_MILLIS, ClockConverter.Format.UNIX_TS),
+                "1969-12-31T23:59:59.999Z")).isEqualTo("0");
+    }
+
+    @Test
+    public void testInvalidLines() throws IOException, ParseException {
+        ClockConverter converter = ClockConverter.of(ClockConverter.Format.UNIX_TS, ClockConverter.Format.ISO_8601)
+                .setColumn(1);
+        String input = "a,1529982199\nb\nc,x\n";
+        try {
+            convert(converter, input);
+            fail();
+        } catch (ParseException e) {
+            assertThat(e.getMessage()).contains("byte 13");
+            assertThat(e.getErrorOffset()).isEqualTo(13);
+        }
+        try {
+            convert(converter, "a,x\n");
+            fail();
+        } catch (ParseException e) {
+            assertThat(e.getErrorOffset()).isEqualTo(2);
+            assertThat(e.getCause()).isNotNull();
+        }
+        assertThat(convert(converter.setSkipInvalid(true), input)).isEqualTo("a,2018-06-26T03:03:19Z\nb\nc,x\n");
+    }
+
+    @Test
+    @UseDataProvider("parallelismDataProvider")
+    public void testConvertInPlace(int parallelism) throws IOException, ParseException {
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            Clock clock = Clock.fromUnixTs(1529982199L + i * 3_601L);
+            input.append(clock.getSqlTs()).append('|').append(i).append('\n');
+            expected.append(clock.getSqlTs(TAIPEI)).append('|').append(i).append('\n');
+        }
+        Path file = folder.newFile().toPath();
+        Files.write(file, input.toString().getBytes(StandardCharsets.US_ASCII));
+        ClockConverter converter = ClockConverter.of(ClockConverter.Format.SQL_TS, ClockConverter.Format.SQL_TS)
+                .setDelimiter('|')
+                .setOutputTimeZone(TAIPEI)
+                .setChunkSize(1000)
+                .setParallelism(parallelism);
+        assertThat(converter.convertInPlace(file)).isEqualTo(5_000L);
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.US_ASCII)).isEqualTo(expected.toString());
+
+        Files.write(file, "2018-06-26T03:03:19Z\n".getBytes(StandardCharsets.US_ASCII));
+        try {
+            ClockConverter.of(ClockConverter.Format.ISO_8601, ClockConverter.Format.ISO_8601)
+                    .setOutputTimeZone(TAIPEI)
+                    .setParallelism(parallelism)
+                    .convertInPlace(file);
+            fail();
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage()).contains("width");
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.longhorn.fastball.time;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(DataProviderRunner.class)
+public class ClockFormatterTest {
+
+    @DataProvider
+    public static Object[][] testFormatDataProvider() {
+        return new Object[][]{
+                {ClockFormatter.ISO_8601, "UTC"},
+                {ClockFormatter.ISO_8601, "Asia/Taipei"},
+                {ClockFormatter.ISO_8601, "America/New_York"},
+                {ClockFormatter.ISO_8601_MILLIS, "UTC"},
+                {ClockFormatter.ISO_8601_MILLIS, "Asia/Kolkata"},
+                {ClockFormatter.ISO_8601_MILLIS, "America/St_Johns"},
+                {ClockFormatter.ISO_8601_MILLIS, "Africa/Monrovia"},
+                {ClockFormatter.SQL_TS, "UTC"},
+                {ClockFormatter.SQL_TS, "Europe/London"},
+                {ClockFormatter.SQL_TS, "Pacific/Apia"},
+        };
+    }
+
+    @Test
+    @UseDataProvider("testFormatDataProvider")
+    public void testFormat(ClockFormatter formatter, String zoneId) {
+        TimeZone timeZone = TimeZone.getTimeZone(zoneId);
+        SimpleDateFormat sdf = new SimpleDateFormat(formatter.toString());
+        sdf.setTimeZone(timeZone);
+        sdf.setLenient(false);
+        Random random = new Random(zoneId.hashCode());
+        for (int i = 0; i < 20_000; i++) {
+            // from year 1000 to year 11000, covers Julian dates and 5 digits years
+            long epochMilli = -30_610_224_000_000L + (long) (random.nextDouble() * 315_569_520_000_000L);
+            assertThat(formatter.format(epochMilli, timeZone)).isEqualTo(sdf.format(new Date(epochMilli)));
+        }
+    }
+
+    @Test
+    public void testAppendAndWrite() throws IOException {
+        TimeZone timeZone = TimeZone.getTimeZone("Asia/Taipei");
+        long epochMilli = 1529982199123L;
+        String expected = "2018-06-26T11:03:19.123+08:00";
+
+        StringBuilder sb = new StringBuilder("at ");
+        ClockFormatter.ISO_8601_MILLIS.appendTo(epochMilli, timeZone, sb);
+        assertThat(sb.toString()).isEqualTo("at " + expected);
+
+        StringWriter writer = new StringWriter();
+        ClockFormatter.ISO_8601_MILLIS.appendTo(epochMilli, timeZone, writer);
+        assertThat(writer.toString()).isEqualTo(expected);
+
+        char[] chars = new char[ClockFormatter.MAX_LENGTH + 1];
+        int length = ClockFormatter.ISO_8601_MILLIS.write(epochMilli, timeZone, chars, 1);
+        assertThat(new String(chars, 1, length)).isEqualTo(expected);
+
+        ByteBuffer buffer = ByteBuffer.allocate(ClockFormatter.MAX_LENGTH);
+        ClockFormatter.ISO_8601_MILLIS.write(epochMilli, timeZone, buffer);
+        buffer.flip();
+        assertThat(StandardCharsets.US_ASCII.decode(buffer).toString()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.longhorn.fastball.time;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class ClockMathTest {
+    private static final TimeZone TAIPEI = TimeZone.getTimeZone("Asia/Taipei");
+
+    @Test
+    public void testToEpochMilli() {
+        assertThat(ClockMath.toEpochMilli(1529982199L)).isEqualTo(1529982199000L);
+        assertThat(ClockMath.toEpochMilli(1529982199123L)).isEqualTo(1529982199123L);
+        assertThat(ClockMath.toEpochMilli(9_999_999_999L)).isEqualTo(9_999_999_999_000L);
+        assertThat(ClockMath.toEpochMilli(10_000_000_000L)).isEqualTo(10_000_000_000L);
+        assertThat(ClockMath.toEpochMilli(-999_999_999L)).isEqualTo(-999_999_999_000L);
+        assertThat(ClockMath.toEpochMilli(-1_000_000_000L)).isEqualTo(-1_000_000_000L);
+    }
+
+    @Test
+    public void testToEpochSecond() {
+        assertThat(ClockMath.toEpochSecond(1529982199123L)).isEqualTo(1529982199L);
+    }
+
+    @Test
+    public void testTurn() {
+        assertThat(ClockMath.turnForward(1529982199123L, TimeUnit.HOURS, 2)).isEqualTo(1529989399123L);
+        assertThat(ClockMath.turnBack(1529982199123L, TimeUnit.MILLISECONDS, 123)).isEqualTo(1529982199000L);
+    }
+
+    @Test
+    public void testIsAtBeginOrEndOfDay() throws ParseException {
+        assertThat(ClockMath.isAtBeginOfDay(ClockParser.parseIso8601("2018-06-26T00:00:00.999Z"))).isTrue();
+        assertThat(ClockMath.isAtBeginOfDay(ClockParser.parseIso8601("2018-06-26T00:00:01Z"))).isFalse();
+        assertThat(ClockMath.isAtBeginOfDay(ClockParser.parseIso8601("2018-06-26T00:00:00+08:00"))).isFalse();
+        assertThat(ClockMath.isAtBeginOfDay(ClockParser.parseIso8601("2018-06-26T00:00:00+08:00"), TAIPEI)).isTrue();
+        assertThat(ClockMath.isAtEndOfDay(ClockParser.parseIso8601("2018-06-26T23:59:59.999Z"))).isTrue();
+        assertThat(ClockMath.isAtEndOfDay(ClockParser.parseIso8601("2018-06-26T23:59:58.999Z"))).isFalse();
+        assertThat(ClockMath.isAtEndOfDay(ClockParser.parseIso8601("2018-06-26T23:59:59+08:00"), TAIPEI)).isTrue();
+        assertThat(ClockMath.isAtEndOfDay(ClockParser.parseIso8601("1969-12-31T23:59:59.5Z"))).isTrue();
+    }
+
+    @Test
+    public void testStartOfDay() throws ParseException {
+        assertThat(ClockMath.startOfDay(ClockParser.parseIso8601("2018-06-26T11:03:19.123Z")))
+                .isEqualTo(ClockParser.parseIso8601("2018-06-26T00:00:00Z"));
+        assertThat(ClockMath.startOfDay(ClockParser.parseIso8601("2018-06-26T03:03:19Z"), TAIPEI))
+                .isEqualTo(ClockParser.parseIso8601("2018-06-26T00:00:00+08:00"));
+        // midnight skipped by daylight saving time in Sao Paulo
+        assertThat(ClockMath.startOfDay(
+                ClockParser.parseIso8601("2018-11-04T12:00:00-02:00"), TimeZone.getTimeZone("America/Sao_Paulo")
+        )).isEqualTo(ClockParser.parseIso8601("2018-11-04T01:00:00-02:00"));
+    }
+
+    @Test
+    public void testStartAndEndOfPeriods() {
+        TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+        Random random = new Random(0);
+        for (int i = 0; i < 10_000; i++) {
+            long epochMilli = 1_400_000_000_000L + (long) (random.nextDouble() * 400_000_000_000L);
+            ZonedDateTime zdt = Instant.ofEpochMilli(epochMilli).atZone(timeZone.toZoneId());
+            ZonedDateTime day = zdt.toLocalDate().atStartOfDay(timeZone.toZoneId());
+            assertThat(ClockMath.startOfDay(epochMilli, timeZone)).isEqualTo(day.toInstant().toEpochMilli());
+            assertThat(ClockMath.endOfDay(epochMilli, timeZone))
+                    .isEqualTo(zdt.toLocalDate().plusDays(1).atStartOfDay(timeZone.toZoneId()).toInstant()
+                            .toEpochMilli() - 1);
+            assertThat(ClockMath.startOfMonth(epochMilli, timeZone))
+                    .isEqualTo(zdt.toLocalDate().withDayOfMonth(1).atStartOfDay(timeZone.toZoneId()).toInstant()
+                            .toEpochMilli());
+            assertThat(ClockMath.startOfWeek(epochMilli, timeZone))
+                    .isEqualTo(zdt.toLocalDate().with(DayOfWeek.MONDAY).atStartOfDay(timeZone.toZoneId()).toInstant()
+                            .toEpochMilli());
+            assertThat(ClockMath.truncateTo(epochMilli, TimeUnit.HOURS, timeZone))
+                    .isEqualTo(zdt.truncatedTo(ChronoUnit.HOURS).toInstant().toEpochMilli());
+            assertThat(ClockMath.truncateTo(epochMilli, TimeUnit.SECONDS, timeZone))
+                    .isEqualTo(zdt.truncatedTo(ChronoUnit.SECONDS).toInstant().toEpochMilli());
+        }
+    }
+
+    @Test
+    public void testTruncateTo() throws ParseException {
+        long epochMilli = ClockParser.parseIso8601("2018-06-26T11:33:19.123+05:30");
+        TimeZone kolkata = TimeZone.getTimeZone("Asia/Kolkata");
+        assertThat(ClockMath.truncateTo(epochMilli, TimeUnit.MICROSECONDS, kolkata)).isEqualTo(epochMilli);
+        assertThat(ClockMath.truncateTo(epochMilli, TimeUnit.HOURS, kolkata))
+                .isEqualTo(ClockParser.parseIso8601("2018-06-26T11:00:00+05:30"));
+        assertThat(ClockMath.truncateTo(epochMilli, TimeUnit.HOURS))
+                .isEqualTo(ClockParser.parseIso8601("2018-06-26T06:00:00Z"));
+        assertThat(ClockMath.truncateTo(epochMilli, TimeUnit.DAYS, kolkata))
+                .isEqualTo(ClockParser.parseIso8601("2018-06-26T00:00:00+05:30"));
+        // the second 01:30 of the overlap truncates to the second 01:00
+        assertThat(ClockMath.truncateTo(
+                ClockParser.parseIso8601("2018-11-04T01:30:00-05:00"), TimeUnit.HOURS,
+                TimeZone.getTimeZone("America/New_York")
+        )).isEqualTo(ClockParser.parseIso8601("2018-11-04T01:00:00-05:00"));
+    }
+}
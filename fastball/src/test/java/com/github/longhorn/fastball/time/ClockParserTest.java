@@ -0,0 +1,131 @@
+package com.github.longhorn.fastball.time;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.TimeZone;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(DataProviderRunner.class)
+public class ClockParserTest {
+
+    @DataProvider
+    public static Object[][] testParseIso8601DataProvider() {
+        return new Object[][]{
+                {"2018-06-26T03:03:19Z"},
+                {"2018-06-26T03:03:19.123Z"},
+                {"2018-06-26T11:03:19.1+08:00"},
+                {"2018-06-26T11:03:19.123456789-08:00"},
+                {"2018-06-26T11:03+05:30"},
+                {"2018-06-26t11:03:19z"},
+                {"2016-02-29T23:59:59.999+14:00"},
+                {"1969-12-31T23:59:59.999Z"},
+                {"0001-01-01T00:00:00Z"},
+                {"+10000-01-01T00:00:00Z"},
+                {"-0100-03-01T00:00:00+01:02:03"},
+        };
+    }
+
+    @DataProvider
+    public static Object[][] testParseInvalidIso8601DataProvider() {
+        return new Object[][]{
+                {""},
+                {"2018-06-26"},
+                {"2018-06-26T03:03:19"},
+                {"2018-06-26 03:03:19Z"},
+                {"2018-13-26T03:03:19Z"},
+                {"2017-02-29T03:03:19Z"},
+                {"2018-06-26T24:00:00Z"},
+                {"2018-06-26T03:60:19Z"},
+                {"2018-06-26T03:03:19.Z"},
+                {"2018-06-26T03:03:19.1234567890Z"},
+                {"2018-06-26T03:03:1Z"},
+                {"2018-06-26T03:03:19+8:00"},
+                {"2018-06-26T03:03:19+19:00"},
+                {"2018-06-26T03:03:19ZZ"},
+                {"10000-01-01T00:00:00Z"},
+                {"2018-06-26T03:03:19.12a+08:00"},
+        };
+    }
+
+    @Test
+    @UseDataProvider("testParseIso8601DataProvider")
+    public void testParseIso8601(String iso8601) throws ParseException {
+        long expected = ZonedDateTime.parse(iso8601, DateTimeFormatter.ISO_OFFSET_DATE_TIME).toInstant().toEpochMilli();
+        assertThat(ClockParser.parseIso8601(iso8601)).isEqualTo(expected);
+        assertThat(ClockParser.parseIso8601(new StringBuilder(iso8601))).isEqualTo(expected);
+
+        byte[] bytes = ("[" + iso8601 + "]").getBytes(StandardCharsets.US_ASCII);
+        assertThat(ClockParser.parseIso8601(bytes, 1, bytes.length - 2)).isEqualTo(expected);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.position(1).limit(bytes.length - 1);
+        assertThat(ClockParser.parseIso8601(buffer)).isEqualTo(expected);
+        assertThat(buffer.position()).isEqualTo(1);
+    }
+
+    @Test
+    @UseDataProvider("testParseInvalidIso8601DataProvider")
+    public void testParseInvalidIso8601(String iso8601) {
+        try {
+            ClockParser.parseIso8601(iso8601);
+            fail();
+        } catch (ParseException e) {
+            assertThat(e.getMessage()).contains(iso8601);
+        }
+    }
+
+    @Test
+    public void testParseFormatted() throws ParseException {
+        TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+        for (long epochMilli = 1_500_000_000_123L; epochMilli < 1_600_000_000_000L; epochMilli += 86_399_997L) {
+            assertThat(ClockParser.parseIso8601(ClockFormatter.ISO_8601_MILLIS.format(epochMilli, timeZone)))
+                    .isEqualTo(epochMilli);
+            assertThat(ClockParser.parseSqlTs(ClockFormatter.SQL_TS.format(epochMilli, TimeZone.getTimeZone("UTC"))))
+                    .isEqualTo(epochMilli / 1000 * 1000);
+        }
+    }
+
+    @Test
+    public void testParseSqlTs() throws ParseException {
+        TimeZone taipei = TimeZone.getTimeZone("Asia/Taipei");
+        assertThat(ClockParser.parseSqlTs("2018-06-26 03:03:19")).isEqualTo(1529982199000L);
+        assertThat(ClockParser.parseSqlTs("2018-06-26 11:03:19.123", taipei)).isEqualTo(1529982199123L);
+        byte[] bytes = "2018-06-26 11:03:19".getBytes(StandardCharsets.US_ASCII);
+        assertThat(ClockParser.parseSqlTs(bytes, 0, bytes.length, taipei)).isEqualTo(1529982199000L);
+        assertThat(ClockParser.parseSqlTs(ByteBuffer.wrap(bytes), taipei)).isEqualTo(1529982199000L);
+        try {
+            ClockParser.parseSqlTs("2018-06-26 11:03");
+            fail();
+        } catch (ParseException e) {
+            assertThat(e.getErrorOffset()).isEqualTo(11);
+        }
+    }
+
+    @Test
+    public void testParseSqlTsAroundTransitions() throws ParseException {
+        TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+        // gap, overlap and the ordinary hours around them
+        String[] times = {
+                "2018-03-11 01:30:00", "2018-03-11 02:30:00", "2018-03-11 03:30:00",
+                "2018-11-04 00:30:00", "2018-11-04 01:30:00", "2018-11-04 02:30:00",
+        };
+        for (String time : times) {
+            long expected = LocalDateTime.parse(time, DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))
+                    .atZone(timeZone.toZoneId()).toInstant().toEpochMilli();
+            assertThat(ClockParser.parseSqlTs(time, timeZone)).isEqualTo(expected);
+        }
+    }
+}
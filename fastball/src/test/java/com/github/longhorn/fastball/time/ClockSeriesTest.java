@@ -0,0 +1,244 @@
+package com.github.longhorn.fastball.time;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.Var;
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(DataProviderRunner.class)
+public class ClockSeriesTest {
+    private static final TimeZone NEW_YORK = TimeZone.getTimeZone("America/New_York");
+
+    @DataProvider
+    public static Object[][] seriesDataProvider() {
+        return new Object[][]{
+                {false},
+                {true},
+        };
+    }
+
+    private static long[] randomInstants(int count, long seed) {
+        Random random = new Random(seed);
+        long[] instants = new long[count];
+        for (int i = 0; i < count; i++) {
+            instants[i] = 1_000_000_000_000L + (random.nextLong() & 0xFFFF_FFFFFFL);
+        }
+        return instants;
+    }
+
+    @Test
+    @UseDataProvider("seriesDataProvider")
+    public void testAddAndGet(boolean offHeap) {
+        ClockSeries series = offHeap ? ClockSeries.offHeap(0) : ClockSeries.create();
+        series.add(3L).add(Clock.fromUnixTs(1529982199)).add(1L);
+        assertThat(series.size()).isEqualTo(3);
+        assertThat(series.get(1)).isEqualTo(1529982199000L);
+        assertThat(series.getClock(1).getIso8601()).isEqualTo("2018-06-26T03:03:19Z");
+        assertThat(series.isSorted()).isFalse();
+        assertThat(series.set(2, Long.MAX_VALUE).sort().isSorted()).isTrue();
+        assertThat(series.set(1, 2L).isSorted()).isFalse();
+        series.set(1, 1529982199000L);
+        assertThat(series.toArray()).asList().containsExactly(3L, 1529982199000L, Long.MAX_VALUE).inOrder();
+        assertThat(series.stream().min().getAsLong()).isEqualTo(3L);
+        try {
+            series.get(3);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertThat(e.getMessage()).contains("3");
+        }
+        assertThat(series.clear().size()).isEqualTo(0);
+    }
+
+    @Test
+    @UseDataProvider("seriesDataProvider")
+    public void testParse(boolean offHeap) throws ParseException {
+        ClockSeries series = offHeap ? ClockSeries.offHeap(0) : ClockSeries.create();
+        List<String> iso8601 = ImmutableList.of("2018-06-26T03:03:19Z", "2018-06-26T11:03:19.123+08:00");
+        List<String> unixTs = ImmutableList.of("1529982199", "1529982199123", "-1", "+42");
+        series.addIso8601(iso8601).addUnixTs(unixTs).addSqlTs(ImmutableList.of("2018-06-26 03:03:19"));
+        series.addSqlTs(ImmutableList.of("2018-06-25 23:03:19"), NEW_YORK);
+        assertThat(series.toArray()).asList().containsExactly(
+                Clock.fromIso8601(iso8601.get(0)).toEpochMilli(),
+                Clock.fromIso8601(iso8601.get(1)).toEpochMilli(),
+                Clock.fromUnixTs(unixTs.get(0)).toEpochMilli(),
+                Clock.fromUnixTs(unixTs.get(1)).toEpochMilli(),
+                Clock.fromUnixTs(unixTs.get(2)).toEpochMilli(),
+                Clock.fromUnixTs(unixTs.get(3)).toEpochMilli(),
+                1529982199000L,
+                1529982199000L
+        ).inOrder();
+
+        try {
+            series.addIso8601(ImmutableList.of("2018-06-26T03:03:19Z", "2018-06-26"));
+            fail();
+        } catch (ParseException e) {
+            assertThat(series.size()).isEqualTo(8);
+        }
+        for (String invalid : new String[]{"", "-", "+", "1a", "9223372036854775808", "--1"}) {
+            try {
+                series.addUnixTs(ImmutableList.of("0", invalid));
+                fail(invalid);
+            } catch (NumberFormatException e) {
+                assertThat(series.size()).isEqualTo(8);
+            }
+        }
+        series.clear().addUnixTs(ImmutableList.of("9223372036854775807", "-9223372036854775808"));
+        assertThat(series.toArray()).asList().containsExactly(Long.MAX_VALUE, Long.MIN_VALUE).inOrder();
+    }
+
+    @Test
+    @UseDataProvider("seriesDataProvider")
+    public void testFormat(boolean offHeap) {
+        ClockSeries series = offHeap ? ClockSeries.offHeap(0) : ClockSeries.create();
+        long[] instants = randomInstants(100, 1);
+        for (long instant : instants) {
+            series.add(instant);
+        }
+        StringBuilder expected = new StringBuilder();
+        for (long instant : instants) {
+            expected.append(Clock.fromEpochMilli(instant).getIso8601Millis(NEW_YORK)).append('\n');
+        }
+        StringBuilder sb = new StringBuilder();
+        series.appendTo(ClockFormatter.ISO_8601_MILLIS, NEW_YORK, '\n', sb);
+        assertThat(sb.toString()).isEqualTo(expected.toString());
+
+        // a buffer smaller than the output is filled in chunks
+        ByteBuffer buffer = ByteBuffer.allocate(1000);
+        StringBuilder chunks = new StringBuilder();
+        @Var int index = 0;
+        while (index < series.size()) {
+            buffer.clear();
+            index = series.write(ClockFormatter.ISO_8601_MILLIS, NEW_YORK, (byte) '\n', buffer, index);
+            buffer.flip();
+            chunks.append(StandardCharsets.US_ASCII.decode(buffer));
+        }
+        assertThat(chunks.toString()).isEqualTo(expected.toString());
+
+        // a point of a far year is longer than MAX_LENGTH, and is rolled back even if the buffer has more room
+        ClockSeries far = offHeap ? ClockSeries.offHeap(0) : ClockSeries.create();
+        far.add(Long.MAX_VALUE / 2);
+        TimeZone taipei = TimeZone.getTimeZone("Asia/Taipei");
+        String point = Clock.fromEpochMilli(Long.MAX_VALUE / 2).getIso8601Millis(taipei);
+        assertThat(point.length()).isGreaterThan(ClockFormatter.MAX_LENGTH);
+        ByteBuffer small = ByteBuffer.allocate(point.length());
+        assertThat(far.write(ClockFormatter.ISO_8601_MILLIS, taipei, (byte) '\n', small, 0)).isEqualTo(0);
+        assertThat(small.position()).isEqualTo(0);
+        ByteBuffer large = ByteBuffer.allocate(point.length() + 1);
+        assertThat(far.write(ClockFormatter.ISO_8601_MILLIS, taipei, (byte) '\n', large, 0)).isEqualTo(1);
+        assertThat(new String(large.array(), StandardCharsets.US_ASCII)).isEqualTo(point + "\n");
+    }
+
+    @Test
+    @UseDataProvider("seriesDataProvider")
+    public void testTransform(boolean offHeap) {
+        ClockSeries series = offHeap ? ClockSeries.offHeap(0) : ClockSeries.create();
+        long[] instants = randomInstants(1000, 2);
+        for (long instant : instants) {
+            series.add(instant);
+        }
+        series.turnForward(TimeUnit.HOURS, 1).turnBack(TimeUnit.MINUTES, 30).truncateTo(TimeUnit.HOURS, NEW_YORK);
+        for (int i = 0; i < instants.length; i++) {
+            long expected = Clock.fromEpochMilli(instants[i])
+                    .turnForward(TimeUnit.HOURS, 1)
+                    .turnBack(TimeUnit.MINUTES, 30)
+                    .truncateTo(TimeUnit.HOURS, NEW_YORK)
+                    .toEpochMilli();
+            assertThat(series.get(i)).isEqualTo(expected);
+        }
+        series.startOfWeek(NEW_YORK);
+        for (int i = 0; i < instants.length; i++) {
+            assertThat(series.get(i)).isEqualTo(ClockMath.startOfWeek(
+                    ClockMath.truncateTo(instants[i] + TimeUnit.MINUTES.toMillis(30), TimeUnit.HOURS, NEW_YORK),
+                    NEW_YORK
+            ));
+        }
+        assertThat(series.sort().startOfMonth().isSorted()).isTrue();
+        assertThat(series.endOfDay().get(0) % TimeUnit.DAYS.toMillis(1)).isEqualTo(TimeUnit.DAYS.toMillis(1) - 1);
+        assertThat(series.startOfDay().get(0) % TimeUnit.DAYS.toMillis(1)).isEqualTo(0L);
+    }
+
+    @Test
+    @UseDataProvider("seriesDataProvider")
+    public void testPlusDuration(boolean offHeap) throws ParseException {
+        ClockSeries series = offHeap ? ClockSeries.offHeap(0) : ClockSeries.create();
+        long[] instants = randomInstants(1000, 3);
+        for (long instant : instants) {
+            series.add(instant);
+        }
+        CalendarDuration duration = CalendarDuration.parse("P1M2DT3H");
+        series.plus(duration, NEW_YORK);
+        for (int i = 0; i < instants.length; i++) {
+            assertThat(series.get(i)).isEqualTo(duration.addTo(instants[i], NEW_YORK));
+        }
+        series.minus(duration, NEW_YORK).plus(duration).minus(duration);
+        for (int i = 0; i < instants.length; i++) {
+            assertThat(series.get(i)).isEqualTo(duration.subtractFrom(duration.addTo(
+                    duration.subtractFrom(duration.addTo(instants[i], NEW_YORK), NEW_YORK))));
+        }
+    }
+
+    @Test
+    @UseDataProvider("seriesDataProvider")
+    public void testSortAndRange(boolean offHeap) {
+        ClockSeries series = offHeap ? ClockSeries.offHeap(0) : ClockSeries.create();
+        long[] instants = randomInstants(100_000, 3);
+        // plenty of duplicates and a sorted run to exercise the partitioning
+        for (int i = 0; i < 20_000; i++) {
+            instants[i] = instants[i % 7];
+            instants[20_000 + i] = i;
+        }
+        for (long instant : instants) {
+            series.add(instant);
+        }
+        assertThat(series.isSorted()).isFalse();
+        try {
+            series.ceilingIndex(0L);
+            fail();
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage()).contains("sorted");
+        }
+        long[] expected = instants.clone();
+        Arrays.sort(expected);
+        assertThat(series.sort().toArray()).isEqualTo(expected);
+        assertThat(series.isSorted()).isTrue();
+
+        long from = expected[30_000];
+        long to = expected[60_000];
+        int start = series.ceilingIndex(from);
+        assertThat(series.get(start)).isEqualTo(from);
+        assertThat(start == 0 || series.get(start - 1) < from).isTrue();
+        int end = series.higherIndex(to);
+        assertThat(series.get(end - 1)).isEqualTo(to);
+        assertThat(end == series.size() || series.get(end) > to).isTrue();
+        assertThat(series.count(from, to + 1)).isEqualTo(end - start);
+        assertThat(series.range(from, to + 1).toArray()).isEqualTo(Arrays.copyOfRange(expected, start, end));
+        assertThat(series.count(to, from)).isEqualTo(0);
+        assertThat(series.ceilingIndex(Long.MAX_VALUE)).isEqualTo(series.size());
+        assertThat(series.higherIndex(Long.MAX_VALUE)).isEqualTo(series.size());
+    }
+
+    @Test
+    public void testInvalidCapacity() {
+        try {
+            ClockSeries.offHeap(Integer.MAX_VALUE);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).contains("capacity");
+        }
+    }
+}
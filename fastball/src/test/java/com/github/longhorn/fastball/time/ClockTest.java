@@ -3,6 +3,7 @@ package com.github.longhorn.fastball.time;
 import com.google.errorprone.annotations.Var;
 import org.junit.Test;
 
+import java.io.IOException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.TimeZone;
@@ -22,6 +23,26 @@ public class ClockTest {
         assertThat(matcher.find()).isTrue();
     }
 
+    @Test
+    public void testFromNowWithTimeSource() {
+        TimeSource original = Clock.getTimeSource();
+        ManualTimeSource source = new ManualTimeSource(1529982199123L);
+        Clock.setTimeSource(source);
+        try {
+            assertThat(Clock.fromNow().toEpochMilli()).isEqualTo(1529982199123L);
+            Clock second = Clock.fromNowSecond();
+            assertThat(second.toEpochMilli()).isEqualTo(1529982199000L);
+            assertThat(Clock.nowIso8601()).isEqualTo("2018-06-26T03:03:19Z");
+            source.advance(TimeUnit.MILLISECONDS, 876);
+            assertThat(Clock.fromNowSecond()).isSameAs(second);
+            source.advance(TimeUnit.MILLISECONDS, 1);
+            assertThat(Clock.fromNowSecond().toEpochMilli()).isEqualTo(1529982200000L);
+            assertThat(Clock.nowIso8601()).isEqualTo("2018-06-26T03:03:20Z");
+        } finally {
+            Clock.setTimeSource(original);
+        }
+    }
+
     @Test
     public void testGetEpochSecondString() {
         Clock clock = Clock.fromNow();
@@ -111,6 +132,13 @@ public class ClockTest {
         }
     }
 
+    @Test
+    public void testFromSqlTs() throws ParseException {
+        assertThat(Clock.fromSqlTs("2018-06-26 03:03:19").getEpochSecond()).isEqualTo(1529982199L);
+        assertThat(Clock.fromSqlTs("2018-06-26 11:03:19", TimeZone.getTimeZone("Asia/Taipei")).getEpochSecond())
+                .isEqualTo(1529982199L);
+    }
+
     @Test
     public void testGetIso8601MillisFromUnixTs() {
         // integer
@@ -124,6 +152,11 @@ public class ClockTest {
         // string
         clock = Clock.fromUnixTs("1529982199");
         assertThat(clock.getIso8601Millis()).isEqualTo("2018-06-26T03:03:19.000Z");
+        // the integers below -999999999 are milliseconds like the longs and the strings
+        assertThat(Clock.fromUnixTs(-1_500_000_000).toEpochMilli()).isEqualTo(-1_500_000_000L);
+        assertThat(Clock.fromUnixTs(-1_500_000_000).toEpochMilli())
+                .isEqualTo(Clock.fromUnixTs(-1_500_000_000L).toEpochMilli());
+        assertThat(Clock.fromUnixTs(-999_999_999).toEpochMilli()).isEqualTo(-999_999_999_000L);
     }
 
     @Test
@@ -139,6 +172,18 @@ public class ClockTest {
         assertThat(clock.getIso8601()).isEqualTo("2018-06-26T03:03:19Z");
     }
 
+    @Test
+    public void testAppendIso8601() throws IOException {
+        Clock clock = Clock.fromUnixTs(1529982199123L);
+        StringBuilder sb = new StringBuilder();
+        clock.appendIso8601(sb);
+        sb.append(' ');
+        clock.appendIso8601Millis(sb, TimeZone.getTimeZone("Asia/Taipei"));
+        sb.append(' ');
+        clock.appendSqlTs(sb);
+        assertThat(sb.toString()).isEqualTo("2018-06-26T03:03:19Z 2018-06-26T11:03:19.123+08:00 2018-06-26 03:03:19");
+    }
+
     @Test
     public void testGetSqlTs() {
         Clock clock = Clock.fromUnixTs(1529982199);
@@ -159,6 +204,19 @@ public class ClockTest {
         assertThat(Clock.fromUnixTs(1529982199).isEqualTo(Clock.fromUnixTs(1529982200))).isFalse();
     }
 
+    @Test
+    public void testEqualsAndIntern() {
+        Clock clock = Clock.fromUnixTs(1529982199);
+        assertThat(clock).isEqualTo(Clock.fromUnixTs(1529982199000L));
+        assertThat(clock.hashCode()).isEqualTo(Clock.fromUnixTs(1529982199000L).hashCode());
+        assertThat(clock).isNotEqualTo(Clock.fromUnixTs(1529982200));
+        assertThat(clock).isLessThan(Clock.fromUnixTs(1529982200));
+        assertThat(clock.toString()).isEqualTo("2018-06-26T03:03:19.000Z");
+        Clock interned = clock.startOfDay().intern();
+        assertThat(clock.startOfDay().intern()).isSameAs(interned);
+        assertThat(interned).isEqualTo(clock.startOfDay());
+    }
+
     @Test
     public void testIsAtBeginOfDay() {
         try {
@@ -193,6 +251,23 @@ public class ClockTest {
         }
     }
 
+    @Test
+    public void testStartAndEndOfPeriods() throws ParseException {
+        TimeZone taipei = TimeZone.getTimeZone("Asia/Taipei");
+        Clock clock = Clock.fromIso8601("2018-06-26T03:03:19.123+08:00");
+        assertThat(clock.startOfDay().getIso8601Millis()).isEqualTo("2018-06-25T00:00:00.000Z");
+        assertThat(clock.startOfDay(taipei).getIso8601Millis(taipei)).isEqualTo("2018-06-26T00:00:00.000+08:00");
+        assertThat(clock.endOfDay(taipei).getIso8601Millis(taipei)).isEqualTo("2018-06-26T23:59:59.999+08:00");
+        assertThat(clock.endOfDay().getIso8601Millis()).isEqualTo("2018-06-25T23:59:59.999Z");
+        assertThat(clock.startOfMonth(taipei).getIso8601Millis(taipei)).isEqualTo("2018-06-01T00:00:00.000+08:00");
+        assertThat(clock.startOfMonth().getIso8601Millis()).isEqualTo("2018-06-01T00:00:00.000Z");
+        assertThat(clock.startOfWeek(taipei).getIso8601Millis(taipei)).isEqualTo("2018-06-25T00:00:00.000+08:00");
+        assertThat(clock.startOfWeek().getIso8601Millis()).isEqualTo("2018-06-25T00:00:00.000Z");
+        assertThat(clock.truncateTo(TimeUnit.MINUTES).getIso8601Millis()).isEqualTo("2018-06-25T19:03:00.000Z");
+        assertThat(clock.truncateTo(TimeUnit.HOURS, taipei).getIso8601Millis(taipei))
+                .isEqualTo("2018-06-26T03:00:00.000+08:00");
+    }
+
     @Test
     public void testTurnForward() {
         Clock now = Clock.fromNow();
@@ -0,0 +1,68 @@
+package com.github.longhorn.fastball.time;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class ImmutablePeriodTest {
+
+    @Test
+    public void testParseShared() throws ParseException {
+        ImmutablePeriod period = ImmutablePeriod.parse("2017-01-01/2017-01-31");
+        assertThat(ImmutablePeriod.parse("2017-01-01/2017-01-31")).isSameAs(period);
+        assertThat(period.toString()).isEqualTo("2017-01-01/2017-01-31");
+        assertThat(period.getDuration(TimeUnit.DAYS)).isEqualTo(30L);
+        assertThat(period.isTalliedWithDuration(TimeUnit.DAYS, 30)).isTrue();
+        assertThat(period.isWholeMonth(TimeZone.getTimeZone("UTC"))).isTrue();
+
+        Period copy = Period.parse("2017-01-01/2017-01-31");
+        copy.setEnd(Clock.fromUnixTs(0));
+        assertThat(ImmutablePeriod.parse("2017-01-01/2017-01-31").getEnd().getIso8601())
+                .isEqualTo("2017-01-31T00:00:00Z");
+    }
+
+    @Test
+    public void testCopies() throws ParseException {
+        ImmutablePeriod period = ImmutablePeriod.parse("2017-01-01/2017-01-31");
+        Period copy = period.toPeriod();
+        assertThat(copy.getStart()).isSameAs(period.getStart());
+        assertThat(copy.getEnd()).isSameAs(period.getEnd());
+        assertThat(copy.toString()).isEqualTo("2017-01-01/2017-01-31");
+        copy.setStart(Clock.fromUnixTs(0)).setEnd(Clock.fromUnixTs(1));
+        assertThat(period.getStart().getIso8601()).isEqualTo("2017-01-01T00:00:00Z");
+        assertThat(period.toPeriod().getEnd()).isSameAs(period.getEnd());
+
+        ImmutablePeriod immutable = ImmutablePeriod.copyOf(copy);
+        assertThat(immutable.getStart().toEpochMilli()).isEqualTo(0L);
+        assertThat(immutable.getEnd().toEpochMilli()).isEqualTo(1000L);
+        assertThat(immutable.getExacted()).isNull();
+        assertThat(ImmutablePeriod.copyOf(period.toPeriod())).isEqualTo(period);
+    }
+
+    @Test
+    public void testEqualsAndCompare() throws ParseException {
+        ImmutablePeriod day = ImmutablePeriod.parse("2017-01-01/2017-01-02");
+        ImmutablePeriod sameDay = ImmutablePeriod.parse("2017-01-01T00:00:00Z/P1D");
+        ImmutablePeriod exacted = ImmutablePeriod.parse("2017-01-01");
+        ImmutablePeriod later = ImmutablePeriod.parse("2017-01-01/2017-01-03");
+        assertThat(day).isEqualTo(sameDay);
+        assertThat(day.hashCode()).isEqualTo(sameDay.hashCode());
+        assertThat(day).isNotEqualTo(exacted);
+        assertThat(day).isNotEqualTo(Period.parse("2017-01-01/2017-01-02"));
+        assertThat(day.getStart()).isSameAs(sameDay.getStart());
+        assertThat(day.getStart()).isSameAs(exacted.getExacted());
+
+        List<ImmutablePeriod> periods = new ArrayList<>(ImmutableList.of(later, day, exacted));
+        Collections.sort(periods);
+        assertThat(periods).containsExactly(exacted, day, later).inOrder();
+        assertThat(day.compareTo(sameDay)).isEqualTo(0);
+    }
+}
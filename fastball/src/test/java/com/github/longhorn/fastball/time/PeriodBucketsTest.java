@@ -0,0 +1,147 @@
+package com.github.longhorn.fastball.time;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(DataProviderRunner.class)
+public class PeriodBucketsTest {
+    private static final TimeZone NEW_YORK = TimeZone.getTimeZone("America/New_York");
+
+    @DataProvider
+    public static Object[][] testBucketsDataProvider() {
+        return new Object[][]{
+                {"2017-03-12T00:00:00-05:00/2017-03-13T00:00:00-04:00", PeriodBuckets.Unit.DAYS, 1,
+                        "2017-03-12T00:00-05:00[America/New_York] 2017-03-13T00:00-04:00[America/New_York]"},
+                {"2017-03-12T01:15:00-05:00/2017-03-12T04:00:00-04:00", PeriodBuckets.Unit.HOURS, 1,
+                        "2017-03-12T01:00-05:00[America/New_York] 2017-03-12T03:00-04:00[America/New_York]"
+                                + " 2017-03-12T04:00-04:00[America/New_York]"},
+                {"2017-01-15T10:00:00Z/2017-07-01T00:00:00-04:00", PeriodBuckets.Unit.MONTHS, 3,
+                        "2017-01-01T00:00-05:00[America/New_York] 2017-04-01T00:00-04:00[America/New_York]"
+                                + " 2017-07-01T00:00-04:00[America/New_York]"},
+                {"2017-12-31T12:00:00Z/2019-01-01T05:00:00Z", PeriodBuckets.Unit.YEARS, 1,
+                        "2017-01-01T00:00-05:00[America/New_York] 2018-01-01T00:00-05:00[America/New_York]"
+                                + " 2019-01-01T00:00-05:00[America/New_York]"},
+                {"2017-06-07T00:00:00Z/2017-06-20T00:00:00Z", PeriodBuckets.Unit.WEEKS, 1,
+                        "2017-06-05T00:00-04:00[America/New_York] 2017-06-12T00:00-04:00[America/New_York]"
+                                + " 2017-06-19T00:00-04:00[America/New_York] 2017-06-26T00:00-04:00[America/New_York]"},
+                {"2017-06-07T00:00:10Z", PeriodBuckets.Unit.MINUTES, 15,
+                        "2017-06-06T20:00-04:00[America/New_York] 2017-06-06T20:15-04:00[America/New_York]"},
+        };
+    }
+
+    private static String describe(PeriodBuckets buckets) {
+        return IntStream.rangeClosed(0, buckets.size())
+                .mapToObj(i -> i < buckets.size() ? buckets.startOf(i) : buckets.endOf(i - 1))
+                .map(epochMilli -> Instant.ofEpochMilli(epochMilli).atZone(ZoneId.of("America/New_York")).toString())
+                .collect(Collectors.joining(" "));
+    }
+
+    @Test
+    @UseDataProvider("testBucketsDataProvider")
+    public void testBuckets(String period, PeriodBuckets.Unit unit, int amount, String boundaries)
+            throws ParseException {
+        PeriodBuckets buckets = Period.parse(period).buckets(unit, amount, NEW_YORK);
+        assertThat(describe(buckets)).isEqualTo(boundaries);
+        assertThat(buckets.getUnit()).isEqualTo(unit);
+    }
+
+    @Test
+    public void testFixedUnitsFollowTheOffset() throws ParseException {
+        PeriodBuckets buckets = Period.parse("2017-01-01T00:10:00Z/2017-01-01T02:00:00Z")
+                .buckets(PeriodBuckets.Unit.HOURS, 1, TimeZone.getTimeZone("Asia/Kolkata"));
+        assertThat(buckets.size()).isEqualTo(3);
+        assertThat(buckets.startOf(0)).isEqualTo(Instant.parse("2016-12-31T23:30:00Z").toEpochMilli());
+        PeriodBuckets utc = Period.parse("2017-01-01T00:10:00Z/2017-01-01T02:00:00Z")
+                .buckets(PeriodBuckets.Unit.HOURS, 1);
+        assertThat(utc.size()).isEqualTo(2);
+        assertThat(utc.startOf(0)).isEqualTo(Instant.parse("2017-01-01T00:00:00Z").toEpochMilli());
+    }
+
+    @Test
+    public void testIndexesOf() throws ParseException {
+        Period period = Period.parse("2017-01-01T00:00:00Z/2018-01-01T00:00:00Z");
+        long start = period.getStart().toEpochMilli();
+        long end = period.getEnd().toEpochMilli();
+        Random random = new Random(0);
+        long[] epochMillis = new long[10_000];
+        for (int i = 0; i < epochMillis.length; i++) {
+            epochMillis[i] = start - 100_000_000L + (long) (random.nextDouble() * (end - start + 200_000_000L));
+        }
+        Arrays.sort(epochMillis, 0, epochMillis.length / 2);
+        for (PeriodBuckets.Unit unit : PeriodBuckets.Unit.values()) {
+            PeriodBuckets buckets = period.buckets(unit, unit == PeriodBuckets.Unit.MILLISECONDS ? 1000 : 1, NEW_YORK);
+            int[] indexes = buckets.indexesOf(epochMillis);
+            for (int i = 0; i < epochMillis.length; i++) {
+                long epochMilli = epochMillis[i];
+                int index = indexes[i];
+                assertThat(index).isEqualTo(buckets.indexOf(epochMilli));
+                if (epochMilli < start || epochMilli >= end) {
+                    assertThat(index).isEqualTo(-1);
+                } else {
+                    assertThat(buckets.startOf(index)).isAtMost(epochMilli);
+                    assertThat(buckets.endOf(index)).isGreaterThan(epochMilli);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testIterate() throws ParseException {
+        PeriodBuckets buckets = Period.parse("2016-01-01/2017-01-01").buckets(PeriodBuckets.Unit.DAYS, 1, NEW_YORK);
+        assertThat(buckets.size()).isEqualTo(367);
+        PrimitiveIterator.OfLong iterator = buckets.iterator();
+        for (int i = 0; i < buckets.size(); i++) {
+            assertThat(iterator.nextLong()).isEqualTo(buckets.startOf(i));
+        }
+        assertThat(iterator.hasNext()).isFalse();
+        assertThat(buckets.starts().parallel().sum()).isEqualTo(buckets.starts().sum());
+        assertThat(buckets.starts().parallel().toArray()).isEqualTo(buckets.starts().toArray());
+        assertThat(ZonedDateTime.ofInstant(Instant.ofEpochMilli(buckets.startOf(0)), ZoneId.of("America/New_York"))
+                .toString()).isEqualTo("2015-12-31T00:00-05:00[America/New_York]");
+    }
+
+    @Test
+    public void testInvalid() throws ParseException {
+        try {
+            Period.parse("2017-01-01").buckets(PeriodBuckets.Unit.DAYS, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).contains("amount");
+        }
+        try {
+            Period.parse("2017-01-01/2017-01-01").buckets(PeriodBuckets.Unit.DAYS, 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).contains("empty");
+        }
+        try {
+            Period.parse("0000-01-01/9999-01-01").buckets(PeriodBuckets.Unit.MILLISECONDS, 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).contains("Too many buckets");
+        }
+        try {
+            Period.parse("2017-01-01").buckets(PeriodBuckets.Unit.DAYS, 1).startOf(1);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertThat(e.getMessage()).contains("Index: 1");
+        }
+    }
+}
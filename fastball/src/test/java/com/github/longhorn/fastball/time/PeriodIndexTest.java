@@ -0,0 +1,110 @@
+package com.github.longhorn.fastball.time;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public class PeriodIndexTest {
+
+    static List<Period> randomPeriods(Random random, int count) {
+        List<Period> periods = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long start = random.nextInt(100_000);
+            if (i % 5 == 0) {
+                periods.add(new Period(null, null, Clock.fromEpochMilli(start), "exacted-" + i));
+            } else {
+                long end = start + random.nextInt(i % 7 == 0 ? 50_000 : 1_000);
+                periods.add(new Period(Clock.fromEpochMilli(start), Clock.fromEpochMilli(end), null, "range-" + i));
+            }
+        }
+        return periods;
+    }
+
+    static List<Period> filter(List<Period> periods, Predicate<long[]> predicate) {
+        return periods.stream()
+                .filter(period -> predicate.test(PeriodIndex.boundsOf(period)))
+                .collect(Collectors.toList());
+    }
+
+    private static List<Period> sortedByStart(List<Period> periods) {
+        List<Period> sorted = new ArrayList<>(periods);
+        sorted.sort((a, b) -> {
+            long[] x = PeriodIndex.boundsOf(a);
+            long[] y = PeriodIndex.boundsOf(b);
+            return x[0] != y[0] ? Long.compare(x[0], y[0]) : Long.compare(x[1], y[1]);
+        });
+        return sorted;
+    }
+
+    @Test
+    public void testParsedPeriods() throws ParseException {
+        Period january = Period.parse("2017-01-01/P1M");
+        Period february = Period.parse("2017-02-01/2017-02-28T23:59:59Z");
+        Period newYear = Period.parse("2017-01-01");
+        PeriodIndex index = PeriodIndex.of(ImmutableList.of(february, january, newYear));
+        long newYearMilli = newYear.getExacted().toEpochMilli();
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.containing(newYearMilli)).containsExactly(newYear, january).inOrder();
+        assertThat(index.containing(Period.parse("2017-02-01").getExacted().toEpochMilli()))
+                .containsExactly(january, february).inOrder();
+        assertThat(index.containing(newYearMilli - 1)).isEmpty();
+        assertThat(index.within(newYearMilli, january.getEnd().toEpochMilli())).containsExactly(newYear, january);
+        assertThat(index.enclosing(newYearMilli, newYearMilli + 1)).containsExactly(january);
+        assertThat(index.overlapping(Long.MIN_VALUE, Long.MAX_VALUE)).hasSize(3);
+        assertThat(PeriodIndex.of(Collections.emptyList()).containing(0)).isEmpty();
+    }
+
+    @Test
+    public void testSameAsScan() {
+        Random random = new Random(0);
+        for (int count : new int[]{1, 2, 3, 100, 1000}) {
+            List<Period> periods = randomPeriods(random, count);
+            PeriodIndex index = PeriodIndex.of(periods);
+            List<Period> sorted = sortedByStart(periods);
+            for (int i = 0; i < 200; i++) {
+                long from = random.nextInt(110_000) - 5_000L;
+                long to = from + random.nextInt(i % 2 == 0 ? 100 : 20_000);
+                assertThat(index.containing(from)).containsExactlyElementsIn(
+                        filter(sorted, b -> b[0] <= from && from <= b[1])).inOrder();
+                assertThat(index.overlapping(from, to)).containsExactlyElementsIn(
+                        filter(sorted, b -> b[0] <= to && from <= b[1])).inOrder();
+                assertThat(index.enclosing(from, to)).containsExactlyElementsIn(
+                        filter(sorted, b -> b[0] <= from && to <= b[1])).inOrder();
+                assertThat(index.within(from, to)).containsExactlyElementsIn(
+                        filter(sorted, b -> from <= b[0] && b[1] <= to)).inOrder();
+            }
+        }
+    }
+
+    @Test
+    public void testInvalid() throws ParseException {
+        try {
+            PeriodIndex.of(ImmutableList.of(Period.parse("2017-01-01").setExacted(null)));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).contains("2017-01-01");
+        }
+        try {
+            PeriodIndex.of(ImmutableList.of(Period.parse("2017-01-02/2017-01-01")));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).contains("ends before it starts");
+        }
+        try {
+            PeriodIndex.of(Collections.emptyList()).overlapping(1, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).contains("Invalid range");
+        }
+    }
+}
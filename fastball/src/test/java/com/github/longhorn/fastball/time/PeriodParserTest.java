@@ -0,0 +1,138 @@
+package com.github.longhorn.fastball.time;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(DataProviderRunner.class)
+public class PeriodParserTest {
+
+    @DataProvider
+    public static Object[][] testParseExactedDataProvider() {
+        return new Object[][]{
+                {"2017-01-01", "2017-01-01T00:00:00Z"},
+                {"2016-02-29T23:59:59Z", "2016-02-29T23:59:59Z"},
+                {"2017-01-01T00:00:00-08:00", "2017-01-01T00:00:00-08:00"},
+                {"2017-01-01T00:00:00.9+05:30", "2017-01-01T00:00:00+05:30"},
+                {"2017-01-01T00:00:00.123+18:00", "2017-01-01T00:00:00+18:00"},
+                {"0000-03-01T12:00:00Z", "0000-03-01T12:00:00Z"},
+        };
+    }
+
+    @DataProvider
+    public static Object[][] testParseDurationDataProvider() {
+        return new Object[][]{
+                {"P1Y3M5DT6H7M30S", "2018-05-05T06:07:30+08:00"},
+                {"P1D", "2017-02-01T00:00:00+08:00"},
+                {"P1M", "2017-02-28T00:00:00+08:00"},
+                {"P13M", "2018-02-28T00:00:00+08:00"},
+                {"P1W", "2017-02-07T00:00:00+08:00"},
+                {"PT36H", "2017-02-01T12:00:00+08:00"},
+                {"P1DT1S", "2017-02-01T00:00:01+08:00"},
+                {"PT0.5S", "2017-01-31T00:00:00.500+08:00"},
+                {"P0Y0M0DT0H0M0S", "2017-01-31T00:00:00+08:00"},
+                {"P1YT1M", "2018-01-31T00:01:00+08:00"},
+        };
+    }
+
+    @DataProvider
+    public static Object[][] testParseInvalidDataProvider() {
+        return new Object[][]{
+                {"2017-13-01"},
+                {"2017-02-29"},
+                {"2017-01-01T24:00:00Z"},
+                {"2017-01-01T00:00:00"},
+                {"2017-01-01T00:00Z"},
+                {"2017-01-01T00:00:00.Z"},
+                {"2017-01-01T00:00:00.1234Z"},
+                {"2017-01-01T00:00:00+19:00"},
+                {"2017-01-01T00:00:00+08"},
+                {"2017-1-01"},
+                {"2017-01-01/P1"},
+                {"2017-01-01/P1H"},
+                {"2017-01-01/P1DT"},
+                {"2017-01-01/P1D2Y"},
+                {"2017-01-01/P1DT1HT1S"},
+                {"2017-01-01/PT1.5M"},
+                {"2017-01-01/P1D-"},
+                {"2017-01-01/P99999999999D"},
+                {"2017-01-01/2017-01-32"},
+        };
+    }
+
+    @DataProvider
+    public static Object[][] testParseMalformedDataProvider() {
+        return new Object[][]{
+                {""},
+                {"17-01-01"},
+                {"2017/01/01"},
+                {"2017-01-01/"},
+                {"2017-01-01/PX"},
+                {"2017-01-01/P1D!"},
+                {"2017-01-01/-P1D"},
+                {"2017-01-01 00:00:00Z"},
+                {"2017-01-01/2017-01-02/2017-01-03"},
+        };
+    }
+
+    @Test
+    @UseDataProvider("testParseExactedDataProvider")
+    public void testParseExacted(String period, String iso8601) throws ParseException {
+        Period parsed = PeriodParser.parse(period);
+        assertThat(parsed.getStart()).isNull();
+        assertThat(parsed.getEnd()).isNull();
+        assertThat(parsed.getExacted().toEpochMilli())
+                .isEqualTo(ZonedDateTime.parse(iso8601).toInstant().toEpochMilli());
+        assertThat(parsed.toString()).isEqualTo(period);
+    }
+
+    @Test
+    @UseDataProvider("testParseDurationDataProvider")
+    public void testParseDuration(String duration, String end) throws ParseException {
+        Period parsed = PeriodParser.parse("2017-01-31T00:00:00+08:00/" + duration);
+        long start = LocalDate.of(2017, 1, 31).atStartOfDay().toInstant(ZoneOffset.ofHours(8)).toEpochMilli();
+        assertThat(parsed.getStart().toEpochMilli()).isEqualTo(start);
+        assertThat(parsed.getEnd().toEpochMilli()).isEqualTo(ZonedDateTime.parse(end).toInstant().toEpochMilli());
+        assertThat(parsed.getExacted()).isNull();
+    }
+
+    @Test
+    public void testParseStartEnd() throws ParseException {
+        Period parsed = PeriodParser.parse("2017-01-01T00:00:00+08:00/2017-01-31");
+        assertThat(parsed.getStart().toEpochMilli()).isEqualTo(Instant.parse("2016-12-31T16:00:00Z").toEpochMilli());
+        assertThat(parsed.getEnd().toEpochMilli()).isEqualTo(Instant.parse("2017-01-31T00:00:00Z").toEpochMilli());
+    }
+
+    @Test
+    @UseDataProvider("testParseInvalidDataProvider")
+    public void testParseInvalid(String period) {
+        try {
+            PeriodParser.parse(period);
+            fail();
+        } catch (ParseException e) {
+            assertThat(e.getMessage()).startsWith("Unparseable");
+        }
+    }
+
+    @Test
+    @UseDataProvider("testParseMalformedDataProvider")
+    public void testParseMalformed(String period) throws ParseException {
+        try {
+            PeriodParser.parse(period);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Invalid period");
+        }
+    }
+}
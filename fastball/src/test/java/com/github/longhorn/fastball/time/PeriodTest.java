@@ -58,6 +58,16 @@ public class PeriodTest {
         }
     }
 
+    @Test
+    public void testParseCached() throws ParseException {
+        Period first = Period.parse("2017-01-01/P1D");
+        Period second = Period.parse("2017-01-01/P1D");
+        assertThat(second).isNotSameAs(first);
+        first.setEnd(Clock.fromUnixTs(0));
+        assertThat(second.getEnd().getIso8601()).isEqualTo("2017-01-02T00:00:00Z");
+        assertThat(Period.parse("2017-01-01/P1D").getEnd().getIso8601()).isEqualTo("2017-01-02T00:00:00Z");
+    }
+
     @Test
     public void testIsWholeMonth() {
         try {
@@ -0,0 +1,43 @@
+package com.github.longhorn.fastball.time;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class TimeSourceTest {
+    @Test
+    public void testSystem() {
+        long before = System.currentTimeMillis();
+        long now = TimeSource.system().currentTimeMillis();
+        assertThat(now).isAtLeast(before);
+        assertThat(now).isAtMost(System.currentTimeMillis());
+    }
+
+    @Test
+    public void testCoarse() throws InterruptedException {
+        try (CoarseTimeSource source = CoarseTimeSource.start(5, TimeUnit.MILLISECONDS)) {
+            long first = source.currentTimeMillis();
+            assertThat(Math.abs(first - System.currentTimeMillis())).isLessThan(1000L);
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+            while (source.currentTimeMillis() == first && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            assertThat(source.currentTimeMillis()).isGreaterThan(first);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCoarseWithInvalidResolution() {
+        CoarseTimeSource.start(0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testManual() {
+        ManualTimeSource source = new ManualTimeSource(1000L);
+        assertThat(source.currentTimeMillis()).isEqualTo(1000L);
+        assertThat(source.advance(TimeUnit.SECONDS, 2).currentTimeMillis()).isEqualTo(3000L);
+        assertThat(source.set(42L).currentTimeMillis()).isEqualTo(42L);
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.longhorn.fastball.time;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class UpdatablePeriodIndexTest {
+
+    @Test
+    public void testSameAsScan() {
+        Random random = new Random(1);
+        List<Period> all = PeriodIndexTest.randomPeriods(random, 2000);
+        List<Period> kept = new ArrayList<>();
+        UpdatablePeriodIndex index = UpdatablePeriodIndex.create();
+        for (int i = 0; i < 5000; i++) {
+            Period period = all.get(random.nextInt(all.size()));
+            if (random.nextInt(3) == 0) {
+                assertThat(index.remove(period)).isEqualTo(kept.remove(period));
+            } else {
+                assertThat(index.add(period)).isEqualTo(!kept.contains(period) && kept.add(period));
+            }
+            assertThat(index.size()).isEqualTo(kept.size());
+            if (i % 50 == 0) {
+                long from = random.nextInt(100_000);
+                long to = from + random.nextInt(5_000);
+                assertThat(index.containing(from)).containsExactlyElementsIn(
+                        PeriodIndexTest.filter(kept, b -> b[0] <= from && from <= b[1]));
+                assertThat(index.overlapping(from, to)).containsExactlyElementsIn(
+                        PeriodIndexTest.filter(kept, b -> b[0] <= to && from <= b[1]));
+                assertThat(index.enclosing(from, to)).containsExactlyElementsIn(
+                        PeriodIndexTest.filter(kept, b -> b[0] <= from && to <= b[1]));
+                assertThat(index.within(from, to)).containsExactlyElementsIn(
+                        PeriodIndexTest.filter(kept, b -> from <= b[0] && b[1] <= to));
+                assertThat(index.snapshot().overlapping(from, to)).containsExactlyElementsIn(
+                        PeriodIndexTest.filter(kept, b -> b[0] <= to && from <= b[1]));
+            }
+        }
+    }
+
+    @Test
+    public void testMovePeriod() throws ParseException {
+        Period period = Period.parse("2017-01-01/2017-01-31");
+        UpdatablePeriodIndex index = UpdatablePeriodIndex.create();
+        index.add(Period.parse("2017-03-01"));
+        index.add(period);
+        long march = Period.parse("2017-03-01").getExacted().toEpochMilli();
+        assertThat(index.containing(march)).hasSize(1);
+        assertThat(index.remove(period)).isTrue();
+        assertThat(index.remove(period)).isFalse();
+        period.setEnd(Clock.fromEpochMilli(march));
+        assertThat(index.add(period)).isTrue();
+        assertThat(index.containing(march)).hasSize(2);
+        assertThat(index.snapshot().containing(march)).hasSize(2);
+    }
+}
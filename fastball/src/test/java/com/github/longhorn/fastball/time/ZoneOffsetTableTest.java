@@ -0,0 +1,61 @@
+package com.github.longhorn.fastball.time;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class ZoneOffsetTableTest {
+    private static final long SPAN = ZoneOffsetTable.COVERAGE_END - ZoneOffsetTable.COVERAGE_START;
+
+    @Test
+    public void testOffsetAtAllZones() {
+        for (String zoneId : TimeZone.getAvailableIDs()) {
+            TimeZone timeZone = TimeZone.getTimeZone(zoneId);
+            ZoneOffsetTable table = ZoneOffsetTable.of(zoneId);
+            Random random = new Random(zoneId.hashCode());
+            for (int i = 0; i < 2_000; i++) {
+                long epochMilli = ZoneOffsetTable.COVERAGE_START - SPAN / 10
+                        + (long) (random.nextDouble() * SPAN * 1.2);
+                assertThat(table.offsetAt(epochMilli)).isEqualTo(timeZone.getOffset(epochMilli));
+            }
+        }
+    }
+
+    @Test
+    public void testLocalToEpochMilli() {
+        String[] zoneIds = {"America/New_York", "Europe/London", "Australia/Lord_Howe", "America/Sao_Paulo",
+                "Pacific/Apia", "Asia/Kolkata", "Africa/Casablanca"};
+        for (String zoneId : zoneIds) {
+            TimeZone timeZone = TimeZone.getTimeZone(zoneId);
+            ZoneOffsetTable table = ZoneOffsetTable.of(zoneId);
+            Random random = new Random(zoneId.hashCode());
+            for (int i = 0; i < 20_000; i++) {
+                // minute precision from 2000 on, so the gaps and the overlaps are hit
+                long localMilli = 946_684_800_000L + random.nextInt(20_000_000) * 60_000L;
+                LocalDateTime local = LocalDateTime.ofEpochSecond(localMilli / 1000, 0, ZoneOffset.UTC);
+                long expected = ZonedDateTime.ofLocal(local, timeZone.toZoneId(), null).toInstant().toEpochMilli();
+                if (timeZone.getOffset(expected) != timeZone.toZoneId().getRules()
+                        .getOffset(Instant.ofEpochMilli(expected)).getTotalSeconds() * 1000) {
+                    // java.time disagrees with the TimeZone here, nothing to compare with
+                    continue;
+                }
+                assertThat(table.localToEpochMilli(localMilli)).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    public void testCustomizedTimeZone() {
+        TimeZone custom = new SimpleTimeZone(3_600_000, "Asia/Taipei");
+        assertThat(ZoneOffsets.offsetAt(custom, 0L)).isEqualTo(3_600_000);
+        assertThat(ZoneOffsets.offsetAt(TimeZone.getTimeZone("Asia/Taipei"), 0L)).isEqualTo(28_800_000);
+    }
+}